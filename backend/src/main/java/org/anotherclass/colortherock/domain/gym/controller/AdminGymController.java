@@ -0,0 +1,60 @@
+package org.anotherclass.colortherock.domain.gym.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.gym.request.GymMergeRequest;
+import org.anotherclass.colortherock.domain.gym.response.GymBackfillResponse;
+import org.anotherclass.colortherock.domain.gym.response.GymMergeResponse;
+import org.anotherclass.colortherock.domain.gym.service.AdminGymService;
+import org.anotherclass.colortherock.domain.gym.service.GymBackfillService;
+import org.anotherclass.colortherock.domain.member.entity.AdminDetails;
+import org.anotherclass.colortherock.global.common.BaseResponse;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.security.annotation.PreAuthorizeAdmin;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorizeAdmin
+@RequestMapping("/api/admin/gym")
+public class AdminGymController {
+
+    private final GymBackfillService gymBackfillService;
+    private final AdminGymService adminGymService;
+
+    @Operation(description = "관리자 - 암장이 비어 있는 영상과 라이브 방에 암장 이름으로 암장을 채우는 API", summary = "관리자 - 암장 채우기 API")
+    @ApiResponse(responseCode = "200", description = "채우기 결과 반환", content = @Content(schema = @Schema(implementation = GymBackfillResponse.class)))
+    @ApiResponse(responseCode = "409", description = "이미 채우기가 실행 중")
+    @PostMapping("/backfill")
+    public BaseResponse<GymBackfillResponse> backfill(@AuthenticationPrincipal AdminDetails adminDetails) {
+        if (adminDetails == null) {
+            throw new GlobalBaseException(GlobalErrorCode.ACCESS_DENIED);
+        }
+        GymBackfillResponse response = gymBackfillService.backfill();
+        return new BaseResponse<>(response);
+    }
+
+    @Operation(description = "관리자 - 같은 암장의 다른 표기로 만들어진 암장을 하나로 합치는 API", summary = "관리자 - 암장 합치기 API")
+    @ApiResponse(responseCode = "200", description = "합치기 결과 반환", content = @Content(schema = @Schema(implementation = GymMergeResponse.class)))
+    @ApiResponse(responseCode = "400", description = "같은 암장끼리 합치기 요청")
+    @ApiResponse(responseCode = "404", description = "없거나 이미 합쳐진 암장")
+    @PostMapping("/merge")
+    public BaseResponse<GymMergeResponse> merge(@AuthenticationPrincipal AdminDetails adminDetails,
+                                                @Valid @RequestBody GymMergeRequest request) {
+        if (adminDetails == null) {
+            throw new GlobalBaseException(GlobalErrorCode.ACCESS_DENIED);
+        }
+        GymMergeResponse response = adminGymService.merge(request);
+        return new BaseResponse<>(response);
+    }
+}
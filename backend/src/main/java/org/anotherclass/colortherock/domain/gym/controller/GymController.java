@@ -0,0 +1,33 @@
+package org.anotherclass.colortherock.domain.gym.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.gym.response.GymSuggestionResponse;
+import org.anotherclass.colortherock.domain.gym.service.GymAutocompleteService;
+import org.anotherclass.colortherock.global.common.BaseResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/gym")
+public class GymController {
+
+    private final GymAutocompleteService gymAutocompleteService;
+
+    @Operation(description = "입력 중인 암장 이름으로 시작하는 암장을 많이 쓰인 순서로 반환하는 API, 한글은 입력 중인 자모와 초성으로도 찾는다.", summary = "암장 이름 자동완성 API")
+    @ApiResponse(responseCode = "200", description = "자동완성 목록 반환", content = @Content(schema = @Schema(implementation = GymSuggestionResponse.class)))
+    @GetMapping("/autocomplete")
+    public BaseResponse<List<GymSuggestionResponse>> autocomplete(@RequestParam(required = false) String keyword,
+                                                                  @RequestParam(defaultValue = "10") int size) {
+        List<GymSuggestionResponse> suggestions = gymAutocompleteService.suggest(keyword, size);
+        return new BaseResponse<>(suggestions);
+    }
+}
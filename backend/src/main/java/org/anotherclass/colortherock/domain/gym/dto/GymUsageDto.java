@@ -0,0 +1,15 @@
+package org.anotherclass.colortherock.domain.gym.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 암장 이름 표기별 사용 횟수
+ */
+@Getter
+@AllArgsConstructor
+public class GymUsageDto {
+
+    private String gymName;
+    private Long count;
+}
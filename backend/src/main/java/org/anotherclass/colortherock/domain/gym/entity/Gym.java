@@ -0,0 +1,45 @@
+package org.anotherclass.colortherock.domain.gym.entity;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * 암장
+ * 사용자가 입력한 암장 이름은 {@link GymAlias} 로 하나의 암장에 묶인다.
+ * 다른 암장에 합쳐진 암장은 지우지 않고 합쳐진 암장을 가리킨다. 다른 서버의 캐시가 이전 id 를 쓸 수 있기 때문이다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "gym")
+public class Gym {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "name", length = 50, nullable = false)
+    private String name;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "merged_into_id")
+    private Gym mergedInto;
+
+    @Builder
+    public Gym(String name) {
+        this.name = name;
+    }
+
+    public void mergeInto(Gym target) {
+        this.mergedInto = target;
+    }
+
+    public boolean isMerged() {
+        return mergedInto != null;
+    }
+}
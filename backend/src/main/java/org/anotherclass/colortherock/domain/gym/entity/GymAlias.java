@@ -0,0 +1,38 @@
+package org.anotherclass.colortherock.domain.gym.entity;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * 암장 이름 표기
+ * 공백을 빼고 소문자로 바꾼 이름을 key 로, 같은 암장의 여러 표기를 하나의 암장에 연결한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "gym_alias",
+        uniqueConstraints = @UniqueConstraint(name = "UK_gym_alias", columnNames = "alias"))
+public class GymAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "alias", length = 50, nullable = false)
+    private String alias;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "gym_id", nullable = false)
+    private Gym gym;
+
+    @Builder
+    public GymAlias(String alias, Gym gym) {
+        this.alias = alias;
+        this.gym = gym;
+    }
+}
@@ -0,0 +1,38 @@
+package org.anotherclass.colortherock.domain.gym.repository;
+
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
+import org.anotherclass.colortherock.domain.gym.entity.GymAlias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface GymAliasRepository extends JpaRepository<GymAlias, Long> {
+
+    @Query("select a.gym.id from GymAlias a where a.alias = :alias")
+    Optional<Long> findGymIdByAlias(@Param("alias") String alias);
+
+    /**
+     * 다른 트랜잭션이 커밋한 표기도 보이도록 공유 잠금으로 읽는다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select a.gym.id from GymAlias a where a.alias = :alias")
+    Optional<Long> findGymIdByAliasForShare(@Param("alias") String alias);
+
+    /**
+     * 표기가 이미 있으면 넣지 않는다. 다른 트랜잭션이 같은 표기를 넣고 있으면 그 트랜잭션이 끝날 때까지 기다린다.
+     *
+     * @return 넣은 행 수
+     */
+    @Modifying
+    @Query(value = "insert ignore into gym_alias (alias, gym_id) values (:alias, :gymId)", nativeQuery = true)
+    int insertIgnore(@Param("alias") String alias, @Param("gymId") Long gymId);
+
+    @Modifying
+    @Query("update GymAlias a set a.gym = :target where a.gym = :source")
+    int moveGym(@Param("source") Gym source, @Param("target") Gym target);
+}
@@ -0,0 +1,21 @@
+package org.anotherclass.colortherock.domain.gym.repository;
+
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface GymRepository extends JpaRepository<Gym, Long> {
+
+    List<Gym> findAllByMergedIntoIsNotNull();
+
+    /**
+     * source 에 합쳐져 있던 암장을 target 으로 옮긴다.
+     */
+    @Modifying
+    @Query("update Gym g set g.mergedInto = :target where g.mergedInto = :source")
+    int moveMerged(@Param("source") Gym source, @Param("target") Gym target);
+}
@@ -0,0 +1,21 @@
+package org.anotherclass.colortherock.domain.gym.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "암장 합치기 요청")
+public class GymMergeRequest {
+    @NotNull
+    @Schema(description = "합쳐서 없앨 암장 id")
+    private Long sourceGymId;
+    @NotNull
+    @Schema(description = "남길 암장 id")
+    private Long targetGymId;
+}
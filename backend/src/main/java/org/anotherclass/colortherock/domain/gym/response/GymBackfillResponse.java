@@ -0,0 +1,32 @@
+package org.anotherclass.colortherock.domain.gym.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Schema(description = "암장 채우기 결과")
+public class GymBackfillResponse {
+
+    @Schema(description = "시작 시각")
+    private final LocalDateTime startedAt;
+    @Schema(description = "걸린 시간(ms)")
+    private final Long elapsedMillis;
+    @Schema(description = "암장을 채운 영상 수")
+    private final Long videoCount;
+    @Schema(description = "암장을 채운 라이브 방 수")
+    private final Long liveCount;
+    @Schema(description = "합쳐진 암장에서 옮긴 영상, 라이브 방 수")
+    private final Long movedCount;
+
+    @Builder
+    public GymBackfillResponse(LocalDateTime startedAt, Long elapsedMillis, Long videoCount, Long liveCount, Long movedCount) {
+        this.startedAt = startedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.videoCount = videoCount;
+        this.liveCount = liveCount;
+        this.movedCount = movedCount;
+    }
+}
@@ -0,0 +1,30 @@
+package org.anotherclass.colortherock.domain.gym.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Schema(description = "암장 합치기 결과")
+public class GymMergeResponse {
+
+    @Schema(description = "합쳐진 암장 id")
+    private final Long sourceGymId;
+    @Schema(description = "남는 암장 id")
+    private final Long targetGymId;
+    @Schema(description = "옮긴 표기 수")
+    private final Integer aliasCount;
+    @Schema(description = "옮긴 영상 수")
+    private final Integer videoCount;
+    @Schema(description = "옮긴 라이브 방 수")
+    private final Integer liveCount;
+
+    @Builder
+    public GymMergeResponse(Long sourceGymId, Long targetGymId, Integer aliasCount, Integer videoCount, Integer liveCount) {
+        this.sourceGymId = sourceGymId;
+        this.targetGymId = targetGymId;
+        this.aliasCount = aliasCount;
+        this.videoCount = videoCount;
+        this.liveCount = liveCount;
+    }
+}
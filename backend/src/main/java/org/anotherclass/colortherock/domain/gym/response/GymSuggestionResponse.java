@@ -0,0 +1,21 @@
+package org.anotherclass.colortherock.domain.gym.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Schema(description = "암장 이름 자동완성")
+public class GymSuggestionResponse {
+
+    @Schema(description = "암장 이름")
+    private final String gymName;
+    @Schema(description = "영상, 라이브 방에서 쓰인 횟수")
+    private final Long count;
+
+    @Builder
+    public GymSuggestionResponse(String gymName, Long count) {
+        this.gymName = gymName;
+        this.count = count;
+    }
+}
@@ -0,0 +1,65 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
+import org.anotherclass.colortherock.domain.gym.repository.GymAliasRepository;
+import org.anotherclass.colortherock.domain.gym.repository.GymRepository;
+import org.anotherclass.colortherock.domain.gym.request.GymMergeRequest;
+import org.anotherclass.colortherock.domain.gym.response.GymMergeResponse;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminGymService {
+
+    private final GymRepository gymRepository;
+    private final GymAliasRepository gymAliasRepository;
+    private final VideoRepository videoRepository;
+    private final LiveRepository liveRepository;
+    private final GymResolver gymResolver;
+
+    /**
+     * 같은 암장의 다른 표기로 만들어진 암장을 하나로 합친다.
+     * 표기, 영상, 라이브 방을 남길 암장으로 옮기고, 합쳐진 암장은 남길 암장을 가리키게 둔다.
+     *
+     * @param request {@link GymMergeRequest}
+     * @return {@link GymMergeResponse}
+     */
+    @Transactional
+    public GymMergeResponse merge(GymMergeRequest request) {
+        if (request.getSourceGymId().equals(request.getTargetGymId())) {
+            throw new GlobalBaseException(GlobalErrorCode.GYM_MERGE_SAME);
+        }
+        Gym source = findActiveGym(request.getSourceGymId());
+        Gym target = findActiveGym(request.getTargetGymId());
+        source.mergeInto(target);
+        gymRepository.moveMerged(source, target);
+        int aliases = gymAliasRepository.moveGym(source, target);
+        int videos = videoRepository.moveGym(source, target);
+        int lives = liveRepository.moveGym(source, target);
+        gymResolver.evictAll();
+        log.info("암장 합치기 : {}({}) -> {}({}), 표기 {}개, 영상 {}개, 라이브 방 {}개",
+                source.getName(), source.getId(), target.getName(), target.getId(), aliases, videos, lives);
+        return GymMergeResponse.builder()
+                .sourceGymId(source.getId())
+                .targetGymId(target.getId())
+                .aliasCount(aliases)
+                .videoCount(videos)
+                .liveCount(lives)
+                .build();
+    }
+
+    // 이미 합쳐진 암장은 없는 암장으로 본다.
+    private Gym findActiveGym(Long gymId) {
+        return gymRepository.findById(gymId)
+                .filter(gym -> !gym.isMerged())
+                .orElseThrow(() -> new GlobalBaseException(GlobalErrorCode.GYM_NOT_FOUND));
+    }
+}
@@ -0,0 +1,183 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.gym.dto.GymUsageDto;
+import org.anotherclass.colortherock.domain.gym.response.GymSuggestionResponse;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.common.RebuildableIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 암장 이름 자동완성
+ * 영상과 라이브 방의 암장 이름별 사용 횟수로 {@link GymNameTrie} 를 주기적으로 다시 만들고,
+ * 그 사이에 이 서버에서 저장, 수정, 삭제한 영상과 라이브 방은 커밋한 뒤 바로 반영한다.
+ * 다시 만드는 동안 반영한 암장은 읽은 횟수에 들어갔는지 알 수 없으므로 새 트라이에 더하지 않고, 다 읽은 뒤 그 암장만 다시 센다.
+ * 커밋과 커밋 뒤 반영 사이에 읽힌 영상은 두 번 셀 수 있고, 다음에 다시 만들 때 맞춰진다.
+ * 입력할 때마다 DB 를 읽지 않고 서버 메모리에서만 찾는다.
+ */
+@Slf4j
+@Service
+public class GymAutocompleteService {
+
+    // 다시 세는 동안 또 반영되면 이만큼까지 다시 센다.
+    private static final int MAX_RECOUNTS = 3;
+
+    private final VideoRepository videoRepository;
+    private final LiveRepository liveRepository;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+    private final int capacity;
+    // 반영한 암장 이름 표기를 key 로 적는다.
+    private final RebuildableIndex<GymNameTrie, String> trie;
+
+    public GymAutocompleteService(VideoRepository videoRepository,
+                                  LiveRepository liveRepository,
+                                  MaintenanceJobRunner maintenanceJobRunner,
+                                  @Value("${gym.autocomplete.enabled:true}") boolean enabled,
+                                  @Value("${gym.autocomplete.max-size:10}") int capacity) {
+        this.videoRepository = videoRepository;
+        this.liveRepository = liveRepository;
+        this.maintenanceJobRunner = maintenanceJobRunner;
+        this.capacity = capacity;
+        this.trie = new RebuildableIndex<>(enabled);
+    }
+
+    /**
+     * 입력으로 시작하는 암장 이름을 많이 쓰인 순서로 찾는다.
+     *
+     * @param keyword 입력 중인 검색어, 비어 있으면 많이 쓰인 암장
+     * @param size    최대 개수
+     * @return {@link GymSuggestionResponse} 리스트
+     */
+    public List<GymSuggestionResponse> suggest(String keyword, int size) {
+        GymNameTrie current = trie.current();
+        if (current == null || size <= 0) return List.of();
+        return current.suggest(keyword, size).stream()
+                .map(suggestion -> GymSuggestionResponse.builder()
+                        .gymName(suggestion.getName())
+                        .count(suggestion.getCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 영상이나 라이브 방에 쓰인 암장 이름을 더한다. 트랜잭션 안이면 커밋한 뒤에 더한다.
+     */
+    public void record(String gymName) {
+        if (isBlank(gymName)) return;
+        trie.afterCommit(List.of(gymName), current -> current.add(gymName, 1));
+    }
+
+    /**
+     * 지운 영상이나 라이브 방의 암장 이름을 뺀다. 트랜잭션 안이면 커밋한 뒤에 뺀다.
+     */
+    public void remove(String gymName) {
+        if (isBlank(gymName)) return;
+        trie.afterCommit(List.of(gymName), current -> current.subtract(gymName, 1));
+    }
+
+    /**
+     * 영상의 암장 이름을 바꾸면 이전 이름에서 빼고 새 이름에 더한다. 같은 암장의 다른 표기로 바꾼 것이면 그대로 둔다.
+     */
+    public void change(String oldGymName, String newGymName) {
+        if (GymResolver.normalize(oldGymName).equals(GymResolver.normalize(newGymName))) return;
+        remove(oldGymName);
+        record(newGymName);
+    }
+
+    @Scheduled(fixedDelayString = "${gym.autocomplete.rebuild-interval:600000}")
+    public void scheduledRebuild() {
+        // 영상과 라이브 방 전체를 다시 세므로 스케줄러 스레드에서 돌리지 않는다.
+        maintenanceJobRunner.submit("gym-autocomplete-rebuild", this::rebuild);
+    }
+
+    /**
+     * 사용 횟수를 DB 에서 다시 세서 트라이를 바꿔 끼운다.
+     * 다른 서버에서 저장, 수정, 삭제한 영상과 라이브 방이 여기서 반영된다.
+     */
+    public void rebuild() {
+        if (!trie.start(null)) return;
+        long startedAt = System.nanoTime();
+        try {
+            Map<String, Usage> usages = new HashMap<>();
+            collect(usages, videoRepository.findGymUsages(), null);
+            collect(usages, liveRepository.findGymUsages(), null);
+            GymNameTrie fresh = build(usages);
+            for (int attempt = 0; !trie.swapIfUntouched(fresh); attempt++) {
+                if (attempt == MAX_RECOUNTS) {
+                    if (trie.current() != null) {
+                        log.info("암장 자동완성 : 다시 세는 동안 반영이 이어져 다음에 다시 만듭니다.");
+                        return;
+                    }
+                    trie.swap(fresh);
+                    break;
+                }
+                recount(usages, trie.drainTouched());
+                fresh = build(usages);
+            }
+            log.info("암장 자동완성 : 암장 {}개, {}ms", fresh.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("암장 자동완성 만들기 실패 : {}", e.toString());
+        } finally {
+            trie.finish();
+        }
+    }
+
+    /**
+     * 반영한 표기와 같은 암장의 표기를 모두 다시 읽어서 그 암장의 사용 횟수를 바꾼다.
+     */
+    private void recount(Map<String, Usage> usages, Set<String> gymNames) {
+        Set<String> aliases = new HashSet<>();
+        Set<String> names = new HashSet<>(gymNames);
+        for (String gymName : gymNames) {
+            String alias = GymResolver.normalize(gymName);
+            if (!aliases.add(alias)) continue;
+            Usage usage = usages.remove(alias);
+            if (usage != null) names.addAll(usage.names);
+        }
+        collect(usages, videoRepository.findGymUsages(names), aliases);
+        collect(usages, liveRepository.findGymUsages(names), aliases);
+    }
+
+    private GymNameTrie build(Map<String, Usage> usages) {
+        GymNameTrie fresh = new GymNameTrie(capacity);
+        usages.values().forEach(usage -> fresh.add(usage.displayName(), usage.total));
+        return fresh;
+    }
+
+    // 같은 암장의 여러 표기는 하나로 묶고, 가장 많이 쓰인 표기로 보여준다. aliases 가 있으면 그 암장만 넣는다.
+    private static void collect(Map<String, Usage> usages, List<GymUsageDto> rows, Set<String> aliases) {
+        for (GymUsageDto row : rows) {
+            String alias = GymResolver.normalize(row.getGymName());
+            if (alias.isEmpty() || (aliases != null && !aliases.contains(alias))) continue;
+            usages.computeIfAbsent(alias, key -> new Usage()).add(row.getGymName(), row.getCount());
+        }
+    }
+
+    private static boolean isBlank(String gymName) {
+        return gymName == null || gymName.isBlank();
+    }
+
+    private static final class Usage {
+        // DB 에 저장된 그대로의 표기, 다시 셀 때 조회 조건으로 쓴다.
+        private final Set<String> names = new HashSet<>();
+        private final Map<String, Long> spellings = new HashMap<>();
+        private long total;
+
+        void add(String gymName, long count) {
+            names.add(gymName);
+            spellings.merge(gymName.strip(), count, Long::sum);
+            total += count;
+        }
+
+        String displayName() {
+            return Collections.max(spellings.entrySet(), Map.Entry.comparingByValue()).getKey();
+        }
+    }
+}
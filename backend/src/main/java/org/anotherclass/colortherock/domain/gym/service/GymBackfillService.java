@@ -0,0 +1,160 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
+import org.anotherclass.colortherock.domain.gym.repository.GymRepository;
+import org.anotherclass.colortherock.domain.gym.response.GymBackfillResponse;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.global.common.GymNameDto;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * 암장 채우기
+ * 암장이 비어 있는 영상과 라이브 방을 id 순으로 끊어 읽어서, 암장 이름을 암장 id 로 바꾸고 암장별로 묶어서 한 번에 채운다.
+ * 새로 저장하는 행은 저장할 때 채우므로, 암장 컬럼을 추가하기 전에 저장된 행과 이전 버전 서버가 저장한 행만 대상이 된다.
+ * 다른 서버가 캐시에 남은 이전 id 로 저장한 행도 합친 암장으로 옮긴다.
+ * 여러 서버가 같은 행을 채우지 않도록 {@link JobLockService} 로 잠가서 한 서버에서만 한다.
+ */
+@Slf4j
+@Component
+public class GymBackfillService {
+
+    private static final String LOCK_NAME = "gym-backfill";
+
+    private final VideoRepository videoRepository;
+    private final LiveRepository liveRepository;
+    private final GymRepository gymRepository;
+    private final GymResolver gymResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final Duration lockLease;
+
+    public GymBackfillService(VideoRepository videoRepository,
+                              LiveRepository liveRepository,
+                              GymRepository gymRepository,
+                              GymResolver gymResolver,
+                              PlatformTransactionManager transactionManager,
+                              JobLockService jobLockService,
+                              MaintenanceJobRunner maintenanceJobRunner,
+                              @Value("${gym.backfill.enabled:true}") boolean enabled,
+                              @Value("${gym.backfill.chunk-size:1000}") int chunkSize,
+                              @Value("${gym.backfill.lock-lease-minutes:120}") long lockLeaseMinutes) {
+        this.videoRepository = videoRepository;
+        this.liveRepository = liveRepository;
+        this.gymRepository = gymRepository;
+        this.gymResolver = gymResolver;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLockService = jobLockService;
+        this.maintenanceJobRunner = maintenanceJobRunner;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.lockLease = Duration.ofMinutes(lockLeaseMinutes);
+    }
+
+    @Scheduled(cron = "${gym.backfill.cron:0 20 4 * * *}")
+    public void scheduled() {
+        if (!enabled) return;
+        maintenanceJobRunner.submit(LOCK_NAME, () -> {
+            try {
+                backfill();
+            } catch (GlobalBaseException e) {
+                log.info("이미 암장 채우기가 실행 중입니다.");
+            }
+        });
+    }
+
+    /**
+     * 암장 채우기
+     *
+     * @return {@link GymBackfillResponse}
+     */
+    public GymBackfillResponse backfill() {
+        String token = jobLockService.tryAcquire(LOCK_NAME, lockLease);
+        if (token == null) {
+            throw new GlobalBaseException(GlobalErrorCode.GYM_BACKFILL_RUNNING);
+        }
+        try {
+            return doBackfill();
+        } finally {
+            jobLockService.release(LOCK_NAME, token);
+        }
+    }
+
+    private GymBackfillResponse doBackfill() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedNanos = System.nanoTime();
+
+        Long moved = transactionTemplate.execute(tx -> moveMerged());
+        long videos = fill(videoRepository::findGymBackfillTargets, videoRepository::assignGym);
+        long lives = fill(liveRepository::findGymBackfillTargets, liveRepository::assignGym);
+
+        GymBackfillResponse response = GymBackfillResponse.builder()
+                .startedAt(startedAt)
+                .elapsedMillis(Duration.ofNanos(System.nanoTime() - startedNanos).toMillis())
+                .videoCount(videos)
+                .liveCount(lives)
+                .movedCount(moved == null ? 0 : moved)
+                .build();
+        log.info("암장 채우기 : 영상 {}개, 라이브 방 {}개, 합친 암장으로 옮김 {}개, {}ms",
+                videos, lives, response.getMovedCount(), response.getElapsedMillis());
+        return response;
+    }
+
+    private long moveMerged() {
+        long moved = 0;
+        for (Gym gym : gymRepository.findAllByMergedIntoIsNotNull()) {
+            moved += videoRepository.moveGym(gym, gym.getMergedInto());
+            moved += liveRepository.moveGym(gym, gym.getMergedInto());
+        }
+        return moved;
+    }
+
+    /**
+     * id 기준 keyset 으로 끊어 읽고, 한 묶음을 한 트랜잭션에서 채운다.
+     *
+     * @return 채운 행 수
+     */
+    private long fill(BiFunction<Long, PageRequest, List<GymNameDto>> query, BiFunction<Gym, List<Long>, Integer> assign) {
+        long count = 0;
+        long lastId = 0;
+        List<GymNameDto> chunk;
+        do {
+            chunk = query.apply(lastId, PageRequest.of(0, chunkSize));
+            Map<Long, List<Long>> idsByGym = new HashMap<>();
+            for (GymNameDto row : chunk) {
+                lastId = row.getId();
+                // 이름이 비어 있는 행은 암장 없이 둔다.
+                Long gymId = gymResolver.resolveId(row.getGymName());
+                if (gymId != null) idsByGym.computeIfAbsent(gymId, id -> new ArrayList<>()).add(row.getId());
+            }
+            if (idsByGym.isEmpty()) continue;
+            Integer updated = transactionTemplate.execute(tx -> {
+                int sum = 0;
+                for (Map.Entry<Long, List<Long>> entry : idsByGym.entrySet()) {
+                    sum += assign.apply(gymRepository.getReferenceById(entry.getKey()), entry.getValue());
+                }
+                return sum;
+            });
+            count += updated == null ? 0 : updated;
+        } while (chunk.size() == chunkSize);
+        return count;
+    }
+}
@@ -0,0 +1,304 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 암장 이름 자동완성 트라이
+ * 한글은 음절을 초성, 중성, 종성 자모로 풀어서 넣으므로 입력 중인 음절(예: "더클ㄹ", "더클라ㅇ")도 앞부분으로 찾는다.
+ * 이름의 각 단어 시작부터의 자모와 초성만 모은 문자열(예: "ㄷㅋㄹㅇ")을 모두 넣는다.
+ * 노드마다 그 아래 이름 중 많이 쓰인 순서로 최대 capacity 개를 들고 있어서, 검색은 입력 길이만큼만 내려가면 된다.
+ * 늘어날 때는 노드의 상위 목록에 들어오는 이름만 확인하면 된다. 줄어들 때는 목록 안에서 자리를 내리고,
+ * 가득 찬 목록의 마지막까지 내려가거나 빠지면 목록 밖의 이름이 앞설 수 있으므로 그 노드만 이름 전체에서 다시 고른다.
+ */
+public class GymNameTrie {
+
+    private static final int SYLLABLE_BASE = 0xAC00;
+    private static final int SYLLABLE_LAST = 0xD7A3;
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    // 겹모음, 겹받침은 키보드로 치는 순서대로 나눈다.
+    private static final String[] JUNGSEONG = {"ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+            "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSEONG = {"", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ"));
+    // 많이 쓰인 순서, 같으면 이름 순서
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry entry) -> entry.count).reversed()
+            .thenComparing(entry -> entry.name);
+
+    private final int capacity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    // 표기 key 별 이름
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public GymNameTrie(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 이름의 사용 횟수를 더한다. 처음 보는 표기면 넣는다.
+     *
+     * @param gymName 암장 이름, 이미 있는 표기면 처음 넣은 이름으로 보여준다.
+     * @param count   더할 사용 횟수
+     */
+    public void add(String gymName, long count) {
+        String alias = GymResolver.normalize(gymName);
+        if (alias.isEmpty() || count <= 0) return;
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(alias, key -> new Entry(gymName.strip()));
+            entry.count += count;
+            for (String key : entry.keys) {
+                Node node = root;
+                node.offer(entry, capacity);
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childOrCreate(key.charAt(i));
+                    node.offer(entry, capacity);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이름의 사용 횟수를 뺀다. 0 이 되면 이름을 뺀다.
+     *
+     * @param gymName 암장 이름
+     * @param count   뺄 사용 횟수
+     */
+    public void subtract(String gymName, long count) {
+        String alias = GymResolver.normalize(gymName);
+        if (alias.isEmpty() || count <= 0) return;
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(alias);
+            if (entry == null) return;
+            entry.count -= count;
+            boolean removed = entry.count <= 0;
+            if (removed) entries.remove(alias);
+            for (String key : entry.keys) {
+                Node node = root;
+                demote(node, "", entry, removed);
+                for (int i = 0; i < key.length() && node != null; i++) {
+                    node = node.child(key.charAt(i));
+                    if (node != null) demote(node, key.substring(0, i + 1), entry, removed);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void demote(Node node, String prefix, Entry entry, boolean removed) {
+        boolean full = node.top.length >= capacity;
+        int index = node.demote(entry, removed);
+        if (index < 0 || !full || (!removed && index < node.top.length - 1)) return;
+        node.top = entries.values().stream()
+                .filter(candidate -> candidate.keys.stream().anyMatch(key -> key.startsWith(prefix)))
+                .sorted(ORDER)
+                .limit(capacity)
+                .toArray(Entry[]::new);
+    }
+
+    /**
+     * 입력으로 시작하는 이름을 많이 쓰인 순서로 찾는다. 입력이 비어 있으면 전체에서 찾는다.
+     *
+     * @param keyword 입력 중인 검색어
+     * @param size    최대 개수, capacity 보다 크면 capacity 개
+     * @return 이름과 사용 횟수
+     */
+    public List<Suggestion> suggest(String keyword, int size) {
+        String query = jamo(GymResolver.normalize(keyword));
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < query.length() && node != null; i++) {
+                node = node.child(query.charAt(i));
+            }
+            if (node == null) return List.of();
+            int count = Math.min(size, node.top.length);
+            List<Suggestion> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                suggestions.add(new Suggestion(node.top[i].name, node.top[i].count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 단어 시작마다 공백을 뺀 나머지의 자모와 초성
+     */
+    static Set<String> keys(String gymName) {
+        String name = gymName.toLowerCase(Locale.ROOT);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isWhitespace(name.charAt(i)) || (i > 0 && !Character.isWhitespace(name.charAt(i - 1)))) continue;
+            String rest = name.substring(i).replaceAll("\\s+", "");
+            keys.add(jamo(rest));
+            keys.add(choseong(rest));
+        }
+        return keys;
+    }
+
+    static String jamo(String text) {
+        StringBuilder builder = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int offset = c - SYLLABLE_BASE;
+                builder.append(CHOSEONG.charAt(offset / 588))
+                        .append(JUNGSEONG[offset % 588 / 28])
+                        .append(JONGSEONG[offset % 28]);
+            } else {
+                builder.append(COMPOUND_JAMO.getOrDefault(c, String.valueOf(c)));
+            }
+        }
+        return builder.toString();
+    }
+
+    static String choseong(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                builder.append(CHOSEONG.charAt((c - SYLLABLE_BASE) / 588));
+            } else {
+                builder.append(COMPOUND_JAMO.getOrDefault(c, String.valueOf(c)));
+            }
+        }
+        return builder.toString();
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Suggestion {
+        private final String name;
+        private final long count;
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final Set<String> keys;
+        private long count;
+
+        private Entry(String name) {
+            this.name = name;
+            this.keys = keys(name);
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        // 자식 글자는 정렬해서 이분 탐색한다.
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Entry[] top = NO_ENTRIES;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) return children[index];
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        /**
+         * 횟수가 늘어난 이름을 상위 목록에 넣거나 자리를 옮긴다.
+         */
+        void offer(Entry entry, int capacity) {
+            int index = -1;
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == entry) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                if (top.length < capacity) {
+                    top = Arrays.copyOf(top, top.length + 1);
+                } else if (ORDER.compare(entry, top[top.length - 1]) >= 0) {
+                    return;
+                }
+                index = top.length - 1;
+                top[index] = entry;
+            }
+            while (index > 0 && ORDER.compare(top[index], top[index - 1]) < 0) {
+                Entry swap = top[index - 1];
+                top[index - 1] = top[index];
+                top[index] = swap;
+                index--;
+            }
+        }
+
+        /**
+         * 횟수가 줄어든 이름의 자리를 내리거나 목록에서 뺀다.
+         *
+         * @return 내린 자리, 빼면 빠지기 전 자리, 목록에 없었으면 -1
+         */
+        int demote(Entry entry, boolean removed) {
+            int index = -1;
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == entry) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) return -1;
+            if (removed) {
+                Entry[] newTop = new Entry[top.length - 1];
+                System.arraycopy(top, 0, newTop, 0, index);
+                System.arraycopy(top, index + 1, newTop, index, top.length - index - 1);
+                top = newTop;
+                return index;
+            }
+            while (index < top.length - 1 && ORDER.compare(top[index], top[index + 1]) > 0) {
+                Entry swap = top[index + 1];
+                top[index + 1] = top[index];
+                top[index] = swap;
+                index++;
+            }
+            return index;
+        }
+    }
+}
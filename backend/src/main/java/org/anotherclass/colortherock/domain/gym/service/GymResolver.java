@@ -0,0 +1,132 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
+import org.anotherclass.colortherock.domain.gym.repository.GymAliasRepository;
+import org.anotherclass.colortherock.domain.gym.repository.GymRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * 사용자가 입력한 암장 이름을 암장 id 로 바꾼다.
+ * 표기(공백을 빼고 소문자로 바꾼 이름)에서 암장 id 로 가는 대응을 서버 메모리에 캐시하고, 처음 보는 표기면 암장과 표기를 새로 만든다.
+ * 새 암장은 호출한 트랜잭션(같은 커넥션)에서 만든다. 표기는 INSERT IGNORE 로 넣어서, 같은 표기를 다른 트랜잭션이 먼저 넣고 있으면
+ * 그 트랜잭션이 끝날 때까지 기다렸다가 그쪽 암장을 쓰므로 같은 이름으로 동시에 올라온 영상도 같은 암장을 쓴다.
+ * 캐시에는 트랜잭션이 커밋된 뒤에 넣어서, 되돌려진 암장 id 가 남지 않게 한다.
+ * 방문 통계, 암장 랭킹, 게시판 검색은 아직 gym_name 으로 묶는다. 채우기가 모든 행에 끝난 뒤에 gym_id 로 옮긴다.
+ */
+@Slf4j
+@Service
+public class GymResolver {
+
+    private final GymRepository gymRepository;
+    private final GymAliasRepository gymAliasRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Long> aliases;
+
+    public GymResolver(GymRepository gymRepository,
+                       GymAliasRepository gymAliasRepository,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${gym.alias-cache.max-size:10000}") long maxSize,
+                       @Value("${gym.alias-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.gymRepository = gymRepository;
+        this.gymAliasRepository = gymAliasRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 합친 암장은 다른 서버에서 이 시간만큼 이전 id 로 저장될 수 있고, 채우기 작업에서 옮겨진다.
+        this.aliases = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, aliases, "gym.alias");
+    }
+
+    /**
+     * 암장 이름에 해당하는 암장, 없으면 만든다.
+     *
+     * @param gymName 사용자가 입력한 암장 이름
+     * @return 암장(프록시), 이름이 비어 있으면 null
+     */
+    public Gym resolve(String gymName) {
+        Long gymId = resolveId(gymName);
+        return gymId == null ? null : gymRepository.getReferenceById(gymId);
+    }
+
+    /**
+     * 암장 이름에 해당하는 암장 id, 없으면 만든다.
+     *
+     * @param gymName 사용자가 입력한 암장 이름
+     * @return 암장 id, 이름이 비어 있으면 null
+     */
+    public Long resolveId(String gymName) {
+        String alias = normalize(gymName);
+        if (alias.isEmpty()) return null;
+        Long cached = aliases.getIfPresent(alias);
+        if (cached != null) return cached;
+        Long gymId = transactionTemplate.execute(tx -> gymAliasRepository.findGymIdByAlias(alias)
+                .orElseGet(() -> create(alias, gymName.strip())));
+        cache(alias, gymId);
+        return gymId;
+    }
+
+    private Long create(String alias, String gymName) {
+        Gym gym = gymRepository.save(Gym.builder().name(gymName).build());
+        if (gymAliasRepository.insertIgnore(alias, gym.getId()) > 0) return gym.getId();
+        // 다른 트랜잭션이 같은 표기를 먼저 커밋했다. 이 트랜잭션의 스냅숏에는 없을 수 있으므로 잠금 읽기로 최신 행을 읽는다.
+        log.info("이미 만들어진 암장 표기 : {}", alias);
+        gymRepository.delete(gym);
+        return gymAliasRepository.findGymIdByAliasForShare(alias)
+                .orElseThrow(() -> new IllegalStateException("암장 표기를 찾을 수 없음 : " + alias));
+    }
+
+    private void cache(String alias, Long gymId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aliases.put(alias, gymId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aliases.put(alias, gymId);
+            }
+        });
+    }
+
+    /**
+     * 암장을 합치면 캐시를 비운다. 트랜잭션 안이면 커밋한 뒤에 비운다.
+     */
+    public void evictAll() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aliases.invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aliases.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * 표기 key, 유니코드 정규화 후 공백을 모두 빼고 소문자로 바꾼다.
+     */
+    public static String normalize(String gymName) {
+        if (gymName == null) return "";
+        String composed = Normalizer.normalize(gymName, Normalizer.Form.NFC);
+        return composed.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -8,11 +8,15 @@ import lombok.RequiredArgsConstructor;
 import org.anotherclass.colortherock.domain.live.request.*;
 import org.anotherclass.colortherock.domain.live.response.LiveListResponse;
 import org.anotherclass.colortherock.domain.live.response.PrevRecordingListResponse;
+import org.anotherclass.colortherock.domain.live.response.RecordingJobStatusResponse;
 import org.anotherclass.colortherock.domain.live.service.LiveService;
+import org.anotherclass.colortherock.domain.live.service.RecordingJobService;
 import org.anotherclass.colortherock.domain.member.entity.MemberDetails;
 import org.anotherclass.colortherock.global.common.BaseResponse;
 import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.openvidu.OpenviduWebhookVerifier;
 import org.anotherclass.colortherock.global.security.annotation.PreAuthorizeMember;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -27,6 +31,8 @@ import java.util.List;
 public class LiveController {
 
     private final LiveService liveService;
+    private final RecordingJobService recordingJobService;
+    private final OpenviduWebhookVerifier openviduWebhookVerifier;
 
     @GetMapping("/live/list")
     @Operation(description = "진행중인 라이브 목록 반환 API", summary = "진행중인 라이브 목록 반환 API")
@@ -71,25 +77,37 @@ public class LiveController {
 
     @PostMapping("/live/{sessionId}/recording/save")
     @Operation(description = "라이브 녹화 저장 API", summary = "라이브 녹화 저장 API")
-    @ApiResponse(responseCode = "200", description = "녹화 저장 성공")
+    @ApiResponse(responseCode = "200", description = "저장 요청 시 녹화 저장 작업 id 반환, 저장하지 않으면 녹화 삭제")
     @PreAuthorizeMember
     public BaseResponse<Object> recordingSave(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String sessionId, @Valid @RequestBody RecordingSaveRequest request) {
         if (request.getIsSaved()) {
-            liveService.recordingSave(memberDetails, request);
-        } else {
-            liveService.deleteRecording(sessionId, request.getRecordingId());
+            String jobId = recordingJobService.enqueue(new RecordingUploadAtOpenviduServerRequest(request, memberDetails.getMember().getId()));
+            return new BaseResponse<>(jobId);
         }
+        liveService.deleteRecording(sessionId, request.getRecordingId());
         return new BaseResponse<>(GlobalErrorCode.SUCCESS);
     }
 
 
     @PostMapping("/live/uploadRecord")
-    @Operation(description = "프론트에서 사용 x",summary = "프론트에서 사용 X ")
-    @ApiResponse(responseCode = "200", description = "업로드 성공")
-    public BaseResponse<Object> uploadAtOpenviduServer(@RequestBody RecordingUploadAtOpenviduServerRequest request) {
+    @Operation(description = "프론트에서 사용 x, 오픈비두 서버가 웹훅과 같은 Authorization 헤더로 호출",summary = "프론트에서 사용 X ")
+    @ApiResponse(responseCode = "200", description = "업로드 작업 등록 성공 시 작업 id 반환")
+    @ApiResponse(responseCode = "401", description = "오픈비두 서버의 요청이 아님")
+    public BaseResponse<Object> uploadAtOpenviduServer(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                       @RequestBody RecordingUploadAtOpenviduServerRequest request) {
+        // 요청의 memberId 를 그대로 믿으므로 오픈비두 서버만 부를 수 있다.
+        openviduWebhookVerifier.verify(authorization);
+        String jobId = recordingJobService.enqueue(request);
+        return new BaseResponse<>(jobId);
+    }
 
-        liveService.uploadAtOpenviduServer(request);
-        return new BaseResponse<>(GlobalErrorCode.SUCCESS);
+    @GetMapping("/live/recording/{jobId}/status")
+    @Operation(description = "녹화 저장 작업 상태 조회 API", summary = "녹화 저장 작업 상태 조회 API")
+    @ApiResponse(responseCode = "200", description = "작업 상태와 진행률 반환", content = @Content(schema = @Schema(implementation = RecordingJobStatusResponse.class)))
+    @PreAuthorizeMember
+    public BaseResponse<RecordingJobStatusResponse> recordingJobStatus(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String jobId) {
+        RecordingJobStatusResponse response = recordingJobService.getStatus(memberDetails.getMember().getId(), jobId);
+        return new BaseResponse<>(response);
     }
 
     @GetMapping("/live/{sessionId}/recording/list")
@@ -0,0 +1,36 @@
+package org.anotherclass.colortherock.domain.live.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.live.request.OpenviduWebhookRequest;
+import org.anotherclass.colortherock.domain.live.service.LiveSessionRegistry;
+import org.anotherclass.colortherock.global.common.BaseResponse;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.openvidu.OpenviduWebhookVerifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class OpenviduWebhookController {
+
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final OpenviduWebhookVerifier openviduWebhookVerifier;
+
+    @PostMapping("/live/webhook")
+    @Operation(description = "오픈비두 서버 webhook 수신 (프론트에서 사용 X)", summary = "오픈비두 서버 webhook 수신 (프론트에서 사용 X)")
+    @ApiResponse(responseCode = "200", description = "이벤트 반영 성공")
+    @ApiResponse(responseCode = "401", description = "오픈비두 서버의 요청이 아님")
+    public BaseResponse<Object> receiveEvent(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                             @RequestBody OpenviduWebhookRequest request) {
+        openviduWebhookVerifier.verify(authorization);
+        liveSessionRegistry.handle(request);
+        return new BaseResponse<>(GlobalErrorCode.SUCCESS);
+    }
+}
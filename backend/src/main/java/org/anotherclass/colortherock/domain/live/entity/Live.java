@@ -3,6 +3,7 @@ package org.anotherclass.colortherock.domain.live.entity;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 
 import javax.persistence.*;
@@ -10,6 +11,12 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Getter
+// 방송 중인 공개 방만 id 역순으로 읽는다.
+@Table(name = "live",
+        indexes = {
+                @Index(name = "IDX_live_live_public", columnList = "is_live, is_public, id"),
+                @Index(name = "IDX_live_thumbnail_name", columnList = "thumbnail_name")
+        })
 public class Live {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -22,6 +29,11 @@ public class Live {
     @Column(name = "gym_name", length = 50)
     private String gymName;
 
+    // 암장 이름을 정규화한 암장, 채우기 전의 방은 null
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "gym_id")
+    private Gym gym;
+
     @Column(name = "title", length = 50)
     private String title;
 
@@ -54,4 +66,8 @@ public class Live {
         this.isLive = isLive;
         this.member = member;
     }
+
+    public void changeGym(Gym gym) {
+        this.gym = gym;
+    }
 }
@@ -0,0 +1,146 @@
+package org.anotherclass.colortherock.domain.live.entity;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.anotherclass.colortherock.domain.live.request.RecordingUploadAtOpenviduServerRequest;
+import org.anotherclass.colortherock.global.common.BaseTime;
+
+import javax.persistence.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 녹화 영상 저장 작업
+ * 오픈비두 서버의 녹화 파일을 스토리지에 올리고 Video 를 저장하는 작업을 큐로 관리한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "recording_job")
+public class RecordingJob extends BaseTime {
+
+    @Id
+    @Column(name = "id", length = 36, nullable = false)
+    private String id;
+
+    @Column(name = "recording_id", length = 100, nullable = false, unique = true)
+    private String recordingId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "level")
+    private Integer level;
+
+    @Column(name = "gym_name", length = 50)
+    private String gymName;
+
+    @Column(name = "is_success")
+    private Boolean isSuccess;
+
+    @Column(name = "color", length = 20)
+    private String color;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "progress", nullable = false)
+    private Integer progress;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "video_id")
+    private Long videoId;
+
+    @Builder
+    public RecordingJob(String recordingId, Long memberId, Integer level, String gymName, Boolean isSuccess, String color) {
+        this.id = jobIdOf(recordingId);
+        this.recordingId = recordingId;
+        this.memberId = memberId;
+        this.level = level;
+        this.gymName = gymName;
+        this.isSuccess = isSuccess;
+        this.color = color;
+        this.status = Status.PENDING;
+        this.progress = 0;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    /**
+     * 같은 녹화에 대해 항상 같은 작업 id를 만든다.
+     * 저장 요청이 중복으로 들어와도 작업은 하나만 생긴다.
+     *
+     * @param recordingId 녹화 id
+     * @return 작업 id
+     */
+    public static String jobIdOf(String recordingId) {
+        return UUID.nameUUIDFromBytes(("recording:" + recordingId).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public RecordingUploadAtOpenviduServerRequest toUploadRequest() {
+        return new RecordingUploadAtOpenviduServerRequest(recordingId, level, null, gymName, isSuccess, color, memberId);
+    }
+
+    /**
+     * 최종 실패한 작업을 다시 대기 상태로 돌린다.
+     */
+    public void retry() {
+        this.status = Status.PENDING;
+        this.progress = 0;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void succeed(Long videoId) {
+        this.status = Status.SUCCEEDED;
+        this.progress = 100;
+        this.videoId = videoId;
+        this.lastError = null;
+        this.lockedBy = null;
+        this.lockedAt = null;
+    }
+
+    /**
+     * 실패 처리, 최대 시도 횟수 전까지는 지수 백오프 후 다시 시도한다.
+     *
+     * @param error           실패 원인
+     * @param maxAttempts     최대 시도 횟수
+     * @param baseDelayMillis 첫 재시도 대기 시간
+     */
+    public void fail(String error, int maxAttempts, long baseDelayMillis) {
+        this.attempts += 1;
+        this.lastError = error == null ? null : error.substring(0, Math.min(error.length(), 500));
+        this.lockedBy = null;
+        this.lockedAt = null;
+        if (this.attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+            return;
+        }
+        long delay = baseDelayMillis * (1L << Math.min(this.attempts - 1, 10));
+        this.status = Status.PENDING;
+        this.progress = 0;
+        this.nextAttemptAt = LocalDateTime.now().plusNanos(delay * 1_000_000L);
+    }
+
+    public enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+}
@@ -0,0 +1,10 @@
+package org.anotherclass.colortherock.domain.live.exception;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+
+public class RecordingJobNotFoundException extends GlobalBaseException {
+    public RecordingJobNotFoundException() {
+        super(GlobalErrorCode.RECORDING_JOB_NOT_FOUND);
+    }
+}
@@ -0,0 +1,49 @@
+package org.anotherclass.colortherock.domain.live.repository;
+
+import org.anotherclass.colortherock.global.common.GymNameDto;
+import org.anotherclass.colortherock.global.common.GymNameIndexer;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 라이브 방 목록 암장 검색 색인
+ * 공개 여부와 방송 여부는 DB 에서 확인한다. 방의 암장 이름은 바뀌지 않으므로 새 방만 읽는다.
+ */
+@Component
+public class LiveGymIndex extends GymNameIndexer {
+
+    private final LiveRepository liveRepository;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+
+    public LiveGymIndex(LiveRepository liveRepository,
+                        MaintenanceJobRunner maintenanceJobRunner,
+                        @Value("${live.gym-index.enabled:true}") boolean enabled,
+                        @Value("${live.gym-index.scan-size:1000}") int scanSize,
+                        @Value("${live.gym-index.rescan-window:200}") int rescanWindow,
+                        @Value("${live.gym-index.max-lag:15000}") long maxLagMillis) {
+        super("라이브", enabled, scanSize, rescanWindow, maxLagMillis);
+        this.liveRepository = liveRepository;
+        this.maintenanceJobRunner = maintenanceJobRunner;
+    }
+
+    @Override
+    protected List<GymNameDto> load(Long lastId, Pageable pageable) {
+        return liveRepository.findGymNames(lastId, pageable);
+    }
+
+    @Scheduled(fixedDelayString = "${live.gym-index.refresh-interval:5000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    @Scheduled(cron = "${live.gym-index.rebuild.cron:0 40 * * * *}")
+    public void scheduledRebuild() {
+        // 전체를 다시 읽으므로 스케줄러 스레드에서 돌리지 않는다.
+        maintenanceJobRunner.submit("live-gym-index-rebuild", this::rebuild);
+    }
+}
@@ -5,6 +5,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.anotherclass.colortherock.domain.live.entity.Live;
 import org.anotherclass.colortherock.domain.live.entity.QLive;
 import org.anotherclass.colortherock.domain.live.request.LiveListRequest;
+import org.anotherclass.colortherock.domain.member.entity.QMember;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
@@ -18,15 +19,39 @@ public class LiveReadRepository {
 
 
     private final JPAQueryFactory queryFactory;
+    private final LiveGymIndex liveGymIndex;
 
-    public LiveReadRepository(EntityManager entityManager) {
+    public LiveReadRepository(EntityManager entityManager, LiveGymIndex liveGymIndex) {
         this.queryFactory = new JPAQueryFactory(entityManager);
+        this.liveGymIndex = liveGymIndex;
     }
 
     QLive live = QLive.live;
+    QMember member = QMember.member;
 
     public Slice<Live> searchBySlice(LiveListRequest liveListRequest, Pageable pageable) {
+        String gymName = liveListRequest.getGymName();
+        if (liveGymIndex.isAvailable(gymName)) {
+            // 암장 검색은 색인에서 고른 후보 id 만 DB 에서 확인한다.
+            Long liveId = liveListRequest.getLiveId();
+            List<Live> results = liveGymIndex.search(gymName, liveId == -1L ? null : liveId, pageable.getPageSize() + 1,
+                    ids -> queryFactory.selectFrom(live)
+                            .join(live.member, member)
+                            .fetchJoin()
+                            .where(
+                                    live.id.in(ids),
+                                    live.isPublic.eq(true),
+                                    live.isLive.eq(true),
+                                    checkGymName(gymName)
+                            )
+                            .orderBy(live.id.desc())
+                            .fetch());
+            return checkLastPage(pageable, results);
+        }
         List<Live> results = queryFactory.selectFrom(live)
+                // 목록에서 방송자 닉네임을 사용하므로 함께 가져온다.
+                .join(live.member, member)
+                .fetchJoin()
                 .where(
                         ltLiveId(liveListRequest.getLiveId()),
                         live.isPublic.eq(true),
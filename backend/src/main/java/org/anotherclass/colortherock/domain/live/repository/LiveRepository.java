@@ -1,13 +1,72 @@
 package org.anotherclass.colortherock.domain.live.repository;
 
+import org.anotherclass.colortherock.domain.gym.dto.GymUsageDto;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
 import org.anotherclass.colortherock.domain.live.entity.Live;
+import org.anotherclass.colortherock.domain.video.dto.StorageReferenceDto;
+import org.anotherclass.colortherock.global.common.GymNameDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LiveRepository extends JpaRepository<Live, Long> {
     @Transactional
     void deleteBySessionId(String sessionId);
     Optional<Live> findBySessionId(String sessionId);
+
+    /**
+     * 참조 중인 썸네일 이름을 id 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.domain.video.dto.StorageReferenceDto(l.id, l.thumbnailName) " +
+            "from Live l where l.id > :lastId order by l.id")
+    List<StorageReferenceDto> findStorageReferences(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * names 중 썸네일로 참조 중인 이름
+     */
+    @Query("select l.thumbnailName from Live l where l.thumbnailName in :names")
+    List<String> findThumbnailNamesIn(@Param("names") Collection<String> names);
+
+    /**
+     * 라이브 방의 암장 이름을 id 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.global.common.GymNameDto(l.id, l.gymName) " +
+            "from Live l where l.id > :lastId order by l.id")
+    List<GymNameDto> findGymNames(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * 암장이 채워지지 않은 라이브 방의 암장 이름을 id 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.global.common.GymNameDto(l.id, l.gymName) " +
+            "from Live l where l.gym is null and l.id > :lastId order by l.id")
+    List<GymNameDto> findGymBackfillTargets(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("update Live l set l.gym = :gym where l.id in :ids")
+    int assignGym(@Param("gym") Gym gym, @Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("update Live l set l.gym = :target where l.gym = :source")
+    int moveGym(@Param("source") Gym source, @Param("target") Gym target);
+
+    /**
+     * 암장 이름 표기별 라이브 방 수
+     */
+    @Query("select new org.anotherclass.colortherock.domain.gym.dto.GymUsageDto(l.gymName, count(l)) " +
+            "from Live l where l.gymName is not null group by l.gymName")
+    List<GymUsageDto> findGymUsages();
+
+    /**
+     * 주어진 암장 이름 표기별 라이브 방 수
+     */
+    @Query("select new org.anotherclass.colortherock.domain.gym.dto.GymUsageDto(l.gymName, count(l)) " +
+            "from Live l where l.gymName in :gymNames group by l.gymName")
+    List<GymUsageDto> findGymUsages(@Param("gymNames") Collection<String> gymNames);
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package org.anotherclass.colortherock.domain.live.repository;
+
+import org.anotherclass.colortherock.domain.live.entity.RecordingJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RecordingJobRepository extends JpaRepository<RecordingJob, String> {
+
+    @Query("select j.id from RecordingJob j where j.status = :status and j.nextAttemptAt <= :now order by j.nextAttemptAt")
+    List<String> findReadyIds(@Param("status") RecordingJob.Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 대기 중인 작업을 선점한다. 여러 서버가 같은 작업을 가져가도 한 곳만 1을 받는다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RecordingJob j set j.status = :running, j.lockedBy = :owner, j.lockedAt = :now " +
+            "where j.id = :id and j.status = :pending")
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("pending") RecordingJob.Status pending, @Param("running") RecordingJob.Status running);
+
+    /**
+     * 실행하지 못한 작업의 선점을 푼다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RecordingJob j set j.status = :pending, j.lockedBy = null, j.lockedAt = null " +
+            "where j.id = :id and j.lockedBy = :owner")
+    int release(@Param("id") String id, @Param("owner") String owner, @Param("pending") RecordingJob.Status pending);
+
+    /**
+     * 진행률은 작업 트랜잭션과 별개로 바로 커밋해야 상태 조회에서 보인다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("update RecordingJob j set j.progress = :progress where j.id = :id")
+    int updateProgress(@Param("id") String id, @Param("progress") int progress);
+
+    /**
+     * 선점한 워커가 영상을 저장한 작업을 완료 처리한다. 그 사이 선점이 풀렸으면 0 을 받는다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RecordingJob j set j.status = :succeeded, j.progress = 100, j.videoId = :videoId, j.lastError = null, " +
+            "j.lockedBy = null, j.lockedAt = null where j.id = :id and j.lockedBy = :owner and j.status = :running")
+    int succeed(@Param("id") String id, @Param("owner") String owner, @Param("videoId") Long videoId,
+                @Param("running") RecordingJob.Status running, @Param("succeeded") RecordingJob.Status succeeded);
+
+    /**
+     * 서버가 죽어서 오래 RUNNING 으로 남은 작업 중 최대 시도 횟수에 닿은 작업을 끝낸다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RecordingJob j set j.status = :failed, j.attempts = j.attempts + 1, j.lastError = :error, " +
+            "j.lockedBy = null, j.lockedAt = null where j.status = :running and j.lockedAt < :threshold and j.attempts + 1 >= :maxAttempts")
+    int failStale(@Param("threshold") LocalDateTime threshold, @Param("maxAttempts") int maxAttempts, @Param("error") String error,
+                  @Param("running") RecordingJob.Status running, @Param("failed") RecordingJob.Status failed);
+
+    /**
+     * 서버가 죽어서 오래 RUNNING 으로 남은 작업을 시도 횟수를 늘려서 다시 대기 상태로 돌린다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RecordingJob j set j.status = :pending, j.attempts = j.attempts + 1, j.lockedBy = null, j.lockedAt = null, j.progress = 0 " +
+            "where j.status = :running and j.lockedAt < :threshold and j.attempts + 1 < :maxAttempts")
+    int reclaimStale(@Param("threshold") LocalDateTime threshold, @Param("maxAttempts") int maxAttempts,
+                     @Param("pending") RecordingJob.Status pending, @Param("running") RecordingJob.Status running);
+}
@@ -0,0 +1,49 @@
+package org.anotherclass.colortherock.domain.live.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 오픈비두 서버가 보내는 webhook 이벤트
+ * 사용하지 않는 필드는 무시한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "오픈비두 webhook 이벤트")
+public class OpenviduWebhookRequest {
+
+    @Schema(description = "이벤트 종류 (sessionCreated, sessionDestroyed, participantJoined, participantLeft, recordingStatusChanged)")
+    private String event;
+
+    @Schema(description = "세션 id")
+    private String sessionId;
+
+    @Schema(description = "커넥션 id")
+    private String connectionId;
+
+    @Schema(description = "참가자 id (이전 버전의 커넥션 id)")
+    private String participantId;
+
+    @Schema(description = "녹화 id")
+    private String id;
+
+    @Schema(description = "녹화 상태")
+    private String status;
+
+    @Schema(description = "이벤트 발생 시간")
+    private Long timestamp;
+
+    /**
+     * 오픈비두 버전에 따라 커넥션 id가 participantId로 오는 경우가 있다.
+     *
+     * @return 커넥션 id
+     */
+    public String resolveConnectionId() {
+        return connectionId != null ? connectionId : participantId;
+    }
+}
@@ -0,0 +1,35 @@
+package org.anotherclass.colortherock.domain.live.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import org.anotherclass.colortherock.domain.live.entity.RecordingJob;
+
+@Schema(description = "녹화 저장 작업 상태")
+@Getter
+public class RecordingJobStatusResponse {
+
+    @Schema(description = "작업 id")
+    private final String jobId;
+    @Schema(description = "녹화 영상 id")
+    private final String recordingId;
+    @Schema(description = "작업 상태(PENDING, RUNNING, SUCCEEDED, FAILED)")
+    private final String status;
+    @Schema(description = "진행률(0~100)")
+    private final Integer progress;
+    @Schema(description = "시도 횟수")
+    private final Integer attempts;
+    @Schema(description = "저장된 영상 id, 완료 전에는 null")
+    private final Long videoId;
+    @Schema(description = "마지막 실패 원인")
+    private final String lastError;
+
+    public RecordingJobStatusResponse(RecordingJob job) {
+        this.jobId = job.getId();
+        this.recordingId = job.getRecordingId();
+        this.status = job.getStatus().name();
+        this.progress = job.getProgress();
+        this.attempts = job.getAttempts();
+        this.videoId = job.getVideoId();
+        this.lastError = job.getLastError();
+    }
+}
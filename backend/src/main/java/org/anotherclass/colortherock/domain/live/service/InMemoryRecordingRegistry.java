@@ -0,0 +1,124 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 기반 녹화 저장소
+ * 세션이 종료되면 지우고, 종료 요청을 받지 못한 세션은 TTL과 최대 세션 수로 정리한다.
+ */
+@Component
+@Profile("local")
+public class InMemoryRecordingRegistry implements RecordingRegistry {
+
+    private final long ttlMillis;
+    private final int maxSessions;
+    private final ConcurrentMap<String, SessionRecordings> recordingsForSession = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RecordingUrl> urlsForRecordings = new ConcurrentHashMap<>();
+
+    public InMemoryRecordingRegistry(@Value("${live.recording.ttl-hours:24}") long ttlHours,
+                                     @Value("${live.recording.max-sessions:1000}") int maxSessions) {
+        this.ttlMillis = TimeUnit.HOURS.toMillis(ttlHours);
+        this.maxSessions = maxSessions;
+    }
+
+    @Override
+    public void addRecording(String sessionId, String recordingId) {
+        SessionRecordings recordings = recordingsForSession.computeIfAbsent(sessionId, id -> new SessionRecordings());
+        recordings.recordingIds.add(recordingId);
+        recordings.touch();
+        if (recordingsForSession.size() > maxSessions) evictOldest();
+    }
+
+    @Override
+    public void removeRecording(String sessionId, String recordingId) {
+        SessionRecordings recordings = recordingsForSession.get(sessionId);
+        if (recordings != null) recordings.recordingIds.remove(recordingId);
+        urlsForRecordings.remove(recordingId);
+    }
+
+    @Override
+    public void saveUrl(String recordingId, String url) {
+        urlsForRecordings.put(recordingId, new RecordingUrl(url));
+    }
+
+    @Override
+    public Map<String, String> findRecordings(String sessionId) {
+        SessionRecordings recordings = recordingsForSession.get(sessionId);
+        if (recordings == null) return Collections.emptyMap();
+        Map<String, String> result = new LinkedHashMap<>();
+        synchronized (recordings.recordingIds) {
+            recordings.recordingIds.forEach(recordingId -> {
+                RecordingUrl url = urlsForRecordings.get(recordingId);
+                result.put(recordingId, url == null ? null : url.url);
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public void removeSession(String sessionId) {
+        SessionRecordings recordings = recordingsForSession.remove(sessionId);
+        if (recordings != null) recordings.removeUrls(urlsForRecordings);
+    }
+
+    /**
+     * 종료 요청 없이 남아있는 세션과 URL을 주기적으로 정리한다.
+     */
+    @Scheduled(fixedDelayString = "${live.recording.purge-interval:600000}")
+    public void purgeExpired() {
+        long expiredBefore = System.currentTimeMillis() - ttlMillis;
+        recordingsForSession.entrySet().removeIf(entry -> {
+            if (entry.getValue().touchedAt >= expiredBefore) return false;
+            entry.getValue().removeUrls(urlsForRecordings);
+            return true;
+        });
+        urlsForRecordings.values().removeIf(url -> url.savedAt < expiredBefore);
+    }
+
+    int sessionCount() {
+        return recordingsForSession.size();
+    }
+
+    // 가장 오래전에 사용된 세션부터 지운다.
+    private void evictOldest() {
+        while (recordingsForSession.size() > maxSessions) {
+            Optional<Map.Entry<String, SessionRecordings>> oldest = recordingsForSession.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().touchedAt));
+            if (oldest.isEmpty()) return;
+            removeSession(oldest.get().getKey());
+        }
+    }
+
+    private static class SessionRecordings {
+        // 녹화 시작 순서를 유지한다.
+        private final Set<String> recordingIds = Collections.synchronizedSet(new LinkedHashSet<>());
+        private volatile long touchedAt = System.currentTimeMillis();
+
+        private void touch() {
+            touchedAt = System.currentTimeMillis();
+        }
+
+        private void removeUrls(Map<String, RecordingUrl> urls) {
+            synchronized (recordingIds) {
+                recordingIds.forEach(urls::remove);
+            }
+        }
+    }
+
+    private static class RecordingUrl {
+        private final String url;
+        private final long savedAt = System.currentTimeMillis();
+
+        private RecordingUrl(String url) {
+            this.url = url;
+        }
+    }
+}
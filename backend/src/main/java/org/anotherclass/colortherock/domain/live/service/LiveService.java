@@ -1,12 +1,17 @@
 package org.anotherclass.colortherock.domain.live.service;
 
 import io.openvidu.java.client.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.anotherclass.colortherock.domain.exception.OpenviduException;
+import org.anotherclass.colortherock.domain.gym.service.GymAutocompleteService;
+import org.anotherclass.colortherock.domain.gym.service.GymResolver;
 import org.anotherclass.colortherock.domain.live.entity.Live;
 import org.anotherclass.colortherock.domain.live.exception.RecordingDeleteException;
 import org.anotherclass.colortherock.domain.live.exception.RecordingStartBadRequestException;
 import org.anotherclass.colortherock.domain.live.exception.SessionNotFountException;
+import org.anotherclass.colortherock.domain.live.repository.LiveGymIndex;
 import org.anotherclass.colortherock.domain.live.repository.LiveReadRepository;
 import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
 import org.anotherclass.colortherock.domain.live.request.*;
@@ -21,38 +26,50 @@ import org.anotherclass.colortherock.domain.memberrecord.service.RecordService;
 import org.anotherclass.colortherock.domain.video.entity.Video;
 import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
 import org.anotherclass.colortherock.domain.video.service.S3Service;
+import org.anotherclass.colortherock.domain.video.service.StorageDeletionOutbox;
 import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
 
 @Service
 @Slf4j
 public class LiveService {
 
     private final S3Service s3Service;
+    private final StorageDeletionOutbox storageDeletionOutbox;
 
     private final RecordService recordService;
     private final LiveRepository liveRepository;
     private final LiveReadRepository liveReadRepository;
+    private final LiveGymIndex liveGymIndex;
+    private final GymResolver gymResolver;
+    private final GymAutocompleteService gymAutocompleteService;
     private final MemberRepository memberRepository;
     private final VideoRepository videoRepository;
-    private static final ConcurrentMap<String, List<String>> recordingsForSession = new ConcurrentHashMap<>();
-    private static final ConcurrentMap<String, String> urlsForRecordings = new ConcurrentHashMap<>();
+    private final RecordingRegistry recordingRegistry;
     private final OpenVidu openVidu;
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final StaleLiveReaper staleLiveReaper;
+    private final Executor storageUploadExecutor;
     private static final Integer PAGE_SIZE = 15;
+    // 종료된 방이 많을 때 목록 한 번에 읽는 페이지 수의 상한
+    private static final int MAX_FILL_ROUNDS = 4;
 
 
     @Value("${RECORDING_PATH}")
@@ -61,18 +78,34 @@ public class LiveService {
     public LiveService(LiveRepository liveRepository,
                        MemberRepository memberRepository,
                        S3Service s3Service,
+                       StorageDeletionOutbox storageDeletionOutbox,
                        RecordService recordService,
                        VideoRepository videoRepository,
-                       LiveReadRepository liveReadRepository, @Value("${OPENVIDU_URL}") String openviduUrl,
-                       @Value("${OPENVIDU_SECRET}") String openviduSecret,
+                       LiveReadRepository liveReadRepository,
+                       LiveGymIndex liveGymIndex,
+                       GymResolver gymResolver,
+                       GymAutocompleteService gymAutocompleteService,
+                       OpenVidu openVidu,
+                       LiveSessionRegistry liveSessionRegistry,
+                       StaleLiveReaper staleLiveReaper,
+                       RecordingRegistry recordingRegistry,
+                       @Qualifier("storageUploadExecutor") Executor storageUploadExecutor,
                        final @Value("${RECORDING_PATH}") String recordingPath) {
         this.s3Service = s3Service;
+        this.storageDeletionOutbox = storageDeletionOutbox;
         this.recordService = recordService;
         this.liveRepository = liveRepository;
         this.memberRepository = memberRepository;
         this.liveReadRepository = liveReadRepository;
+        this.liveGymIndex = liveGymIndex;
+        this.gymResolver = gymResolver;
+        this.gymAutocompleteService = gymAutocompleteService;
         this.videoRepository = videoRepository;
-        this.openVidu = new OpenVidu(openviduUrl, openviduSecret);
+        this.openVidu = openVidu;
+        this.liveSessionRegistry = liveSessionRegistry;
+        this.staleLiveReaper = staleLiveReaper;
+        this.recordingRegistry = recordingRegistry;
+        this.storageUploadExecutor = storageUploadExecutor;
         this.recordingPath = recordingPath;
     }
 
@@ -93,13 +126,18 @@ public class LiveService {
         } catch (OpenViduJavaClientException | OpenViduHttpException e) {
             throw new OpenviduException(e);
         }
+        liveSessionRegistry.register(session);
         String thumbnailName = System.currentTimeMillis() + session.getSessionId();
         String uploadedURL;
         uploadedURL = s3Service.upload(thumbnail, thumbnailName);
         Live live = request.toEntity(session.getSessionId(), member, uploadedURL, thumbnailName);
+        live.changeGym(gymResolver.resolve(live.getGymName()));
         liveRepository.save(live);
+        liveGymIndex.put(live.getId(), live.getGymName());
+        gymAutocompleteService.record(live.getGymName());
         try {
             Connection connection = session.createConnection(new ConnectionProperties.Builder().role(OpenViduRole.PUBLISHER).build());
+            liveSessionRegistry.registerConnection(session.getSessionId(), connection);
             return connection.getToken();
         } catch (OpenViduJavaClientException | OpenViduHttpException e) {
             throw new OpenviduException(e);
@@ -113,17 +151,14 @@ public class LiveService {
      * @return 커넥션 token
      */
     public String joinLiveRoom(String sessionId) {
-        try {
-            openVidu.fetch();
-        } catch (OpenViduJavaClientException | OpenViduHttpException e) {
-            throw new OpenviduException(e);
-        }
-        Session activeSession = openVidu.getActiveSession(sessionId);
+        // 세션 레지스트리에서 조회하므로 참가할 때마다 전체 세션을 fetch 하지 않는다.
+        Session activeSession = liveSessionRegistry.getActiveSession(sessionId);
         if (activeSession == null) {
             throw new SessionNotFountException();
         }
         try {
             Connection connection = activeSession.createConnection(new ConnectionProperties.Builder().role(OpenViduRole.SUBSCRIBER).build());
+            liveSessionRegistry.registerConnection(sessionId, connection);
             return connection.getToken();
         } catch (OpenViduJavaClientException | OpenViduHttpException e) {
             throw new OpenviduException(e);
@@ -139,29 +174,21 @@ public class LiveService {
      */
 
     public String recordingStart(String sessionId, RecordingStartRequest request) {
-        try {
-            openVidu.fetch();
-        } catch (OpenViduJavaClientException | OpenViduHttpException e) {
-            throw new OpenviduException(e);
-        }
-        Session activeSession = openVidu.getActiveSession(sessionId);
+        Session activeSession = liveSessionRegistry.getActiveSession(sessionId);
         if (activeSession == null) {
             throw new SessionNotFountException();
         }
-        String connectionId = request.getConnectionId();
-        Connection connection = activeSession.getConnection(connectionId);
-        OpenViduRole role = connection.getRole();
+        OpenViduRole role = liveSessionRegistry.getConnectionRole(activeSession, request.getConnectionId());
 
-        if (role.equals(OpenViduRole.PUBLISHER)) {
+        if (OpenViduRole.PUBLISHER.equals(role)) {
             try {
                 RecordingProperties properties = new RecordingProperties.Builder()
                         .resolution("720x1280")
                         .frameRate(50).build();
                 Recording recording = openVidu.startRecording(sessionId, properties);
                 String recordingId = recording.getId();
-                List<String> recordings = recordingsForSession.getOrDefault(sessionId, new ArrayList<>());
-                recordings.add(recordingId);
-                recordingsForSession.put(sessionId, recordings);
+                recordingRegistry.addRecording(sessionId, recordingId);
+                liveSessionRegistry.markRecording(sessionId, true);
                 return recordingId;
             } catch (OpenViduJavaClientException | OpenViduHttpException e) {
                 throw new OpenviduException(e);
@@ -186,6 +213,8 @@ public class LiveService {
 
     /**
      * 라이브 방 목록 반환
+     * 세션 레지스트리의 스냅샷과 DB 페이지를 한번에 맞춰보고, 종료된 방은 응답에서 빼고 정리 작업에 넘긴다.
+     * 빠진 방 만큼 다음 페이지를 더 읽어서 한 페이지를 채운다.
      *
      * @param liveListRequest {@link LiveListRequest}
      * @return {@link LiveListResponse} 리스트 형태로 반환
@@ -193,18 +222,22 @@ public class LiveService {
     @Transactional(readOnly = true)
     public List<LiveListResponse> getLiveList(LiveListRequest liveListRequest) {
         Pageable pageable = Pageable.ofSize(PAGE_SIZE);
-
-        Slice<Live> slices = liveReadRepository.searchBySlice(liveListRequest, pageable);
-
-        if (slices.isEmpty()) return new ArrayList<>();
-
-        // list를 받아와서 openvidu의 active session과 비교하여 없으면 DB 삭제하는 방식으로 DB를 최적화
-        List<String> activeSessions = openVidu.getActiveSessions().stream().map(Session::getSessionId).collect(Collectors.toList());
-
+        Map<String, Integer> activeSessions = liveSessionRegistry.participantCounts();
         List<LiveListResponse> responses = new ArrayList<>();
 
-        slices.toList().forEach(live -> {
-            if (activeSessions.contains(live.getSessionId())) {
+        LiveListRequest request = liveListRequest;
+        for (int round = 0; round < MAX_FILL_ROUNDS && responses.size() < PAGE_SIZE; round++) {
+            Slice<Live> slices = liveReadRepository.searchBySlice(request, pageable);
+            if (slices.isEmpty()) break;
+
+            Long lastId = null;
+            for (Live live : slices) {
+                lastId = live.getId();
+                Integer participantNum = activeSessions.get(live.getSessionId());
+                if (participantNum == null) {
+                    staleLiveReaper.submit(live);
+                    continue;
+                }
                 responses.add(LiveListResponse.builder()
                         .id(live.getId())
                         .title(live.getTitle())
@@ -212,14 +245,16 @@ public class LiveService {
                         .memberName(live.getMember().getNickname())
                         .gymName(live.getGymName())
                         .sessionId(live.getSessionId())
-                        .participantNum(
-                                openVidu.getActiveSession(live.getSessionId()).getActiveConnections().size()
-                        )
+                        .participantNum(participantNum)
                         .thumbnailUrl(live.getThumbnailURL()).build());
-            } else {
-                liveRepository.delete(live);
+                if (responses.size() == PAGE_SIZE) break;
             }
-        });
+            if (!slices.hasNext()) break;
+            request = LiveListRequest.builder()
+                    .liveId(lastId)
+                    .gymName(liveListRequest.getGymName())
+                    .build();
+        }
         return responses;
     }
 
@@ -230,14 +265,14 @@ public class LiveService {
      * @return {@link PrevRecordingListResponse} 리스트 형태로 반환
      */
     public List<PrevRecordingListResponse> getRecordings(String sessionId) {
-        List<String> recordingIds = recordingsForSession.get(sessionId);
+        Map<String, String> recordings = recordingRegistry.findRecordings(sessionId);
         List<PrevRecordingListResponse> response = new ArrayList<>();
-        recordingIds.forEach(recordingId -> {
+        recordings.forEach((recordingId, url) -> {
             try {
                 Recording recording = openVidu.getRecording(recordingId);
                 if (recording.getStatus() == Recording.Status.ready) {
                     PrevRecordingListResponse recordingListResponse = new PrevRecordingListResponse(recording);
-                    recordingListResponse.setUrl(urlsForRecordings.get(recordingId));
+                    recordingListResponse.setUrl(url);
                     response.add(recordingListResponse);
                 }
             } catch (OpenViduJavaClientException | OpenViduHttpException e) {
@@ -248,7 +283,7 @@ public class LiveService {
     }
 
     public void deleteRecording(String sessionId, String recordingId) {
-        recordingsForSession.get(sessionId).remove(recordingId);
+        recordingRegistry.removeRecording(sessionId, recordingId);
         try {
             openVidu.deleteRecording(recordingId);
         } catch (OpenViduJavaClientException | OpenViduHttpException e) {
@@ -264,62 +299,119 @@ public class LiveService {
     @Transactional
     public void removeSession(String sessionId) {
         Optional<Live> live = liveRepository.findBySessionId(sessionId);
-        live.ifPresent(value -> s3Service.deleteFile(value.getThumbnailName()));
+        // 방 삭제와 같은 트랜잭션에서 썸네일 삭제를 예약한다.
+        live.ifPresent(value -> {
+            storageDeletionOutbox.enqueue(value.getThumbnailName());
+            liveGymIndex.remove(value.getId());
+            gymAutocompleteService.remove(value.getGymName());
+        });
         liveRepository.deleteBySessionId(sessionId);
+        liveSessionRegistry.remove(sessionId);
+        recordingRegistry.removeSession(sessionId);
     }
 
     /**
-     * 녹화 저장 로직
+     * 오픈비두 서버에서 녹화 영상을 업로드 하는 로직
+     * 오픈비두 서버 로컬 파일시스템에 접근해서 파일을 가져온다.
+     *
+     * 녹화 저장 작업({@link RecordingJobService})에서 트랜잭션 밖에서 호출하고, 영상은 {@link #saveRecording} 으로 따로 저장한다.
      *
-     * @param memberDetails 인증된 사용자
-     * @param request       {@link RecordingSaveRequest} 녹화 저장 요청
+     * @param request  {@link RecordingUploadAtOpenviduServerRequest} 오픈비두 서버 업로드 요청
+     * @param progress 진행률(0~100)을 받는 콜백
+     * @return 올린 영상과 썸네일
      */
-    public void recordingSave(MemberDetails memberDetails, RecordingSaveRequest request) {
+    public RecordedFiles transferRecording(RecordingUploadAtOpenviduServerRequest request, IntConsumer progress) {
+        String videoExtension = ".mp4";
+        String newDir = recordingPath + "/" + request.getRecordingId() + "/" + request.getRecordingId() + videoExtension;
+        String videoName = System.currentTimeMillis() + request.getRecordingId() + videoExtension;
+        String thumbnailName = "Thumb" + System.currentTimeMillis() + request.getRecordingId() + ".JPEG";
+        if (!memberRepository.existsById(request.getMemberId())) {
+            throw new MemberNotFoundException(GlobalErrorCode.USER_NOT_FOUND);
+        }
+        // 썸네일은 영상 업로드와 동시에 올린다.
+        CompletableFuture<String> thumbnailUpload = CompletableFuture.supplyAsync(
+                () -> s3Service.uploadThumbnailFromOV(newDir, thumbnailName), storageUploadExecutor);
+        String s3Url;
+        try {
+            s3Url = s3Service.uploadFromOV(newDir, videoName);
+        } catch (RuntimeException e) {
+            discardThumbnail(thumbnailUpload, thumbnailName, e);
+            throw e;
+        }
+        progress.accept(60);
+        recordingRegistry.saveUrl(request.getRecordingId(), s3Url);
+        String thumbnailURL;
+        try {
+            thumbnailURL = thumbnailUpload.join();
+        } catch (CompletionException e) {
+            storageDeletionOutbox.enqueue(videoName);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        progress.accept(90);
+        return new RecordedFiles(s3Url, videoName, thumbnailURL, thumbnailName);
+    }
 
-        WebClient webClient = WebClient.create();
-        webClient
-                .post()
-                .uri("https://colortherock.com/api/live/uploadRecord")
-                .bodyValue(new RecordingUploadAtOpenviduServerRequest(request, memberDetails.getMember().getId()))
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+    /**
+     * 영상 업로드가 실패하면 같이 올린 썸네일은 쓰이지 않는다.
+     * 작업이 실패로 끝나고 다시 시도되기 전에 삭제 예약이 남도록, 썸네일 업로드가 끝나길 기다렸다가 바로 예약한다.
+     */
+    private void discardThumbnail(CompletableFuture<String> thumbnailUpload, String thumbnailName, RuntimeException cause) {
+        try {
+            thumbnailUpload.join();
+        } catch (CompletionException | CancellationException e) {
+            // 썸네일도 올라가지 않았다.
+            return;
+        }
+        try {
+            storageDeletionOutbox.enqueue(thumbnailName);
+        } catch (RuntimeException e) {
+            log.warn("썸네일 삭제 예약 실패, 고아 파일 정리에서 지워집니다 : {}", thumbnailName);
+            cause.addSuppressed(e);
+        }
     }
 
     /**
-     * 오픈비두 서버에서 녹화 영상을 업로드 하는 로직
-     * 오픈비두 서버 로컬 파일시스템에 접근해서 파일을 가져온다.
+     * 스토리지에 올린 녹화 영상을 저장한다.
      *
      * @param request {@link RecordingUploadAtOpenviduServerRequest} 오픈비두 서버 업로드 요청
+     * @param files   {@link #transferRecording} 으로 올린 파일
+     * @return 저장된 영상 id
      */
     @Transactional
-    public void uploadAtOpenviduServer(RecordingUploadAtOpenviduServerRequest request) {
-        String videoExtension = ".mp4";
-        String newDir = recordingPath + "/" + request.getRecordingId() + "/" + request.getRecordingId() + videoExtension;
-        String videoName = System.currentTimeMillis() + request.getRecordingId() + videoExtension;
-        String s3Url = s3Service.uploadFromOV(newDir, videoName);
-        urlsForRecordings.put(request.getRecordingId(), s3Url);
+    public Long saveRecording(RecordingUploadAtOpenviduServerRequest request, RecordedFiles files) {
         Member member = memberRepository.findById(request.getMemberId()).orElseThrow(() -> {
             throw new MemberNotFoundException(GlobalErrorCode.USER_NOT_FOUND);
         });
-        // 썸네일 추가
-        String thumbnailName = "Thumb" + System.currentTimeMillis() + request.getRecordingId() + ".JPEG";
-        String thumbnailURL = s3Service.uploadThumbnailFromOV(newDir, thumbnailName);
         // 비디오 저장
-        videoRepository.save(Video.builder()
+        Video video = videoRepository.save(Video.builder()
                 .shootingDate(LocalDate.now())
                 .level(request.getLevel())
                 .gymName(request.getGymName())
-                .s3URL(s3Url)
-                .videoName(videoName)
+                .s3URL(files.getS3Url())
+                .videoName(files.getVideoName())
                 .isSuccess(request.getIsSuccess())
-                .thumbnailURL(thumbnailURL)
-                .thumbnailName(thumbnailName)
+                .thumbnailURL(files.getThumbnailURL())
+                .thumbnailName(files.getThumbnailName())
                 .color(request.getColor())
                 .isPosted(false)
                 .member(member)
                 .build());
-        // 영상 누적 통계에서 영상 갯수 올리기
-        recordService.addVideoCount(member, request.getIsSuccess());
+        video.changeGym(gymResolver.resolve(video.getGymName()));
+        gymAutocompleteService.record(video.getGymName());
+        // 영상 저장과 같은 트랜잭션에서 누적 통계 증가
+        recordService.addVideoStat(video);
+        return video.getId();
+    }
+
+    /**
+     * 스토리지에 올린 녹화 영상과 썸네일
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class RecordedFiles {
+        private final String s3Url;
+        private final String videoName;
+        private final String thumbnailURL;
+        private final String thumbnailName;
     }
 }
@@ -0,0 +1,420 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.openvidu.java.client.*;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.exception.OpenviduException;
+import org.anotherclass.colortherock.domain.live.request.OpenviduWebhookRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오픈비두 세션 상태를 메모리에 들고 있는 레지스트리
+ * webhook 이벤트로 갱신하고, 이벤트를 놓친 경우를 대비해 주기적으로 오픈비두 서버와 동기화 한다.
+ * 동기화는 조회한 목록을 지금 상태에 합치므로, 조회하는 동안 받은 이벤트와 이 서버에서 발급한 커넥션은 남는다.
+ * 참가/녹화 요청마다 openVidu.fetch()로 전체 세션을 조회하지 않기 위해 사용한다.
+ */
+@Slf4j
+@Component
+public class LiveSessionRegistry {
+
+    private static final long TOMBSTONE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final OpenVidu openVidu;
+    private final ConcurrentMap<String, LiveSessionState> sessions = new ConcurrentHashMap<>();
+    // 종료 이벤트를 받은 세션, 없는 세션에 대한 요청을 오픈비두 조회 없이 거절하기 위해 사용
+    private final ConcurrentMap<String, Long> destroyedSessions = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter driftCounter;
+    private volatile long lastReconciledAt = System.currentTimeMillis();
+    private volatile long lastEventAt = System.currentTimeMillis();
+
+    public LiveSessionRegistry(OpenVidu openVidu, MeterRegistry meterRegistry) {
+        this.openVidu = openVidu;
+        this.hitCounter = Counter.builder("live.session.registry.lookup")
+                .description("메모리에서 바로 응답한 세션 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("live.session.registry.lookup")
+                .description("오픈비두 서버 조회가 필요했던 세션 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("live.session.registry.reconcile.drift")
+                .description("동기화 시점에 webhook 으로 반영되지 않았던 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("live.session.registry.sessions", sessions, Map::size)
+                .description("레지스트리에 있는 활성 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("live.session.registry.staleness", this, registry -> registry.secondsSince(registry.lastReconciledAt))
+                .description("마지막 동기화 이후 지난 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("live.session.registry.event.age", this, registry -> registry.secondsSince(registry.lastEventAt))
+                .description("마지막 webhook 이벤트 이후 지난 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * webhook 이벤트를 레지스트리에 반영한다.
+     * webhook 은 순서가 바뀌거나 두 번 올 수 있으므로 이벤트 발생 시간으로 비교한다.
+     * 종료된 세션보다 먼저 일어난 이벤트는 버리고, 같은 커넥션과 녹화 상태는 더 나중에 일어난 이벤트만 반영한다.
+     *
+     * @param event {@link OpenviduWebhookRequest} 오픈비두 webhook 이벤트
+     */
+    public synchronized void handle(OpenviduWebhookRequest event) {
+        String sessionId = event.getSessionId();
+        if (event.getEvent() == null || sessionId == null) return;
+        long now = System.currentTimeMillis();
+        lastEventAt = now;
+        long at = event.getTimestamp() == null ? now : event.getTimestamp();
+        if ("sessionDestroyed".equals(event.getEvent())) {
+            LiveSessionState state = sessions.get(sessionId);
+            // 같은 id 로 다시 만든 세션에 이전 세션의 종료 이벤트가 늦게 온 경우
+            if (state != null && state.createdAt > at) return;
+            sessions.remove(sessionId);
+            destroyedSessions.merge(sessionId, at, Math::max);
+            return;
+        }
+        Long destroyedAt = destroyedSessions.get(sessionId);
+        if (destroyedAt != null) {
+            if (at <= destroyedAt) return;
+            destroyedSessions.remove(sessionId);
+        }
+        switch (event.getEvent()) {
+            case "sessionCreated":
+                sessions.computeIfAbsent(sessionId, id -> new LiveSessionState(id, at));
+                break;
+            case "participantJoined":
+                sessions.computeIfAbsent(sessionId, id -> new LiveSessionState(id, at))
+                        .joined(event.resolveConnectionId(), at);
+                break;
+            case "participantLeft":
+                LiveSessionState left = sessions.get(sessionId);
+                if (left != null) left.left(event.resolveConnectionId(), at);
+                break;
+            case "recordingStatusChanged":
+                LiveSessionState recorded = sessions.get(sessionId);
+                if (recorded != null) recorded.recordingChanged("started".equals(event.getStatus()), at);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 활성 세션 조회
+     * 레지스트리가 알고 있는 세션은 오픈비두 클라이언트 캐시에서 바로 꺼내고,
+     * 모르는 세션일 때만 오픈비두 서버를 조회한다.
+     *
+     * @param sessionId 세션 id
+     * @return 활성 세션, 없으면 null
+     */
+    public Session getActiveSession(String sessionId) {
+        if (destroyedSessions.containsKey(sessionId)) {
+            hitCounter.increment();
+            return null;
+        }
+        if (sessions.containsKey(sessionId)) {
+            Session session = openVidu.getActiveSession(sessionId);
+            if (session != null) {
+                hitCounter.increment();
+                return session;
+            }
+        }
+        missCounter.increment();
+        long startedAt = System.currentTimeMillis();
+        try {
+            openVidu.fetch();
+        } catch (OpenViduJavaClientException | OpenViduHttpException e) {
+            throw new OpenviduException(e);
+        }
+        Session session = openVidu.getActiveSession(sessionId);
+        synchronized (this) {
+            if (session == null) {
+                LiveSessionState state = sessions.get(sessionId);
+                if (state != null && state.touchedAt < startedAt) sessions.remove(sessionId);
+                return null;
+            }
+            // 조회하는 동안 종료 이벤트를 받았으면 클라이언트 캐시의 세션은 이미 끝난 것이다.
+            if (!merge(LiveSessionState.from(session), startedAt) && destroyedSessions.containsKey(sessionId)) return null;
+        }
+        return session;
+    }
+
+    /**
+     * 커넥션의 역할 조회
+     * 이 서버에서 만든 커넥션이나 동기화된 커넥션이면 메모리에서 응답하고, 아니면 해당 세션만 다시 조회한다.
+     *
+     * @param session      활성 세션
+     * @param connectionId 커넥션 id
+     * @return 커넥션 역할, 없는 커넥션이면 null
+     */
+    public OpenViduRole getConnectionRole(Session session, String connectionId) {
+        if (connectionId == null) return null;
+        LiveSessionState state = sessions.computeIfAbsent(session.getSessionId(), LiveSessionState::new);
+        OpenViduRole role = state.roles.get(connectionId);
+        if (role != null) {
+            hitCounter.increment();
+            return role;
+        }
+        missCounter.increment();
+        try {
+            session.fetch();
+        } catch (OpenViduJavaClientException | OpenViduHttpException e) {
+            throw new OpenviduException(e);
+        }
+        Connection connection = session.getConnection(connectionId);
+        if (connection == null) return null;
+        state.issued(connectionId, connection.getRole());
+        return connection.getRole();
+    }
+
+    /**
+     * 이 서버에서 만든 세션 등록
+     *
+     * @param session 생성된 세션
+     */
+    public synchronized void register(Session session) {
+        destroyedSessions.remove(session.getSessionId());
+        sessions.computeIfAbsent(session.getSessionId(), LiveSessionState::new);
+    }
+
+    /**
+     * 이 서버에서 발급한 커넥션의 역할을 기록
+     *
+     * @param sessionId  세션 id
+     * @param connection 발급한 커넥션
+     */
+    public synchronized void registerConnection(String sessionId, Connection connection) {
+        sessions.computeIfAbsent(sessionId, LiveSessionState::new)
+                .issued(connection.getConnectionId(), connection.getRole());
+    }
+
+    /**
+     * 녹화 상태 변경
+     *
+     * @param sessionId 세션 id
+     * @param recording 녹화 중 여부
+     */
+    public synchronized void markRecording(String sessionId, boolean recording) {
+        LiveSessionState state = sessions.get(sessionId);
+        if (state != null) state.recordingChanged(recording, System.currentTimeMillis());
+    }
+
+    boolean isRecording(String sessionId) {
+        LiveSessionState state = sessions.get(sessionId);
+        return state != null && state.recording;
+    }
+
+    boolean isDestroyed(String sessionId) {
+        return destroyedSessions.containsKey(sessionId);
+    }
+
+    /**
+     * 종료된 세션 제거
+     *
+     * @param sessionId 세션 id
+     */
+    public synchronized void remove(String sessionId) {
+        sessions.remove(sessionId);
+        destroyedSessions.merge(sessionId, System.currentTimeMillis(), Math::max);
+    }
+
+    /**
+     * 현재 활성 세션과 참가자 수 스냅샷
+     * 세션 id로 바로 찾을 수 있도록 map 형태로 반환한다.
+     *
+     * @return 세션 id - 참가자 수
+     */
+    public Map<String, Integer> participantCounts() {
+        Map<String, Integer> counts = new HashMap<>(sessions.size() * 2);
+        sessions.forEach((sessionId, state) -> counts.put(sessionId, state.activeConnections.size()));
+        return counts;
+    }
+
+    /**
+     * webhook 유실에 대비해 주기적으로 오픈비두 서버의 세션 목록과 동기화 한다.
+     */
+    @Scheduled(fixedDelayString = "${live.registry.reconcile-interval:30000}",
+            initialDelayString = "${live.registry.reconcile-interval:30000}")
+    public void reconcile() {
+        refresh();
+    }
+
+    /**
+     * 오픈비두 서버의 세션 목록으로 레지스트리를 다시 맞춘다.
+     * 조회는 잠그지 않고, 조회한 목록을 합칠 때만 이벤트 반영과 같은 잠금을 잡는다.
+     *
+     * @return 동기화 성공 여부
+     */
+    public boolean refresh() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            openVidu.fetch();
+        } catch (OpenViduJavaClientException | OpenViduHttpException e) {
+            log.warn("오픈비두 세션 동기화 실패 : {}", e.getMessage());
+            return false;
+        }
+        Map<String, LiveSessionState> fetched = new HashMap<>();
+        openVidu.getActiveSessions().forEach(session -> fetched.put(session.getSessionId(), LiveSessionState.from(session)));
+
+        int drift = 0;
+        synchronized (this) {
+            for (Map.Entry<String, LiveSessionState> entry : sessions.entrySet()) {
+                // 조회 도중에 생성되거나 이벤트를 받은 세션은 다음 동기화 때 판단한다.
+                if (!fetched.containsKey(entry.getKey()) && entry.getValue().touchedAt < startedAt) {
+                    sessions.remove(entry.getKey());
+                    drift++;
+                }
+            }
+            for (LiveSessionState state : fetched.values()) {
+                if (merge(state, startedAt)) drift++;
+            }
+            destroyedSessions.values().removeIf(destroyedAt -> startedAt - destroyedAt > TOMBSTONE_TTL_MILLIS);
+        }
+
+        if (drift > 0) {
+            log.info("오픈비두 세션 동기화 : {}개 세션 보정", drift);
+            driftCounter.increment(drift);
+        }
+        lastReconciledAt = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * startedAt 에 시작한 조회로 얻은 세션을 지금 상태에 합친다. synchronized 안에서 부른다.
+     * 조회하는 동안 종료 이벤트를 받은 세션은 되살리지 않는다.
+     *
+     * @return 레지스트리가 몰랐던 세션을 새로 넣었는지
+     */
+    private boolean merge(LiveSessionState fetched, long startedAt) {
+        Long destroyedAt = destroyedSessions.get(fetched.sessionId);
+        if (destroyedAt != null) {
+            if (destroyedAt >= startedAt && destroyedAt >= fetched.createdAt) return false;
+            destroyedSessions.remove(fetched.sessionId);
+        }
+        LiveSessionState state = sessions.get(fetched.sessionId);
+        if (state == null) {
+            sessions.put(fetched.sessionId, fetched);
+            return true;
+        }
+        state.merge(fetched, startedAt);
+        return false;
+    }
+
+    private double secondsSince(long millis) {
+        return (System.currentTimeMillis() - millis) / 1000.0;
+    }
+
+    /**
+     * 세션 하나의 상태
+     */
+    private static class LiveSessionState {
+        private final String sessionId;
+        // 마지막으로 이벤트나 이 서버의 변경을 반영한 시간, 이보다 먼저 시작한 조회로는 지우지 않는다.
+        private volatile long touchedAt = System.currentTimeMillis();
+        // 세션이 만들어진 시간, 이보다 먼저 일어난 종료 이벤트는 이전 세션의 것이다.
+        private volatile long createdAt;
+        // 발급된 커넥션의 역할
+        private final ConcurrentMap<String, OpenViduRole> roles = new ConcurrentHashMap<>();
+        // 실제로 참가한 커넥션
+        private final Map<String, Boolean> activeConnections = new ConcurrentHashMap<>();
+        // 역할이나 참가를 마지막으로 반영한 시간, 이보다 늦게 시작한 조회에 없는 커넥션만 뺀다.
+        private final Map<String, Long> seenConnections = new ConcurrentHashMap<>();
+        // 나간 커넥션과 나간 시간, 참가 이벤트가 늦게 와도 다시 넣지 않는다.
+        private final Map<String, Long> leftConnections = new ConcurrentHashMap<>();
+        private volatile boolean recording;
+        private volatile long recordingChangedAt;
+
+        private LiveSessionState(String sessionId) {
+            this(sessionId, 0);
+        }
+
+        private LiveSessionState(String sessionId, long createdAt) {
+            this.sessionId = sessionId;
+            this.createdAt = createdAt;
+        }
+
+        private static LiveSessionState from(Session session) {
+            LiveSessionState state = new LiveSessionState(session.getSessionId(), session.createdAt());
+            session.getConnections().forEach(connection -> state.issued(connection.getConnectionId(), connection.getRole()));
+            session.getActiveConnections().forEach(connection -> state.activeConnections.put(connection.getConnectionId(), true));
+            state.recording = session.isBeingRecorded();
+            return state;
+        }
+
+        private void issued(String connectionId, OpenViduRole role) {
+            long now = System.currentTimeMillis();
+            roles.put(connectionId, role);
+            seenConnections.put(connectionId, now);
+            touchedAt = now;
+        }
+
+        private void joined(String connectionId, long at) {
+            touchedAt = System.currentTimeMillis();
+            if (connectionId == null) return;
+            Long leftAt = leftConnections.get(connectionId);
+            if (leftAt != null && leftAt >= at) return;
+            activeConnections.put(connectionId, true);
+            seenConnections.put(connectionId, touchedAt);
+        }
+
+        private void left(String connectionId, long at) {
+            touchedAt = System.currentTimeMillis();
+            if (connectionId == null) return;
+            leftConnections.merge(connectionId, at, Math::max);
+            activeConnections.remove(connectionId);
+            roles.remove(connectionId);
+            seenConnections.remove(connectionId);
+        }
+
+        private synchronized void recordingChanged(boolean recording, long at) {
+            touchedAt = System.currentTimeMillis();
+            if (at < recordingChangedAt) return;
+            this.recording = recording;
+            recordingChangedAt = at;
+        }
+
+        /**
+         * startedAt 에 시작한 조회 결과를 합친다.
+         * 나간 커넥션은 다시 넣지 않고, 조회 결과에 없는 커넥션과 녹화 상태는 조회를 시작하기 전에 반영한 것만 바꾼다.
+         */
+        private void merge(LiveSessionState fetched, long startedAt) {
+            createdAt = Math.max(createdAt, fetched.createdAt);
+            fetched.roles.forEach((connectionId, role) -> {
+                if (leftConnections.containsKey(connectionId)) return;
+                roles.put(connectionId, role);
+                seenConnections.merge(connectionId, startedAt, Math::max);
+            });
+            fetched.activeConnections.keySet().forEach(connectionId -> {
+                if (leftConnections.containsKey(connectionId)) return;
+                activeConnections.put(connectionId, true);
+                seenConnections.merge(connectionId, startedAt, Math::max);
+            });
+            for (String connectionId : new HashSet<>(seenConnections.keySet())) {
+                if (fetched.roles.containsKey(connectionId) || fetched.activeConnections.containsKey(connectionId)) continue;
+                Long seenAt = seenConnections.get(connectionId);
+                if (seenAt == null || seenAt >= startedAt) continue;
+                roles.remove(connectionId);
+                activeConnections.remove(connectionId);
+                seenConnections.remove(connectionId);
+            }
+            synchronized (this) {
+                if (startedAt < recordingChangedAt) return;
+                recording = fetched.recording;
+                recordingChangedAt = startedAt;
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.live.entity.RecordingJob;
+import org.anotherclass.colortherock.domain.live.exception.RecordingJobNotFoundException;
+import org.anotherclass.colortherock.domain.live.repository.RecordingJobRepository;
+import org.anotherclass.colortherock.domain.live.request.RecordingUploadAtOpenviduServerRequest;
+import org.anotherclass.colortherock.domain.live.response.RecordingJobStatusResponse;
+import org.anotherclass.colortherock.domain.video.service.StorageDeletionOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 녹화 영상 저장 작업 관리
+ * 저장 요청은 작업만 등록하고 바로 반환하며, 실제 업로드는 {@link RecordingJobWorker} 가 처리한다.
+ */
+@Slf4j
+@Service
+public class RecordingJobService {
+
+    private final RecordingJobRepository recordingJobRepository;
+    private final LiveService liveService;
+    private final StorageDeletionOutbox storageDeletionOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+
+    public RecordingJobService(RecordingJobRepository recordingJobRepository,
+                               LiveService liveService,
+                               StorageDeletionOutbox storageDeletionOutbox,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${live.recording-job.max-attempts:5}") int maxAttempts,
+                               @Value("${live.recording-job.retry-delay:10000}") long retryDelayMillis) {
+        this.recordingJobRepository = recordingJobRepository;
+        this.liveService = liveService;
+        this.storageDeletionOutbox = storageDeletionOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * 녹화 저장 작업 등록
+     * 작업 id는 녹화 id로 정해지므로 같은 녹화를 여러 번 저장 요청해도 같은 작업 id를 반환한다.
+     *
+     * @param request {@link RecordingUploadAtOpenviduServerRequest} 녹화 저장 요청
+     * @return 작업 id
+     */
+    public String enqueue(RecordingUploadAtOpenviduServerRequest request) {
+        String jobId = RecordingJob.jobIdOf(request.getRecordingId());
+        Optional<RecordingJob> existing = recordingJobRepository.findById(jobId);
+        if (existing.isPresent()) {
+            if (existing.get().getStatus() == RecordingJob.Status.FAILED) {
+                existing.get().retry();
+                recordingJobRepository.save(existing.get());
+            }
+            return jobId;
+        }
+        try {
+            recordingJobRepository.saveAndFlush(RecordingJob.builder()
+                    .recordingId(request.getRecordingId())
+                    .memberId(request.getMemberId())
+                    .level(request.getLevel())
+                    .gymName(request.getGymName())
+                    .isSuccess(request.getIsSuccess())
+                    .color(request.getColor())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 들어온 같은 요청이 먼저 등록한 경우
+            log.debug("이미 등록된 녹화 저장 작업 : {}", jobId);
+        }
+        return jobId;
+    }
+
+    /**
+     * 작업 상태 조회
+     *
+     * @param memberId 요청한 사용자 id
+     * @param jobId    작업 id
+     * @return {@link RecordingJobStatusResponse} 작업 상태
+     */
+    @Transactional(readOnly = true)
+    public RecordingJobStatusResponse getStatus(Long memberId, String jobId) {
+        RecordingJob job = recordingJobRepository.findById(jobId)
+                .filter(found -> found.getMemberId().equals(memberId))
+                .orElseThrow(RecordingJobNotFoundException::new);
+        return new RecordingJobStatusResponse(job);
+    }
+
+    /**
+     * 선점한 작업 실행
+     * 스토리지 업로드는 트랜잭션 밖에서 하고, 영상 저장과 작업 완료 처리만 짧은 트랜잭션으로 묶어 재시도 시 영상이 중복 저장되지 않게 한다.
+     *
+     * @param jobId 작업 id
+     * @param owner 작업을 선점한 워커
+     */
+    public void process(String jobId, String owner) {
+        RecordingJob job = recordingJobRepository.findById(jobId).orElseThrow(RecordingJobNotFoundException::new);
+        // 선점이 풀려서 다른 워커가 가져간 작업
+        if (job.getStatus() != RecordingJob.Status.RUNNING || !owner.equals(job.getLockedBy())) return;
+        recordingJobRepository.updateProgress(jobId, 10);
+        RecordingUploadAtOpenviduServerRequest request = job.toUploadRequest();
+        LiveService.RecordedFiles files = liveService.transferRecording(request,
+                progress -> recordingJobRepository.updateProgress(jobId, progress));
+        boolean saved;
+        try {
+            saved = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                Long videoId = liveService.saveRecording(request, files);
+                // 올리는 동안 선점이 풀려서 다른 워커가 가져갔으면 저장하지 않는다.
+                if (recordingJobRepository.succeed(jobId, owner, videoId,
+                        RecordingJob.Status.RUNNING, RecordingJob.Status.SUCCEEDED) == 0) {
+                    tx.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            storageDeletionOutbox.enqueue(files.getVideoName(), files.getThumbnailName());
+            throw e;
+        }
+        if (!saved) storageDeletionOutbox.enqueue(files.getVideoName(), files.getThumbnailName());
+    }
+
+    /**
+     * 서버가 죽어서 오래 RUNNING 으로 남은 작업을 되돌린다.
+     * 되돌릴 때마다 시도 횟수를 늘리고, 최대 횟수에 닿은 작업은 다시 돌리지 않고 FAILED 로 끝낸다.
+     *
+     * @param threshold 이 시각 전에 선점한 작업만
+     * @return 되돌린 작업 수
+     */
+    @Transactional
+    public int reclaimStale(LocalDateTime threshold) {
+        int failed = recordingJobRepository.failStale(threshold, maxAttempts, "선점 시간 초과",
+                RecordingJob.Status.RUNNING, RecordingJob.Status.FAILED);
+        if (failed > 0) log.error("중단된 녹화 저장 작업 {}개 최종 실패 ({}회 시도)", failed, maxAttempts);
+        return failed + recordingJobRepository.reclaimStale(threshold, maxAttempts,
+                RecordingJob.Status.PENDING, RecordingJob.Status.RUNNING);
+    }
+
+    /**
+     * 작업 실패 처리
+     *
+     * @param jobId 작업 id
+     * @param owner 작업을 선점한 워커
+     * @param cause 실패 원인
+     */
+    @Transactional
+    public void fail(String jobId, String owner, Exception cause) {
+        recordingJobRepository.findById(jobId)
+                .filter(job -> owner.equals(job.getLockedBy()))
+                .ifPresent(job -> {
+                    job.fail(cause.getClass().getSimpleName() + " : " + cause.getMessage(), maxAttempts, retryDelayMillis);
+                    if (job.getStatus() == RecordingJob.Status.FAILED) {
+                        log.error("녹화 저장 작업 최종 실패 : {} ({}회 시도)", jobId, job.getAttempts(), cause);
+                    } else {
+                        log.warn("녹화 저장 작업 실패, {} 에 재시도 : {}", job.getNextAttemptAt(), jobId, cause);
+                    }
+                });
+    }
+}
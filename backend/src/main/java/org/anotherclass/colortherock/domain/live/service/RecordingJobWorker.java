@@ -0,0 +1,92 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.live.entity.RecordingJob;
+import org.anotherclass.colortherock.domain.live.repository.RecordingJobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 녹화 저장 작업을 가져가서 실행하는 워커
+ * 녹화 파일은 오픈비두 서버 로컬 파일시스템에 있으므로 RECORDING_PATH 가 마운트된 서버에서만 동작한다.
+ */
+@Slf4j
+@Component
+public class RecordingJobWorker {
+
+    private final RecordingJobService recordingJobService;
+    private final RecordingJobRepository recordingJobRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final boolean enabled;
+    private final long lockTimeoutMillis;
+    private final String owner;
+
+    public RecordingJobWorker(RecordingJobService recordingJobService,
+                              RecordingJobRepository recordingJobRepository,
+                              @Qualifier("recordingJobExecutor") ThreadPoolTaskExecutor executor,
+                              @Value("${live.recording-job.worker.enabled:true}") boolean enabled,
+                              @Value("${live.recording-job.lock-timeout:1800000}") long lockTimeoutMillis,
+                              @Value("${RECORDING_PATH}") String recordingPath) {
+        this.recordingJobService = recordingJobService;
+        this.recordingJobRepository = recordingJobRepository;
+        this.executor = executor;
+        this.enabled = enabled && Files.isDirectory(Paths.get(recordingPath));
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("녹화 저장 워커 {} : {}", this.enabled ? "활성화" : "비활성화", owner);
+    }
+
+    /**
+     * 남는 스레드 수만큼 실행할 수 있는 작업을 선점해서 실행한다.
+     */
+    @Scheduled(fixedDelayString = "${live.recording-job.poll-interval:2000}")
+    public void poll() {
+        if (!enabled) return;
+        LocalDateTime now = LocalDateTime.now();
+        int reclaimed = recordingJobService.reclaimStale(now.minusNanos(lockTimeoutMillis * 1_000_000L));
+        if (reclaimed > 0) log.warn("중단된 녹화 저장 작업 {}개 정리", reclaimed);
+
+        int capacity = executor.getMaxPoolSize() - executor.getActiveCount();
+        if (capacity <= 0) return;
+        List<String> jobIds = recordingJobRepository.findReadyIds(RecordingJob.Status.PENDING, now, PageRequest.of(0, capacity));
+        for (String jobId : jobIds) {
+            if (recordingJobRepository.claim(jobId, owner, LocalDateTime.now(),
+                    RecordingJob.Status.PENDING, RecordingJob.Status.RUNNING) == 0) continue;
+            try {
+                executor.execute(() -> run(jobId));
+            } catch (TaskRejectedException e) {
+                recordingJobRepository.release(jobId, owner, RecordingJob.Status.PENDING);
+                return;
+            }
+        }
+    }
+
+    private void run(String jobId) {
+        try {
+            recordingJobService.process(jobId, owner);
+        } catch (Exception e) {
+            recordingJobService.fail(jobId, owner, e);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import java.util.Map;
+
+/**
+ * 라이브 세션별 녹화 목록과 업로드된 녹화 URL을 관리하는 저장소
+ * 로컬에서는 메모리, 배포 환경에서는 여러 서버(blue/green)가 같이 볼 수 있도록 Redis를 사용한다.
+ */
+public interface RecordingRegistry {
+
+    /**
+     * 세션에 녹화 추가
+     *
+     * @param sessionId   세션 id
+     * @param recordingId 녹화 id
+     */
+    void addRecording(String sessionId, String recordingId);
+
+    /**
+     * 세션에서 녹화 제거
+     *
+     * @param sessionId   세션 id
+     * @param recordingId 녹화 id
+     */
+    void removeRecording(String sessionId, String recordingId);
+
+    /**
+     * 업로드된 녹화 URL 저장
+     *
+     * @param recordingId 녹화 id
+     * @param url         업로드된 URL
+     */
+    void saveUrl(String recordingId, String url);
+
+    /**
+     * 세션의 녹화 목록 조회
+     *
+     * @param sessionId 세션 id
+     * @return 녹화 id - 업로드된 URL (업로드 전이면 null)
+     */
+    Map<String, String> findRecordings(String sessionId);
+
+    /**
+     * 세션 종료 시 세션의 녹화 정보 삭제
+     *
+     * @param sessionId 세션 id
+     */
+    void removeSession(String sessionId);
+}
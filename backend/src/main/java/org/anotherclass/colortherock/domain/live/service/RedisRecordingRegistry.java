@@ -0,0 +1,79 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Redis 기반 녹화 저장소
+ * blue/green 서버가 같이 떠 있어도 어느 서버로 요청이 오든 같은 녹화 목록을 볼 수 있다.
+ * 세션별 녹화 id는 시작 시간 순서의 sorted set, 녹화 URL은 녹화 id별 문자열로 저장하고 모두 TTL을 건다.
+ */
+@Component
+@Profile("prod")
+public class RedisRecordingRegistry implements RecordingRegistry {
+
+    private static final String SESSION_KEY_PREFIX = "live:recordings:";
+    private static final String URL_KEY_PREFIX = "live:recording-url:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisRecordingRegistry(StringRedisTemplate redisTemplate,
+                                  @Value("${live.recording.ttl-hours:24}") long ttlHours) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    @Override
+    public void addRecording(String sessionId, String recordingId) {
+        String key = SESSION_KEY_PREFIX + sessionId;
+        redisTemplate.opsForZSet().add(key, recordingId, System.currentTimeMillis());
+        redisTemplate.expire(key, ttl);
+    }
+
+    @Override
+    public void removeRecording(String sessionId, String recordingId) {
+        redisTemplate.opsForZSet().remove(SESSION_KEY_PREFIX + sessionId, recordingId);
+        redisTemplate.delete(URL_KEY_PREFIX + recordingId);
+    }
+
+    @Override
+    public void saveUrl(String recordingId, String url) {
+        redisTemplate.opsForValue().set(URL_KEY_PREFIX + recordingId, url, ttl);
+    }
+
+    @Override
+    public Map<String, String> findRecordings(String sessionId) {
+        Set<String> recordingIds = redisTemplate.opsForZSet().range(SESSION_KEY_PREFIX + sessionId, 0, -1);
+        if (recordingIds == null || recordingIds.isEmpty()) return Collections.emptyMap();
+        List<String> ids = new ArrayList<>(recordingIds);
+        // 녹화 개수만큼 왕복하지 않도록 URL 조회는 파이프라인으로 한번에 보낸다.
+        List<Object> urls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            ids.forEach(id -> stringConnection.get(URL_KEY_PREFIX + id));
+            return null;
+        });
+        Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            result.put(ids.get(i), (String) urls.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void removeSession(String sessionId) {
+        String key = SESSION_KEY_PREFIX + sessionId;
+        Set<String> recordingIds = redisTemplate.opsForZSet().range(key, 0, -1);
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        if (recordingIds != null) recordingIds.forEach(id -> keys.add(URL_KEY_PREFIX + id));
+        redisTemplate.delete(keys);
+    }
+}
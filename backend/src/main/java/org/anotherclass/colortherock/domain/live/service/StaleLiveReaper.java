@@ -0,0 +1,75 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.gym.service.GymAutocompleteService;
+import org.anotherclass.colortherock.domain.live.entity.Live;
+import org.anotherclass.colortherock.domain.live.repository.LiveGymIndex;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.video.service.StorageDeletionOutbox;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 종료된 세션의 라이브 방을 정리하는 작업
+ * 라이브 목록 조회(읽기 전용)에서는 삭제하지 않고 후보만 넘기고, 여기서 오픈비두 서버와 한번 더 확인한 뒤 삭제한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaleLiveReaper {
+
+    private final LiveSessionRegistry liveSessionRegistry;
+    private final LiveRepository liveRepository;
+    private final StorageDeletionOutbox storageDeletionOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final LiveGymIndex liveGymIndex;
+    private final GymAutocompleteService gymAutocompleteService;
+    private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 삭제 후보 등록
+     *
+     * @param live 활성 세션이 없는 라이브 방
+     */
+    public void submit(Live live) {
+        candidates.add(live.getId());
+    }
+
+    /**
+     * 후보들을 모아서 한번에 정리한다.
+     * 다른 서버에서 막 만든 세션일 수 있으므로 오픈비두 서버와 동기화 후에도 없는 방만 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${live.reaper.interval:10000}")
+    public void reap() {
+        if (candidates.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(candidates);
+        ids.forEach(candidates::remove);
+        if (!liveSessionRegistry.refresh()) {
+            candidates.addAll(ids);
+            return;
+        }
+        Map<String, Integer> activeSessions = liveSessionRegistry.participantCounts();
+        List<Live> staleLives = new ArrayList<>();
+        liveRepository.findAllById(ids).forEach(live -> {
+            if (!activeSessions.containsKey(live.getSessionId())) staleLives.add(live);
+        });
+        if (staleLives.isEmpty()) return;
+        String[] thumbnailNames = staleLives.stream().map(Live::getThumbnailName).toArray(String[]::new);
+        transactionTemplate.executeWithoutResult(tx -> {
+            storageDeletionOutbox.enqueue(thumbnailNames);
+            liveRepository.deleteAllInBatch(staleLives);
+        });
+        liveGymIndex.removeAll(staleLives.stream().map(Live::getId).collect(Collectors.toList()));
+        staleLives.forEach(live -> gymAutocompleteService.remove(live.getGymName()));
+        log.info("종료된 라이브 방 {}개 정리", staleLives.size());
+    }
+}
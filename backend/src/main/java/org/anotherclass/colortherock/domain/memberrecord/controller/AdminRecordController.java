@@ -0,0 +1,54 @@
+package org.anotherclass.colortherock.domain.memberrecord.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.member.entity.AdminDetails;
+import org.anotherclass.colortherock.domain.memberrecord.response.LeaderboardRebuildResponse;
+import org.anotherclass.colortherock.domain.memberrecord.response.LevelStatRebuildResponse;
+import org.anotherclass.colortherock.domain.memberrecord.service.GymLeaderboardRebuilder;
+import org.anotherclass.colortherock.domain.memberrecord.service.MemberLevelStatRebuilder;
+import org.anotherclass.colortherock.global.common.BaseResponse;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.security.annotation.PreAuthorizeAdmin;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorizeAdmin
+@RequestMapping("/api/admin/record")
+public class AdminRecordController {
+
+    private final MemberLevelStatRebuilder memberLevelStatRebuilder;
+    private final GymLeaderboardRebuilder gymLeaderboardRebuilder;
+
+    @Operation(description = "관리자 - 영상 기록에서 레벨별 누적 통계를 다시 계산하는 API", summary = "관리자 - 레벨별 누적 통계 재계산 API")
+    @ApiResponse(responseCode = "200", description = "재계산 결과 반환", content = @Content(schema = @Schema(implementation = LevelStatRebuildResponse.class)))
+    @ApiResponse(responseCode = "409", description = "이미 재계산이 실행 중")
+    @PostMapping("/level-stat/rebuild")
+    public BaseResponse<LevelStatRebuildResponse> rebuildLevelStat(@AuthenticationPrincipal AdminDetails adminDetails) {
+        if (adminDetails == null) {
+            throw new GlobalBaseException(GlobalErrorCode.ACCESS_DENIED);
+        }
+        LevelStatRebuildResponse response = memberLevelStatRebuilder.rebuild();
+        return new BaseResponse<>(response);
+    }
+
+    @Operation(description = "관리자 - 영상 기록에서 암장별 완등 랭킹을 다시 만드는 API", summary = "관리자 - 암장 랭킹 재계산 API")
+    @ApiResponse(responseCode = "200", description = "재계산 결과 반환", content = @Content(schema = @Schema(implementation = LeaderboardRebuildResponse.class)))
+    @ApiResponse(responseCode = "409", description = "이미 재계산이 실행 중")
+    @PostMapping("/leaderboard/rebuild")
+    public BaseResponse<LeaderboardRebuildResponse> rebuildLeaderboard(@AuthenticationPrincipal AdminDetails adminDetails) {
+        if (adminDetails == null) {
+            throw new GlobalBaseException(GlobalErrorCode.ACCESS_DENIED);
+        }
+        LeaderboardRebuildResponse response = gymLeaderboardRebuilder.rebuild();
+        return new BaseResponse<>(response);
+    }
+}
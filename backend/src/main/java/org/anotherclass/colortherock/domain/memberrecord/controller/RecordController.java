@@ -11,26 +11,39 @@ import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.member.entity.MemberDetails;
 import org.anotherclass.colortherock.domain.memberrecord.exception.MalformedDateException;
 import org.anotherclass.colortherock.domain.memberrecord.response.*;
+import org.anotherclass.colortherock.domain.memberrecord.service.GymLeaderboardService;
+import org.anotherclass.colortherock.domain.memberrecord.service.RecordDashboardService;
+import org.anotherclass.colortherock.domain.memberrecord.service.RecordExportService;
 import org.anotherclass.colortherock.domain.memberrecord.service.RecordService;
-import org.anotherclass.colortherock.domain.video.dto.DeletedVideoDto;
 import org.anotherclass.colortherock.domain.video.request.MyVideoRequest;
 import org.anotherclass.colortherock.domain.video.request.UploadVideoRequest;
-import org.anotherclass.colortherock.domain.video.service.S3Service;
+import org.anotherclass.colortherock.domain.video.service.ChunkedUploadService;
 import org.anotherclass.colortherock.domain.video.service.VideoService;
 import org.anotherclass.colortherock.global.common.BaseResponse;
 import org.anotherclass.colortherock.global.error.GlobalErrorCode;
 import org.anotherclass.colortherock.global.security.annotation.PreAuthorizeMember;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @Tag(name = "member record", description = "Member Record API")
@@ -40,8 +53,81 @@ import java.util.List;
 public class RecordController {
 
     private final RecordService recordService;
-    private final S3Service s3Service;
+    private final ChunkedUploadService chunkedUploadService;
     private final VideoService videoService;
+    private final RecordDashboardService recordDashboardService;
+    private final GymLeaderboardService gymLeaderboardService;
+    private final RecordExportService recordExportService;
+
+    /**
+     * 프로필 화면용 기록 대시보드 조회
+     * 항목별 조회를 동시에 실행해서 한 번에 반환하고, 항목별 걸린 시간은 Server-Timing 헤더로 내려준다.
+     *
+     * @param sections  쉼표로 구분한 항목(total, color, visit, calendar), 없으면 전체
+     * @param yearMonth 캘린더를 조회할 달(YYYY-MM), 없으면 이번 달
+     */
+    @GetMapping("/dashboard")
+    @Operation(description = "사용자별 누적 통계, 색상 별 통계, 방문 통계, 캘린더 색상을 한 번에 조회", summary = "사용자별 기록 대시보드 조회")
+    @ApiResponse(responseCode = "200", description = "대시보드 조회 성공", content = @Content(schema = @Schema(implementation = DashboardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "잘못된 항목 이름 또는 날짜 형식으로 인한 조회 실패")
+    @PreAuthorizeMember
+    public BaseResponse<DashboardResponse> dashboard(@AuthenticationPrincipal MemberDetails memberDetails,
+                                                     @RequestParam(required = false) String sections,
+                                                     @RequestParam(required = false) String yearMonth,
+                                                     HttpServletResponse response) {
+        long startedAt = System.nanoTime();
+        Set<DashboardSection> selected = DashboardSection.parse(sections);
+        if (yearMonth != null && !yearMonth.matches("\\d{4}-(0[1-9]|1[012])")) {
+            throw new MalformedDateException(GlobalErrorCode.MALFORMED_DATE);
+        }
+        YearMonth month = yearMonth == null ? YearMonth.now() : YearMonth.parse(yearMonth);
+        Member member = memberDetails.getMember();
+        RecordDashboardService.Result result = recordDashboardService.getDashboard(member, selected, month);
+        String timing = result.toServerTiming();
+        String total = String.format(Locale.ROOT, "dashboard;dur=%.1f", (System.nanoTime() - startedAt) / 1_000_000.0);
+        response.setHeader("Server-Timing", timing.isEmpty() ? total : timing + ", " + total);
+        return new BaseResponse<>(result.getResponse());
+    }
+
+    /**
+     * 전체 운동 기록 내보내기
+     * 모든 영상 기록을 한 번에 내려받도록 DB 에서 읽는 대로 응답에 쓴다.
+     *
+     * @param format ndjson 또는 csv, 없으면 ndjson
+     * @param gzip   true 면 gzip 으로 압축한 파일
+     */
+    @GetMapping("/export")
+    @Operation(description = "사용자의 전체 영상 기록(날짜, 암장, 레벨, 색상, 성공 여부)을 NDJSON 또는 CSV 파일로 내려받기", summary = "전체 운동 기록 내보내기")
+    @ApiResponse(responseCode = "200", description = "내보내기 성공")
+    @ApiResponse(responseCode = "400", description = "지원하지 않는 형식으로 인한 내보내기 실패")
+    @ApiResponse(responseCode = "503", description = "진행 중인 내보내기가 많아서 거절")
+    @PreAuthorizeMember
+    public ResponseEntity<StreamingResponseBody> exportRecords(@AuthenticationPrincipal MemberDetails memberDetails,
+                                                               @RequestParam(required = false) String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip,
+                                                               HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        // 응답은 다른 스레드에서 쓰므로 요청 스레드에서 사용자 id 를 꺼내 둔다.
+        Long memberId = memberDetails.getMember().getId();
+        String fileName = "colortherock-records-" + LocalDate.now() + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : new MediaType(MediaType.parseMediaType(exportFormat.getContentType()), StandardCharsets.UTF_8);
+        RecordExportService.Slot slot = recordExportService.reserve();
+        // 실행되지 않고 취소되면 RecordExportSlotInterceptor 가, 다 쓰면 여기서 돌려준다.
+        request.setAttribute(RecordExportService.SLOT_ATTRIBUTE, slot);
+        StreamingResponseBody body = out -> {
+            try {
+                recordExportService.export(memberId, exportFormat, gzip, out);
+            } finally {
+                slot.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
 
     /**
      * 전체 운동 영상 색상 별 통계 조회
@@ -56,6 +142,29 @@ public class RecordController {
         return new BaseResponse<>(colorRecords);
     }
 
+    /**
+     * 기간별 운동 기록 색상 별 통계 조회
+     *
+     * @param from 시작 날짜(YYYY-MM-DD, 포함)
+     * @param to   끝 날짜(YYYY-MM-DD, 포함)
+     */
+    @GetMapping("/color/range")
+    @Operation(description = "사용자별 선택 기간에 대한 운동 영상 색상 별 통계 조회", summary = "사용자별 선택 기간에 대한 운동 영상 색상 별 통계 조회")
+    @ApiResponse(responseCode = "200", description = "기간 통계 조회 성공", content = @Content(schema = @Schema(implementation = LevelStatResponse.class)))
+    @ApiResponse(responseCode = "400", description = "잘못된 날짜 형식 또는 시작 날짜가 끝 날짜보다 늦어서 통계 조회 실패")
+    @PreAuthorizeMember
+    public BaseResponse<List<LevelStatResponse>> recordsByColorAndRange(@AuthenticationPrincipal MemberDetails memberDetails,
+                                                                       @RequestParam String from, @RequestParam String to) {
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        if (fromDate.isAfter(toDate)) {
+            throw new MalformedDateException(GlobalErrorCode.MALFORMED_DATE);
+        }
+        Member member = memberDetails.getMember();
+        List<LevelStatResponse> rangeRecords = recordService.getRangeRecords(member, fromDate, toDate);
+        return new BaseResponse<>(rangeRecords);
+    }
+
     /**
      * 날짜별 운동 기록 색상 별 통계 조회
      */
@@ -127,11 +236,30 @@ public class RecordController {
     @PreAuthorizeMember
     public BaseResponse<Void> uploadVideo(@AuthenticationPrincipal MemberDetails memberDetails
             , @Valid @RequestPart UploadVideoRequest uploadVideoRequest, @RequestPart MultipartFile newVideo) {
+        // 영상 저장과 누적 통계 증가를 한 트랜잭션에서 처리
         videoService.uploadMyVideo(memberDetails, newVideo, uploadVideoRequest);
         log.info("{}", uploadVideoRequest.getShootingDate());
-        // 영상 누적 통계에서 영상 갯수 올리기
+        return new BaseResponse<>(GlobalErrorCode.SUCCESS);
+    }
+
+    /**
+     * 나눠 올린 로컬 영상 개인 기록용 업로드 완료
+     * 세션은 만든 서버에만 있으므로 조각 업로드와 같은 서버로 보내야 한다.
+     *
+     * @param uploadId 나눠 올리기 업로드 세션 id
+     */
+    @PostMapping("/video/upload/{uploadId}")
+    @Operation(description = "나눠 올린 로컬 영상 개인 기록용 업로드 완료, 세션을 만든 서버로 보내야 한다.", summary = "나눠 올린 로컬 영상 개인 기록용 업로드 완료")
+    @ApiResponse(responseCode = "200", description = "영상 업로드 성공")
+    @ApiResponse(responseCode = "404", description = "이 서버에 업로드 세션이 없음(V400)")
+    @PreAuthorizeMember
+    public BaseResponse<Void> commitChunkedVideo(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String uploadId,
+                                                 @Valid @RequestBody UploadVideoRequest uploadVideoRequest) {
         Member member = memberDetails.getMember();
-        recordService.addVideoCount(member, uploadVideoRequest.getIsSuccess());
+        chunkedUploadService.commit(member.getId(), uploadId, newVideo -> {
+            videoService.uploadMyVideo(memberDetails, newVideo, uploadVideoRequest);
+            return null;
+        });
         return new BaseResponse<>(GlobalErrorCode.SUCCESS);
     }
 
@@ -148,12 +276,8 @@ public class RecordController {
     @PreAuthorizeMember
     public BaseResponse<Void> deleteVideo(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable @Positive Long videoId) {
         Member member = memberDetails.getMember();
-        // DB에서 해당 영상 삭제
-        DeletedVideoDto deletedVideoDto = videoService.deleteVideo(member, videoId);
-        // S3에서 해당 영상 삭제
-        s3Service.deleteFile(deletedVideoDto.getVideoName());
-        // 영상 누적 통계에서 영상 갯수 줄이기
-        recordService.subVideoCount(member, deletedVideoDto.getIsVideoSuccess());
+        // DB에서 해당 영상 삭제와 영상 누적 통계 감소, 마지막 참조였으면 S3 삭제 예약
+        videoService.deleteVideo(member, videoId);
         return new BaseResponse<>(GlobalErrorCode.SUCCESS);
     }
 
@@ -173,6 +297,27 @@ public class RecordController {
         return new BaseResponse<>(visitResponse);
     }
 
+    /**
+     * 연도별 방문 날짜와 연속 방문 일수 반환
+     *
+     * @param memberDetails JWT 토큰을 통한 memberId 조회
+     * @param year          조회할 연도
+     * @return VisitHeatmapResponse 반환
+     */
+    @GetMapping("/visit/{year}")
+    @Operation(description = "연도별 방문 날짜와 연속 방문 일수 반환", summary = "연도별 방문 날짜와 연속 방문 일수 반환")
+    @ApiResponse(responseCode = "200", description = "방문 날짜 반환 성공", content = @Content(schema = @Schema(implementation = VisitHeatmapResponse.class)))
+    @ApiResponse(responseCode = "400", description = "잘못된 연도 형식으로 인한 조회 실패 YYYY 형태 입력 필요")
+    @PreAuthorizeMember
+    public BaseResponse<VisitHeatmapResponse> getVisitHeatmap(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String year) {
+        if (!year.matches("\\d{4}")) {
+            throw new MalformedDateException(GlobalErrorCode.MALFORMED_DATE);
+        }
+        Member member = memberDetails.getMember();
+        VisitHeatmapResponse visitHeatmap = recordService.getVisitHeatmap(member, Integer.parseInt(year));
+        return new BaseResponse<>(visitHeatmap);
+    }
+
     /**
      * 해당 월의 각 날짜에 대한 완등 영상 상위 레벨 3개의 색상 반환
      *
@@ -194,4 +339,63 @@ public class RecordController {
         List<DailyColorResponse> calendarColor = recordService.getCalendarColor(member, yearMonth);
         return new BaseResponse<>(calendarColor);
     }
+
+    /**
+     * 1년치 각 날짜에 대한 완등 영상 상위 레벨 3개의 색상 반환
+     *
+     * @param memberDetails JWT 토큰을 통한 memberId 조회
+     * @param year          조회할 연도
+     * @return 1월부터 12월까지 MonthlyColorResponse를 List형태로 반환
+     */
+    @GetMapping("/calendar/year/{year}")
+    @Operation(description = "1년치 운동 기록 캘린더 색상 반환", summary = "1년치 운동 기록 캘린더 색상 반환")
+    @ApiResponse(responseCode = "200", description = "색상 반환 성공", content = @Content(schema = @Schema(implementation = MonthlyColorResponse.class)))
+    @ApiResponse(responseCode = "400", description = "잘못된 연도 형식으로 인한 조회 실패 YYYY 형태 입력 필요")
+    @PreAuthorizeMember
+    public BaseResponse<List<MonthlyColorResponse>> getYearCalendarColor(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String year) {
+        if (!year.matches("\\d{4}")) {
+            throw new MalformedDateException(GlobalErrorCode.MALFORMED_DATE);
+        }
+        Member member = memberDetails.getMember();
+        List<MonthlyColorResponse> calendarColor = recordService.getYearCalendarColor(member, Integer.parseInt(year));
+        return new BaseResponse<>(calendarColor);
+    }
+
+    /**
+     * 암장별 완등 랭킹 조회
+     * 완등한 가장 높은 레벨, 완등 수 순서로 상위 사용자와 내 순위를 반환
+     *
+     * @param gymName 암장 이름
+     * @param period  기간(weekly, monthly, all_time), 없으면 주간
+     * @param date    기간을 정할 날짜(YYYY-MM-DD), 없으면 오늘
+     * @param size    상위 몇 명, 최대 100명
+     */
+    @GetMapping("/leaderboard")
+    @Operation(description = "암장별 주간, 월간, 전체 완등 랭킹과 내 순위 조회", summary = "암장별 완등 랭킹 조회")
+    @ApiResponse(responseCode = "200", description = "랭킹 조회 성공", content = @Content(schema = @Schema(implementation = LeaderboardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "잘못된 기간 또는 날짜 형식으로 인한 조회 실패")
+    @PreAuthorizeMember
+    public BaseResponse<LeaderboardResponse> getLeaderboard(@AuthenticationPrincipal MemberDetails memberDetails,
+                                                            @RequestParam String gymName,
+                                                            @RequestParam(required = false) String period,
+                                                            @RequestParam(required = false) String date,
+                                                            @RequestParam(defaultValue = "10") int size) {
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.parse(period);
+        LocalDate baseDate = date == null ? LocalDate.now() : parseDate(date);
+        Member member = memberDetails.getMember();
+        LeaderboardResponse leaderboard = gymLeaderboardService.getLeaderboard(gymName.trim(), leaderboardPeriod, baseDate, size, member);
+        return new BaseResponse<>(leaderboard);
+    }
+
+    // 날짜 형식이 YYYY-MM-DD 이 아닌 경우 예외 발생
+    private LocalDate parseDate(String date) {
+        if (!date.matches("\\d{4}-(0[1-9]|1[012])-(0[1-9]|[12][0-9]|3[01])")) {
+            throw new MalformedDateException(GlobalErrorCode.MALFORMED_DATE);
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new MalformedDateException(GlobalErrorCode.MALFORMED_DATE);
+        }
+    }
 }
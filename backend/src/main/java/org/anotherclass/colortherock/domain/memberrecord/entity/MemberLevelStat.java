@@ -0,0 +1,44 @@
+package org.anotherclass.colortherock.domain.memberrecord.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.anotherclass.colortherock.domain.member.entity.Member;
+
+import javax.persistence.*;
+
+/**
+ * 사용자별, 레벨별 영상 수 누적 통계
+ * 영상이 올라가거나 지워지거나 레벨이 바뀌는 트랜잭션 안에서 함께 갱신한다.
+ * statMonth 가 0 이면 전체 기간, 아니면 yyyyMM 형태의 월별 통계다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "member_level_stat",
+        uniqueConstraints = @UniqueConstraint(name = "UK_member_level_stat", columnNames = {"member_id", "stat_month", "level"}))
+public class MemberLevelStat {
+
+    public static final int ALL_TIME = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+
+    @Column(name = "stat_month", nullable = false)
+    private Integer statMonth;
+
+    @Column(name = "level", nullable = false)
+    private Integer level;
+
+    @Column(name = "total", nullable = false)
+    private Long total;
+
+    @Column(name = "success", nullable = false)
+    private Long success;
+}
@@ -10,6 +10,9 @@ import javax.persistence.*;
 @Entity
 @Getter
 @NoArgsConstructor
+// 영상 수는 member_id 유니크 키로 upsert 한다. 운영 DB 에는 db/migration 으로 만든다.
+@Table(name = "member_record",
+        uniqueConstraints = @UniqueConstraint(name = "UK_member_record_member", columnNames = "member_id"))
 public class MemberRecord {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,22 +29,6 @@ public class MemberRecord {
     @JoinColumn(name = "member_id")
     private Member member;
 
-    public void addVideoCount() {
-        this.videoCount += 1;
-    }
-
-    public void addSuccessCount() {
-        this.successCount += 1;
-    }
-
-    public void subVideoCount() {
-        this.videoCount -= 1;
-    }
-
-    public void subSuccessCount() {
-        this.successCount -= 1;
-    }
-
     public MemberRecord(Member member) {
         this.member = member;
         this.videoCount = 0;
@@ -0,0 +1,50 @@
+package org.anotherclass.colortherock.domain.memberrecord.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.anotherclass.colortherock.domain.member.entity.Member;
+
+import javax.persistence.*;
+
+/**
+ * 사용자별, 암장별 방문 날짜 비트맵
+ * 한 행이 한 해를 나타내고, 그 해 n 번째 날에 영상이 있으면 n-1 번째 비트가 켜진다.
+ * gymName 이 빈 문자열이면 암장과 상관없는 전체 방문 날짜다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "visit_day_index",
+        uniqueConstraints = @UniqueConstraint(name = "UK_visit_day_index", columnNames = {"member_id", "gym_name", "year"}))
+public class VisitDayIndex {
+
+    public static final String ALL_GYMS = "";
+    // 366 일을 담는 바이트 수
+    public static final int DAYS_BYTES = 46;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+
+    @Column(name = "gym_name", length = 30, nullable = false)
+    private String gymName;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "days", length = DAYS_BYTES, nullable = false)
+    private byte[] days;
+
+    public VisitDayIndex(Member member, String gymName, Integer year, byte[] days) {
+        this.member = member;
+        this.gymName = gymName;
+        this.year = year;
+        this.days = days;
+    }
+}
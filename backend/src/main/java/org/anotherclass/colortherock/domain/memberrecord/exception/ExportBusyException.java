@@ -0,0 +1,10 @@
+package org.anotherclass.colortherock.domain.memberrecord.exception;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+
+public class ExportBusyException extends GlobalBaseException {
+    public ExportBusyException(GlobalErrorCode errorCode) {
+        super(errorCode);
+    }
+}
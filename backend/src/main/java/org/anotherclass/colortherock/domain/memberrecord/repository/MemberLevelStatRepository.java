@@ -0,0 +1,63 @@
+package org.anotherclass.colortherock.domain.memberrecord.repository;
+
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.memberrecord.entity.MemberLevelStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MemberLevelStatRepository extends JpaRepository<MemberLevelStat, Long> {
+
+    List<MemberLevelStat> findByMemberAndStatMonth(Member member, Integer statMonth);
+
+    List<MemberLevelStat> findByMemberAndStatMonthBetween(Member member, Integer fromMonth, Integer toMonth);
+
+    /**
+     * 통계 행이 있으면 증감분만 더하고, 없으면 video 에서 그 달, 그 레벨의 영상을 세어서 만든다.
+     * 누적 통계를 만들기 전에 올린 영상이 있어도 레벨 단위로 채워진다. 영상을 저장한 뒤에 불러야 방금 올린 영상도 센다.
+     */
+    @Modifying
+    @Query(value = "insert into member_level_stat (member_id, stat_month, level, total, success) " +
+            "select :memberId, :statMonth, :level, count(*), coalesce(sum(case when v.is_success then 1 else 0 end), 0) from video v " +
+            "where v.member_id = :memberId and v.level = :level " +
+            "and (:statMonth = 0 or year(v.shooting_date) * 100 + month(v.shooting_date) = :statMonth) " +
+            "on duplicate key update total = member_level_stat.total + :total, success = member_level_stat.success + :success", nativeQuery = true)
+    int upsert(@Param("memberId") Long memberId, @Param("statMonth") int statMonth, @Param("level") int level,
+               @Param("total") long total, @Param("success") long success);
+
+    /**
+     * 감소는 행이 있을 때만 한다. 누적 통계를 만들기 전에 올라간 영상을 지워도 음수 행이 생기지 않는다.
+     */
+    @Modifying
+    @Query("update MemberLevelStat s set s.total = s.total - :total, s.success = s.success - :success " +
+            "where s.member.id = :memberId and s.statMonth = :statMonth and s.level = :level and s.total >= :total")
+    int decrease(@Param("memberId") Long memberId, @Param("statMonth") Integer statMonth, @Param("level") Integer level,
+                 @Param("total") Long total, @Param("success") Long success);
+
+    @Query("select min(m.id) from Member m")
+    Long findMinMemberId();
+
+    @Query("select max(m.id) from Member m")
+    Long findMaxMemberId();
+
+    @Modifying
+    @Query(value = "delete from member_level_stat where member_id between :fromId and :toId", nativeQuery = true)
+    int deleteByMemberIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * video 에서 전체 기간과 월별 통계를 다시 계산해서 넣는다.
+     */
+    @Modifying
+    @Query(value = "insert into member_level_stat (member_id, stat_month, level, total, success) " +
+            "select v.member_id, 0, v.level, count(*), sum(case when v.is_success then 1 else 0 end) from video v " +
+            "where v.member_id between :fromId and :toId and v.level is not null " +
+            "group by v.member_id, v.level " +
+            "union all " +
+            "select v.member_id, year(v.shooting_date) * 100 + month(v.shooting_date), v.level, count(*), sum(case when v.is_success then 1 else 0 end) from video v " +
+            "where v.member_id between :fromId and :toId and v.level is not null and v.shooting_date is not null " +
+            "group by v.member_id, year(v.shooting_date) * 100 + month(v.shooting_date), v.level", nativeQuery = true)
+    int insertFromVideo(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
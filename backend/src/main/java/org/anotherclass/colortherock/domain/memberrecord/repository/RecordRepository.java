@@ -3,7 +3,21 @@ package org.anotherclass.colortherock.domain.memberrecord.repository;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.memberrecord.entity.MemberRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RecordRepository extends JpaRepository<MemberRecord, Long> {
     MemberRecord findByMember(Member member);
+
+    /**
+     * 읽고 더해서 저장하지 않고 DB 에서 한 번에 더해서, 동시에 올린 영상 수가 사라지지 않게 한다.
+     * 누적 통계 행이 없으면 member_id 유니크 키로 한 번에 만들어서, 동시에 만들어도 행이 하나만 생긴다. 감소로 만들 때는 0 으로 만든다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into member_record (member_id, video_count, success_count) " +
+            "values (:memberId, greatest(:videoDelta, 0), greatest(:successDelta, 0)) " +
+            "on duplicate key update video_count = member_record.video_count + :videoDelta, " +
+            "success_count = member_record.success_count + :successDelta", nativeQuery = true)
+    int addCounts(@Param("memberId") Long memberId, @Param("videoDelta") int videoDelta, @Param("successDelta") int successDelta);
 }
@@ -0,0 +1,44 @@
+package org.anotherclass.colortherock.domain.memberrecord.repository;
+
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.memberrecord.entity.VisitDayIndex;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+public interface VisitDayIndexRepository extends JpaRepository<VisitDayIndex, Long> {
+
+    List<VisitDayIndex> findByMember(Member member);
+
+    List<VisitDayIndex> findByMemberAndGymName(Member member, String gymName);
+
+    boolean existsByMember(Member member);
+
+    /**
+     * 비트를 끌지 판단하는 동안 같은 사용자의 인덱스 변경을 기다리게 하도록 사용자의 행을 모두 잠근다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from VisitDayIndex i where i.member = :member")
+    List<Long> findIdsByMemberForUpdate(@Param("member") Member member);
+
+    /**
+     * 행이 없으면 만들고, 있으면 DB 에서 비트 OR 로 날짜를 켠다.
+     */
+    @Modifying
+    @Query(value = "insert into visit_day_index (member_id, gym_name, year, days) values (:memberId, :gymName, :year, :mask) " +
+            "on duplicate key update days = days | :mask", nativeQuery = true)
+    int setDay(@Param("memberId") Long memberId, @Param("gymName") String gymName, @Param("year") int year, @Param("mask") byte[] mask);
+
+    /**
+     * DB 에서 비트 AND 로 날짜를 끈다.
+     */
+    @Modifying
+    @Query(value = "update visit_day_index set days = days & :mask " +
+            "where member_id = :memberId and gym_name = :gymName and year = :year", nativeQuery = true)
+    int clearDay(@Param("memberId") Long memberId, @Param("gymName") String gymName, @Param("year") int year, @Param("mask") byte[] mask);
+}
@@ -0,0 +1,28 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Schema(description = "기록 대시보드 응답, 요청하지 않은 항목은 null")
+public class DashboardResponse {
+    @Schema(description = "전체 운동 기록 누적 통계")
+    private final TotalStatResponse total;
+    @Schema(description = "전체 운동 영상 색상 별 통계")
+    private final List<LevelStatResponse> color;
+    @Schema(description = "암장 방문 통계")
+    private final VisitResponse visit;
+    @Schema(description = "운동 기록 캘린더 색상")
+    private final List<DailyColorResponse> calendar;
+
+    @Builder
+    public DashboardResponse(TotalStatResponse total, List<LevelStatResponse> color, VisitResponse visit, List<DailyColorResponse> calendar) {
+        this.total = total;
+        this.color = color;
+        this.visit = visit;
+        this.calendar = calendar;
+    }
+}
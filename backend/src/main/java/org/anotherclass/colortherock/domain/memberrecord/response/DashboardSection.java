@@ -0,0 +1,37 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 기록 대시보드 항목
+ */
+public enum DashboardSection {
+    TOTAL, COLOR, VISIT, CALENDAR;
+
+    /**
+     * 쉼표로 구분한 항목 이름, 비어 있으면 전체 항목
+     */
+    public static Set<DashboardSection> parse(String sections) {
+        if (sections == null || sections.isBlank()) return EnumSet.allOf(DashboardSection.class);
+        Set<DashboardSection> parsed = EnumSet.noneOf(DashboardSection.class);
+        for (String name : sections.split(",")) {
+            if (name.isBlank()) continue;
+            try {
+                parsed.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new GlobalBaseException(GlobalErrorCode.INVALID_DASHBOARD_SECTION);
+            }
+        }
+        if (parsed.isEmpty()) throw new GlobalBaseException(GlobalErrorCode.INVALID_DASHBOARD_SECTION);
+        return parsed;
+    }
+
+    public String toTimingName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
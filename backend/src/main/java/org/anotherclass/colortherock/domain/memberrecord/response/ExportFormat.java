@@ -0,0 +1,42 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+
+import java.util.Locale;
+
+/**
+ * 기록 내보내기 형식
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * 형식 이름, 비어 있으면 NDJSON
+     */
+    public static ExportFormat parse(String format) {
+        if (format == null || format.isBlank()) return NDJSON;
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new GlobalBaseException(GlobalErrorCode.INVALID_EXPORT_FORMAT);
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,32 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Schema(description = "암장 랭킹 한 줄")
+public class LeaderboardEntryResponse {
+    @Schema(description = "순위(1부터)")
+    private Long rank;
+    @Schema(description = "사용자 id")
+    private Long memberId;
+    @Schema(description = "닉네임")
+    private String nickname;
+    @Schema(description = "완등한 가장 높은 레벨")
+    private Integer maxLevel;
+    @Schema(description = "완등한 가장 높은 레벨의 색상")
+    private String color;
+    @Schema(description = "완등 영상 수")
+    private Long successCount;
+
+    @Builder
+    public LeaderboardEntryResponse(Long rank, Long memberId, String nickname, Integer maxLevel, String color, Long successCount) {
+        this.rank = rank;
+        this.memberId = memberId;
+        this.nickname = nickname;
+        this.maxLevel = maxLevel;
+        this.color = color;
+        this.successCount = successCount;
+    }
+}
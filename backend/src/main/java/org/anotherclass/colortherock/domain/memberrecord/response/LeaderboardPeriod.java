@@ -0,0 +1,59 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+import java.util.Locale;
+
+/**
+ * 암장 랭킹 기간
+ * 주간은 ISO 주(월요일 시작), 월간은 달력 기준이고 모두 촬영 날짜로 나눈다.
+ */
+public enum LeaderboardPeriod {
+    WEEKLY, MONTHLY, ALL_TIME;
+
+    /**
+     * 기간 이름, 비어 있으면 주간
+     */
+    public static LeaderboardPeriod parse(String period) {
+        if (period == null || period.isBlank()) return WEEKLY;
+        try {
+            return valueOf(period.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new GlobalBaseException(GlobalErrorCode.INVALID_LEADERBOARD_PERIOD);
+        }
+    }
+
+    /**
+     * 날짜가 속한 기간의 이름, 예) 2023-W05, 2023-02, all
+     */
+    public String key(LocalDate date) {
+        switch (this) {
+            case WEEKLY:
+                return String.format(Locale.ROOT, "%d-W%02d",
+                        date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTHLY:
+                return YearMonth.from(date).toString();
+            default:
+                return "all";
+        }
+    }
+
+    /**
+     * 날짜가 속한 기간의 마지막 날, 전체 기간은 null
+     */
+    public LocalDate end(LocalDate date) {
+        switch (this) {
+            case WEEKLY:
+                return date.with(DayOfWeek.SUNDAY);
+            case MONTHLY:
+                return YearMonth.from(date).atEndOfMonth();
+            default:
+                return null;
+        }
+    }
+}
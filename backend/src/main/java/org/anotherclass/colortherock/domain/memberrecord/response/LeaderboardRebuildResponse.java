@@ -0,0 +1,32 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Schema(description = "암장 랭킹 재계산 결과")
+public class LeaderboardRebuildResponse {
+
+    @Schema(description = "시작 시각")
+    private final LocalDateTime startedAt;
+    @Schema(description = "걸린 시간(ms)")
+    private final Long elapsedMillis;
+    @Schema(description = "다시 만든 암장 수")
+    private final Integer gymCount;
+    @Schema(description = "다시 만든 랭킹(암장, 기간) 수")
+    private final Integer boardCount;
+    @Schema(description = "랭킹에 넣은 사용자 수(랭킹별 합계)")
+    private final Long entryCount;
+
+    @Builder
+    public LeaderboardRebuildResponse(LocalDateTime startedAt, Long elapsedMillis, Integer gymCount, Integer boardCount, Long entryCount) {
+        this.startedAt = startedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.gymCount = gymCount;
+        this.boardCount = boardCount;
+        this.entryCount = entryCount;
+    }
+}
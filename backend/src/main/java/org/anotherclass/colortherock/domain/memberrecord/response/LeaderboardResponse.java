@@ -0,0 +1,31 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Schema(description = "암장 랭킹 응답")
+public class LeaderboardResponse {
+    @Schema(description = "암장 이름")
+    private String gymName;
+    @Schema(description = "랭킹 기간(WEEKLY, MONTHLY, ALL_TIME)")
+    private LeaderboardPeriod period;
+    @Schema(description = "조회한 기간, 예) 2023-W05, 2023-02, all")
+    private String periodKey;
+    @Schema(description = "상위 랭킹")
+    private List<LeaderboardEntryResponse> top;
+    @Schema(description = "내 순위, 해당 기간에 완등 기록이 없으면 null")
+    private LeaderboardEntryResponse me;
+
+    @Builder
+    public LeaderboardResponse(String gymName, LeaderboardPeriod period, String periodKey, List<LeaderboardEntryResponse> top, LeaderboardEntryResponse me) {
+        this.gymName = gymName;
+        this.period = period;
+        this.periodKey = periodKey;
+        this.top = top;
+        this.me = me;
+    }
+}
@@ -0,0 +1,32 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Schema(description = "레벨별 누적 통계 재계산 결과")
+public class LevelStatRebuildResponse {
+
+    @Schema(description = "시작 시각")
+    private final LocalDateTime startedAt;
+    @Schema(description = "걸린 시간(ms)")
+    private final Long elapsedMillis;
+    @Schema(description = "나눠서 처리한 사용자 id 구간 수")
+    private final Integer chunkCount;
+    @Schema(description = "지운 통계 행 수")
+    private final Long deletedRows;
+    @Schema(description = "다시 만든 통계 행 수")
+    private final Long insertedRows;
+
+    @Builder
+    public LevelStatRebuildResponse(LocalDateTime startedAt, Long elapsedMillis, Integer chunkCount, Long deletedRows, Long insertedRows) {
+        this.startedAt = startedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.chunkCount = chunkCount;
+        this.deletedRows = deletedRows;
+        this.insertedRows = insertedRows;
+    }
+}
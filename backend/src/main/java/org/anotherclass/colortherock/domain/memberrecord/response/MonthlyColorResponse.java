@@ -0,0 +1,25 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@Schema(description = "월별 운동 기록 캘린더 색상 반환")
+public class MonthlyColorResponse {
+
+    @Schema(description = "연월(YYYY-MM)")
+    private String yearMonth;
+    @Schema(description = "해당 월의 날짜별 색깔")
+    private List<DailyColorResponse> days;
+
+    @Builder
+    public MonthlyColorResponse(String yearMonth, List<DailyColorResponse> days) {
+        this.yearMonth = yearMonth;
+        this.days = days;
+    }
+}
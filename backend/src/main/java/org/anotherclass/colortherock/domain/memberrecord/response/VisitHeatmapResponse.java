@@ -0,0 +1,32 @@
+package org.anotherclass.colortherock.domain.memberrecord.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Schema(description = "연도별 방문 날짜 응답")
+public class VisitHeatmapResponse {
+    @Schema(description = "연도")
+    private Integer year;
+    @Schema(description = "해당 연도 방문 일수")
+    private Integer visitCount;
+    @Schema(description = "가장 길게 연속으로 방문한 일수")
+    private Integer longestStreak;
+    @Schema(description = "오늘 또는 어제까지 연속으로 방문한 일수")
+    private Integer currentStreak;
+    @Schema(description = "해당 연도 방문 날짜")
+    private List<LocalDate> dates;
+
+    @Builder
+    public VisitHeatmapResponse(Integer year, Integer visitCount, Integer longestStreak, Integer currentStreak, List<LocalDate> dates) {
+        this.year = year;
+        this.visitCount = visitCount;
+        this.longestStreak = longestStreak;
+        this.currentStreak = currentStreak;
+        this.dates = dates;
+    }
+}
@@ -0,0 +1,252 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.memberrecord.response.DailyColorResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별, 월별 운동 기록 캘린더 색상 캐시
+ * 지난 달 기록은 거의 바뀌지 않으므로 계산한 결과를 서버 메모리(Caffeine)에 두고, 설정하면 Redis 에도 둬서 서버끼리 나눠 쓴다.
+ * 영상이 바뀐 달만 트랜잭션 커밋 뒤에 지운다.
+ * DB 를 읽기 전에 사용자별 {@link #version} 을 받아 두고, 읽는 사이에 그 사용자의 캐시가 지워졌으면 읽은 결과를 캐시에 넣지 않는다.
+ * Redis 에도 사용자별 버전을 두어 다른 서버가 지운 뒤에 이전 결과를 쓰지 않게 한다.
+ * 다른 서버의 메모리 캐시는 지우지 못하므로 메모리 캐시의 유지 시간을 짧게 둔다.
+ */
+@Slf4j
+@Component
+public class CalendarColorCache {
+
+    private static final String KEY_PREFIX = "record:calendar:";
+    private static final String VERSION_KEY_PREFIX = KEY_PREFIX + "version:";
+    // KEYS[1] 색상, KEYS[2] 사용자 버전 / ARGV 읽기 전 버전, 색상 JSON, TTL(초)
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end\n" +
+                    "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])\n" +
+                    "return 1",
+            Long.class);
+    private static final TypeReference<List<DailyColorResponse>> TYPE = new TypeReference<>() {
+    };
+
+    private final Cache<String, List<DailyColorResponse>> cache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    // 사용자별로 이 서버에서 마지막으로 지운 순번, 순번은 서버 전체에서 늘어나기만 하므로 항목이 사라졌다 다시 생겨도 겹치지 않는다.
+    private final Cache<Long, Long> versions;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+
+    public CalendarColorCache(StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${record.calendar-cache.max-size:10000}") long maxSize,
+                              @Value("${record.calendar-cache.ttl-seconds:60}") long ttlSeconds,
+                              @Value("${record.calendar-cache.redis.enabled:false}") boolean redisEnabled,
+                              @Value("${record.calendar-cache.redis.ttl-hours:24}") long redisTtlHours) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "record.calendar");
+        Gauge.builder("record.calendar.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("캘린더 색상 메모리 캐시 적중률")
+                .register(meterRegistry);
+        this.redisHitCounter = Counter.builder("record.calendar.cache.redis")
+                .description("캘린더 색상 Redis 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMissCounter = Counter.builder("record.calendar.cache.redis")
+                .description("캘린더 색상 Redis 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 있는 달만 골라서 반환
+     *
+     * @param memberId 사용자 id
+     * @param months   조회할 달
+     * @return 캐시에 있던 달의 색상
+     */
+    public Map<YearMonth, List<DailyColorResponse>> getAll(Long memberId, Collection<YearMonth> months) {
+        Map<YearMonth, List<DailyColorResponse>> found = new HashMap<>();
+        List<YearMonth> misses = new ArrayList<>();
+        for (YearMonth month : months) {
+            List<DailyColorResponse> colors = cache.getIfPresent(key(memberId, month));
+            if (colors != null) found.put(month, colors);
+            else misses.add(month);
+        }
+        if (!redisEnabled || misses.isEmpty()) return found;
+
+        List<String> keys = new ArrayList<>();
+        misses.forEach(month -> keys.add(key(memberId, month)));
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(keys);
+        } catch (RuntimeException e) {
+            log.warn("캘린더 색상 Redis 캐시 조회 실패 : {}", e.toString());
+            return found;
+        }
+        for (int i = 0; i < misses.size(); i++) {
+            String value = values == null ? null : values.get(i);
+            List<DailyColorResponse> colors = value == null ? null : read(value);
+            if (colors == null) {
+                redisMissCounter.increment();
+                continue;
+            }
+            redisHitCounter.increment();
+            cache.put(keys.get(i), colors);
+            found.put(misses.get(i), colors);
+        }
+        return found;
+    }
+
+    /**
+     * DB 에서 색상을 읽기 전에 받아 두는 버전
+     *
+     * @param memberId 사용자 id
+     * @return 이 서버와 Redis 의 이 사용자 현재 버전
+     */
+    public Version version(Long memberId) {
+        long local = versions.get(memberId, id -> sequence.incrementAndGet());
+        if (!redisEnabled) return new Version(local, null);
+        try {
+            String shared = redisTemplate.opsForValue().get(versionKey(memberId));
+            return new Version(local, shared == null ? "0" : shared);
+        } catch (RuntimeException e) {
+            log.warn("캘린더 색상 Redis 버전 조회 실패 : {}", e.toString());
+            return new Version(local, null);
+        }
+    }
+
+    /**
+     * 읽은 색상을 캐시에 넣는다. 버전을 받은 뒤에 이 사용자의 캐시가 지워졌으면 넣지 않는다.
+     *
+     * @param memberId 사용자 id
+     * @param month    달
+     * @param colors   색상
+     * @param version  DB 를 읽기 전에 받은 버전
+     */
+    public void put(Long memberId, YearMonth month, List<DailyColorResponse> colors, Version version) {
+        String key = key(memberId, month);
+        List<DailyColorResponse> value = Collections.unmodifiableList(new ArrayList<>(colors));
+        if (!isCurrent(memberId, version)) return;
+        cache.put(key, value);
+        // 넣는 사이에 지워졌으면 다시 뺀다.
+        if (!isCurrent(memberId, version)) cache.asMap().remove(key, value);
+        if (!redisEnabled || version.shared == null) return;
+        try {
+            redisTemplate.execute(PUT_SCRIPT, List.of(key, versionKey(memberId)),
+                    version.shared, objectMapper.writeValueAsString(value), String.valueOf(redisTtl.getSeconds()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("캘린더 색상 Redis 캐시 저장 실패 : {}", e.toString());
+        }
+    }
+
+    /**
+     * 해당 달의 캐시를 지운다. 트랜잭션 안이면 커밋한 뒤에 지운다.
+     *
+     * @param memberId 사용자 id
+     * @param month    영상을 찍은 달
+     */
+    public void evict(Long memberId, YearMonth month) {
+        bump(memberId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(memberId, month);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(memberId, month);
+            }
+        });
+    }
+
+    private void evictNow(Long memberId, YearMonth month) {
+        String key = key(memberId, month);
+        bump(memberId);
+        cache.invalidate(key);
+        if (!redisEnabled) return;
+        try {
+            // 버전을 먼저 올려서 이전 버전으로 읽던 서버가 다시 쓰지 못하게 한다.
+            String versionKey = versionKey(memberId);
+            redisTemplate.opsForValue().increment(versionKey);
+            redisTemplate.expire(versionKey, redisTtl);
+            redisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            log.warn("캘린더 색상 Redis 캐시 삭제 실패 : {} {}", key, e.toString());
+        }
+    }
+
+    private void bump(Long memberId) {
+        versions.put(memberId, sequence.incrementAndGet());
+    }
+
+    // 버전 항목이 만료돼 사라졌으면 그 사이 지워졌는지 알 수 없으므로 넣지 않는다.
+    private boolean isCurrent(Long memberId, Version version) {
+        Long current = versions.getIfPresent(memberId);
+        return current != null && current == version.local;
+    }
+
+    private List<DailyColorResponse> read(String value) {
+        try {
+            return Collections.unmodifiableList(objectMapper.readValue(value, TYPE));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String key(Long memberId, YearMonth month) {
+        return KEY_PREFIX + memberId + ":" + month;
+    }
+
+    private static String versionKey(Long memberId) {
+        return VERSION_KEY_PREFIX + memberId;
+    }
+
+    /**
+     * DB 를 읽기 전의 캐시 버전
+     */
+    public static final class Version {
+        private final long local;
+        // Redis 를 쓰지 않거나 읽지 못했으면 null
+        private final String shared;
+
+        private Version(long local, String shared) {
+            this.local = local;
+            this.shared = shared;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.memberrecord.response.LeaderboardPeriod;
+import org.anotherclass.colortherock.domain.memberrecord.response.LeaderboardRebuildResponse;
+import org.anotherclass.colortherock.domain.video.dto.LeaderboardCountDto;
+import org.anotherclass.colortherock.domain.video.repository.VideoReadRepository;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.DefaultStringTuple;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 암장 랭킹 재계산
+ * 커밋 뒤 반영이 실패했거나 Redis 를 비웠을 때 video 에서 랭킹을 다시 만든다.
+ * 암장 하나씩 완등 수를 묶어서 읽고, 보관 중인 기간의 랭킹을 임시 key 에 채운 뒤 스크립트로 한 번에 바꿔 끼운다.
+ * 읽기 전에 랭킹마다 재계산 표시 hash 를 두어서, 그 뒤로 커밋 뒤 반영이 닿은 사용자는 video 에서 다시 세어 임시 key 를 고친다.
+ * 바꿔 끼우는 스크립트는 표시 hash 의 반영 횟수가 마지막으로 읽은 값과 같을 때만 바꾸고, 다르면 다시 센다.
+ * 끝내 맞추지 못한 랭킹은 바꾸지 않고 커밋 뒤 반영으로 유지한 랭킹을 그대로 둔다.
+ * 랭킹은 모든 서버가 같이 쓰므로 재계산은 {@link JobLockService} 로 잠가서 한 서버에서만 한다.
+ * 커밋과 커밋 뒤 반영 사이에 읽힌 영상은 두 번 더해질 수 있고, 다음 재계산에서 맞춰진다.
+ */
+@Slf4j
+@Component
+public class GymLeaderboardRebuilder {
+
+    private static final String REBUILD_SUFFIX = ":rebuild";
+    private static final String LOCK_NAME = "leaderboard-rebuild";
+
+    // KEYS[1] 새 랭킹, KEYS[2] 새 레벨별 완등 수, KEYS[3] 랭킹, KEYS[4] 레벨별 완등 수, KEYS[5] 재계산 표시
+    // ARGV[1] TTL(초, 0 이면 없음), ARGV[2] 마지막으로 읽은 반영 횟수 / 그 뒤로 반영이 있었으면 -1
+    private static final RedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[5], '" + GymLeaderboardService.DIRTY_SEQ_FIELD + "') ~= ARGV[2] then return -1 end\n" +
+                    "redis.call('DEL', KEYS[5])\n" +
+                    "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('DEL', KEYS[2], KEYS[3], KEYS[4]); return 0 end\n" +
+                    "redis.call('RENAME', KEYS[1], KEYS[3])\n" +
+                    "redis.call('RENAME', KEYS[2], KEYS[4])\n" +
+                    "local ttl = tonumber(ARGV[1])\n" +
+                    "if ttl > 0 then redis.call('EXPIRE', KEYS[3], ttl); redis.call('EXPIRE', KEYS[4], ttl) end\n" +
+                    "return redis.call('ZCARD', KEYS[3])",
+            Long.class);
+
+    private final VideoReadRepository videoReadRepository;
+    private final GymLeaderboardService gymLeaderboardService;
+    private final StringRedisTemplate redisTemplate;
+    private final JobLockService jobLockService;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+    private final boolean enabled;
+    private final int maxRecounts;
+    private final long markTtlSeconds;
+    private final Duration lockLease;
+
+    public GymLeaderboardRebuilder(VideoReadRepository videoReadRepository,
+                                   GymLeaderboardService gymLeaderboardService,
+                                   StringRedisTemplate redisTemplate,
+                                   JobLockService jobLockService,
+                                   MaintenanceJobRunner maintenanceJobRunner,
+                                   @Value("${record.leaderboard.enabled:true}") boolean enabled,
+                                   @Value("${record.leaderboard.rebuild.max-recounts:3}") int maxRecounts,
+                                   @Value("${record.leaderboard.rebuild.mark-ttl-seconds:600}") long markTtlSeconds,
+                                   @Value("${record.leaderboard.rebuild.lock-lease-minutes:60}") long lockLeaseMinutes) {
+        this.videoReadRepository = videoReadRepository;
+        this.gymLeaderboardService = gymLeaderboardService;
+        this.redisTemplate = redisTemplate;
+        this.jobLockService = jobLockService;
+        this.maintenanceJobRunner = maintenanceJobRunner;
+        this.enabled = enabled;
+        this.maxRecounts = Math.max(maxRecounts, 0);
+        this.markTtlSeconds = Math.max(markTtlSeconds, 1);
+        this.lockLease = Duration.ofMinutes(lockLeaseMinutes);
+    }
+
+    @Scheduled(cron = "${record.leaderboard.rebuild.cron:0 0 5 * * *}")
+    public void scheduled() {
+        if (!enabled) return;
+        maintenanceJobRunner.submit(LOCK_NAME, () -> {
+            try {
+                rebuild();
+            } catch (GlobalBaseException e) {
+                log.info("이미 암장 랭킹 재계산이 실행 중입니다.");
+            }
+        });
+    }
+
+    /**
+     * 전체 암장 랭킹 재계산
+     *
+     * @return {@link LeaderboardRebuildResponse}
+     */
+    public LeaderboardRebuildResponse rebuild() {
+        String token = jobLockService.tryAcquire(LOCK_NAME, lockLease);
+        if (token == null) {
+            throw new GlobalBaseException(GlobalErrorCode.LEADERBOARD_REBUILD_RUNNING);
+        }
+        try {
+            return doRebuild();
+        } finally {
+            jobLockService.release(LOCK_NAME, token);
+        }
+    }
+
+    private LeaderboardRebuildResponse doRebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedNanos = System.nanoTime();
+        LocalDate today = LocalDate.now();
+
+        Set<String> gyms = new LinkedHashSet<>();
+        for (String gymName : videoReadRepository.searchSuccessGymNames()) {
+            if (!gymName.isBlank()) gyms.add(gymName);
+        }
+        // 완등 영상이 모두 지워진 암장도 남은 랭킹을 지워야 하므로 Redis 의 암장 목록과 합친다.
+        Set<String> previous = redisTemplate.opsForSet().members(GymLeaderboardService.GYMS_KEY);
+        Set<String> targets = new LinkedHashSet<>(gyms);
+        if (previous != null) targets.addAll(previous);
+
+        int boardCount = 0;
+        long entryCount = 0;
+        for (String gymName : targets) {
+            Map<String, Board> boards = boards(gymName, today);
+            mark(boards.keySet());
+            add(boards, gymName, videoReadRepository.searchLeaderboardCounts(gymName), today);
+            boards.forEach(this::fill);
+            entryCount += swap(gymName, boards, today);
+            boardCount += boards.size();
+        }
+        if (!gyms.isEmpty()) redisTemplate.opsForSet().add(GymLeaderboardService.GYMS_KEY, gyms.toArray(String[]::new));
+        if (previous != null) {
+            previous.removeAll(gyms);
+            if (!previous.isEmpty()) redisTemplate.opsForSet().remove(GymLeaderboardService.GYMS_KEY, previous.toArray());
+        }
+
+        LeaderboardRebuildResponse response = LeaderboardRebuildResponse.builder()
+                .startedAt(startedAt)
+                .elapsedMillis(Duration.ofNanos(System.nanoTime() - startedNanos).toMillis())
+                .gymCount(gyms.size())
+                .boardCount(boardCount)
+                .entryCount(entryCount)
+                .build();
+        log.info("암장 랭킹 재계산 : 암장 {}개, 랭킹 {}개, 사용자 {}명, {}ms",
+                gyms.size(), boardCount, entryCount, response.getElapsedMillis());
+        return response;
+    }
+
+    /**
+     * 암장 하나의 보관 중인 모든 기간 랭킹, 완등이 없는 기간도 넣어서 남은 랭킹이 지워지게 한다.
+     */
+    private Map<String, Board> boards(String gymName, LocalDate today) {
+        Map<String, Board> boards = new LinkedHashMap<>();
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            gymLeaderboardService.retainedPeriods(period, today).forEach((periodKey, date) ->
+                    boards.put(GymLeaderboardService.boardKey(gymName, periodKey),
+                            new Board(gymLeaderboardService.ttlSeconds(period, date, today))));
+        }
+        return boards;
+    }
+
+    /**
+     * 완등 수를 읽기 전에 재계산 표시를 둔다. 재계산이 중간에 멈춰도 표시는 TTL 로 사라진다.
+     */
+    private void mark(Collection<String> keys) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String key : keys) {
+                String dirtyKey = GymLeaderboardService.dirtyKey(key);
+                // 이미 있는 표시의 반영 횟수를 되돌리면 같은 값을 다시 지나갈 수 있으므로 없을 때만 만든다.
+                stringConnection.hSetNX(dirtyKey, GymLeaderboardService.DIRTY_SEQ_FIELD, "0");
+                stringConnection.expire(dirtyKey, markTtlSeconds);
+            }
+            return null;
+        });
+    }
+
+    private void add(Map<String, Board> boards, String gymName, List<LeaderboardCountDto> counts, LocalDate today) {
+        for (LeaderboardCountDto count : counts) {
+            int level = count.getLevel();
+            if (level < 1 || level > GymLeaderboardService.MAX_LEVEL) continue;
+            for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                if (gymLeaderboardService.ttlSeconds(period, count.getDate(), today) < 0) continue;
+                Board board = boards.get(GymLeaderboardService.boardKey(gymName, period.key(count.getDate())));
+                if (board != null) board.add(count.getMemberId(), level, count.getCount());
+            }
+        }
+    }
+
+    /**
+     * 임시 key 를 비우고 채운다.
+     */
+    private void fill(String key, Board board) {
+        String rebuildKey = key + REBUILD_SUFFIX;
+        String rebuildLevelsKey = GymLeaderboardService.levelsKey(rebuildKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.del(rebuildKey, rebuildLevelsKey);
+            if (!board.counts.isEmpty()) {
+                stringConnection.hMSet(rebuildLevelsKey, board.fields(board.counts.keySet()));
+                stringConnection.zAdd(rebuildKey, board.tuples(board.counts.keySet()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 읽은 뒤로 반영된 사용자를 다시 세어 임시 key 를 고치고 바꿔 끼운다.
+     *
+     * @return 랭킹에 들어간 사용자 수
+     */
+    private long swap(String gymName, Map<String, Board> boards, LocalDate today) {
+        Set<String> pending = new LinkedHashSet<>(boards.keySet());
+        // 랭킹별로 이미 다시 센 사용자의 반영 횟수
+        Map<String, Map<String, String>> recounted = new HashMap<>();
+        long entries = 0;
+        for (int attempt = 0; attempt <= maxRecounts && !pending.isEmpty(); attempt++) {
+            Map<String, String> seqs = new HashMap<>();
+            Set<Long> dirty = new HashSet<>();
+            for (String key : pending) {
+                Map<Object, Object> marks = redisTemplate.opsForHash().entries(GymLeaderboardService.dirtyKey(key));
+                Map<String, String> seen = recounted.computeIfAbsent(key, k -> new HashMap<>());
+                marks.forEach((field, count) -> {
+                    if (GymLeaderboardService.DIRTY_SEQ_FIELD.equals(field)) seqs.put(key, (String) count);
+                    else if (!count.equals(seen.put((String) field, (String) count))) dirty.add(Long.valueOf((String) field));
+                });
+            }
+            if (!dirty.isEmpty()) recount(gymName, boards, pending, dirty, today);
+            for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+                String key = iterator.next();
+                String rebuildKey = key + REBUILD_SUFFIX;
+                // 표시가 사라졌으면 반영 횟수가 없으므로 바꾸지 않는다.
+                Long result = redisTemplate.execute(SWAP_SCRIPT,
+                        List.of(rebuildKey, GymLeaderboardService.levelsKey(rebuildKey), key,
+                                GymLeaderboardService.levelsKey(key), GymLeaderboardService.dirtyKey(key)),
+                        String.valueOf(boards.get(key).ttl), seqs.getOrDefault(key, ""));
+                if (result == null || result < 0) continue;
+                entries += result;
+                iterator.remove();
+            }
+        }
+        for (String key : pending) {
+            String rebuildKey = key + REBUILD_SUFFIX;
+            redisTemplate.delete(List.of(rebuildKey, GymLeaderboardService.levelsKey(rebuildKey), GymLeaderboardService.dirtyKey(key)));
+            log.warn("재계산하는 동안 반영이 이어져 랭킹을 바꾸지 못했습니다 : {}", key);
+        }
+        return entries;
+    }
+
+    /**
+     * 주어진 사용자의 완등 수를 다시 읽어서 아직 바꿔 끼우지 않은 임시 key 에서 그 사용자만 바꾼다.
+     */
+    private void recount(String gymName, Map<String, Board> boards, Set<String> pending, Set<Long> memberIds, LocalDate today) {
+        for (String key : pending) boards.get(key).counts.keySet().removeAll(memberIds);
+        add(boards, gymName, videoReadRepository.searchLeaderboardCounts(gymName, memberIds), today);
+        List<String> members = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            members.add(String.valueOf(memberId));
+            for (int level = 1; level <= GymLeaderboardService.MAX_LEVEL; level++) fields.add(memberId + ":" + level);
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String key : pending) {
+                Board board = boards.get(key);
+                String rebuildKey = key + REBUILD_SUFFIX;
+                String rebuildLevelsKey = GymLeaderboardService.levelsKey(rebuildKey);
+                stringConnection.zRem(rebuildKey, members.toArray(String[]::new));
+                stringConnection.hDel(rebuildLevelsKey, fields.toArray(String[]::new));
+                Set<Long> recounted = new HashSet<>(memberIds);
+                recounted.retainAll(board.counts.keySet());
+                if (recounted.isEmpty()) continue;
+                stringConnection.hMSet(rebuildLevelsKey, board.fields(recounted));
+                stringConnection.zAdd(rebuildKey, board.tuples(recounted));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 랭킹 하나의 사용자별 레벨별 완등 수
+     */
+    private static final class Board {
+        private final long ttl;
+        private final Map<Long, long[]> counts = new HashMap<>();
+
+        private Board(long ttl) {
+            this.ttl = ttl;
+        }
+
+        void add(Long memberId, int level, long count) {
+            counts.computeIfAbsent(memberId, id -> new long[GymLeaderboardService.MAX_LEVEL + 1])[level] += count;
+        }
+
+        Map<String, String> fields(Collection<Long> memberIds) {
+            Map<String, String> fields = new HashMap<>();
+            for (Long memberId : memberIds) {
+                long[] levels = counts.get(memberId);
+                for (int level = 1; level < levels.length; level++) {
+                    if (levels[level] > 0) fields.put(memberId + ":" + level, String.valueOf(levels[level]));
+                }
+            }
+            return fields;
+        }
+
+        Set<StringRedisConnection.StringTuple> tuples(Collection<Long> memberIds) {
+            Set<StringRedisConnection.StringTuple> tuples = new HashSet<>();
+            for (Long memberId : memberIds) {
+                long[] levels = counts.get(memberId);
+                int best = 0;
+                long total = 0;
+                for (int level = 1; level < levels.length; level++) {
+                    if (levels[level] <= 0) continue;
+                    best = level;
+                    total += levels[level];
+                }
+                tuples.add(new DefaultStringTuple(String.valueOf(memberId), GymLeaderboardService.score(best, total)));
+            }
+            return tuples;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
+import org.anotherclass.colortherock.domain.memberrecord.response.ColorCode;
+import org.anotherclass.colortherock.domain.memberrecord.response.LeaderboardEntryResponse;
+import org.anotherclass.colortherock.domain.memberrecord.response.LeaderboardPeriod;
+import org.anotherclass.colortherock.domain.memberrecord.response.LeaderboardResponse;
+import org.anotherclass.colortherock.domain.video.entity.Video;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 암장별 완등 랭킹
+ * 암장, 기간(주간, 월간, 전체)마다 Redis sorted set 하나를 두고 완등한 가장 높은 레벨, 완등 수 순서로 줄 세운다.
+ * 완등 영상이 가장 높은 레벨의 마지막 영상이면 지울 때 최고 레벨이 내려가야 하므로, 사용자별 레벨별 완등 수를 hash 에 같이 두고
+ * 점수는 Lua 스크립트에서 hash 로 다시 계산한다.
+ * Redis 는 트랜잭션에 묶이지 않으므로 영상 트랜잭션이 커밋된 뒤에 반영하고, 실패해서 어긋난 랭킹은 재계산으로 맞춘다.
+ * 재계산 중인 랭킹에는 표시 hash 가 있어서, 그동안 반영한 사용자를 적어 두고 재계산이 바꿔 끼우기 전에 다시 센다.
+ */
+@Slf4j
+@Service
+public class GymLeaderboardService {
+
+    static final String KEY_PREFIX = "record:leaderboard:";
+    static final String GYMS_KEY = KEY_PREFIX + "gyms";
+    static final int MAX_LEVEL = ColorCode.values().length;
+    // 점수 = 최고 레벨 * LEVEL_WEIGHT + 완등 수
+    static final long LEVEL_WEIGHT = 1_000_000L;
+    // 재계산 표시 hash 에서 반영 횟수를 세는 field, 나머지 field 는 사용자 id 별 반영 횟수
+    static final String DIRTY_SEQ_FIELD = "_";
+
+    // KEYS[1] 랭킹, KEYS[2] 레벨별 완등 수, KEYS[3] 재계산 표시 / ARGV 사용자 id, 레벨, 증감, 최대 레벨, 레벨 가중치, TTL(초, 0 이면 없음)
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>(
+            "local field = ARGV[1] .. ':' .. ARGV[2]\n" +
+                    "if redis.call('HINCRBY', KEYS[2], field, ARGV[3]) <= 0 then redis.call('HDEL', KEYS[2], field) end\n" +
+                    "local best, total = 0, 0\n" +
+                    "for level = 1, tonumber(ARGV[4]) do\n" +
+                    "  local count = tonumber(redis.call('HGET', KEYS[2], ARGV[1] .. ':' .. level) or 0)\n" +
+                    "  if count > 0 then best = level; total = total + count end\n" +
+                    "end\n" +
+                    "if total > 0 then redis.call('ZADD', KEYS[1], best * tonumber(ARGV[5]) + total, ARGV[1])\n" +
+                    "else redis.call('ZREM', KEYS[1], ARGV[1]) end\n" +
+                    "local ttl = tonumber(ARGV[6])\n" +
+                    "if ttl > 0 then redis.call('EXPIRE', KEYS[1], ttl); redis.call('EXPIRE', KEYS[2], ttl) end\n" +
+                    "if redis.call('EXISTS', KEYS[3]) == 1 then\n" +
+                    "  redis.call('HINCRBY', KEYS[3], ARGV[1], 1)\n" +
+                    "  redis.call('HINCRBY', KEYS[3], '" + DIRTY_SEQ_FIELD + "', 1)\n" +
+                    "end\n" +
+                    "return total",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MemberRepository memberRepository;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long weeklyRetentionWeeks;
+    private final long monthlyRetentionMonths;
+
+    public GymLeaderboardService(StringRedisTemplate redisTemplate,
+                                 MemberRepository memberRepository,
+                                 @Value("${record.leaderboard.enabled:true}") boolean enabled,
+                                 @Value("${record.leaderboard.max-size:100}") int maxSize,
+                                 @Value("${record.leaderboard.weekly-retention-weeks:8}") long weeklyRetentionWeeks,
+                                 @Value("${record.leaderboard.monthly-retention-months:12}") long monthlyRetentionMonths) {
+        this.redisTemplate = redisTemplate;
+        this.memberRepository = memberRepository;
+        this.enabled = enabled;
+        this.maxSize = Math.max(maxSize, 1);
+        this.weeklyRetentionWeeks = weeklyRetentionWeeks;
+        this.monthlyRetentionMonths = monthlyRetentionMonths;
+    }
+
+    /**
+     * 완등 영상을 저장한 트랜잭션이 커밋되면 랭킹에 더한다.
+     *
+     * @param video 저장한 영상
+     */
+    public void onVideoSaved(Video video) {
+        apply(List.of(Change.of(video, video.getGymName(), video.getLevel(), 1)));
+    }
+
+    /**
+     * 완등 영상을 삭제한 트랜잭션이 커밋되면 랭킹에서 뺀다.
+     *
+     * @param video 삭제한 영상
+     */
+    public void onVideoDeleted(Video video) {
+        apply(List.of(Change.of(video, video.getGymName(), video.getLevel(), -1)));
+    }
+
+    /**
+     * 레벨이나 암장이 바뀐 완등 영상을 이전 랭킹에서 빼고 새 랭킹에 더한다.
+     *
+     * @param video      수정한 영상
+     * @param oldLevel   바꾸기 전 레벨
+     * @param oldGymName 바꾸기 전 암장
+     */
+    public void onVideoChanged(Video video, Integer oldLevel, String oldGymName) {
+        if (Objects.equals(oldLevel, video.getLevel()) && Objects.equals(oldGymName, video.getGymName())) return;
+        apply(List.of(Change.of(video, oldGymName, oldLevel, -1), Change.of(video, video.getGymName(), video.getLevel(), 1)));
+    }
+
+    /**
+     * 암장 랭킹 조회
+     * 상위 N 명은 ZREVRANGE, 내 순위는 ZREVRANK 로 읽어서 랭킹 크기와 상관없이 O(log n) 이다.
+     * 점수가 같으면 Redis 의 member 정렬 순서를 따른다.
+     *
+     * @param gymName 암장 이름
+     * @param period  기간
+     * @param date    기간을 정할 날짜
+     * @param size    상위 몇 명
+     * @param member  순위를 같이 볼 사용자
+     * @return {@link LeaderboardResponse}
+     */
+    public LeaderboardResponse getLeaderboard(String gymName, LeaderboardPeriod period, LocalDate date, int size, Member member) {
+        String key = boardKey(gymName, period.key(date));
+        int limit = Math.min(Math.max(size, 1), maxSize);
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+        Set<ZSetOperations.TypedTuple<String>> tuples = zSet.reverseRangeWithScores(key, 0, limit - 1);
+
+        List<Long> memberIds = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        if (tuples != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                memberIds.add(Long.valueOf(tuple.getValue()));
+                scores.add(tuple.getScore());
+            }
+        }
+        Map<Long, String> nicknames = memberRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(Member::getId, Member::getNickname));
+        List<LeaderboardEntryResponse> top = new ArrayList<>();
+        for (int i = 0; i < memberIds.size(); i++) {
+            top.add(toEntry(i, memberIds.get(i), nicknames.get(memberIds.get(i)), scores.get(i)));
+        }
+
+        LeaderboardEntryResponse me = null;
+        if (member != null) {
+            int index = memberIds.indexOf(member.getId());
+            if (index >= 0) {
+                me = top.get(index);
+            } else {
+                String memberId = String.valueOf(member.getId());
+                Long rank = zSet.reverseRank(key, memberId);
+                Double score = rank == null ? null : zSet.score(key, memberId);
+                if (score != null) me = toEntry(rank, member.getId(), member.getNickname(), score);
+            }
+        }
+        return LeaderboardResponse.builder()
+                .gymName(gymName)
+                .period(period)
+                .periodKey(period.key(date))
+                .top(top)
+                .me(me).build();
+    }
+
+    private LeaderboardEntryResponse toEntry(long rank, Long memberId, String nickname, double score) {
+        int maxLevel = maxLevel(score);
+        return LeaderboardEntryResponse.builder()
+                .rank(rank + 1)
+                .memberId(memberId)
+                .nickname(nickname)
+                .maxLevel(maxLevel)
+                .color(ColorCode.getColor(maxLevel))
+                .successCount(successCount(score)).build();
+    }
+
+    private void apply(List<Change> changes) {
+        if (!enabled) return;
+        List<Change> valid = changes.stream().filter(Change::isValid).collect(Collectors.toList());
+        if (valid.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(valid);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write(valid);
+            }
+        });
+    }
+
+    private void write(List<Change> changes) {
+        LocalDate today = LocalDate.now();
+        try {
+            for (Change change : changes) {
+                if (change.delta > 0) redisTemplate.opsForSet().add(GYMS_KEY, change.gymName);
+                for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                    long ttl = ttlSeconds(period, change.date, today);
+                    // 보관 기간이 지난 주간, 월간 랭킹은 만들지 않는다.
+                    if (ttl < 0) continue;
+                    String key = boardKey(change.gymName, period.key(change.date));
+                    redisTemplate.execute(APPLY_SCRIPT, List.of(key, levelsKey(key), dirtyKey(key)),
+                            String.valueOf(change.memberId), String.valueOf(change.level), String.valueOf(change.delta),
+                            String.valueOf(MAX_LEVEL), String.valueOf(LEVEL_WEIGHT), String.valueOf(ttl));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("암장 랭킹 반영 실패, 재계산 전까지 랭킹이 어긋날 수 있습니다 : {}", e.toString());
+        }
+    }
+
+    /**
+     * 랭킹이 사라질 때까지 남은 시간(초)
+     * 주간, 월간 랭킹은 기간이 끝나고 보관 기간이 지나면 사라진다. 같은 날에는 몇 시에 반영하든 같은 값이 되도록 오늘 0시부터 센다.
+     *
+     * @return 전체 기간은 0, 보관 기간이 지났으면 음수
+     */
+    long ttlSeconds(LeaderboardPeriod period, LocalDate date, LocalDate today) {
+        LocalDate end = period.end(date);
+        if (end == null) return 0;
+        LocalDate expireDate = period == LeaderboardPeriod.WEEKLY
+                ? end.plusWeeks(weeklyRetentionWeeks).plusDays(1)
+                : end.plusMonths(monthlyRetentionMonths).plusDays(1);
+        if (!expireDate.isAfter(today)) return -1;
+        return Duration.between(today.atStartOfDay(), expireDate.atStartOfDay()).getSeconds();
+    }
+
+    /**
+     * 보관 중인 주간, 월간 랭킹과 전체 랭킹을 정할 날짜, 재계산할 때 비어 있는 랭킹을 지우는 데 사용한다.
+     */
+    Map<String, LocalDate> retainedPeriods(LeaderboardPeriod period, LocalDate today) {
+        Map<String, LocalDate> periods = new LinkedHashMap<>();
+        long count = period == LeaderboardPeriod.WEEKLY ? weeklyRetentionWeeks
+                : period == LeaderboardPeriod.MONTHLY ? monthlyRetentionMonths : 0;
+        Function<Long, LocalDate> back = period == LeaderboardPeriod.WEEKLY ? today::minusWeeks : today::minusMonths;
+        for (long i = 0; i <= count; i++) {
+            LocalDate date = back.apply(i);
+            if (ttlSeconds(period, date, today) >= 0) periods.put(period.key(date), date);
+        }
+        return periods;
+    }
+
+    // 랭킹과 레벨별 완등 수를 한 스크립트에서 다루므로 hash tag 로 같은 slot 에 둔다.
+    static String boardKey(String gymName, String periodKey) {
+        return KEY_PREFIX + "{" + gymName + ":" + periodKey + "}";
+    }
+
+    static String levelsKey(String boardKey) {
+        return boardKey + ":levels";
+    }
+
+    static String dirtyKey(String boardKey) {
+        return boardKey + ":dirty";
+    }
+
+    static double score(int maxLevel, long successCount) {
+        return maxLevel * (double) LEVEL_WEIGHT + successCount;
+    }
+
+    static int maxLevel(double score) {
+        return (int) ((long) score / LEVEL_WEIGHT);
+    }
+
+    static long successCount(double score) {
+        return (long) score % LEVEL_WEIGHT;
+    }
+
+    /**
+     * 커밋 뒤에 반영할 변경, 영상 엔티티는 커밋 뒤에 바뀔 수 있으므로 값을 복사해 둔다.
+     */
+    private static final class Change {
+        private final Long memberId;
+        private final String gymName;
+        private final LocalDate date;
+        private final Integer level;
+        private final boolean success;
+        private final int delta;
+
+        private Change(Long memberId, String gymName, LocalDate date, Integer level, boolean success, int delta) {
+            this.memberId = memberId;
+            this.gymName = gymName;
+            this.date = date;
+            this.level = level;
+            this.success = success;
+            this.delta = delta;
+        }
+
+        static Change of(Video video, String gymName, Integer level, int delta) {
+            return new Change(video.getMember().getId(), gymName, video.getShootingDate(), level,
+                    Boolean.TRUE.equals(video.getIsSuccess()), delta);
+        }
+
+        boolean isValid() {
+            return success && gymName != null && !gymName.isBlank() && date != null
+                    && level != null && level >= 1 && level <= MAX_LEVEL;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.memberrecord.repository.MemberLevelStatRepository;
+import org.anotherclass.colortherock.domain.memberrecord.response.LevelStatRebuildResponse;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 레벨별 누적 통계 재계산
+ * 누적 통계가 video 와 어긋났을 때 video 에서 다시 센다.
+ * 사용자 id 를 구간으로 나누고, 구간마다 한 트랜잭션에서 지우고 다시 넣는 작업을 여러 스레드에서 동시에 실행한다.
+ * INSERT ... SELECT 가 읽은 video 행을 잠그므로, 재계산 중인 구간에 올라가는 영상은 구간이 끝난 뒤 더해진다.
+ * 여러 서버 중 한 곳에서만 실행되도록 {@link JobLockService} 로 잠근다.
+ */
+@Slf4j
+@Component
+public class MemberLevelStatRebuilder {
+
+    private static final String LOCK_NAME = "level-stat-rebuild";
+
+    private final MemberLevelStatRepository memberLevelStatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final JobLockService jobLockService;
+    private final long chunkSize;
+    private final Duration lockLease;
+
+    public MemberLevelStatRebuilder(MemberLevelStatRepository memberLevelStatRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("levelStatRebuildExecutor") ThreadPoolTaskExecutor executor,
+                                    JobLockService jobLockService,
+                                    @Value("${record.level-stat.rebuild.chunk-size:500}") long chunkSize,
+                                    @Value("${record.level-stat.rebuild.lock-lease-minutes:60}") long lockLeaseMinutes) {
+        this.memberLevelStatRepository = memberLevelStatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.jobLockService = jobLockService;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.lockLease = Duration.ofMinutes(lockLeaseMinutes);
+    }
+
+    /**
+     * 전체 사용자의 레벨별 누적 통계 재계산
+     *
+     * @return {@link LevelStatRebuildResponse}
+     * @throws GlobalBaseException 다른 서버나 스레드에서 이미 실행 중일 때
+     */
+    public LevelStatRebuildResponse rebuild() {
+        String token = jobLockService.tryAcquire(LOCK_NAME, lockLease);
+        if (token == null) {
+            throw new GlobalBaseException(GlobalErrorCode.LEVEL_STAT_REBUILD_RUNNING);
+        }
+        try {
+            return doRebuild();
+        } finally {
+            jobLockService.release(LOCK_NAME, token);
+        }
+    }
+
+    private LevelStatRebuildResponse doRebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedNanos = System.nanoTime();
+        Long minId = memberLevelStatRepository.findMinMemberId();
+        Long maxId = memberLevelStatRepository.findMaxMemberId();
+
+        List<CompletableFuture<long[]>> chunks = new ArrayList<>();
+        if (minId != null) {
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long to = Math.min(from + chunkSize - 1, maxId);
+                long fromId = from;
+                chunks.add(CompletableFuture.supplyAsync(() -> rebuildChunk(fromId, to), executor));
+            }
+        }
+        long deleted = 0;
+        long inserted = 0;
+        try {
+            for (CompletableFuture<long[]> chunk : chunks) {
+                long[] rows = chunk.join();
+                deleted += rows[0];
+                inserted += rows[1];
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        LevelStatRebuildResponse response = LevelStatRebuildResponse.builder()
+                .startedAt(startedAt)
+                .elapsedMillis(Duration.ofNanos(System.nanoTime() - startedNanos).toMillis())
+                .chunkCount(chunks.size())
+                .deletedRows(deleted)
+                .insertedRows(inserted)
+                .build();
+        log.info("레벨별 누적 통계 재계산 : 구간 {}개, 삭제 {}행, 생성 {}행, {}ms",
+                chunks.size(), deleted, inserted, response.getElapsedMillis());
+        return response;
+    }
+
+    private long[] rebuildChunk(long fromId, long toId) {
+        long[] rows = transactionTemplate.execute(tx -> new long[]{
+                memberLevelStatRepository.deleteByMemberIdBetween(fromId, toId),
+                memberLevelStatRepository.insertFromVideo(fromId, toId)
+        });
+        return rows == null ? new long[2] : rows;
+    }
+}
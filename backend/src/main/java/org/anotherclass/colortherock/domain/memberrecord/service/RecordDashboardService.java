@@ -0,0 +1,117 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import lombok.Getter;
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.memberrecord.response.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 기록 대시보드 조회
+ * 프로필 화면이 통계 API 를 하나씩 부르지 않도록 항목별 조회를 별도 풀에서 동시에 실행해서 한 번에 돌려준다.
+ * 항목마다 {@link RecordService} 의 읽기 전용 트랜잭션을 따로 쓴다.
+ */
+@Service
+public class RecordDashboardService {
+
+    private final RecordService recordService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public RecordDashboardService(RecordService recordService,
+                                  @Qualifier("dashboardExecutor") ThreadPoolTaskExecutor executor) {
+        this.recordService = recordService;
+        this.executor = executor;
+    }
+
+    /**
+     * 대시보드 조회
+     *
+     * @param member    사용자
+     * @param sections  조회할 항목
+     * @param yearMonth 캘린더를 조회할 달
+     * @return {@link Result}
+     */
+    public Result getDashboard(Member member, Set<DashboardSection> sections, YearMonth yearMonth) {
+        Map<DashboardSection, Supplier<Object>> queries = new EnumMap<>(DashboardSection.class);
+        if (sections.contains(DashboardSection.TOTAL)) queries.put(DashboardSection.TOTAL, () -> recordService.getTotalRecords(member));
+        if (sections.contains(DashboardSection.COLOR)) queries.put(DashboardSection.COLOR, () -> recordService.getColorRecords(member));
+        if (sections.contains(DashboardSection.VISIT)) queries.put(DashboardSection.VISIT, () -> recordService.getVisitList(member));
+        if (sections.contains(DashboardSection.CALENDAR)) {
+            queries.put(DashboardSection.CALENDAR, () -> recordService.getCalendarColor(member, yearMonth.toString()));
+        }
+
+        // 이미 트랜잭션 안이면 다른 스레드에서는 커밋 전 데이터가 보이지 않으므로 현재 스레드에서 차례로 실행한다.
+        boolean inline = TransactionSynchronizationManager.isActualTransactionActive();
+        Map<DashboardSection, CompletableFuture<Timed>> futures = new EnumMap<>(DashboardSection.class);
+        queries.forEach((section, query) -> futures.put(section, inline
+                ? CompletableFuture.completedFuture(timed(query))
+                : CompletableFuture.supplyAsync(() -> timed(query), executor)));
+
+        Map<DashboardSection, Timed> results = new EnumMap<>(DashboardSection.class);
+        try {
+            futures.forEach((section, future) -> results.put(section, future.join()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        return new Result(results);
+    }
+
+    private static Timed timed(Supplier<Object> query) {
+        long startedAt = System.nanoTime();
+        Object value = query.get();
+        return new Timed(value, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private static class Timed {
+        private final Object value;
+        private final Duration elapsed;
+
+        private Timed(Object value, Duration elapsed) {
+            this.value = value;
+            this.elapsed = elapsed;
+        }
+    }
+
+    @Getter
+    public static class Result {
+        private final DashboardResponse response;
+        private final Map<DashboardSection, Duration> timings;
+
+        @SuppressWarnings("unchecked")
+        private Result(Map<DashboardSection, Timed> results) {
+            this.response = DashboardResponse.builder()
+                    .total((TotalStatResponse) value(results, DashboardSection.TOTAL))
+                    .color((List<LevelStatResponse>) value(results, DashboardSection.COLOR))
+                    .visit((VisitResponse) value(results, DashboardSection.VISIT))
+                    .calendar((List<DailyColorResponse>) value(results, DashboardSection.CALENDAR))
+                    .build();
+            this.timings = new EnumMap<>(DashboardSection.class);
+            results.forEach((section, timed) -> timings.put(section, timed.elapsed));
+        }
+
+        private static Object value(Map<DashboardSection, Timed> results, DashboardSection section) {
+            Timed timed = results.get(section);
+            return timed == null ? null : timed.value;
+        }
+
+        /**
+         * Server-Timing 헤더 값, 항목별 걸린 시간(ms)
+         */
+        public String toServerTiming() {
+            return timings.entrySet().stream()
+                    .map(entry -> String.format(Locale.ROOT, "%s;dur=%.1f", entry.getKey().toTimingName(),
+                            entry.getValue().toNanos() / 1_000_000.0))
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.memberrecord.exception.ExportBusyException;
+import org.anotherclass.colortherock.domain.memberrecord.response.ExportFormat;
+import org.anotherclass.colortherock.domain.video.dto.VideoExportDto;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전체 운동 기록 내보내기
+ * 영상 목록을 id 순으로 page-size 개씩 짧은 읽기 전용 트랜잭션으로 읽고, 트랜잭션을 끝낸 뒤 응답에 쓴다.
+ * 느린 클라이언트가 받는 동안 DB 커넥션을 잡고 있지 않고, 메모리는 한 페이지와 쓰기 버퍼만큼만 쓴다.
+ * 잡은 자리는 다 쓰거나, 비동기 처리가 제한 시간, 오류, 연결 끊김으로 끝날 때 {@link RecordExportSlotInterceptor} 가 돌려준다.
+ */
+@Slf4j
+@Service
+public class RecordExportService {
+
+    // 요청에 잡은 자리를 넣어 두는 속성 이름
+    public static final String SLOT_ATTRIBUTE = RecordExportService.class.getName() + ".SLOT";
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String CSV_HEADER = "id,shootingDate,gymName,level,color,isSuccess,createdDate";
+    // 엑셀이 UTF-8 로 읽어서 한글 암장 이름이 깨지지 않게 한다.
+    private static final char BOM = '\uFEFF';
+
+    private final VideoRepository videoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter rowCounter;
+    private final int pageSize;
+    // mvcAsyncExecutor 의 스레드와 대기열 자리 수, 자리가 없으면 비동기 처리를 시작하기 전에 거절한다.
+    private final Semaphore slots;
+
+    public RecordExportService(VideoRepository videoRepository,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${record.export.page-size:500}") int pageSize,
+                               @Value("${record.export.pool-size:4}") int poolSize,
+                               @Value("${record.export.queue-capacity:20}") int queueCapacity) {
+        this.videoRepository = videoRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pageSize = pageSize;
+        this.slots = new Semaphore(poolSize + queueCapacity);
+        this.rowCounter = Counter.builder("record.export.rows")
+                .description("내보낸 영상 기록 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 내보내기 자리를 잡는다.
+     * 실행기가 가득 찬 뒤에 거절되면 Spring 이 비동기 처리를 이미 시작해서 예외를 두 번 처리하므로, 응답을 만들기 전에 여기서 거절한다.
+     * 비동기 작업이 실행되지 않고 취소돼도 돌려주도록, 요청의 {@link #SLOT_ATTRIBUTE} 에 넣어 둔다.
+     *
+     * @return 잡은 자리
+     * @throws ExportBusyException 실행 중이거나 기다리는 내보내기가 가득 찬 경우
+     */
+    public Slot reserve() {
+        if (!slots.tryAcquire()) throw new ExportBusyException(GlobalErrorCode.EXPORT_BUSY);
+        return new Slot();
+    }
+
+    /**
+     * 사용자의 모든 영상 기록을 id 순으로 쓴다.
+     *
+     * @param memberId 사용자 id
+     * @param format   내보내기 형식
+     * @param gzip     true 면 gzip 으로 압축해서 쓴다.
+     * @param out      응답 스트림, 닫지 않는다.
+     * @return 쓴 영상 수
+     */
+    public long export(Long memberId, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(compressed == null ? out : compressed, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeHeader(format, writer);
+        long count = 0;
+        long lastId = 0;
+        List<VideoExportDto> page;
+        do {
+            long afterId = lastId;
+            page = transactionTemplate.execute(tx -> videoRepository.findExportPage(memberId, afterId, PageRequest.of(0, pageSize)));
+            if (page == null) break;
+            for (VideoExportDto video : page) {
+                writeRow(video, format, writer);
+                lastId = video.getId();
+            }
+            count += page.size();
+            rowCounter.increment(page.size());
+        } while (page.size() == pageSize);
+        writer.flush();
+        if (compressed != null) compressed.finish();
+        log.info("기록 내보내기 : 사용자 {}, {}{} {}건, {}ms", memberId, format, gzip ? "(gzip)" : "", count,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return count;
+    }
+
+    private void writeHeader(ExportFormat format, Writer writer) throws IOException {
+        if (format != ExportFormat.CSV) return;
+        writer.write(BOM);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+    }
+
+    private void writeRow(VideoExportDto video, ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsv(video, writer);
+        } else {
+            writer.write(objectMapper.writeValueAsString(video));
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsv(VideoExportDto video, Writer writer) throws IOException {
+        writer.write(csv(video.getId()));
+        writer.write(',');
+        writer.write(csv(video.getShootingDate()));
+        writer.write(',');
+        writer.write(csv(video.getGymName()));
+        writer.write(',');
+        writer.write(csv(video.getLevel()));
+        writer.write(',');
+        writer.write(csv(video.getColor()));
+        writer.write(',');
+        writer.write(csv(video.getIsSuccess()));
+        writer.write(',');
+        writer.write(csv(video.getCreatedDate()));
+        writer.write("\r\n");
+    }
+
+    /**
+     * 내보내기 자리 하나, 여러 곳에서 돌려줘도 한 번만 돌려준다.
+     */
+    public final class Slot {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) slots.release();
+        }
+    }
+
+    /**
+     * RFC 4180 형식으로 감싸고, 스프레드시트가 수식으로 실행하지 않도록 =, +, -, @ 로 시작하면 앞에 ' 를 붙인다.
+     */
+    static String csv(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) text = "'" + text;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
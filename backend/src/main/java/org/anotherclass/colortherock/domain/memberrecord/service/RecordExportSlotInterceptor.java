@@ -0,0 +1,23 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 기록 내보내기 자리 반납
+ * 비동기 처리는 제한 시간, 오류, 연결 끊김으로 끝나면 실행기에서 기다리던 작업을 취소하므로, 내보내기가 실행되지 않아도 자리를 돌려준다.
+ * afterCompletion 은 비동기 처리가 어떻게 끝나든 한 번 불린다.
+ */
+@Component
+public class RecordExportSlotInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+        Object slot = request.getAttribute(RecordExportService.SLOT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (slot instanceof RecordExportService.Slot) ((RecordExportService.Slot) slot).release();
+    }
+}
@@ -3,11 +3,15 @@ package org.anotherclass.colortherock.domain.memberrecord.service;
 import lombok.RequiredArgsConstructor;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
+import org.anotherclass.colortherock.domain.memberrecord.entity.MemberLevelStat;
 import org.anotherclass.colortherock.domain.memberrecord.entity.MemberRecord;
+import org.anotherclass.colortherock.domain.memberrecord.entity.VisitDayIndex;
 import org.anotherclass.colortherock.domain.memberrecord.exception.UserNotFoundException;
+import org.anotherclass.colortherock.domain.memberrecord.repository.MemberLevelStatRepository;
 import org.anotherclass.colortherock.domain.memberrecord.repository.RecordRepository;
 import org.anotherclass.colortherock.domain.memberrecord.response.*;
 import org.anotherclass.colortherock.domain.video.dto.DateLevelDto;
+import org.anotherclass.colortherock.domain.video.dto.LevelCountDto;
 import org.anotherclass.colortherock.domain.video.entity.Video;
 import org.anotherclass.colortherock.domain.video.exception.VideoNotFoundException;
 import org.anotherclass.colortherock.domain.video.repository.VideoReadRepository;
@@ -19,11 +23,15 @@ import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,43 +43,85 @@ public class RecordService {
     private final RecordRepository recordRepository;
     private final VideoReadRepository videoReadRepository;
     private final MemberRepository memberRepository;
+    private final MemberLevelStatRepository memberLevelStatRepository;
+    private final CalendarColorCache calendarColorCache;
+    private final VisitDayIndexService visitDayIndexService;
+    private final GymLeaderboardService gymLeaderboardService;
+    private final EntityManager entityManager;
 
+    /**
+     * 전체 운동 영상 색상 별 통계 조회
+     * 누적 통계 행을 읽고, 누적 통계 행이 하나도 없는 사용자는 영상에서 센다.
+     * 누적 통계를 만들기 전에 올린 영상은 V9 마이그레이션에서 채웠으므로 행이 있으면 그 사용자의 모든 레벨이 들어 있다.
+     */
     @Transactional(readOnly = true)
     public List<LevelStatResponse> getColorRecords(Member member) {
+        List<MemberLevelStat> stats = memberLevelStatRepository.findByMemberAndStatMonth(member, MemberLevelStat.ALL_TIME);
+        if (stats.isEmpty()) return getLevelStats(member, null, null);
+        return toLevelStats(stats);
+    }
+
+    @Transactional(readOnly = true)
+    public List<LevelStatResponse> getDateRecords(Member member, LocalDate videoDate) {
+        return getLevelStats(member, videoDate, videoDate);
+    }
+
+    /**
+     * 기간별 운동 영상 색상 별 통계 조회
+     *
+     * @param member 사용자
+     * @param from   시작 날짜(포함)
+     * @param to     끝 날짜(포함)
+     * @return 레벨 1~9 의 통계
+     */
+    @Transactional(readOnly = true)
+    public List<LevelStatResponse> getRangeRecords(Member member, LocalDate from, LocalDate to) {
+        // 월 단위로 딱 맞는 기간이면 월별 누적 통계를 더한다.
+        if (from.getDayOfMonth() == 1 && to.equals(YearMonth.from(to).atEndOfMonth())) {
+            List<MemberLevelStat> stats = memberLevelStatRepository.findByMemberAndStatMonthBetween(member,
+                    statMonth(from), statMonth(to));
+            if (!stats.isEmpty()) return toLevelStats(stats);
+        }
+        return getLevelStats(member, from, to);
+    }
+
+    // 영상을 읽지 않고 DB 에서 레벨별로 묶어서 센다.
+    private List<LevelStatResponse> getLevelStats(Member member, LocalDate from, LocalDate to) {
         List<LevelStatResponse> list = new ArrayList<>();
         for (int i = 0; i < 9; i++) {
             list.add(new LevelStatResponse(i + 1));
         }
-        List<Video> videos = videoRepository.findAllByMember(member);
-        videos.forEach(video -> {
-            Integer videoLevel = video.getLevel();
-            LevelStatResponse dto = list.get(videoLevel - 1);
-            dto.totalIncrement();
-            if (Boolean.TRUE.equals(video.getIsSuccess())) dto.successIncrement();
-        });
+        for (LevelCountDto count : videoReadRepository.searchLevelCount(member, from, to)) {
+            Integer level = count.getLevel();
+            if (level == null || level < 1 || level > list.size()) continue;
+            LevelStatResponse dto = list.get(level - 1);
+            dto.setTotal(count.getTotal());
+            dto.setSuccess(count.getSuccess() == null ? 0 : count.getSuccess());
+        }
         return list;
     }
 
-    @Transactional(readOnly = true)
-    public List<LevelStatResponse> getDateRecords(Member member, LocalDate videoDate) {
+    // 행이 없는 레벨, 달은 영상이 없는 것이다. 달마다 채워진 레벨이 달라도 그대로 더한다.
+    private List<LevelStatResponse> toLevelStats(List<MemberLevelStat> stats) {
         List<LevelStatResponse> list = new ArrayList<>();
         for (int i = 0; i < 9; i++) {
             list.add(new LevelStatResponse(i + 1));
         }
-        List<Video> videos = videoRepository.findAllByMemberAndShootingDate(member, videoDate);
-        videos.forEach(video -> {
-            Integer videoLevel = video.getLevel();
-            LevelStatResponse dto = list.get(videoLevel - 1);
-            dto.totalIncrement();
-            if (Boolean.TRUE.equals(video.getIsSuccess())) dto.successIncrement();
-        });
+        for (MemberLevelStat stat : stats) {
+            Integer level = stat.getLevel();
+            if (level < 1 || level > list.size()) continue;
+            LevelStatResponse dto = list.get(level - 1);
+            dto.setTotal(dto.getTotal() + stat.getTotal());
+            dto.setSuccess(dto.getSuccess() + stat.getSuccess());
+        }
         return list;
     }
 
     @Transactional(readOnly = true)
     public TotalStatResponse getTotalRecords(Member member) {
         MemberRecord memberRecord = recordRepository.findByMember(member);
-        Integer visitCount = videoReadRepository.searchTotalVisit(member);
+        VisitDays visitDays = visitDayIndexService.load(member).get(VisitDayIndex.ALL_GYMS);
+        Integer visitCount = visitDays == null ? 0 : visitDays.count();
         return TotalStatResponse.builder()
                 .visitCount(visitCount)
                 .videoCount(memberRecord.getVideoCount())
@@ -114,34 +164,129 @@ public class RecordService {
 
     @Transactional
     public void addVideoCount(Member member, Boolean isSuccess) {
-        MemberRecord memberRecord = recordRepository.findByMember(member);
-        memberRecord.addVideoCount();
-        if (Boolean.TRUE.equals(isSuccess)) {
-            memberRecord.addSuccessCount();
-        }
-        recordRepository.save(memberRecord);
+        addCounts(member, 1, Boolean.TRUE.equals(isSuccess) ? 1 : 0);
     }
 
     @Transactional
     public void subVideoCount(Member member, Boolean isSuccess) {
-        MemberRecord memberRecord = recordRepository.findByMember(member);
-        memberRecord.subVideoCount();
-        if (Boolean.TRUE.equals(isSuccess)) {
-            memberRecord.subSuccessCount();
+        addCounts(member, -1, Boolean.TRUE.equals(isSuccess) ? -1 : 0);
+    }
+
+    // DB 에서 더한 뒤, 이 트랜잭션에서 이미 읽었을 수 있는 이 사용자의 누적 통계 하나만 다시 읽는다.
+    private void addCounts(Member member, int videoDelta, int successDelta) {
+        recordRepository.addCounts(member.getId(), videoDelta, successDelta);
+        MemberRecord record = recordRepository.findByMember(member);
+        if (record != null) entityManager.refresh(record);
+    }
+
+    /**
+     * 영상 저장과 같은 트랜잭션에서 영상 수와 레벨별 누적 통계 증가
+     *
+     * @param video 저장한 영상
+     */
+    @Transactional
+    public void addVideoStat(Video video) {
+        addVideoCount(video.getMember(), video.getIsSuccess());
+        applyLevelStat(video, video.getLevel(), 1);
+        evictCalendarColor(video);
+        visitDayIndexService.onVideoSaved(video);
+        gymLeaderboardService.onVideoSaved(video);
+    }
+
+    /**
+     * 영상 삭제와 같은 트랜잭션에서 영상 수와 레벨별 누적 통계 감소
+     *
+     * @param video 삭제한 영상, 방문 날짜에 남은 영상이 있는지 봐야 하므로 DB 에서 지운 뒤에 호출한다.
+     */
+    @Transactional
+    public void subVideoStat(Video video) {
+        subVideoCount(video.getMember(), video.getIsSuccess());
+        applyLevelStat(video, video.getLevel(), -1);
+        evictCalendarColor(video);
+        visitDayIndexService.onVideoDeleted(video);
+        gymLeaderboardService.onVideoDeleted(video);
+    }
+
+    /**
+     * 영상 레벨이 바뀌면 이전 레벨에서 빼고 새 레벨에 더한다.
+     *
+     * @param video    레벨을 바꾼 영상
+     * @param oldLevel 바꾸기 전 레벨
+     */
+    @Transactional
+    public void changeVideoLevel(Video video, Integer oldLevel) {
+        if (Objects.equals(oldLevel, video.getLevel())) return;
+        applyLevelStat(video, oldLevel, -1);
+        applyLevelStat(video, video.getLevel(), 1);
+        evictCalendarColor(video);
+    }
+
+    /**
+     * 영상 암장이 바뀌면 암장별 방문 날짜 이동
+     *
+     * @param video      암장을 바꾼 영상
+     * @param oldGymName 바꾸기 전 암장
+     */
+    @Transactional
+    public void changeVideoGym(Video video, String oldGymName) {
+        visitDayIndexService.onGymChanged(video, oldGymName);
+    }
+
+    /**
+     * 영상 레벨, 암장 수정을 누적 통계, 방문 날짜, 암장 랭킹에 반영
+     *
+     * @param video      수정한 영상
+     * @param oldLevel   바꾸기 전 레벨
+     * @param oldGymName 바꾸기 전 암장
+     */
+    @Transactional
+    public void changeVideo(Video video, Integer oldLevel, String oldGymName) {
+        changeVideoLevel(video, oldLevel);
+        changeVideoGym(video, oldGymName);
+        gymLeaderboardService.onVideoChanged(video, oldLevel, oldGymName);
+    }
+
+    // 캘린더에는 성공 영상만 나오므로 성공 영상이 바뀐 달만 지운다.
+    private void evictCalendarColor(Video video) {
+        if (!Boolean.TRUE.equals(video.getIsSuccess()) || video.getShootingDate() == null) return;
+        calendarColorCache.evict(video.getMember().getId(), YearMonth.from(video.getShootingDate()));
+    }
+
+    // 전체 기간 행과 촬영한 달의 행을 함께 갱신한다.
+    private void applyLevelStat(Video video, Integer level, int delta) {
+        if (level == null) return;
+        Long memberId = video.getMember().getId();
+        List<Integer> months = new ArrayList<>();
+        months.add(MemberLevelStat.ALL_TIME);
+        if (video.getShootingDate() != null) months.add(statMonth(video.getShootingDate()));
+        long success = Boolean.TRUE.equals(video.getIsSuccess()) ? 1 : 0;
+        for (Integer month : months) {
+            if (delta > 0) {
+                memberLevelStatRepository.upsert(memberId, month, level, delta, success * delta);
+            } else {
+                memberLevelStatRepository.decrease(memberId, month, level, (long) -delta, success * -delta);
+            }
         }
-        recordRepository.save(memberRecord);
+    }
+
+    private static int statMonth(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
     }
 
     @Transactional
     public void saveNewRecord(Long memberId) {
         Member member = memberRepository.findById(memberId).orElseThrow(UserNotFoundException::new);
-        MemberRecord memberRecord = new MemberRecord(member);
-        recordRepository.save(memberRecord);
+        // 이미 행이 있으면 그대로 둔다.
+        recordRepository.addCounts(member.getId(), 0, 0);
     }
 
     @Transactional(readOnly = true)
     public VisitResponse getVisitList(Member member) {
-        List<VisitListDto> visitListResponse = videoReadRepository.searchVisitCount(member);
+        List<VisitListDto> visitListResponse = new ArrayList<>();
+        visitDayIndexService.load(member).forEach((gymName, visitDays) -> {
+            if (VisitDayIndex.ALL_GYMS.equals(gymName) || visitDays.count() == 0) return;
+            visitListResponse.add(VisitListDto.builder().gymName(gymName).count((long) visitDays.count()).build());
+        });
         Long totalCount = 0L;
         for (VisitListDto dto :
                 visitListResponse) {
@@ -151,15 +296,78 @@ public class RecordService {
         return VisitResponse.builder().totalCount(totalCount).data(visitListResponse).build();
     }
 
+    /**
+     * 해당 연도의 방문 날짜와 연속 방문 일수
+     *
+     * @param member 사용자
+     * @param year   연도
+     * @return {@link VisitHeatmapResponse}
+     */
+    @Transactional(readOnly = true)
+    public VisitHeatmapResponse getVisitHeatmap(Member member, int year) {
+        VisitDays visitDays = visitDayIndexService.load(member).getOrDefault(VisitDayIndex.ALL_GYMS, new VisitDays());
+        return VisitHeatmapResponse.builder()
+                .year(year)
+                .visitCount(visitDays.count(year))
+                .longestStreak(visitDays.longestStreak())
+                .currentStreak(visitDays.currentStreak(LocalDate.now()))
+                .dates(visitDays.dates(year)).build();
+    }
+
     @Transactional(readOnly = true)
     public List<DailyColorResponse> getCalendarColor(Member member, String yearMonth) {
         YearMonth month = YearMonth.parse(yearMonth);
-        LocalDate firstDate = month.atDay(1);
-        LocalDate lastDate = month.atEndOfMonth();
+        return getCalendarColors(member, List.of(month)).get(month);
+    }
+
+    /**
+     * 1년치 운동 기록 캘린더 색상 조회
+     * 캐시에 없는 달만 한 번에 조회해서 달별로 나눠 캐시에 넣는다.
+     *
+     * @param member 사용자
+     * @param year   연도
+     * @return 1월부터 12월까지의 색상
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyColorResponse> getYearCalendarColor(Member member, int year) {
+        List<YearMonth> months = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            months.add(YearMonth.of(year, i));
+        }
+        Map<YearMonth, List<DailyColorResponse>> colors = getCalendarColors(member, months);
+        return months.stream()
+                .map(month -> MonthlyColorResponse.builder()
+                        .yearMonth(month.toString())
+                        .days(colors.get(month)).build())
+                .collect(Collectors.toList());
+    }
+
+    private Map<YearMonth, List<DailyColorResponse>> getCalendarColors(Member member, List<YearMonth> months) {
+        Map<YearMonth, List<DailyColorResponse>> colors = new HashMap<>(calendarColorCache.getAll(member.getId(), months));
+        List<YearMonth> misses = months.stream().filter(month -> !colors.containsKey(month)).sorted().collect(Collectors.toList());
+        if (misses.isEmpty()) return colors;
+
+        // 읽는 사이에 영상이 바뀌면 읽은 색상을 캐시에 넣지 않는다.
+        CalendarColorCache.Version version = calendarColorCache.version(member.getId());
+
+        LocalDate firstDate = misses.get(0).atDay(1);
+        LocalDate lastDate = misses.get(misses.size() - 1).atEndOfMonth();
+        Map<YearMonth, List<DateLevelDto>> byMonth = new HashMap<>();
+        for (DateLevelDto dto : videoReadRepository.searchDailyColor(member, firstDate, lastDate)) {
+            byMonth.computeIfAbsent(YearMonth.from(dto.getDate()), month -> new ArrayList<>()).add(dto);
+        }
+        for (YearMonth month : misses) {
+            List<DailyColorResponse> dailyColors = toDailyColors(byMonth.getOrDefault(month, List.of()));
+            calendarColorCache.put(member.getId(), month, dailyColors, version);
+            colors.put(month, dailyColors);
+        }
+        return colors;
+    }
+
+    private List<DailyColorResponse> toDailyColors(List<DateLevelDto> dtos) {
         List<DailyColorResponse> dailyColors = new ArrayList<>();
         LocalDate currentDate = null;
         Set<Integer> levels = new HashSet<>();
-        List<DateLevelDto> dtos = videoReadRepository.searchDailyColor(member, firstDate, lastDate);
         for (DateLevelDto dto : dtos) {
             if (currentDate == null) currentDate = dto.getDate();
             if (currentDate != null && !dto.getDate().isEqual(currentDate)) {
@@ -0,0 +1,186 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.memberrecord.entity.VisitDayIndex;
+import org.anotherclass.colortherock.domain.memberrecord.repository.VisitDayIndexRepository;
+import org.anotherclass.colortherock.domain.video.dto.GymDateDto;
+import org.anotherclass.colortherock.domain.video.entity.Video;
+import org.anotherclass.colortherock.domain.video.repository.VideoReadRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 방문 날짜 인덱스
+ * 방문 통계마다 video 에서 COUNT(DISTINCT shooting_date) 를 하지 않도록 사용자별, 암장별 방문 날짜를 비트맵으로 들고 있는다.
+ * 영상 저장, 삭제, 암장 변경과 같은 트랜잭션에서 DB 의 비트 연산으로 날짜를 켜고 끈다.
+ * 인덱스가 아직 없는 사용자는 처음 영상을 올리거나, 처음 조회한 트랜잭션이 끝난 뒤에 video 에서 한 번 만든다.
+ * 만들 때도 setDay 로 행마다 upsert 하므로 여러 요청이 동시에 만들어도 합쳐질 뿐 충돌하지 않는다.
+ * 비트를 끌 때는 사용자의 인덱스 행을 잠근 뒤 남은 영상을 공유 잠금으로 읽어서, 동시에 올라오거나 지워지는 영상을 놓치지 않는다.
+ */
+@Slf4j
+@Service
+public class VisitDayIndexService {
+
+    private final VisitDayIndexRepository visitDayIndexRepository;
+    private final VideoRepository videoRepository;
+    private final VideoReadRepository videoReadRepository;
+    private final TransactionTemplate buildTransaction;
+
+    public VisitDayIndexService(VisitDayIndexRepository visitDayIndexRepository,
+                                VideoRepository videoRepository,
+                                VideoReadRepository videoReadRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.visitDayIndexRepository = visitDayIndexRepository;
+        this.videoRepository = videoRepository;
+        this.videoReadRepository = videoReadRepository;
+        this.buildTransaction = new TransactionTemplate(transactionManager);
+        this.buildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 영상을 찍은 날짜를 전체, 암장 비트맵에 켠다.
+     *
+     * @param video 저장한 영상
+     */
+    @Transactional
+    public void onVideoSaved(Video video) {
+        if (video.getShootingDate() == null) return;
+        Member member = video.getMember();
+        // 인덱스가 없던 사용자는 이번 영상까지 포함해서 처음부터 만든다.
+        if (!visitDayIndexRepository.existsByMember(member)) {
+            save(member, build(member));
+            return;
+        }
+        int year = video.getShootingDate().getYear();
+        byte[] mask = VisitDays.mask(video.getShootingDate());
+        visitDayIndexRepository.setDay(member.getId(), VisitDayIndex.ALL_GYMS, year, mask);
+        if (video.getGymName() != null) {
+            visitDayIndexRepository.setDay(member.getId(), video.getGymName(), year, mask);
+        }
+    }
+
+    /**
+     * 삭제한 영상의 날짜에 다른 영상이 없으면 비트를 끈다.
+     *
+     * @param video 삭제한 영상, DB 에서 지운 뒤에 호출한다.
+     */
+    @Transactional
+    public void onVideoDeleted(Video video) {
+        if (video.getShootingDate() == null) return;
+        Member member = video.getMember();
+        if (visitDayIndexRepository.findIdsByMemberForUpdate(member).isEmpty()) return;
+        if (!hasVideo(member, video.getShootingDate())) {
+            clear(member, VisitDayIndex.ALL_GYMS, video);
+        }
+        if (video.getGymName() != null && !hasVideo(member, video.getGymName(), video.getShootingDate())) {
+            clear(member, video.getGymName(), video);
+        }
+    }
+
+    /**
+     * 영상의 암장이 바뀌면 이전 암장에서 날짜를 빼고 새 암장에 켠다.
+     *
+     * @param video      암장을 바꾼 영상
+     * @param oldGymName 바꾸기 전 암장
+     */
+    @Transactional
+    public void onGymChanged(Video video, String oldGymName) {
+        if (video.getShootingDate() == null || Objects.equals(oldGymName, video.getGymName())) return;
+        Member member = video.getMember();
+        if (visitDayIndexRepository.findIdsByMemberForUpdate(member).isEmpty()) return;
+        if (oldGymName != null && !hasVideo(member, oldGymName, video.getShootingDate())) {
+            clear(member, oldGymName, video);
+        }
+        if (video.getGymName() != null) {
+            visitDayIndexRepository.setDay(member.getId(), video.getGymName(), video.getShootingDate().getYear(),
+                    VisitDays.mask(video.getShootingDate()));
+        }
+    }
+
+    /**
+     * 암장별 방문 날짜, 전체 방문 날짜는 {@link VisitDayIndex#ALL_GYMS} 키에 담긴다.
+     *
+     * @param member 사용자
+     * @return 암장 이름별 방문 날짜
+     */
+    @Transactional(readOnly = true)
+    public Map<String, VisitDays> load(Member member) {
+        List<VisitDayIndex> rows = visitDayIndexRepository.findByMember(member);
+        if (rows.isEmpty()) return buildOnRead(member);
+        Map<String, VisitDays> days = new HashMap<>();
+        for (VisitDayIndex row : rows) {
+            days.computeIfAbsent(row.getGymName(), key -> new VisitDays()).add(row.getYear(), row.getDays());
+        }
+        return days;
+    }
+
+    // 조회 트랜잭션은 읽기 전용이라 인덱스 저장은 커밋한 뒤 새 트랜잭션에서 한다.
+    private Map<String, VisitDays> buildOnRead(Member member) {
+        Map<String, VisitDays> days = build(member);
+        if (days.isEmpty()) return days;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            saveInNewTransaction(member, days);
+            return days;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                saveInNewTransaction(member, days);
+            }
+        });
+        return days;
+    }
+
+    private void saveInNewTransaction(Member member, Map<String, VisitDays> days) {
+        try {
+            buildTransaction.executeWithoutResult(tx -> save(member, days));
+        } catch (DataAccessException e) {
+            log.warn("방문 날짜 인덱스 저장 실패 member {} : {}", member.getId(), e.toString());
+        }
+    }
+
+    private Map<String, VisitDays> build(Member member) {
+        Map<String, VisitDays> days = new HashMap<>();
+        for (GymDateDto dto : videoReadRepository.searchVisitDays(member)) {
+            days.computeIfAbsent(VisitDayIndex.ALL_GYMS, key -> new VisitDays()).add(dto.getDate());
+            if (dto.getGymName() != null) {
+                days.computeIfAbsent(dto.getGymName(), key -> new VisitDays()).add(dto.getDate());
+            }
+        }
+        return days;
+    }
+
+    // 같은 사용자의 인덱스를 동시에 만들어도 UK_visit_day_index 에 걸리지 않도록 행마다 비트 OR 로 합친다.
+    private void save(Member member, Map<String, VisitDays> days) {
+        days.forEach((gymName, visitDays) -> {
+            for (Integer year : visitDays.years()) {
+                visitDayIndexRepository.setDay(member.getId(), gymName, year, visitDays.toBytes(year));
+            }
+        });
+    }
+
+    // 스냅샷이 아니라 다른 트랜잭션이 커밋한 영상까지 보고, 아직 커밋 전인 영상은 끝날 때까지 기다린다.
+    private boolean hasVideo(Member member, LocalDate shootingDate) {
+        return !videoRepository.findIdsByMemberAndShootingDateForShare(member, shootingDate).isEmpty();
+    }
+
+    private boolean hasVideo(Member member, String gymName, LocalDate shootingDate) {
+        return !videoRepository.findIdsByMemberAndGymNameAndShootingDateForShare(member, gymName, shootingDate).isEmpty();
+    }
+
+    private void clear(Member member, String gymName, Video video) {
+        visitDayIndexRepository.clearDay(member.getId(), gymName, video.getShootingDate().getYear(),
+                VisitDays.inverseMask(video.getShootingDate()));
+    }
+}
@@ -0,0 +1,117 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import org.anotherclass.colortherock.domain.memberrecord.entity.VisitDayIndex;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 방문 날짜 비트맵 모음
+ * 해마다 BitSet 하나를 두고, 방문 수는 cardinality 로, 연속 방문은 해마다의 비트를 날짜순으로 이어 붙여서 센다.
+ */
+public class VisitDays {
+
+    private final TreeMap<Integer, BitSet> years = new TreeMap<>();
+
+    static byte[] mask(LocalDate date) {
+        byte[] bytes = new byte[VisitDayIndex.DAYS_BYTES];
+        int bit = date.getDayOfYear() - 1;
+        bytes[bit >>> 3] |= (byte) (1 << (bit & 7));
+        return bytes;
+    }
+
+    static byte[] inverseMask(LocalDate date) {
+        byte[] bytes = mask(date);
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ~bytes[i];
+        }
+        return bytes;
+    }
+
+    void add(int year, byte[] days) {
+        years.computeIfAbsent(year, key -> new BitSet()).or(BitSet.valueOf(days));
+    }
+
+    void add(LocalDate date) {
+        years.computeIfAbsent(date.getYear(), key -> new BitSet()).set(date.getDayOfYear() - 1);
+    }
+
+    Set<Integer> years() {
+        return years.keySet();
+    }
+
+    byte[] toBytes(int year) {
+        BitSet bits = years.get(year);
+        return Arrays.copyOf(bits == null ? new byte[0] : bits.toByteArray(), VisitDayIndex.DAYS_BYTES);
+    }
+
+    int count() {
+        int count = 0;
+        for (BitSet bits : years.values()) {
+            count += bits.cardinality();
+        }
+        return count;
+    }
+
+    int count(int year) {
+        BitSet bits = years.get(year);
+        return bits == null ? 0 : bits.cardinality();
+    }
+
+    List<LocalDate> dates(int year) {
+        List<LocalDate> dates = new ArrayList<>();
+        BitSet bits = years.get(year);
+        if (bits == null) return dates;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            dates.add(LocalDate.ofYearDay(year, i + 1));
+        }
+        return dates;
+    }
+
+    /**
+     * 가장 길게 이어진 방문 일수
+     */
+    int longestStreak() {
+        BitSet days = flatten();
+        int longest = 0;
+        for (int start = days.nextSetBit(0); start >= 0; ) {
+            int end = days.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = days.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    /**
+     * 오늘 또는 어제까지 이어진 방문 일수
+     */
+    int currentStreak(LocalDate today) {
+        if (years.isEmpty()) return 0;
+        BitSet days = flatten();
+        long base = firstDay();
+        int index = (int) (today.toEpochDay() - base);
+        if (index < 0) return 0;
+        if (!days.get(index)) index--;
+        if (index < 0 || !days.get(index)) return 0;
+        return index - days.previousClearBit(index);
+    }
+
+    // 첫 해 1월 1일을 0 으로 두고 모든 해의 비트를 하나로 이어 붙인다.
+    private BitSet flatten() {
+        BitSet days = new BitSet();
+        if (years.isEmpty()) return days;
+        long base = firstDay();
+        for (Map.Entry<Integer, BitSet> entry : years.entrySet()) {
+            int offset = (int) (LocalDate.of(entry.getKey(), 1, 1).toEpochDay() - base);
+            BitSet bits = entry.getValue();
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                days.set(offset + i);
+            }
+        }
+        return days;
+    }
+
+    private long firstDay() {
+        return LocalDate.of(years.firstKey(), 1, 1).toEpochDay();
+    }
+}
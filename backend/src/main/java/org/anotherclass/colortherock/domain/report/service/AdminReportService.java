@@ -7,10 +7,11 @@ import org.anotherclass.colortherock.domain.report.repository.ReportRepository;
 import org.anotherclass.colortherock.domain.report.request.PostUnhiddenRequest;
 import org.anotherclass.colortherock.domain.report.response.AdminReportDetailResponse;
 import org.anotherclass.colortherock.domain.report.response.AdminReportedPostResponse;
-import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.domain.video.service.VideoService;
 import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
 import org.anotherclass.colortherock.domain.videoboard.exception.PostNotFoundException;
 import org.anotherclass.colortherock.domain.videoboard.repository.VideoBoardRepository;
+import org.anotherclass.colortherock.domain.videoboard.service.SuccessFeedCache;
 import org.anotherclass.colortherock.global.error.GlobalErrorCode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,7 +29,8 @@ public class AdminReportService {
 
     private final ReportRepository reportRepository;
     private final VideoBoardRepository videoBoardRepository;
-    private final VideoRepository videoRepository;
+    private final SuccessFeedCache successFeedCache;
+    private final VideoService videoService;
 
 
     /**
@@ -76,6 +78,7 @@ public class AdminReportService {
         VideoBoard videoBoard = videoBoardRepository.findById(request.getVideoBoardId())
                 .orElseThrow(() -> new PostNotFoundException(GlobalErrorCode.POST_NOT_FOUND));
         videoBoard.changeToPublic();
+        successFeedCache.evict(videoBoard.getVideo().getGymName(), videoBoard.getVideo().getColor());
         reportRepository.deleteAllByVideoBoardId(request.getVideoBoardId());
     }
 
@@ -89,7 +92,7 @@ public class AdminReportService {
     public void deleteReportedVideo(Long videoBoardId) {
         VideoBoard videoBoard = videoBoardRepository.findById(videoBoardId)
                 .orElseThrow(() -> new PostNotFoundException(GlobalErrorCode.POST_NOT_FOUND));
-        videoRepository.delete(videoBoard.getVideo());
-        videoBoardRepository.delete(videoBoard);
+        // 사용자가 지울 때와 같은 경로로 지워야 누적 통계와 랭킹에서도 빠진다.
+        videoService.removeVideo(videoBoard.getVideo());
     }
 }
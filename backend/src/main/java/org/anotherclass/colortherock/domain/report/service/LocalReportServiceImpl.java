@@ -11,6 +11,7 @@ import org.anotherclass.colortherock.domain.report.request.PostReportRequest;
 import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
 import org.anotherclass.colortherock.domain.videoboard.exception.PostNotFoundException;
 import org.anotherclass.colortherock.domain.videoboard.repository.VideoBoardRepository;
+import org.anotherclass.colortherock.domain.videoboard.service.SuccessFeedCache;
 import org.anotherclass.colortherock.global.error.GlobalErrorCode;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,7 @@ public class LocalReportServiceImpl implements ReportService {
     private final ReportRepository reportRepository;
     private final ReportReadRepository reportReadRepository;
     private final VideoBoardRepository videoBoardRepository;
+    private final SuccessFeedCache successFeedCache;
 
 
     public void reportPost(Member member, PostReportRequest request) {
@@ -42,6 +44,7 @@ public class LocalReportServiceImpl implements ReportService {
                 .build();
         reportRepository.save(newReport);
         videoBoardRepository.changeHiddenState(videoBoard.getId(), true);
+        successFeedCache.evict(videoBoard.getVideo().getGymName(), videoBoard.getVideo().getColor());
     }
 
     // 해당 게시글이 몇 명의 유저로부터 신고 당했는지 확인
@@ -11,6 +11,7 @@ import org.anotherclass.colortherock.domain.report.request.PostReportRequest;
 import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
 import org.anotherclass.colortherock.domain.videoboard.exception.PostNotFoundException;
 import org.anotherclass.colortherock.domain.videoboard.repository.VideoBoardRepository;
+import org.anotherclass.colortherock.domain.videoboard.service.SuccessFeedCache;
 import org.anotherclass.colortherock.global.error.GlobalErrorCode;
 import org.anotherclass.colortherock.global.mattermost.NotificationManager;
 import org.springframework.context.annotation.Profile;
@@ -24,6 +25,7 @@ public class ProdReportServiceImpl implements ReportService{
     private final ReportRepository reportRepository;
     private final ReportReadRepository reportReadRepository;
     private final VideoBoardRepository videoBoardRepository;
+    private final SuccessFeedCache successFeedCache;
     private final NotificationManager notificationManager;
     public void reportPost(Member member, PostReportRequest request) {
         VideoBoard videoBoard = videoBoardRepository.findById(request.getVideoBoardId())
@@ -42,6 +44,7 @@ public class ProdReportServiceImpl implements ReportService{
         if (checkReportNum(request.getVideoBoardId()) >= 5) {
             videoBoard.changeToHidden();
             videoBoardRepository.save(videoBoard);
+            successFeedCache.evict(videoBoard.getVideo().getGymName(), videoBoard.getVideo().getColor());
             notificationManager.sendNotification(videoBoard);
         }
     }
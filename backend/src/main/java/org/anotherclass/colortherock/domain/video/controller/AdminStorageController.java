@@ -0,0 +1,38 @@
+package org.anotherclass.colortherock.domain.video.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.member.entity.AdminDetails;
+import org.anotherclass.colortherock.domain.video.response.OrphanCollectReportResponse;
+import org.anotherclass.colortherock.domain.video.service.OrphanObjectCollector;
+import org.anotherclass.colortherock.global.common.BaseResponse;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.security.annotation.PreAuthorizeAdmin;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorizeAdmin
+@RequestMapping("/api/admin/storage")
+public class AdminStorageController {
+
+    private final OrphanObjectCollector orphanObjectCollector;
+
+    @Operation(description = "관리자 - 참조 없는 스토리지 파일 정리 API, dryRun 이면 지우지 않고 결과만 반환", summary = "관리자 - 참조 없는 스토리지 파일 정리 API")
+    @ApiResponse(responseCode = "200", description = "정리 결과 반환", content = @Content(schema = @Schema(implementation = OrphanCollectReportResponse.class)))
+    @ApiResponse(responseCode = "409", description = "이미 정리가 실행 중")
+    @PostMapping("/orphans")
+    public BaseResponse<OrphanCollectReportResponse> collectOrphans(@AuthenticationPrincipal AdminDetails adminDetails,
+                                                                    @RequestParam(defaultValue = "true") Boolean dryRun) {
+        if (adminDetails == null) {
+            throw new GlobalBaseException(GlobalErrorCode.ACCESS_DENIED);
+        }
+        OrphanCollectReportResponse report = orphanObjectCollector.collect(dryRun);
+        return new BaseResponse<>(report);
+    }
+}
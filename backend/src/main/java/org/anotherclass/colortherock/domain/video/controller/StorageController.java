@@ -0,0 +1,36 @@
+package org.anotherclass.colortherock.domain.video.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.video.service.StorageStreamService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 로컬 스토리지에 저장한 영상, 썸네일 재생 API
+ * storage.type=filesystem 일 때만 열리며, storage.local.base-url 이 이 경로를 가리켜야 한다.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem")
+public class StorageController {
+
+    private final StorageStreamService storageStreamService;
+
+    @GetMapping("/storage/{name:.+}")
+    @Operation(description = "로컬 스토리지 파일 조회 API, Range 와 If-None-Match 헤더를 지원한다.", summary = "로컬 스토리지 파일 조회 API")
+    @ApiResponse(responseCode = "200", description = "파일 전체 전송")
+    @ApiResponse(responseCode = "206", description = "요청한 구간 전송")
+    @ApiResponse(responseCode = "304", description = "ETag 가 같아서 전송하지 않음")
+    @ApiResponse(responseCode = "416", description = "파일 범위를 벗어난 구간 요청")
+    public void stream(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        storageStreamService.stream(name, request, response);
+    }
+}
@@ -0,0 +1,67 @@
+package org.anotherclass.colortherock.domain.video.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.member.entity.MemberDetails;
+import org.anotherclass.colortherock.domain.video.request.CreateUploadSessionRequest;
+import org.anotherclass.colortherock.domain.video.response.UploadSessionResponse;
+import org.anotherclass.colortherock.domain.video.service.ChunkedUploadService;
+import org.anotherclass.colortherock.global.common.BaseResponse;
+import org.anotherclass.colortherock.global.security.annotation.PreAuthorizeMember;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.io.InputStream;
+
+/**
+ * 나눠 올리기 업로드 API
+ * 세션 생성 -> 조각 업로드 -> (끊기면 상태 조회 후 이어서 업로드) -> 각 업로드 API 의 완료 요청 순서로 사용한다.
+ * 세션은 만든 서버에만 있으므로, 세션을 쓰는 아래 요청은 모두 sticky routing 으로 세션을 만든 서버에 보내야 한다.
+ * 다른 서버로 가면 세션을 찾지 못해 V400 으로 실패한다.
+ * <ul>
+ *     <li>/api/video/upload/{uploadId}/** 조각 업로드, 상태 조회</li>
+ *     <li>/api/record/video/upload/{uploadId} 개인 기록용 업로드 완료</li>
+ *     <li>/board/local/upload/{uploadId} 완등 영상 게시글 업로드 완료</li>
+ * </ul>
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/video/upload")
+public class VideoUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    @Operation(description = "나눠 올리기 업로드 세션 생성 API", summary = "나눠 올리기 업로드 세션 생성 API")
+    @ApiResponse(responseCode = "200", description = "업로드 id와 조각 크기 반환", content = @Content(schema = @Schema(implementation = UploadSessionResponse.class)))
+    @ApiResponse(responseCode = "429", description = "진행 중인 업로드가 사용자(V404)나 서버 전체(V405) 제한을 넘음")
+    @PreAuthorizeMember
+    public BaseResponse<UploadSessionResponse> createSession(@AuthenticationPrincipal MemberDetails memberDetails, @Valid @RequestBody CreateUploadSessionRequest request) {
+        UploadSessionResponse response = chunkedUploadService.createSession(memberDetails.getMember().getId(), request);
+        return new BaseResponse<>(response);
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(description = "조각 업로드 API, X-Chunk-Checksum 헤더에 조각의 SHA-256(hex)을 담는다.", summary = "조각 업로드 API")
+    @ApiResponse(responseCode = "200", description = "조각 저장 성공, 현재 받은 위치 반환", content = @Content(schema = @Schema(implementation = UploadSessionResponse.class)))
+    @PreAuthorizeMember
+    public BaseResponse<UploadSessionResponse> uploadChunk(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String uploadId, @PathVariable int index,
+                                                           @RequestHeader("X-Chunk-Checksum") String checksum, InputStream body) {
+        UploadSessionResponse response = chunkedUploadService.writeChunk(memberDetails.getMember().getId(), uploadId, index, checksum, body);
+        return new BaseResponse<>(response);
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(description = "업로드 상태 조회 API", summary = "업로드 상태 조회 API")
+    @ApiResponse(responseCode = "200", description = "받은 위치와 빠진 조각 번호 반환", content = @Content(schema = @Schema(implementation = UploadSessionResponse.class)))
+    @PreAuthorizeMember
+    public BaseResponse<UploadSessionResponse> getStatus(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String uploadId) {
+        UploadSessionResponse response = chunkedUploadService.getStatus(memberDetails.getMember().getId(), uploadId);
+        return new BaseResponse<>(response);
+    }
+}
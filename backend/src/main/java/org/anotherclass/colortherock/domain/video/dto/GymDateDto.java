@@ -0,0 +1,20 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@Getter
+public class GymDateDto {
+    private String gymName;
+    private LocalDate date;
+
+    @Builder
+    public GymDateDto(String gymName, LocalDate date) {
+        this.gymName = gymName;
+        this.date = date;
+    }
+}
@@ -0,0 +1,24 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@Getter
+public class LeaderboardCountDto {
+    private Long memberId;
+    private LocalDate date;
+    private Integer level;
+    private Long count;
+
+    @Builder
+    public LeaderboardCountDto(Long memberId, LocalDate date, Integer level, Long count) {
+        this.memberId = memberId;
+        this.date = date;
+        this.level = level;
+        this.count = count;
+    }
+}
@@ -0,0 +1,15 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 레벨별 영상 수와 성공 영상 수
+ */
+@Getter
+@AllArgsConstructor
+public class LevelCountDto {
+    private Integer level;
+    private Long total;
+    private Long success;
+}
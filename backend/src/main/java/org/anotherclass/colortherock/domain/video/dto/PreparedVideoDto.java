@@ -0,0 +1,21 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+@Getter
+@AllArgsConstructor
+public class PreparedVideoDto {
+
+    // 실제로 업로드할 파일(faststart 로 다시 쓴 파일이거나 원본)
+    private MultipartFile file;
+    // 읽지 못했으면 null
+    private VideoMetadataDto metadata;
+    // file 이 읽는 임시 파일, 썸네일 워커에 넘기지 않았으면 업로드가 끝난 뒤 지운다.
+    private Path spoolFile;
+    // 업로드된 원본의 SHA-256, 같은 내용의 영상을 찾을 때 쓴다.
+    private String hash;
+}
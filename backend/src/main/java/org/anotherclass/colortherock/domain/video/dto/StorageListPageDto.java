@@ -0,0 +1,16 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class StorageListPageDto {
+
+    // 이름 순으로 정렬된 객체 목록
+    private List<StoredObjectDto> objects;
+    // 다음 페이지를 읽을 때 넘길 값, 마지막 페이지면 null
+    private String nextToken;
+}
@@ -0,0 +1,21 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * DB 행 하나가 참조하는 스토리지 객체 이름
+ */
+@Getter
+@AllArgsConstructor
+public class StorageReferenceDto {
+
+    private Long id;
+    private String videoName;
+    private String thumbnailName;
+
+    // 썸네일만 있는 라이브 방
+    public StorageReferenceDto(Long id, String thumbnailName) {
+        this(id, null, thumbnailName);
+    }
+}
@@ -0,0 +1,15 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class StoredObjectDto {
+
+    private String name;
+    private Instant lastModified;
+    private long size;
+}
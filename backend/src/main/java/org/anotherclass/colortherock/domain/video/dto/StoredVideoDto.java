@@ -0,0 +1,25 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.anotherclass.colortherock.domain.video.entity.ThumbnailStatus;
+import org.anotherclass.colortherock.domain.video.entity.VideoContent;
+
+@Getter
+@AllArgsConstructor
+public class StoredVideoDto {
+
+    private String videoName;
+    private String s3URL;
+    private String thumbnailName;
+    private String thumbnailURL;
+    private ThumbnailStatus thumbnailStatus;
+
+    public StoredVideoDto(VideoContent content) {
+        this.videoName = content.getVideoName();
+        this.s3URL = content.getS3URL();
+        this.thumbnailName = content.getThumbnailName();
+        this.thumbnailURL = content.getThumbnailURL();
+        this.thumbnailStatus = content.getThumbnailStatus();
+    }
+}
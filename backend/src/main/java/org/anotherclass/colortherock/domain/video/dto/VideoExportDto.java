@@ -0,0 +1,23 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 기록 내보내기용 영상 한 줄
+ */
+@Getter
+@AllArgsConstructor
+public class VideoExportDto {
+
+    private Long id;
+    private LocalDate shootingDate;
+    private String gymName;
+    private Integer level;
+    private String color;
+    private Boolean isSuccess;
+    private LocalDateTime createdDate;
+}
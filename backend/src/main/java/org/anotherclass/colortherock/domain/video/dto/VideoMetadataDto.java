@@ -0,0 +1,17 @@
+package org.anotherclass.colortherock.domain.video.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VideoMetadataDto {
+
+    // 재생 시간(초)
+    private Double duration;
+    // 화면에 보이는 방향 기준 가로, 세로
+    private Integer width;
+    private Integer height;
+    // 영상 트랙 sample entry 이름(avc1, hvc1 등)
+    private String codec;
+}
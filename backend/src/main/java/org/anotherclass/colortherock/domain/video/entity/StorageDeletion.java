@@ -0,0 +1,80 @@
+package org.anotherclass.colortherock.domain.video.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.anotherclass.colortherock.global.common.BaseTime;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 스토리지 객체 삭제 대기열(outbox)
+ * DB 에서 Video, Live 를 지우는 트랜잭션 안에서 함께 저장하고, 스토리지 삭제는 디스패처가 나중에 묶어서 처리한다.
+ * 삭제에 성공한 행은 지우고, 계속 실패하면 DEAD 로 남긴다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "storage_deletion")
+public class StorageDeletion extends BaseTime {
+
+    public enum Status {
+        PENDING, RUNNING, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "object_name", length = 200, nullable = false)
+    private String objectName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public StorageDeletion(String objectName) {
+        this.objectName = objectName;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    /**
+     * 실패 처리, 최대 시도 횟수 전까지는 지수 백오프 후 다시 시도한다.
+     *
+     * @param error           실패 원인
+     * @param maxAttempts     최대 시도 횟수
+     * @param baseDelayMillis 첫 재시도 대기 시간
+     */
+    public void fail(String error, int maxAttempts, long baseDelayMillis) {
+        this.attempts += 1;
+        this.lastError = error == null ? null : error.substring(0, Math.min(error.length(), 500));
+        this.lockedBy = null;
+        this.lockedAt = null;
+        if (this.attempts >= maxAttempts) {
+            this.status = Status.DEAD;
+            return;
+        }
+        long delay = baseDelayMillis * (1L << Math.min(this.attempts - 1, 10));
+        this.status = Status.PENDING;
+        this.nextAttemptAt = LocalDateTime.now().plusNanos(delay * 1_000_000L);
+    }
+}
@@ -0,0 +1,10 @@
+package org.anotherclass.colortherock.domain.video.entity;
+
+/**
+ * 썸네일 생성 상태
+ * PENDING 인 동안은 기본 썸네일 URL 이 들어가 있다.
+ * UNSUPPORTED 는 스토리지가 썸네일을 만들 수 없는 경우로, 기본 썸네일 URL 을 그대로 두고 다시 만들지 않는다.
+ */
+public enum ThumbnailStatus {
+    PENDING, READY, FAILED, UNSUPPORTED
+}
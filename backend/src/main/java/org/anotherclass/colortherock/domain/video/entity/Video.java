@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
 import org.anotherclass.colortherock.global.common.BaseTime;
@@ -11,11 +12,22 @@ import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "video")
+// 내 영상 목록은 회원, 찍은 날짜, 성공 여부로 거른 뒤 id 역순으로 읽는다. 게시판 암장 색인은 이름을 바꾼 영상을 시각 순으로 읽는다.
+// 썸네일 워커는 같은 영상 이름을 쓰는 Video 를 찾고, 참조 없는 객체 정리는 영상, 썸네일 이름으로 참조를 확인한다.
+// 운영 DB 에는 db/migration 으로 만든다.
+@Table(name = "video",
+        indexes = {
+                @Index(name = "IDX_video_member_date_success", columnList = "member_id, shooting_date, is_success, id"),
+                @Index(name = "IDX_video_gym_name_updated", columnList = "gym_name_updated_at"),
+                @Index(name = "IDX_video_video_name", columnList = "video_name"),
+                @Index(name = "IDX_video_thumbnail_name", columnList = "thumbnail_name")
+        })
 public class Video extends BaseTime {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +43,15 @@ public class Video extends BaseTime {
     @Column(name = "gym_name", length = 30)
     private String gymName;
 
+    // 암장 이름을 마지막으로 바꾼 시각, 다른 서버의 암장 검색 색인이 바뀐 이름을 읽어 간다. 바꾼 적 없으면 null
+    @Column(name = "gym_name_updated_at")
+    private LocalDateTime gymNameUpdatedAt;
+
+    // 암장 이름을 정규화한 암장, 채우기 전의 영상은 null
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "gym_id")
+    private Gym gym;
+
     @Column(name = "s_3_url", length = 200)
     private String s3URL;
     @Column(name = "video_name", length = 200)
@@ -45,9 +66,25 @@ public class Video extends BaseTime {
     @Column(name = "thumbnail_name", length = 200)
     private String thumbnailName;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnail_status", length = 20)
+    private ThumbnailStatus thumbnailStatus;
+
     @Column(name = "color", length = 20)
     private String color;
 
+    @Column(name = "duration")
+    private Double duration;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "codec", length = 20)
+    private String codec;
+
     @Column(name = "is_posted")
     @ColumnDefault("FALSE")
     private Boolean isPosted;
@@ -72,13 +109,30 @@ public class Video extends BaseTime {
         this.member = member;
         this.videoName = videoName;
         this.isPosted = isPosted;
+        this.thumbnailStatus = ThumbnailStatus.READY;
+    }
+
+    public void changeThumbnailStatus(ThumbnailStatus status) {
+        this.thumbnailStatus = status;
+    }
+
+    public void updateMediaInfo(Double duration, Integer width, Integer height, String codec) {
+        this.duration = duration;
+        this.width = width;
+        this.height = height;
+        this.codec = codec;
     }
 
     public void videoPosted() {this.isPosted = true;}
     public void postDeleted() {this.isPosted = false;}
 
+    public void changeGym(Gym gym) {
+        this.gym = gym;
+    }
+
     public void update(Integer level, String gymName, String color) {
         this.level = level;
+        if (!Objects.equals(this.gymName, gymName)) this.gymNameUpdatedAt = LocalDateTime.now();
         this.gymName = gymName;
         this.color = color;
     }
@@ -0,0 +1,52 @@
+package org.anotherclass.colortherock.domain.video.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.anotherclass.colortherock.global.common.BaseTime;
+
+import javax.persistence.*;
+
+/**
+ * 스토리지에 올라간 영상 내용(SHA-256) 색인
+ * 같은 내용의 영상은 스토리지 객체 하나를 같이 쓰고, 참조하는 영상 수를 센다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+// 썸네일 sweep 은 오래 PENDING 으로 남은 내용을 찾는다.
+@Table(name = "video_content",
+        indexes = @Index(name = "IDX_video_content_thumbnail_status", columnList = "thumbnail_status, created_date"))
+public class VideoContent extends BaseTime {
+
+    @Id
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    @Column(name = "video_name", length = 200, nullable = false, unique = true)
+    private String videoName;
+
+    @Column(name = "s_3_url", length = 200)
+    private String s3URL;
+
+    @Column(name = "thumbnail_name", length = 200)
+    private String thumbnailName;
+
+    @Column(name = "thumbnail_url", length = 200)
+    private String thumbnailURL;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnail_status", length = 20)
+    private ThumbnailStatus thumbnailStatus;
+
+    @Column(name = "size")
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    public boolean release() {
+        this.refCount -= 1;
+        return this.refCount <= 0;
+    }
+}
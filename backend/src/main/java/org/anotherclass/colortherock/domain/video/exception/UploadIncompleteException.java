@@ -0,0 +1,10 @@
+package org.anotherclass.colortherock.domain.video.exception;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+
+public class UploadIncompleteException extends GlobalBaseException {
+    public UploadIncompleteException(GlobalErrorCode errorCode) {
+        super(errorCode);
+    }
+}
@@ -0,0 +1,11 @@
+package org.anotherclass.colortherock.domain.video.exception;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+
+public class VideoUploadException extends GlobalBaseException {
+    public VideoUploadException(Throwable cause) {
+        super(cause.getMessage(), GlobalErrorCode.VIDEO_UPLOAD_ERROR);
+        initCause(cause);
+    }
+}
@@ -0,0 +1,53 @@
+package org.anotherclass.colortherock.domain.video.repository;
+
+import org.anotherclass.colortherock.domain.video.entity.StorageDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    @Query("select d.id from StorageDeletion d where d.status = :status and d.nextAttemptAt <= :now order by d.nextAttemptAt")
+    List<Long> findReadyIds(@Param("status") StorageDeletion.Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 대기 중인 삭제를 묶어서 선점한다. 여러 서버가 같은 행을 골라도 한 곳만 가져간다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update StorageDeletion d set d.status = :running, d.lockedBy = :owner, d.lockedAt = :now " +
+            "where d.id in :ids and d.status = :pending")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("pending") StorageDeletion.Status pending, @Param("running") StorageDeletion.Status running);
+
+    List<StorageDeletion> findByLockedByAndStatus(String lockedBy, StorageDeletion.Status status);
+
+    /**
+     * 서버가 죽어서 오래 RUNNING 으로 남은 삭제를 다시 대기 상태로 돌린다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update StorageDeletion d set d.status = :pending, d.lockedBy = null, d.lockedAt = null " +
+            "where d.status = :running and d.lockedAt < :threshold")
+    int reclaimStale(@Param("threshold") LocalDateTime threshold,
+                     @Param("pending") StorageDeletion.Status pending, @Param("running") StorageDeletion.Status running);
+
+    /**
+     * names 중 statuses 상태의 삭제 행이 있는 이름, 참조 없는 객체 정리가 같은 이름을 다시 예약하지 않게 한다.
+     */
+    @Query("select distinct d.objectName from StorageDeletion d where d.objectName in :names and d.status in :statuses")
+    List<String> findObjectNamesIn(@Param("names") Collection<String> names,
+                                   @Param("statuses") Collection<StorageDeletion.Status> statuses);
+
+    long countByStatus(StorageDeletion.Status status);
+
+    @Query("select min(d.createdDate) from StorageDeletion d where d.status <> :dead")
+    LocalDateTime findOldestCreatedDate(@Param("dead") StorageDeletion.Status dead);
+}
@@ -0,0 +1,51 @@
+package org.anotherclass.colortherock.domain.video.repository;
+
+import org.anotherclass.colortherock.domain.video.entity.ThumbnailStatus;
+import org.anotherclass.colortherock.domain.video.entity.VideoContent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface VideoContentRepository extends JpaRepository<VideoContent, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from VideoContent c where c.videoName = :videoName")
+    Optional<VideoContent> findByVideoNameForUpdate(@Param("videoName") String videoName);
+
+    @Modifying
+    @Query("update VideoContent c set c.refCount = c.refCount + 1 where c.hash = :hash")
+    int increaseRefCount(@Param("hash") String hash);
+
+    /**
+     * 새 내용 등록, 같은 내용이 먼저 등록됐으면 참조 수만 올린다.
+     * 영속성 컨텍스트를 비우지 않으므로, 이 트랜잭션에서 이미 읽은 VideoContent 는 호출한 쪽에서 다시 읽어야 한다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into video_content (hash, video_name, s_3_url, thumbnail_name, thumbnail_url, thumbnail_status, size, ref_count, created_date) " +
+            "values (:hash, :videoName, :s3URL, :thumbnailName, :thumbnailURL, :thumbnailStatus, :size, 1, now(6)) " +
+            "on duplicate key update ref_count = ref_count + 1", nativeQuery = true)
+    int upsert(@Param("hash") String hash, @Param("videoName") String videoName, @Param("s3URL") String s3URL,
+               @Param("thumbnailName") String thumbnailName, @Param("thumbnailURL") String thumbnailURL,
+               @Param("thumbnailStatus") String thumbnailStatus, @Param("size") long size);
+
+    @Modifying
+    @Query("update VideoContent c set c.thumbnailURL = :thumbnailURL, c.thumbnailStatus = :status where c.videoName = :videoName")
+    int updateThumbnail(@Param("videoName") String videoName, @Param("thumbnailURL") String thumbnailURL, @Param("status") ThumbnailStatus status);
+
+    @Modifying
+    @Query("update VideoContent c set c.thumbnailStatus = :status where c.videoName = :videoName")
+    int updateThumbnailStatus(@Param("videoName") String videoName, @Param("status") ThumbnailStatus status);
+
+    /**
+     * threshold 전에 올라왔는데 아직 썸네일이 없는 내용, 서버가 재시작되거나 대기열이 가득 차서 작업이 사라진 경우다.
+     */
+    List<VideoContent> findByThumbnailStatusAndCreatedDateBefore(ThumbnailStatus status, LocalDateTime threshold, Pageable pageable);
+}
@@ -2,10 +2,14 @@ package org.anotherclass.colortherock.domain.video.repository;
 
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.memberrecord.response.VisitListDto;
 import org.anotherclass.colortherock.domain.video.dto.DateLevelDto;
+import org.anotherclass.colortherock.domain.video.dto.GymDateDto;
+import org.anotherclass.colortherock.domain.video.dto.LeaderboardCountDto;
+import org.anotherclass.colortherock.domain.video.dto.LevelCountDto;
 import org.anotherclass.colortherock.domain.video.entity.QVideo;
 import org.anotherclass.colortherock.domain.video.entity.Video;
 import org.anotherclass.colortherock.domain.video.request.MySuccessVideoRequest;
@@ -17,6 +21,7 @@ import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -122,4 +127,86 @@ public class VideoReadRepository {
                 .where(video.member.eq(member))
                 .fetchFirst());
     }
+
+    // 사용자가 영상을 찍은 암장과 날짜, 방문 날짜 인덱스를 만들 때 사용
+    public List<GymDateDto> searchVisitDays(Member member) {
+        return queryFactory.select(
+                        Projections.constructor(GymDateDto.class,
+                                video.gymName,
+                                video.shootingDate)
+                )
+                .from(video)
+                .where(
+                        video.member.eq(member),
+                        video.shootingDate.isNotNull()
+                )
+                .distinct()
+                .fetch();
+    }
+
+    // 레벨별 영상 수와 성공 영상 수, 날짜 범위가 null 이면 전체 기간
+    public List<LevelCountDto> searchLevelCount(Member member, LocalDate from, LocalDate to) {
+        return queryFactory.select(
+                        Projections.constructor(LevelCountDto.class,
+                                video.level,
+                                video.count(),
+                                new CaseBuilder().when(video.isSuccess.isTrue()).then(1L).otherwise(0L).sum())
+                )
+                .from(video)
+                .where(
+                        video.member.eq(member),
+                        goeShootingDate(from),
+                        loeShootingDate(to)
+                )
+                .groupBy(video.level)
+                .fetch();
+    }
+
+    // 완등 영상이 있는 암장, 암장 랭킹을 다시 만들 때 사용
+    public List<String> searchSuccessGymNames() {
+        return queryFactory.select(video.gymName)
+                .from(video)
+                .where(
+                        video.isSuccess.isTrue(),
+                        video.gymName.isNotNull()
+                )
+                .distinct()
+                .fetch();
+    }
+
+    // 암장의 사용자별, 날짜별, 레벨별 완등 영상 수
+    public List<LeaderboardCountDto> searchLeaderboardCounts(String gymName) {
+        return searchLeaderboardCounts(gymName, null);
+    }
+
+    // 암장의 주어진 사용자들만 센다, 재계산하는 동안 반영된 사용자를 다시 셀 때 사용한다.
+    public List<LeaderboardCountDto> searchLeaderboardCounts(String gymName, Collection<Long> memberIds) {
+        return queryFactory.select(
+                        Projections.constructor(LeaderboardCountDto.class,
+                                video.member.id,
+                                video.shootingDate,
+                                video.level,
+                                video.count())
+                )
+                .from(video)
+                .where(
+                        video.gymName.eq(gymName),
+                        memberIds == null ? null : video.member.id.in(memberIds),
+                        video.isSuccess.isTrue(),
+                        video.shootingDate.isNotNull(),
+                        video.level.isNotNull()
+                )
+                .groupBy(video.member.id, video.shootingDate, video.level)
+                .fetch();
+    }
+
+    private BooleanExpression goeShootingDate(LocalDate from) {
+        if (from == null) return null;
+        return video.shootingDate.goe(from);
+    }
+
+    private BooleanExpression loeShootingDate(LocalDate to) {
+        if (to == null) return null;
+        return video.shootingDate.loe(to);
+    }
 }
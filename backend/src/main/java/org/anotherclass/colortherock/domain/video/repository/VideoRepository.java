@@ -1,15 +1,112 @@
 package org.anotherclass.colortherock.domain.video.repository;
 
+import org.anotherclass.colortherock.domain.gym.dto.GymUsageDto;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
 import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.video.dto.StorageReferenceDto;
+import org.anotherclass.colortherock.domain.video.dto.VideoExportDto;
+import org.anotherclass.colortherock.domain.video.entity.ThumbnailStatus;
 import org.anotherclass.colortherock.domain.video.entity.Video;
+import org.anotherclass.colortherock.global.common.GymNameDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
+
 @Repository
 public interface VideoRepository extends JpaRepository<Video, Long> {
     List<Video> findAllByMember(Member member);
     List<Video> findAllByMemberAndShootingDate(Member member, LocalDate date);
+
+    /**
+     * 썸네일을 기다리는 영상 id, 같은 내용을 여러 영상이 같이 쓸 수 있다.
+     */
+    @Query("select v.id from Video v where v.videoName = :videoName and v.thumbnailStatus = :status")
+    List<Long> findIdsByVideoNameAndThumbnailStatus(@Param("videoName") String videoName, @Param("status") ThumbnailStatus status);
+
+    @Modifying
+    @Query("update Video v set v.thumbnailURL = :thumbnailURL, v.thumbnailStatus = :status where v.id in :ids")
+    int updateThumbnail(@Param("ids") List<Long> ids, @Param("thumbnailURL") String thumbnailURL, @Param("status") ThumbnailStatus status);
+
+    /**
+     * 썸네일 상태만 바꾼다. 실패하면 기본 썸네일 URL 을 그대로 둔다.
+     */
+    @Modifying
+    @Query("update Video v set v.thumbnailStatus = :status where v.id in :ids")
+    int updateThumbnailStatus(@Param("ids") List<Long> ids, @Param("status") ThumbnailStatus status);
+
+    /**
+     * 참조 중인 스토리지 객체 이름을 id 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.domain.video.dto.StorageReferenceDto(v.id, v.videoName, v.thumbnailName) " +
+            "from Video v where v.id > :lastId order by v.id")
+    List<StorageReferenceDto> findStorageReferences(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * 사용자의 영상 기록을 id 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.domain.video.dto.VideoExportDto(v.id, v.shootingDate, v.gymName, v.level, v.color, v.isSuccess, v.createdDate) " +
+            "from Video v where v.member.id = :memberId and v.id > :lastId order by v.id")
+    List<VideoExportDto> findExportPage(@Param("memberId") Long memberId, @Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * names 중 영상이나 썸네일로 참조 중인 이름
+     */
+    @Query("select v.videoName from Video v where v.videoName in :names")
+    List<String> findVideoNamesIn(@Param("names") Collection<String> names);
+
+    @Query("select v.thumbnailName from Video v where v.thumbnailName in :names")
+    List<String> findThumbnailNamesIn(@Param("names") Collection<String> names);
+
+    /**
+     * 방문 날짜 비트를 끄기 전에 그 날짜에 남은 영상, 다른 트랜잭션이 커밋한 영상도 보이도록 공유 잠금으로 읽는다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select v.id from Video v where v.member = :member and v.shootingDate = :shootingDate")
+    List<Long> findIdsByMemberAndShootingDateForShare(@Param("member") Member member,
+                                                      @Param("shootingDate") LocalDate shootingDate);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select v.id from Video v where v.member = :member and v.gymName = :gymName and v.shootingDate = :shootingDate")
+    List<Long> findIdsByMemberAndGymNameAndShootingDateForShare(@Param("member") Member member,
+                                                                @Param("gymName") String gymName,
+                                                                @Param("shootingDate") LocalDate shootingDate);
+
+    /**
+     * 암장이 채워지지 않은 영상의 암장 이름을 id 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.global.common.GymNameDto(v.id, v.gymName) " +
+            "from Video v where v.gym is null and v.id > :lastId order by v.id")
+    List<GymNameDto> findGymBackfillTargets(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("update Video v set v.gym = :gym where v.id in :ids")
+    int assignGym(@Param("gym") Gym gym, @Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("update Video v set v.gym = :target where v.gym = :source")
+    int moveGym(@Param("source") Gym source, @Param("target") Gym target);
+
+    /**
+     * 암장 이름 표기별 영상 수
+     */
+    @Query("select new org.anotherclass.colortherock.domain.gym.dto.GymUsageDto(v.gymName, count(v)) " +
+            "from Video v where v.gymName is not null group by v.gymName")
+    List<GymUsageDto> findGymUsages();
+
+    /**
+     * 주어진 암장 이름 표기별 영상 수
+     */
+    @Query("select new org.anotherclass.colortherock.domain.gym.dto.GymUsageDto(v.gymName, count(v)) " +
+            "from Video v where v.gymName in :gymNames group by v.gymName")
+    List<GymUsageDto> findGymUsages(@Param("gymNames") Collection<String> gymNames);
 }
@@ -0,0 +1,29 @@
+package org.anotherclass.colortherock.domain.video.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "나눠 올리기 업로드 세션 생성 요청")
+public class CreateUploadSessionRequest {
+
+    @NotBlank
+    @Schema(description = "원본 파일 이름(확장자 포함)")
+    private String fileName;
+
+    @NotNull
+    @Positive
+    @Schema(description = "전체 파일 크기(byte)")
+    private Long totalSize;
+
+    @Schema(description = "파일 content type")
+    private String contentType;
+}
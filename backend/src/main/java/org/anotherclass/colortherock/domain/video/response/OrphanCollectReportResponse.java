@@ -0,0 +1,49 @@
+package org.anotherclass.colortherock.domain.video.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Schema(description = "참조 없는 스토리지 객체 정리 결과")
+public class OrphanCollectReportResponse {
+
+    @Schema(description = "true 면 지우지 않고 목록만 만든다.")
+    private final Boolean dryRun;
+    @Schema(description = "시작 시각")
+    private final LocalDateTime startedAt;
+    @Schema(description = "걸린 시간(ms)")
+    private final Long elapsedMillis;
+    @Schema(description = "DB 에서 읽은 참조 이름 수")
+    private final Long referenceCount;
+    @Schema(description = "스토리지에서 읽은 객체 수")
+    private final Long scannedCount;
+    @Schema(description = "유예 기간 안이라 건너뛴 객체 수")
+    private final Long recentCount;
+    @Schema(description = "참조 없는 객체 수")
+    private final Long orphanCount;
+    @Schema(description = "참조 없는 객체 용량(byte)")
+    private final Long orphanBytes;
+    @Schema(description = "삭제 예약한 객체 수")
+    private final Long enqueuedCount;
+    @Schema(description = "참조 없는 객체 이름 일부")
+    private final List<String> samples;
+
+    @Builder
+    public OrphanCollectReportResponse(Boolean dryRun, LocalDateTime startedAt, Long elapsedMillis, Long referenceCount, Long scannedCount,
+                                       Long recentCount, Long orphanCount, Long orphanBytes, Long enqueuedCount, List<String> samples) {
+        this.dryRun = dryRun;
+        this.startedAt = startedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.referenceCount = referenceCount;
+        this.scannedCount = scannedCount;
+        this.recentCount = recentCount;
+        this.orphanCount = orphanCount;
+        this.orphanBytes = orphanBytes;
+        this.enqueuedCount = enqueuedCount;
+        this.samples = samples;
+    }
+}
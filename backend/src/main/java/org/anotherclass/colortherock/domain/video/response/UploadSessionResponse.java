@@ -0,0 +1,35 @@
+package org.anotherclass.colortherock.domain.video.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Schema(description = "나눠 올리기 업로드 세션 상태")
+public class UploadSessionResponse {
+
+    @Schema(description = "업로드 세션 id")
+    private final String uploadId;
+    @Schema(description = "조각 크기(byte), 마지막 조각만 이보다 작을 수 있다.")
+    private final Integer chunkSize;
+    @Schema(description = "전체 조각 수")
+    private final Integer totalChunks;
+    @Schema(description = "전체 파일 크기(byte)")
+    private final Long totalSize;
+    @Schema(description = "처음부터 빠짐없이 받은 바이트 수, 이어 올리기 시작 위치")
+    private final Long receivedOffset;
+    @Schema(description = "아직 받지 못한 조각 번호(0부터 시작)")
+    private final List<Integer> missingChunks;
+
+    @Builder
+    public UploadSessionResponse(String uploadId, Integer chunkSize, Integer totalChunks, Long totalSize, Long receivedOffset, List<Integer> missingChunks) {
+        this.uploadId = uploadId;
+        this.chunkSize = chunkSize;
+        this.totalChunks = totalChunks;
+        this.totalSize = totalSize;
+        this.receivedOffset = receivedOffset;
+        this.missingChunks = missingChunks;
+    }
+}
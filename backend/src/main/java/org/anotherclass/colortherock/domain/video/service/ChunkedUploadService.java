@@ -0,0 +1,348 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.video.exception.*;
+import org.anotherclass.colortherock.domain.video.request.CreateUploadSessionRequest;
+import org.anotherclass.colortherock.domain.video.response.UploadSessionResponse;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 나눠 올리기(이어 올리기) 업로드
+ * 큰 영상을 한 번의 multipart 요청으로 받지 않고 조각 단위로 받아 디스크의 임시 파일에 바로 쓴다.
+ * 모든 조각을 받으면 임시 파일을 {@link MultipartFile} 로 감싸서 기존 업로드 로직에 넘긴다.
+ * 세션과 임시 파일은 요청을 받은 서버의 메모리와 디스크에만 있다.
+ * 여러 서버로 띄우면 같은 uploadId 의 요청이 세션을 만든 서버로 가도록 로드밸런서에 sticky routing 을 걸어야 이어 올릴 수 있다.
+ * 다른 서버로 간 요청이나 재시작 뒤의 요청은 세션을 찾지 못하므로 처음부터 다시 올려야 한다.
+ * 세션은 마지막 조각을 받은 뒤 ttl-minutes(기본 1440분) 동안 남으므로, 디스크를 채우지 않도록 사용자별, 서버 전체의 세션 수와 용량을 제한한다.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+
+    private final ConcurrentMap<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Path spoolDir;
+    private final int chunkSize;
+    private final long maxSize;
+    private final long ttlMillis;
+    private final int maxMemberSessions;
+    private final long maxMemberBytes;
+    private final int maxSessions;
+    private final long maxBytes;
+
+    public ChunkedUploadService(@Value("${video.upload.spool-dir:${java.io.tmpdir}/colortherock-upload}") String spoolDir,
+                                @Value("${video.upload.chunk-size:5242880}") int chunkSize,
+                                @Value("${video.upload.max-size:104857600}") long maxSize,
+                                @Value("${video.upload.ttl-minutes:1440}") long ttlMinutes,
+                                @Value("${video.upload.member.max-sessions:3}") int maxMemberSessions,
+                                @Value("${video.upload.member.max-bytes:209715200}") long maxMemberBytes,
+                                @Value("${video.upload.max-sessions:200}") int maxSessions,
+                                @Value("${video.upload.max-bytes:10737418240}") long maxBytes) {
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.maxMemberSessions = maxMemberSessions;
+        this.maxMemberBytes = maxMemberBytes;
+        this.maxSessions = maxSessions;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 업로드 세션 생성
+     * 세션 하나는 끝나거나 만료될 때까지 totalSize 만큼 디스크를 차지한다고 보고 제한을 센다.
+     *
+     * @param memberId 업로드 하는 사용자 id
+     * @param request  {@link CreateUploadSessionRequest}
+     * @return {@link UploadSessionResponse} 조각 크기와 조각 수
+     * @throws UploadLimitExceededException 사용자나 서버 전체의 진행 중인 세션 수, 용량 제한을 넘을 때
+     */
+    public UploadSessionResponse createSession(Long memberId, CreateUploadSessionRequest request) {
+        if (request.getTotalSize() > maxSize) throw new InvalidChunkException(GlobalErrorCode.INVALID_CHUNK);
+        String uploadId = UUID.randomUUID().toString();
+        Path file = spoolDir.resolve(uploadId);
+        UploadSession session = new UploadSession(uploadId, memberId, request, file, chunkSize);
+        // 세는 것과 넣는 것 사이에 다른 요청이 끼지 않도록 같이 잠근다. 세션 수는 maxSessions 로 묶여 있다.
+        synchronized (sessions) {
+            checkLimits(memberId, session.totalSize);
+            sessions.put(uploadId, session);
+        }
+        try {
+            Files.createDirectories(spoolDir);
+            Files.createFile(file);
+        } catch (IOException e) {
+            sessions.remove(uploadId);
+            throw new VideoUploadException(e);
+        }
+        return session.toResponse();
+    }
+
+    private void checkLimits(Long memberId, long totalSize) {
+        int memberSessions = 0;
+        long memberBytes = totalSize;
+        long bytes = totalSize;
+        for (UploadSession session : sessions.values()) {
+            bytes += session.totalSize;
+            if (!session.memberId.equals(memberId)) continue;
+            memberSessions++;
+            memberBytes += session.totalSize;
+        }
+        if (memberSessions >= maxMemberSessions || memberBytes > maxMemberBytes) {
+            throw new UploadLimitExceededException(GlobalErrorCode.UPLOAD_MEMBER_LIMIT_EXCEEDED);
+        }
+        if (sessions.size() >= maxSessions || bytes > maxBytes) {
+            log.warn("업로드 세션 제한에 걸렸습니다 : 세션 {}개, {}byte", sessions.size(), bytes - totalSize);
+            throw new UploadLimitExceededException(GlobalErrorCode.UPLOAD_SERVER_LIMIT_EXCEEDED);
+        }
+    }
+
+    /**
+     * 조각 하나를 받아서 임시 파일의 제 위치에 쓴다.
+     * 같은 조각을 다시 보내면 확인을 통과한 경우에만 덮어쓰므로, 실패한 조각만 다시 보내면 된다.
+     *
+     * @param memberId 업로드 하는 사용자 id
+     * @param uploadId 업로드 세션 id
+     * @param index    조각 번호(0부터 시작)
+     * @param checksum 조각의 SHA-256(hex)
+     * @param body     조각 내용
+     * @return {@link UploadSessionResponse} 받은 위치
+     */
+    public UploadSessionResponse writeChunk(Long memberId, String uploadId, int index, String checksum, InputStream body) {
+        UploadSession session = find(memberId, uploadId);
+        if (index < 0 || index >= session.totalChunks || session.committing.get()) {
+            throw new InvalidChunkException(GlobalErrorCode.INVALID_CHUNK);
+        }
+        long offset = (long) index * session.chunkSize;
+        long expected = Math.min(session.chunkSize, session.totalSize - offset);
+        // 크기와 체크섬을 확인하기 전에는 받은 파일에 쓰지 않는다. 깨진 조각을 다시 보내도 먼저 받은 조각은 그대로 남는다.
+        Path part = null;
+        try {
+            part = Files.createTempFile(spoolDir, uploadId + ".", PART_SUFFIX);
+            MessageDigest digest = sha256();
+            long written = 0;
+            try (OutputStream out = Files.newOutputStream(part)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (written + read > expected) throw new InvalidChunkException(GlobalErrorCode.INVALID_CHUNK);
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                    written += read;
+                }
+            }
+            if (written != expected) throw new InvalidChunkException(GlobalErrorCode.INVALID_CHUNK);
+            if (checksum == null || !toHex(digest.digest()).equalsIgnoreCase(checksum.trim())) {
+                throw new ChunkChecksumMismatchException(GlobalErrorCode.CHUNK_CHECKSUM_MISMATCH);
+            }
+            synchronized (session) {
+                // 완료 처리 중인 파일은 바꾸지 않는다.
+                if (session.committing.get()) throw new InvalidChunkException(GlobalErrorCode.INVALID_CHUNK);
+                copy(part, session.file, offset, expected);
+                session.received(index);
+            }
+        } catch (IOException e) {
+            throw new VideoUploadException(e);
+        } finally {
+            deleteQuietly(part);
+        }
+        return session.toResponse();
+    }
+
+    private static void copy(Path part, Path file, long offset, long size) throws IOException {
+        try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            target.position(offset);
+            long position = 0;
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    /**
+     * 업로드 세션 상태 조회, 끊긴 업로드를 이어서 보낼 위치를 알려준다.
+     *
+     * @param memberId 업로드 하는 사용자 id
+     * @param uploadId 업로드 세션 id
+     * @return {@link UploadSessionResponse}
+     */
+    public UploadSessionResponse getStatus(Long memberId, String uploadId) {
+        return find(memberId, uploadId).toResponse();
+    }
+
+    /**
+     * 업로드 완료
+     * 받은 파일을 기존 업로드 로직에 넘기고, 성공하면 세션과 임시 파일을 지운다.
+     * 넘긴 로직이 실패하면 세션을 남겨두어 다시 완료 요청을 할 수 있게 한다.
+     *
+     * @param memberId 업로드 하는 사용자 id
+     * @param uploadId 업로드 세션 id
+     * @param handoff  완성된 파일을 처리할 기존 업로드 로직
+     * @return handoff 의 결과
+     */
+    public <T> T commit(Long memberId, String uploadId, Function<MultipartFile, T> handoff) {
+        UploadSession session = find(memberId, uploadId);
+        if (!session.isComplete()) throw new UploadIncompleteException(GlobalErrorCode.UPLOAD_INCOMPLETE);
+        synchronized (session) {
+            if (!session.committing.compareAndSet(false, true)) {
+                throw new InvalidChunkException(GlobalErrorCode.INVALID_CHUNK);
+            }
+        }
+        T result;
+        try {
+            result = handoff.apply(new SpooledMultipartFile(session.file, session.fileName, session.contentType, session.totalSize));
+        } catch (RuntimeException e) {
+            session.committing.set(false);
+            throw e;
+        }
+        discard(session);
+        return result;
+    }
+
+    /**
+     * 오래된 세션 정리
+     * 서버가 시작하면 바로 한 번 돈다. 재시작으로 세션을 잃은 임시 파일도 만료 시간이 지나면 지운다.
+     */
+    @Scheduled(fixedDelayString = "${video.upload.purge-interval:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        sessions.values().stream()
+                .filter(session -> !session.committing.get() && now - session.lastTouchedAt > ttlMillis)
+                .forEach(this::discard);
+        purgeOrphanFiles(now);
+    }
+
+    private void purgeOrphanFiles(long now) {
+        if (!Files.isDirectory(spoolDir)) return;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir)) {
+            for (Path file : files) {
+                // 임시 파일 이름은 uploadId 이거나 uploadId 로 시작하는 조각 파일이다.
+                String name = file.getFileName().toString();
+                int dot = name.indexOf('.');
+                if (sessions.containsKey(dot < 0 ? name : name.substring(0, dot))) continue;
+                if (now - Files.getLastModifiedTime(file).toMillis() <= ttlMillis) continue;
+                deleteQuietly(file);
+            }
+        } catch (IOException e) {
+            log.warn("업로드 임시 폴더 정리 실패 : {}", spoolDir, e);
+        }
+    }
+
+    int sessionCount() {
+        return sessions.size();
+    }
+
+    private UploadSession find(Long memberId, String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.memberId.equals(memberId)) {
+            throw new UploadSessionNotFoundException(GlobalErrorCode.UPLOAD_SESSION_NOT_FOUND);
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        sessions.remove(session.uploadId);
+        deleteQuietly(session.file);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("업로드 임시 파일 삭제 실패 : {}", file, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    /**
+     * 업로드 세션 하나의 상태
+     */
+    private static class UploadSession {
+        private final String uploadId;
+        private final Long memberId;
+        private final String fileName;
+        private final String contentType;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int totalChunks;
+        private final Path file;
+        private final BitSet receivedChunks;
+        private final AtomicBoolean committing = new AtomicBoolean();
+        private volatile long lastTouchedAt = System.currentTimeMillis();
+
+        private UploadSession(String uploadId, Long memberId, CreateUploadSessionRequest request, Path file, int chunkSize) {
+            this.uploadId = uploadId;
+            this.memberId = memberId;
+            this.fileName = request.getFileName();
+            this.contentType = request.getContentType();
+            this.totalSize = request.getTotalSize();
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.file = file;
+            this.receivedChunks = new BitSet(totalChunks);
+        }
+
+        private synchronized void received(int index) {
+            receivedChunks.set(index);
+            lastTouchedAt = System.currentTimeMillis();
+        }
+
+        private synchronized boolean isComplete() {
+            return receivedChunks.cardinality() == totalChunks;
+        }
+
+        private synchronized UploadSessionResponse toResponse() {
+            List<Integer> missing = new ArrayList<>();
+            for (int i = receivedChunks.nextClearBit(0); i < totalChunks; i = receivedChunks.nextClearBit(i + 1)) {
+                missing.add(i);
+            }
+            long receivedOffset = Math.min(totalSize, (long) receivedChunks.nextClearBit(0) * chunkSize);
+            return UploadSessionResponse.builder()
+                    .uploadId(uploadId)
+                    .chunkSize(chunkSize)
+                    .totalChunks(totalChunks)
+                    .totalSize(totalSize)
+                    .receivedOffset(receivedOffset)
+                    .missingChunks(missing)
+                    .build();
+        }
+    }
+}
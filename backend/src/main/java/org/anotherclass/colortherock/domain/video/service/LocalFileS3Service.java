@@ -0,0 +1,277 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.video.dto.StorageListPageDto;
+import org.anotherclass.colortherock.domain.video.dto.StoredObjectDto;
+import org.anotherclass.colortherock.domain.video.exception.StorageObjectNotFoundException;
+import org.anotherclass.colortherock.domain.video.exception.ThumbnailUnsupportedException;
+import org.anotherclass.colortherock.domain.video.exception.VideoUploadException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * 로컬 파일시스템을 스토리지로 쓰는 구현
+ * S3 없이 업로드 경로를 벤치마크하거나 로컬에서 개발할 때 storage.type=filesystem 으로 사용한다.
+ * 저장한 파일은 {@link StorageStreamService} 가 /storage/{name} 으로 내려준다.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem")
+public class LocalFileS3Service implements S3Service {
+
+    private static final int THUMBNAIL_WIDTH = 320;
+    private static final int THUMBNAIL_HEIGHT = 180;
+
+    private final ParallelFileUploader uploader;
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalFileS3Service(ParallelFileUploader uploader,
+                              @Value("${storage.local.root:${java.io.tmpdir}/colortherock-storage}") String root,
+                              @Value("${storage.local.base-url:/storage/}") String baseUrl) {
+        this.uploader = uploader;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    @PostConstruct
+    public void setS3Client() {
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new IllegalStateException("스토리지 디렉토리를 만들 수 없습니다 : " + root, e);
+        }
+        log.info("로컬 파일 스토리지 사용 : {}", root);
+    }
+
+    @Override
+    public String upload(MultipartFile file, String videoName) {
+        Path target = resolve(videoName);
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        // 해시 계산, 썸네일 생성에서 같은 파일을 다시 읽으므로 옮기지 않고 복사한다.
+        // 재생 중인 요청이 덜 쓴 파일을 읽지 않도록 임시 파일에 다 쓴 뒤 이름을 바꾼다.
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new VideoUploadException(e);
+        }
+        return baseUrl + videoName;
+    }
+
+    /**
+     * 영상에서 프레임을 뽑을 수 없으므로 만들지 않는다.
+     * 기본 이미지를 올려서 READY 로 보이지 않도록 {@link ThumbnailUnsupportedException} 으로 알린다.
+     */
+    @Override
+    public String uploadThumbnail(MultipartFile videoFile, String thumbnailName) {
+        throw new ThumbnailUnsupportedException(GlobalErrorCode.THUMBNAIL_UNSUPPORTED);
+    }
+
+    @Override
+    public String uploadFromOV(String dir, String videoName) {
+        uploader.upload(Paths.get(dir), "video", new FilePartWriter(resolve(videoName)));
+        return baseUrl + videoName;
+    }
+
+    @Override
+    public String uploadThumbnailFromOV(String dir, String thumbnailName) {
+        // 오픈비두는 녹화 파일 옆에 같은 이름의 jpg 썸네일을 만든다.
+        Path thumbnail = Paths.get(dir.substring(0, dir.lastIndexOf('.')) + ".jpg");
+        Path target = resolve(thumbnailName);
+        if (Files.isRegularFile(thumbnail)) {
+            uploader.upload(thumbnail, "thumbnail", new FilePartWriter(target));
+        } else {
+            writePlaceholder(target);
+        }
+        return baseUrl + thumbnailName;
+    }
+
+    @Override
+    public void deleteFile(String videoName) {
+        try {
+            Files.deleteIfExists(resolve(videoName));
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패 : {}", videoName, e);
+        }
+    }
+
+    @Override
+    public Map<String, String> deleteFiles(List<String> names) {
+        Map<String, String> failed = new HashMap<>();
+        for (String name : names) {
+            try {
+                Files.deleteIfExists(resolve(name));
+            } catch (IOException | RuntimeException e) {
+                failed.put(name, e.toString());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 페이지마다 디렉토리를 훑어 startAfter 뒤의 이름 중 가장 앞선 maxKeys 개만 골라 준다.
+     * 호출 사이에 들고 있는 상태가 없으므로 여러 호출자가 동시에 읽어도 서로의 목록을 건드리지 않는다.
+     * 한 페이지에 O(n log maxKeys) 이고, 메모리는 한 페이지만큼만 쓴다.
+     */
+    @Override
+    public StorageListPageDto listObjects(String startAfter, int maxKeys) {
+        List<String> names = scanNamesAfter(startAfter, maxKeys + 1);
+        boolean hasNext = names.size() > maxKeys;
+        if (hasNext) names = names.subList(0, maxKeys);
+        List<StoredObjectDto> objects = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(root.resolve(name), BasicFileAttributes.class);
+                objects.add(new StoredObjectDto(name, attributes.lastModifiedTime().toInstant(), attributes.size()));
+            } catch (NoSuchFileException e) {
+                // 목록을 읽은 뒤에 지워진 파일
+            } catch (IOException e) {
+                throw new IllegalStateException("파일 정보를 읽을 수 없습니다 : " + name, e);
+            }
+        }
+        return new StorageListPageDto(objects, hasNext ? names.get(names.size() - 1) : null);
+    }
+
+    /**
+     * startAfter 뒤의 파일 이름 중 이름 순으로 앞선 limit 개
+     */
+    private List<String> scanNamesAfter(String startAfter, int limit) {
+        // 가장 뒤에 있는 이름이 맨 앞에 오도록 해서 넘치면 바로 뺀다.
+        PriorityQueue<String> selected = new PriorityQueue<>(limit, Comparator.reverseOrder());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (startAfter != null && name.compareTo(startAfter) <= 0) continue;
+                if (selected.size() == limit && name.compareTo(selected.peek()) >= 0) continue;
+                if (!Files.isRegularFile(path)) continue;
+                selected.add(name);
+                if (selected.size() > limit) selected.poll();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("스토리지 목록을 읽을 수 없습니다 : " + root, e);
+        }
+        List<String> names = new ArrayList<>(selected);
+        names.sort(null);
+        return names;
+    }
+
+    @Override
+    public InputStream download(String name) {
+        try {
+            return Files.newInputStream(locate(name));
+        } catch (IOException e) {
+            throw new StorageObjectNotFoundException(GlobalErrorCode.STORAGE_OBJECT_NOT_FOUND);
+        }
+    }
+
+    /**
+     * 저장된 파일 위치 조회
+     *
+     * @param name 파일 이름
+     * @return 파일 경로
+     */
+    public Path locate(String name) {
+        Path path;
+        try {
+            path = resolve(name);
+        } catch (IllegalArgumentException e) {
+            throw new StorageObjectNotFoundException(GlobalErrorCode.STORAGE_OBJECT_NOT_FOUND);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new StorageObjectNotFoundException(GlobalErrorCode.STORAGE_OBJECT_NOT_FOUND);
+        }
+        return path;
+    }
+
+    private Path resolve(String name) {
+        Path path = root.resolve(name).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("잘못된 파일 이름입니다 : " + name);
+        }
+        return path;
+    }
+
+    private void writePlaceholder(Path target) {
+        BufferedImage image = new BufferedImage(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.DARK_GRAY);
+        graphics.fillRect(0, 0, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+        graphics.dispose();
+        try (OutputStream out = Files.newOutputStream(target)) {
+            ImageIO.write(image, "jpg", out);
+        } catch (IOException e) {
+            throw new VideoUploadException(e);
+        }
+    }
+
+    /**
+     * 파트를 임시 파일의 제 위치에 바로 쓰고, 모든 파트가 끝나면 최종 이름으로 옮긴다.
+     * 업로드 중인 파일이 조회되지 않도록 하기 위함이다.
+     */
+    private static class FilePartWriter implements ParallelFileUploader.PartWriter {
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+
+        private FilePartWriter(Path target) {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".part");
+            try {
+                this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException e) {
+                throw new VideoUploadException(e);
+            }
+        }
+
+        @Override
+        public void writePart(int partNumber, long offset, ByteBuffer data) throws IOException {
+            long position = offset;
+            while (data.hasRemaining()) {
+                position += channel.write(data, position);
+            }
+        }
+
+        @Override
+        public void complete(int partCount, long size) throws IOException {
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void abort() {
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("임시 파일 삭제 실패 : {}", temp, e);
+            }
+        }
+    }
+}
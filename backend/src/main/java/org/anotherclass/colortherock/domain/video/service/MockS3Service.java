@@ -1,11 +1,16 @@
 package org.anotherclass.colortherock.domain.video.service;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 @Service
 @Primary()
+@ConditionalOnProperty(name = "storage.type", havingValue = "mock", matchIfMissing = true)
 public class MockS3Service implements S3Service{
 
     @Override
@@ -37,4 +42,9 @@ public class MockS3Service implements S3Service{
     public void deleteFile(String videoName) {
         // TODO document why this method is empty
     }
+
+    @Override
+    public InputStream download(String name) {
+        return new ByteArrayInputStream(new byte[0]);
+    }
 }
@@ -0,0 +1,324 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import lombok.Getter;
+import org.anotherclass.colortherock.domain.video.dto.VideoMetadataDto;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MP4/MOV 파일의 moov box 를 mdat 앞으로 옮긴다(faststart).
+ * 휴대폰으로 찍은 영상은 moov 가 파일 끝에 있어서 재생하려면 파일 대부분을 받아야 한다.
+ * moov 만 메모리에 올려서 stco/co64 의 chunk 위치를 고치고, mdat 은 채널 간 전송으로 그대로 복사한다.
+ * 같은 moov 에서 재생 시간, 해상도, 코덱도 읽는다.
+ */
+public class Mp4FastStart {
+
+    private static final long UINT32_MAX = 0xFFFFFFFFL;
+
+    private final long maxMoovSize;
+
+    public Mp4FastStart(long maxMoovSize) {
+        this.maxMoovSize = maxMoovSize;
+    }
+
+    /**
+     * faststart 로 다시 쓰고 메타데이터를 읽는다.
+     * 이미 moov 가 앞에 있거나 옮길 수 없는 파일이면 target 에 쓰지 않는다.
+     *
+     * @param source 원본 파일
+     * @param target 다시 쓴 파일을 저장할 위치
+     * @return {@link Result} 다시 썼는지 여부와 메타데이터
+     * @throws IOException MP4 형식이 아니거나 읽기 실패
+     */
+    public Result process(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long fileSize = in.size();
+            List<Box> boxes = readTopLevel(in, fileSize);
+            Box moov = null;
+            Box firstMdat = null;
+            for (Box box : boxes) {
+                if (moov == null && box.type.equals("moov")) moov = box;
+                if (firstMdat == null && box.type.equals("mdat")) firstMdat = box;
+            }
+            if (moov == null) throw new IOException("moov box 가 없습니다.");
+            if (moov.size > maxMoovSize) return new Result(false, null);
+
+            ByteBuffer moovBuffer = ByteBuffer.allocate((int) moov.size);
+            readFully(in, moovBuffer, moov.offset);
+            moovBuffer.flip();
+            VideoMetadataDto metadata = readMetadata(moovBuffer);
+
+            if (firstMdat == null || moov.offset < firstMdat.offset) return new Result(false, metadata);
+            // 압축된 moov 는 chunk 위치를 고칠 수 없다.
+            if (findChild(moovBuffer, Child.root(moovBuffer), "cmov") != null) return new Result(false, metadata);
+
+            long insertAt = firstMdat.offset;
+            if (!patchChunkOffsets(moovBuffer, insertAt, moov.offset, moov.size)) return new Result(false, metadata);
+
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                transfer(in, 0, insertAt, out);
+                moovBuffer.rewind();
+                while (moovBuffer.hasRemaining()) out.write(moovBuffer);
+                transfer(in, insertAt, moov.offset - insertAt, out);
+                long moovEnd = moov.offset + moov.size;
+                transfer(in, moovEnd, fileSize - moovEnd, out);
+            }
+            return new Result(true, metadata);
+        }
+    }
+
+    /**
+     * 메타데이터만 읽는다.
+     *
+     * @param source 영상 파일
+     * @return 메타데이터, moov 가 너무 크면 null
+     */
+    public VideoMetadataDto readMetadata(Path source) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            for (Box box : readTopLevel(in, in.size())) {
+                if (!box.type.equals("moov")) continue;
+                if (box.size > maxMoovSize) return null;
+                ByteBuffer moovBuffer = ByteBuffer.allocate((int) box.size);
+                readFully(in, moovBuffer, box.offset);
+                moovBuffer.flip();
+                return readMetadata(moovBuffer);
+            }
+            throw new IOException("moov box 가 없습니다.");
+        }
+    }
+
+    private List<Box> readTopLevel(FileChannel in, long fileSize) throws IOException {
+        List<Box> boxes = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(8);
+        long position = 0;
+        while (position + 8 <= fileSize) {
+            header.clear();
+            readFully(in, header, position);
+            header.flip();
+            long size = header.getInt() & UINT32_MAX;
+            String type = fourCC(header.getInt());
+            int headerSize = 8;
+            if (size == 1) {
+                header.clear();
+                readFully(in, header, position + 8);
+                header.flip();
+                size = header.getLong();
+                headerSize = 16;
+            } else if (size == 0) {
+                size = fileSize - position;
+            }
+            if (size < headerSize || position + size > fileSize) {
+                throw new IOException("잘못된 box 크기입니다 : " + type);
+            }
+            boxes.add(new Box(type, position, size));
+            position += size;
+        }
+        if (boxes.isEmpty() || !(boxes.get(0).type.equals("ftyp") || boxes.get(0).type.equals("wide")
+                || boxes.get(0).type.equals("free") || boxes.get(0).type.equals("mdat") || boxes.get(0).type.equals("moov"))) {
+            throw new IOException("MP4 파일이 아닙니다.");
+        }
+        return boxes;
+    }
+
+    /**
+     * moov 를 insertAt 위치로 옮겼을 때의 chunk 위치로 고친다.
+     * 원래 moov 앞에 있던 데이터만 moov 크기만큼 뒤로 밀린다.
+     *
+     * @return 32bit chunk 위치가 넘치면 false
+     */
+    private boolean patchChunkOffsets(ByteBuffer moov, long insertAt, long moovOffset, long moovSize) {
+        for (Child trak : children(moov, Child.root(moov), "trak")) {
+            Child stbl = findPath(moov, trak, "mdia", "minf", "stbl");
+            if (stbl == null) continue;
+            for (Child table : children(moov, stbl, null)) {
+                boolean co64 = table.type.equals("co64");
+                if (!co64 && !table.type.equals("stco")) continue;
+                int count = moov.getInt(table.contentStart() + 4);
+                int entryStart = table.contentStart() + 8;
+                int entrySize = co64 ? 8 : 4;
+                if (count < 0 || entryStart + (long) count * entrySize > table.end()) return false;
+                for (int i = 0; i < count; i++) {
+                    int at = entryStart + i * entrySize;
+                    long offset = co64 ? moov.getLong(at) : moov.getInt(at) & UINT32_MAX;
+                    if (offset < insertAt || offset >= moovOffset) continue;
+                    long moved = offset + moovSize;
+                    if (co64) {
+                        moov.putLong(at, moved);
+                    } else {
+                        if (moved > UINT32_MAX) return false;
+                        moov.putInt(at, (int) moved);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private VideoMetadataDto readMetadata(ByteBuffer moov) {
+        Child root = Child.root(moov);
+        Double duration = null;
+        Child mvhd = findChild(moov, root, "mvhd");
+        if (mvhd != null) {
+            int at = mvhd.contentStart();
+            int version = moov.get(at);
+            long timescale;
+            long length;
+            if (version == 1) {
+                timescale = moov.getInt(at + 20) & UINT32_MAX;
+                length = moov.getLong(at + 24);
+            } else {
+                timescale = moov.getInt(at + 12) & UINT32_MAX;
+                length = moov.getInt(at + 16) & UINT32_MAX;
+            }
+            if (timescale > 0) duration = (double) length / timescale;
+        }
+
+        for (Child trak : children(moov, root, "trak")) {
+            Child hdlr = findPath(moov, trak, "mdia", "hdlr");
+            if (hdlr == null || !fourCC(moov.getInt(hdlr.contentStart() + 8)).equals("vide")) continue;
+            Integer width = null;
+            Integer height = null;
+            Child tkhd = findChild(moov, trak, "tkhd");
+            if (tkhd != null) {
+                int at = tkhd.contentStart();
+                int matrixAt = at + (moov.get(at) == 1 ? 52 : 40);
+                width = moov.getInt(matrixAt + 36) >>> 16;
+                height = moov.getInt(matrixAt + 40) >>> 16;
+                // 세로로 찍은 영상은 회전 행렬로 90도/270도 회전해서 보여준다.
+                if (moov.getInt(matrixAt) == 0 && moov.getInt(matrixAt + 16) == 0) {
+                    int swap = width;
+                    width = height;
+                    height = swap;
+                }
+            }
+            String codec = null;
+            Child stsd = findPath(moov, trak, "mdia", "minf", "stbl", "stsd");
+            if (stsd != null && stsd.contentStart() + 16 <= stsd.end() && moov.getInt(stsd.contentStart() + 4) > 0) {
+                codec = fourCC(moov.getInt(stsd.contentStart() + 12)).trim();
+            }
+            return new VideoMetadataDto(duration, width, height, codec);
+        }
+        return new VideoMetadataDto(duration, null, null, null);
+    }
+
+    private Child findPath(ByteBuffer buffer, Child parent, String... path) {
+        Child current = parent;
+        for (String type : path) {
+            current = findChild(buffer, current, type);
+            if (current == null) return null;
+        }
+        return current;
+    }
+
+    private Child findChild(ByteBuffer buffer, Child parent, String type) {
+        List<Child> found = children(buffer, parent, type);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private List<Child> children(ByteBuffer buffer, Child parent, String type) {
+        List<Child> result = new ArrayList<>();
+        int position = parent.contentStart();
+        while (position + 8 <= parent.end()) {
+            long size = buffer.getInt(position) & UINT32_MAX;
+            String childType = fourCC(buffer.getInt(position + 4));
+            int headerSize = 8;
+            if (size == 1) {
+                size = buffer.getLong(position + 8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = parent.end() - position;
+            }
+            if (size < headerSize || position + size > parent.end()) break;
+            if (type == null || type.equals(childType)) {
+                result.add(new Child(childType, position, (int) size, headerSize));
+            }
+            position += (int) size;
+        }
+        return result;
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, position + buffer.position()) < 0) throw new EOFException();
+        }
+    }
+
+    private static void transfer(FileChannel in, long position, long count, FileChannel out) throws IOException {
+        long done = 0;
+        while (done < count) {
+            long transferred = in.transferTo(position + done, count - done, out);
+            if (transferred <= 0) throw new EOFException();
+            done += transferred;
+        }
+    }
+
+    private static String fourCC(int value) {
+        byte[] bytes = {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    @Getter
+    public static class Result {
+        private final boolean rewritten;
+        private final VideoMetadataDto metadata;
+
+        private Result(boolean rewritten, VideoMetadataDto metadata) {
+            this.rewritten = rewritten;
+            this.metadata = metadata;
+        }
+    }
+
+    /**
+     * 파일 최상위 box
+     */
+    private static class Box {
+        private final String type;
+        private final long offset;
+        private final long size;
+
+        private Box(String type, long offset, long size) {
+            this.type = type;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+
+    /**
+     * moov 버퍼 안의 box
+     */
+    private static class Child {
+        private final String type;
+        private final int offset;
+        private final int size;
+        private final int headerSize;
+
+        private Child(String type, int offset, int size, int headerSize) {
+            this.type = type;
+            this.offset = offset;
+            this.size = size;
+            this.headerSize = headerSize;
+        }
+
+        private static Child root(ByteBuffer moov) {
+            int headerSize = (moov.getInt(0) == 1) ? 16 : 8;
+            return new Child("moov", 0, moov.limit(), headerSize);
+        }
+
+        private int contentStart() {
+            return offset + headerSize;
+        }
+
+        private int end() {
+            return offset + size;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+/**
+ * 객체 이름용 Bloom filter
+ * 참조 중인 이름 전체를 Set 에 담지 않고 이름당 약 15bit(오탐률 0.1% 기준)로 기록한다.
+ * 없는 이름을 있다고 할 수는 있지만(오탐), 있는 이름을 없다고 하지는 않는다.
+ */
+class NameBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    NameBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long expected = Math.max(expectedInsertions, 1);
+        long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bitCount = Math.max(64, (bits + 63) / 64 * 64);
+        this.words = new long[(int) (bitCount / 64)];
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * LN2));
+    }
+
+    void put(String name) {
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1 + i * h2);
+            words[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    boolean mightContain(String name) {
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1 + i * h2);
+            if ((words[(int) (index >>> 6)] & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return words.length * 8L;
+    }
+
+    private long index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    /**
+     * FNV-1a 64bit 에 murmur3 finalizer 로 비트를 고르게 섞는다.
+     */
+    private static long hash(String name) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            h ^= name.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,264 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.video.dto.StorageListPageDto;
+import org.anotherclass.colortherock.domain.video.dto.StorageReferenceDto;
+import org.anotherclass.colortherock.domain.video.dto.StoredObjectDto;
+import org.anotherclass.colortherock.domain.video.entity.StorageDeletion;
+import org.anotherclass.colortherock.domain.video.repository.StorageDeletionRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.domain.video.response.OrphanCollectReportResponse;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 참조 없는 스토리지 객체 정리
+ * 업로드는 Video/Live 저장 전에 일어나므로 중간에 실패하면 아무도 참조하지 않는 객체가 남는다.
+ * DB 의 참조 이름을 id 순으로 끊어 읽어 Bloom filter 에 넣고, 스토리지 목록을 페이지 단위로 읽으면서 대조한다.
+ * 객체 수와 상관없이 메모리는 Bloom filter 와 한 페이지만큼만 쓴다.
+ * 업로드 중인 객체를 지우지 않도록 유예 기간보다 오래된 객체만 대상으로 하고, 지우기 전에 페이지마다 IN 조회 한 번씩으로 DB 에서 다시 확인한다.
+ * 여러 서버 중 한 곳에서만 돌도록 {@link JobLockService} 로 잠그고, 이미 삭제를 기다리는 객체는 다시 예약하지 않는다.
+ */
+@Slf4j
+@Component
+public class OrphanObjectCollector {
+
+    private static final int SAMPLE_SIZE = 100;
+    private static final int ENQUEUE_BATCH_SIZE = 500;
+    private static final String LOCK_NAME = "storage-gc";
+    // 삭제를 기다리거나 하고 있는 상태, DEAD 는 다음 정리에서 다시 예약한다.
+    private static final List<StorageDeletion.Status> QUEUED_STATUSES =
+            List.of(StorageDeletion.Status.PENDING, StorageDeletion.Status.RUNNING);
+
+    private final S3Service s3Service;
+    private final VideoRepository videoRepository;
+    private final LiveRepository liveRepository;
+    private final StorageDeletionOutbox storageDeletionOutbox;
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final JobLockService jobLockService;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+    private final boolean enabled;
+    private final boolean defaultDryRun;
+    private final Duration gracePeriod;
+    private final int scanSize;
+    private final int listSize;
+    private final double falsePositiveRate;
+    private final Duration lockLease;
+    private final Counter orphanCounter;
+    private final Counter enqueuedCounter;
+
+    public OrphanObjectCollector(S3Service s3Service,
+                                 VideoRepository videoRepository,
+                                 LiveRepository liveRepository,
+                                 StorageDeletionOutbox storageDeletionOutbox,
+                                 StorageDeletionRepository storageDeletionRepository,
+                                 JobLockService jobLockService,
+                                 MaintenanceJobRunner maintenanceJobRunner,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${storage.gc.enabled:true}") boolean enabled,
+                                 @Value("${storage.gc.dry-run:true}") boolean defaultDryRun,
+                                 @Value("${storage.gc.grace-hours:24}") long graceHours,
+                                 @Value("${storage.gc.scan-size:1000}") int scanSize,
+                                 @Value("${storage.gc.list-size:1000}") int listSize,
+                                 @Value("${storage.gc.false-positive-rate:0.001}") double falsePositiveRate,
+                                 @Value("${storage.gc.lock-lease:7200000}") long lockLeaseMillis) {
+        this.s3Service = s3Service;
+        this.videoRepository = videoRepository;
+        this.liveRepository = liveRepository;
+        this.storageDeletionOutbox = storageDeletionOutbox;
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.jobLockService = jobLockService;
+        this.maintenanceJobRunner = maintenanceJobRunner;
+        this.enabled = enabled;
+        this.defaultDryRun = defaultDryRun;
+        this.gracePeriod = Duration.ofHours(graceHours);
+        this.scanSize = scanSize;
+        this.listSize = listSize;
+        this.falsePositiveRate = falsePositiveRate;
+        this.lockLease = Duration.ofMillis(lockLeaseMillis);
+        this.orphanCounter = Counter.builder("storage.gc.orphans")
+                .description("찾은 참조 없는 객체 수")
+                .register(meterRegistry);
+        this.enqueuedCounter = Counter.builder("storage.gc.enqueued")
+                .description("삭제 예약한 참조 없는 객체 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${storage.gc.cron:0 30 4 * * *}")
+    public void scheduled() {
+        if (!enabled) return;
+        // 스토리지 목록 전체를 읽으므로 스케줄러 스레드에서 돌리지 않는다.
+        maintenanceJobRunner.submit(LOCK_NAME, () -> {
+            try {
+                collect(defaultDryRun);
+            } catch (GlobalBaseException e) {
+                log.info("이미 참조 없는 객체 정리가 실행 중입니다.");
+            }
+        });
+    }
+
+    /**
+     * 참조 없는 객체 정리
+     *
+     * @param dryRun true 면 지우지 않고 결과만 만든다.
+     * @return {@link OrphanCollectReportResponse}
+     * @throws GlobalBaseException 다른 서버나 스레드에서 이미 실행 중일 때
+     */
+    public OrphanCollectReportResponse collect(boolean dryRun) {
+        String token = jobLockService.tryAcquire(LOCK_NAME, lockLease);
+        if (token == null) {
+            throw new GlobalBaseException(GlobalErrorCode.STORAGE_GC_RUNNING);
+        }
+        try {
+            return doCollect(dryRun);
+        } finally {
+            jobLockService.release(LOCK_NAME, token);
+        }
+    }
+
+    private OrphanCollectReportResponse doCollect(boolean dryRun) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedNanos = System.nanoTime();
+        // 참조를 먼저 읽고 목록을 읽으므로, 그 사이에 올라간 객체는 유예 기간으로 보호된다.
+        Instant cutoff = Instant.now().minus(gracePeriod);
+
+        long expected = videoRepository.count() * 2 + liveRepository.count();
+        NameBloomFilter references = new NameBloomFilter(expected, falsePositiveRate);
+        long referenceCount = scanReferences(references, videoRepository::findStorageReferences)
+                + scanReferences(references, liveRepository::findStorageReferences);
+
+        long scanned = 0;
+        long recent = 0;
+        long orphans = 0;
+        long orphanBytes = 0;
+        long enqueued = 0;
+        List<String> samples = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        String token = null;
+        do {
+            StorageListPageDto page = s3Service.listObjects(token, listSize);
+            List<StoredObjectDto> candidates = new ArrayList<>();
+            for (StoredObjectDto object : page.getObjects()) {
+                scanned++;
+                if (object.getLastModified().isAfter(cutoff)) {
+                    recent++;
+                    continue;
+                }
+                if (!references.mightContain(object.getName())) candidates.add(object);
+            }
+            Set<String> referenced = findReferenced(candidates);
+            candidates.removeIf(object -> referenced.contains(object.getName()));
+            Set<String> queued = dryRun ? Set.of() : findQueued(candidates);
+            for (StoredObjectDto object : candidates) {
+                orphans++;
+                orphanBytes += object.getSize();
+                if (samples.size() < SAMPLE_SIZE) samples.add(object.getName());
+                if (dryRun || queued.contains(object.getName())) continue;
+                batch.add(object.getName());
+                if (batch.size() >= ENQUEUE_BATCH_SIZE) {
+                    enqueued += enqueue(batch);
+                }
+            }
+            token = page.getNextToken();
+        } while (token != null);
+        if (!dryRun) enqueued += enqueue(batch);
+        orphanCounter.increment(orphans);
+
+        OrphanCollectReportResponse report = OrphanCollectReportResponse.builder()
+                .dryRun(dryRun)
+                .startedAt(startedAt)
+                .elapsedMillis(Duration.ofNanos(System.nanoTime() - startedNanos).toMillis())
+                .referenceCount(referenceCount)
+                .scannedCount(scanned)
+                .recentCount(recent)
+                .orphanCount(orphans)
+                .orphanBytes(orphanBytes)
+                .enqueuedCount(enqueued)
+                .samples(samples)
+                .build();
+        log.info("참조 없는 객체 정리 {} : 참조 {}개(filter {}byte), 스토리지 {}개, 유예 {}개, 참조 없음 {}개({}byte), 삭제 예약 {}개",
+                dryRun ? "(dry-run)" : "", referenceCount, references.sizeInBytes(), scanned, recent, orphans, orphanBytes, enqueued);
+        return report;
+    }
+
+    /**
+     * id 기준 keyset 으로 끊어 읽어서 filter 에 넣는다.
+     *
+     * @return 넣은 이름 수
+     */
+    private long scanReferences(NameBloomFilter filter, BiFunction<Long, PageRequest, List<StorageReferenceDto>> query) {
+        long count = 0;
+        long lastId = 0;
+        List<StorageReferenceDto> chunk;
+        do {
+            chunk = query.apply(lastId, PageRequest.of(0, scanSize));
+            for (StorageReferenceDto reference : chunk) {
+                if (reference.getVideoName() != null) {
+                    filter.put(reference.getVideoName());
+                    count++;
+                }
+                if (reference.getThumbnailName() != null) {
+                    filter.put(reference.getThumbnailName());
+                    count++;
+                }
+                lastId = reference.getId();
+            }
+        } while (chunk.size() == scanSize);
+        return count;
+    }
+
+    /**
+     * Bloom filter 는 오탐만 있으므로 참조 없음으로 나온 이름만 DB 에서 다시 확인한다.
+     * 목록을 읽는 동안 새로 저장된 참조도 여기서 걸러진다. 이름마다 묻지 않고 테이블마다 IN 조회 한 번으로 확인한다.
+     *
+     * @return candidates 중 참조 중인 이름
+     */
+    private Set<String> findReferenced(List<StoredObjectDto> candidates) {
+        if (candidates.isEmpty()) return Set.of();
+        List<String> names = candidates.stream().map(StoredObjectDto::getName).collect(Collectors.toList());
+        Set<String> referenced = new HashSet<>(videoRepository.findVideoNamesIn(names));
+        referenced.addAll(videoRepository.findThumbnailNamesIn(names));
+        referenced.addAll(liveRepository.findThumbnailNamesIn(names));
+        return referenced;
+    }
+
+    /**
+     * 앞선 정리나 Video/Live 삭제가 이미 예약해서 기다리거나 지우고 있는 이름
+     * 다시 넣으면 같은 객체의 삭제 행이 정리할 때마다 늘어난다.
+     *
+     * @return candidates 중 삭제 대기열에 있는 이름
+     */
+    private Set<String> findQueued(List<StoredObjectDto> candidates) {
+        if (candidates.isEmpty()) return Set.of();
+        List<String> names = candidates.stream().map(StoredObjectDto::getName).collect(Collectors.toList());
+        return new HashSet<>(storageDeletionRepository.findObjectNamesIn(names, QUEUED_STATUSES));
+    }
+
+    private long enqueue(List<String> batch) {
+        if (batch.isEmpty()) return 0;
+        storageDeletionOutbox.enqueue(batch.toArray(String[]::new));
+        int size = batch.size();
+        enqueuedCounter.increment(size);
+        batch.clear();
+        return size;
+    }
+}
@@ -0,0 +1,177 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.video.exception.VideoUploadException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 파일을 파트 단위로 나눠 병렬로 업로드 한다.
+ * 파일 전체를 byte[] 로 읽지 않고 FileChannel 로 파트만큼만 읽어서 넘기므로,
+ * 힙 사용량은 파일 크기와 상관없이 (파트 크기 * 동시 파트 수) 로 제한된다.
+ */
+@Slf4j
+@Component
+public class ParallelFileUploader {
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final Executor partExecutor;
+    private final int partSize;
+    private final boolean memoryMapped;
+    // 동시에 메모리에 올라가는 파트 수 제한
+    private final Semaphore permits;
+    // 다 쓴 direct buffer 재사용, 최대 permits 개까지만 만들어진다.
+    private final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bufferInUse = new AtomicLong();
+    private final AtomicLong bufferPeak = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+
+    public ParallelFileUploader(@Qualifier("storagePartExecutor") Executor partExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${storage.upload.part-size:8388608}") int partSize,
+                                @Value("${storage.upload.max-parts-in-flight:4}") int maxPartsInFlight,
+                                @Value("${storage.upload.memory-mapped:false}") boolean memoryMapped) {
+        this.partExecutor = partExecutor;
+        this.meterRegistry = meterRegistry;
+        this.partSize = partSize;
+        this.memoryMapped = memoryMapped;
+        this.permits = new Semaphore(maxPartsInFlight);
+        Gauge.builder("storage.upload.buffer.in-use", bufferInUse, AtomicLong::get)
+                .description("업로드 중인 파트가 잡고 있는 버퍼 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("storage.upload.buffer.peak", bufferPeak, AtomicLong::get)
+                .description("업로드 파트 버퍼 사용량 최대값")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 파트 하나를 받아서 저장하는 쪽
+     * 파트는 여러 스레드에서 동시에 호출될 수 있다.
+     */
+    public interface PartWriter {
+        /**
+         * @param partNumber 1부터 시작하는 파트 번호
+         * @param offset     파일 안에서 파트의 시작 위치
+         * @param data       파트 내용, 호출이 끝나면 재사용되므로 보관하면 안 된다.
+         */
+        void writePart(int partNumber, long offset, ByteBuffer data) throws IOException;
+
+        void complete(int partCount, long size) throws IOException;
+
+        void abort();
+    }
+
+    /**
+     * 파일 업로드
+     *
+     * @param source 업로드할 로컬 파일
+     * @param kind   메트릭 태그(video, thumbnail 등)
+     * @param writer 파트를 저장하는 쪽
+     * @return 업로드한 바이트 수
+     */
+    public long upload(Path source, String kind, PartWriter writer) {
+        long startedAt = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int partCount = (int) Math.max(1, (size + partSize - 1) / partSize);
+            List<CompletableFuture<Void>> parts = new ArrayList<>(partCount);
+            for (int i = 0; i < partCount; i++) {
+                long offset = (long) i * partSize;
+                int length = (int) Math.min(partSize, size - offset);
+                int partNumber = i + 1;
+                permits.acquire();
+                CompletableFuture<Void> part;
+                try {
+                    part = CompletableFuture.runAsync(() -> uploadPart(channel, partNumber, offset, length, writer), partExecutor);
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw e;
+                }
+                parts.add(part);
+                // 앞선 파트가 실패했으면 나머지 파트는 읽지 않는다.
+                if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) break;
+            }
+            CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).join();
+            writer.complete(partCount, size);
+            record(kind, size, System.nanoTime() - startedAt);
+            return size;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.abort();
+            throw new VideoUploadException(e);
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw new VideoUploadException(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private void uploadPart(FileChannel channel, int partNumber, long offset, int length, PartWriter writer) {
+        ByteBuffer buffer = null;
+        markInUse(length);
+        try {
+            buffer = readPart(channel, offset, length);
+            writer.writePart(partNumber, offset, buffer);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } finally {
+            bufferInUse.addAndGet(-length);
+            if (buffer != null && !memoryMapped) bufferPool.offer(buffer);
+            permits.release();
+        }
+    }
+
+    private ByteBuffer readPart(FileChannel channel, long offset, int length) throws IOException {
+        if (memoryMapped) {
+            // 페이지 캐시를 그대로 쓰므로 따로 복사하지 않는다.
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+        ByteBuffer buffer = bufferPool.poll();
+        if (buffer == null) buffer = ByteBuffer.allocateDirect(partSize);
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) break;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void markInUse(int length) {
+        long inUse = bufferInUse.addAndGet(length);
+        bufferPeak.accumulateAndGet(inUse, Math::max);
+    }
+
+    private void record(String kind, long size, long elapsedNanos) {
+        Timer.builder("storage.upload")
+                .description("파일 업로드 소요 시간")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        DistributionSummary.builder("storage.upload.throughput")
+                .description("파일 업로드 처리량")
+                .baseUnit("MB/s")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(size / BYTES_PER_MB / seconds);
+        log.debug("{} 업로드 {} bytes, {} ms", kind, size, elapsedNanos / 1_000_000);
+    }
+}
@@ -1,8 +1,13 @@
 package org.anotherclass.colortherock.domain.video.service;
 
+import org.anotherclass.colortherock.domain.video.dto.StorageListPageDto;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public interface S3Service {
     @PostConstruct
@@ -10,6 +15,14 @@ public interface S3Service {
 
     String upload(MultipartFile file, String videoName);
 
+    /**
+     * 영상에서 썸네일을 만들어 올린다.
+     *
+     * @param videoFile     영상
+     * @param thumbnailName 썸네일 이름
+     * @return 썸네일 URL
+     * @throws org.anotherclass.colortherock.domain.video.exception.ThumbnailUnsupportedException 썸네일을 만들 수 없는 스토리지일 때
+     */
     String uploadThumbnail(MultipartFile videoFile, String thumbnailName);
 
     String uploadFromOV(String dir, String videoName);
@@ -17,4 +30,44 @@ public interface S3Service {
     String uploadThumbnailFromOV(String dir, String thumbnailName);
 
     void deleteFile(String videoName);
+
+    /**
+     * 저장된 객체를 읽는다. 썸네일을 다시 만들 때 원본 영상을 받는 데 쓴다.
+     *
+     * @param name 객체 이름
+     * @return 객체 내용, 닫는 것은 호출한 쪽 책임
+     * @throws org.anotherclass.colortherock.domain.video.exception.StorageObjectNotFoundException 객체가 없을 때
+     */
+    InputStream download(String name);
+
+    /**
+     * 여러 객체를 한 번에 삭제한다.
+     * 묶음 삭제 API 가 있는 스토리지는 한 번의 호출로 처리하도록 재정의한다.
+     *
+     * @param names 지울 객체 이름
+     * @return 지우지 못한 객체 이름과 원인
+     */
+    default Map<String, String> deleteFiles(List<String> names) {
+        Map<String, String> failed = new HashMap<>();
+        for (String name : names) {
+            try {
+                deleteFile(name);
+            } catch (RuntimeException e) {
+                failed.put(name, e.toString());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 저장된 객체를 이름 순으로 한 페이지씩 조회한다.
+     * 목록을 줄 수 없는 스토리지는 빈 페이지를 돌려준다.
+     *
+     * @param startAfter 이 이름 다음부터 조회, 처음이면 null
+     * @param maxKeys    한 페이지의 최대 개수
+     * @return {@link StorageListPageDto}
+     */
+    default StorageListPageDto listObjects(String startAfter, int maxKeys) {
+        return new StorageListPageDto(List.of(), null);
+    }
 }
@@ -0,0 +1,75 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 디스크에 받아둔 업로드 파일을 {@link MultipartFile} 로 감싼다.
+ * 기존 업로드 로직을 그대로 쓰기 위해 사용하며, 내용은 필요할 때 파일에서 스트림으로 읽는다.
+ */
+class SpooledMultipartFile implements MultipartFile {
+
+    private final Path file;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    SpooledMultipartFile(Path file, String originalFilename, String contentType, long size) {
+        this.file = file;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return "newVideo";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(file);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(file);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        // 썸네일 추출 등에서 다시 읽을 수 있으므로 옮기지 않고 복사한다. 원본은 업로드 완료 후 지운다.
+        Files.copy(file, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
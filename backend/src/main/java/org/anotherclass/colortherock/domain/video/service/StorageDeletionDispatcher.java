@@ -0,0 +1,188 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.video.entity.StorageDeletion;
+import org.anotherclass.colortherock.domain.video.repository.StorageDeletionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 스토리지 삭제 대기열 처리
+ * 대기 중인 삭제를 묶음으로 선점해서 스토리지의 묶음 삭제로 한 번에 지운다.
+ * 실패한 객체는 지수 백오프로 다시 시도하고, 최대 시도 횟수를 넘기면 DEAD 로 남긴다.
+ */
+@Slf4j
+@Component
+public class StorageDeletionDispatcher {
+
+    // S3 DeleteObjects 한 번에 지울 수 있는 최대 개수
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final S3Service s3Service;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final long lockTimeoutMillis;
+    private final String owner;
+    private final Timer batchTimer;
+    private final Counter deletedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public StorageDeletionDispatcher(StorageDeletionRepository storageDeletionRepository,
+                                     S3Service s3Service,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${storage.deletion.enabled:true}") boolean enabled,
+                                     @Value("${storage.deletion.batch-size:100}") int batchSize,
+                                     @Value("${storage.deletion.max-batches:10}") int maxBatches,
+                                     @Value("${storage.deletion.max-attempts:8}") int maxAttempts,
+                                     @Value("${storage.deletion.retry-delay:30000}") long retryDelayMillis,
+                                     @Value("${storage.deletion.lock-timeout:600000}") long lockTimeoutMillis) {
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.s3Service = s3Service;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.min(Math.max(batchSize, 1), MAX_BATCH_SIZE);
+        this.maxBatches = maxBatches;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.batchTimer = Timer.builder("storage.deletion.batch")
+                .description("묶음 삭제 한 번에 걸린 시간")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("storage.deletion.objects")
+                .description("처리한 삭제 수")
+                .tag("result", "deleted")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("storage.deletion.objects")
+                .description("처리한 삭제 수")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("storage.deletion.objects")
+                .description("처리한 삭제 수")
+                .tag("result", "dead")
+                .register(meterRegistry);
+        Gauge.builder("storage.deletion.pending", pending, AtomicLong::get)
+                .description("대기 중인 삭제 수")
+                .register(meterRegistry);
+        Gauge.builder("storage.deletion.dead", dead, AtomicLong::get)
+                .description("최종 실패한 삭제 수")
+                .register(meterRegistry);
+        Gauge.builder("storage.deletion.lag", lagSeconds, AtomicLong::get)
+                .description("가장 오래 기다린 삭제의 대기 시간(초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한 번 돌 때 최대 max-batches 묶음까지 처리한다.
+     */
+    @Scheduled(fixedDelayString = "${storage.deletion.poll-interval:5000}")
+    public void dispatch() {
+        if (!enabled) return;
+        LocalDateTime now = LocalDateTime.now();
+        int reclaimed = storageDeletionRepository.reclaimStale(now.minusNanos(lockTimeoutMillis * 1_000_000L),
+                StorageDeletion.Status.PENDING, StorageDeletion.Status.RUNNING);
+        if (reclaimed > 0) log.warn("중단된 스토리지 삭제 {}개 재등록", reclaimed);
+
+        for (int i = 0; i < maxBatches; i++) {
+            if (dispatchBatch() < batchSize) break;
+        }
+        updateGauges();
+    }
+
+    /**
+     * 묶음 하나 처리
+     *
+     * @return 선점한 삭제 수
+     */
+    int dispatchBatch() {
+        List<Long> ids = storageDeletionRepository.findReadyIds(StorageDeletion.Status.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) return 0;
+        if (storageDeletionRepository.claim(ids, owner, LocalDateTime.now(),
+                StorageDeletion.Status.PENDING, StorageDeletion.Status.RUNNING) == 0) {
+            return ids.size();
+        }
+        List<StorageDeletion> claimed = storageDeletionRepository.findByLockedByAndStatus(owner, StorageDeletion.Status.RUNNING);
+        // 같은 객체가 여러 번 예약될 수 있으므로 이름 기준으로 한 번만 지운다.
+        List<String> names = claimed.stream().map(StorageDeletion::getObjectName).distinct().collect(Collectors.toList());
+
+        long startedAt = System.nanoTime();
+        Map<String, String> failed;
+        try {
+            failed = s3Service.deleteFiles(names);
+        } catch (RuntimeException e) {
+            failed = new HashMap<>();
+            for (String name : names) failed.put(name, e.toString());
+        }
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+
+        Map<String, String> failures = failed;
+        transactionTemplate.executeWithoutResult(tx -> complete(claimed, failures));
+        return ids.size();
+    }
+
+    private void complete(List<StorageDeletion> claimed, Map<String, String> failures) {
+        List<Long> done = new ArrayList<>();
+        for (StorageDeletion deletion : claimed) {
+            String error = failures.get(deletion.getObjectName());
+            if (error == null) {
+                done.add(deletion.getId());
+                continue;
+            }
+            StorageDeletion managed = storageDeletionRepository.findById(deletion.getId()).orElse(null);
+            if (managed == null) continue;
+            managed.fail(error, maxAttempts, retryDelayMillis);
+            if (managed.getStatus() == StorageDeletion.Status.DEAD) {
+                deadCounter.increment();
+                log.error("스토리지 삭제 최종 실패 : {} ({}회 시도) {}", managed.getObjectName(), managed.getAttempts(), error);
+            } else {
+                failedCounter.increment();
+                log.warn("스토리지 삭제 실패, 다시 시도 예정 : {} {}", managed.getObjectName(), error);
+            }
+        }
+        if (!done.isEmpty()) storageDeletionRepository.deleteAllByIdInBatch(done);
+        deletedCounter.increment(done.size());
+    }
+
+    private void updateGauges() {
+        pending.set(storageDeletionRepository.countByStatus(StorageDeletion.Status.PENDING));
+        dead.set(storageDeletionRepository.countByStatus(StorageDeletion.Status.DEAD));
+        LocalDateTime oldest = storageDeletionRepository.findOldestCreatedDate(StorageDeletion.Status.DEAD);
+        lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()));
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import lombok.RequiredArgsConstructor;
+import org.anotherclass.colortherock.domain.video.entity.StorageDeletion;
+import org.anotherclass.colortherock.domain.video.repository.StorageDeletionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스토리지 객체 삭제 예약
+ * 호출한 쪽의 트랜잭션에 묶여서 저장되므로, DB 삭제가 롤백되면 스토리지 삭제도 예약되지 않는다.
+ * 실제 삭제는 {@link StorageDeletionDispatcher} 가 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class StorageDeletionOutbox {
+
+    private final StorageDeletionRepository storageDeletionRepository;
+
+    /**
+     * 삭제 예약
+     *
+     * @param names 지울 객체 이름, null 은 건너뛴다.
+     */
+    @Transactional
+    public void enqueue(String... names) {
+        List<StorageDeletion> deletions = new ArrayList<>(names.length);
+        for (String name : names) {
+            if (name != null && !name.isBlank()) deletions.add(new StorageDeletion(name));
+        }
+        if (!deletions.isEmpty()) storageDeletionRepository.saveAll(deletions);
+    }
+}
@@ -0,0 +1,131 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * 로컬 스토리지 파일 재생
+ * 영상 구간 이동(Range 요청)과 ETag 기반 캐시 확인을 처리한다.
+ * Tomcat 이 sendfile 을 지원하면 파일 전송을 Tomcat 에 넘기고, 아니면 FileChannel.transferTo 로 보낸다.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem")
+public class StorageStreamService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileS3Service localFileS3Service;
+    private final long maxAgeSeconds;
+
+    public StorageStreamService(LocalFileS3Service localFileS3Service,
+                                @Value("${storage.local.max-age:86400}") long maxAgeSeconds) {
+        this.localFileS3Service = localFileS3Service;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    /**
+     * 파일 전송
+     * 파일 이름에 업로드 시각이 들어가서 내용이 바뀌지 않으므로 크기와 수정 시각으로 ETag 를 만든다.
+     *
+     * @param name     파일 이름
+     * @param request  요청
+     * @param response 응답
+     */
+    public void stream(String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = localFileS3Service.locate(name);
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String eTag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAgeSeconds);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range 가 지금 파일과 다르면 Range 를 무시하고 전체를 보낸다.
+        if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // 여러 구간 요청은 플레이어가 쓰지 않으므로 전체를 보낸다.
+            if (ranges.size() == 1) {
+                HttpRange requested = ranges.get(0);
+                start = requested.getRangeStart(size);
+                end = requested.getRangeEnd(size);
+                if (size == 0 || start >= size || start > end) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(length);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || length == 0) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long transferred = channel.transferTo(position, end + 1 - position, out);
+                if (transferred <= 0) throw new EOFException("파일이 전송 중에 줄어들었습니다 : " + name);
+                position += transferred;
+            }
+        }
+    }
+
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) return true;
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals(eTag)) return true;
+        }
+        return false;
+    }
+}
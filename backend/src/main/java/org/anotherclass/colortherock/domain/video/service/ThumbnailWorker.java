@@ -0,0 +1,314 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.video.dto.PreparedVideoDto;
+import org.anotherclass.colortherock.domain.video.entity.ThumbnailStatus;
+import org.anotherclass.colortherock.domain.video.entity.VideoContent;
+import org.anotherclass.colortherock.domain.video.exception.StorageObjectNotFoundException;
+import org.anotherclass.colortherock.domain.video.exception.ThumbnailUnsupportedException;
+import org.anotherclass.colortherock.domain.video.repository.VideoContentRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 썸네일 생성 워커
+ * 업로드 요청에서 전처리가 받아 둔 임시 파일을 넘겨받고, 썸네일 생성과 업로드는 별도 풀에서 처리한다.
+ * 끝나면 같은 영상을 쓰는 Video 의 썸네일을 채운다.
+ * 대기열이 가득 차거나 서버가 재시작돼서 사라진 작업은 PENDING 으로 남고, {@link #sweep} 이 스토리지에서 영상을 받아 다시 만든다.
+ */
+@Slf4j
+@Component
+public class ThumbnailWorker {
+
+    // 한 번에 다시 만들 최대 영상 수
+    private static final int SWEEP_BATCH = 20;
+    private static final String SWEEP_CONTENT_TYPE = "video/mp4";
+    private static final String SWEEP_LOCK_NAME = "thumbnail-sweep";
+
+    private final S3Service s3Service;
+    private final VideoRepository videoRepository;
+    private final VideoContentRepository videoContentRepository;
+    private final StorageDeletionOutbox storageDeletionOutbox;
+    private final ThreadPoolTaskExecutor executor;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+    private final Path spoolDir;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Timer queueWaitTimer;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter rejectedCounter;
+    private final long staleAfterMillis;
+    private final Duration sweepLockLease;
+    // 이 서버에서 만들고 있는 영상 이름, sweep 이 같은 작업을 또 넣지 않게 한다.
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailWorker(S3Service s3Service,
+                           VideoRepository videoRepository,
+                           VideoContentRepository videoContentRepository,
+                           StorageDeletionOutbox storageDeletionOutbox,
+                           @Qualifier("thumbnailExecutor") ThreadPoolTaskExecutor executor,
+                           TaskScheduler taskScheduler,
+                           PlatformTransactionManager transactionManager,
+                           JobLockService jobLockService,
+                           MaintenanceJobRunner maintenanceJobRunner,
+                           MeterRegistry meterRegistry,
+                           @Value("${video.thumbnail.spool-dir:${java.io.tmpdir}/colortherock-thumbnail}") String spoolDir,
+                           @Value("${video.thumbnail.max-attempts:3}") int maxAttempts,
+                           @Value("${video.thumbnail.retry-delay:5000}") long retryDelayMillis,
+                           @Value("${video.thumbnail.sweep.stale-after:600000}") long staleAfterMillis,
+                           @Value("${video.thumbnail.sweep.lock-lease:600000}") long sweepLockLeaseMillis) {
+        this.s3Service = s3Service;
+        this.videoRepository = videoRepository;
+        this.videoContentRepository = videoContentRepository;
+        this.storageDeletionOutbox = storageDeletionOutbox;
+        this.executor = executor;
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLockService = jobLockService;
+        this.maintenanceJobRunner = maintenanceJobRunner;
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath().normalize();
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.staleAfterMillis = staleAfterMillis;
+        this.sweepLockLease = Duration.ofMillis(sweepLockLeaseMillis);
+        this.queueWaitTimer = Timer.builder("video.thumbnail.queue.wait")
+                .description("썸네일 작업이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.successTimer = Timer.builder("video.thumbnail.processing")
+                .description("썸네일 생성과 업로드에 걸린 시간")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failureTimer = Timer.builder("video.thumbnail.processing")
+                .description("썸네일 생성과 업로드에 걸린 시간")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("video.thumbnail.rejected")
+                .description("대기열이 가득 차서 나중으로 미룬 썸네일 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("video.thumbnail.queue.size", executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+                .description("대기 중인 썸네일 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 썸네일 생성을 예약한다.
+     * {@link VideoMediaProcessor#prepare} 가 받아 둔 임시 파일을 다시 복사하지 않고 넘겨받아, 작업이 끝나면 여기서 지운다.
+     * 트랜잭션 안에서 부르면 커밋된 뒤에 작업을 넣고, 롤백되면 바로 지운다.
+     *
+     * @param prepared      업로드 전처리 결과, 임시 파일은 이제 워커 것이다.
+     * @param videoName     영상 이름
+     * @param thumbnailName 썸네일 이름
+     */
+    public void submit(PreparedVideoDto prepared, String videoName, String thumbnailName) {
+        MultipartFile video = prepared.getFile();
+        ThumbnailTask task = new ThumbnailTask(prepared.getSpoolFile(), video.getOriginalFilename(), video.getContentType(),
+                video.getSize(), videoName, thumbnailName);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(task);
+                } else {
+                    task.discard();
+                }
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${video.thumbnail.sweep.initial-delay:30000}",
+            fixedDelayString = "${video.thumbnail.sweep.interval:60000}")
+    public void scheduledSweep() {
+        // 영상을 통째로 내려받으므로 스케줄러 스레드에서 돌리지 않는다.
+        maintenanceJobRunner.submit(SWEEP_LOCK_NAME, this::sweep);
+    }
+
+    /**
+     * 올라온 지 staleAfter 가 지났는데 썸네일이 없는 영상을 다시 만든다.
+     * 같은 영상을 여러 서버가 내려받지 않도록 한 서버에서만 찾는다.
+     * 앞선 sweep 이 넣은 작업과 겹쳐도 같은 이름으로 덮어쓰므로 결과는 같다.
+     */
+    public void sweep() {
+        int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity <= 0) return;
+        String token = jobLockService.tryAcquire(SWEEP_LOCK_NAME, sweepLockLease);
+        if (token == null) return;
+        try {
+            sweepStale(capacity);
+        } finally {
+            jobLockService.release(SWEEP_LOCK_NAME, token);
+        }
+    }
+
+    private void sweepStale(int capacity) {
+        LocalDateTime threshold = LocalDateTime.now().minusNanos(staleAfterMillis * 1_000_000L);
+        List<VideoContent> stale = videoContentRepository.findByThumbnailStatusAndCreatedDateBefore(
+                ThumbnailStatus.PENDING, threshold, PageRequest.of(0, Math.min(capacity, SWEEP_BATCH)));
+        for (VideoContent content : stale) {
+            if (inFlight.contains(content.getVideoName())) continue;
+            Path source;
+            long size;
+            try (InputStream in = s3Service.download(content.getVideoName())) {
+                source = spool(in);
+                size = Files.size(source);
+            } catch (StorageObjectNotFoundException e) {
+                log.error("썸네일을 다시 만들 영상이 없습니다 : {}", content.getVideoName());
+                transactionTemplate.executeWithoutResult(tx ->
+                        videoContentRepository.updateThumbnailStatus(content.getVideoName(), ThumbnailStatus.FAILED));
+                continue;
+            } catch (IOException | RuntimeException e) {
+                log.warn("썸네일을 다시 만들 영상을 받지 못했습니다 : {}", content.getVideoName(), e);
+                continue;
+            }
+            log.info("썸네일을 다시 만듭니다 : {}", content.getVideoName());
+            enqueue(new ThumbnailTask(source, content.getVideoName(), SWEEP_CONTENT_TYPE,
+                    size, content.getVideoName(), content.getThumbnailName()));
+        }
+    }
+
+    private void enqueue(ThumbnailTask task) {
+        task.enqueuedAt = System.nanoTime();
+        inFlight.add(task.videoName);
+        try {
+            executor.execute(() -> run(task));
+        } catch (TaskRejectedException e) {
+            // 요청 스레드에서 대신 만들지 않고 PENDING 으로 둔 채 sweep 에 맡긴다.
+            rejectedCounter.increment();
+            log.warn("썸네일 대기열이 가득 차서 나중에 만듭니다 : {}", task.videoName);
+            finish(task);
+        }
+    }
+
+    private void run(ThumbnailTask task) {
+        long startedAt = System.nanoTime();
+        queueWaitTimer.record(startedAt - task.enqueuedAt, TimeUnit.NANOSECONDS);
+        task.attempts++;
+        try {
+            MultipartFile video = new SpooledMultipartFile(task.source, task.originalFilename, task.contentType, task.size);
+            String thumbnailURL = s3Service.uploadThumbnail(video, task.thumbnailName);
+            complete(task, thumbnailURL, ThumbnailStatus.READY);
+            successTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            finish(task);
+        } catch (ThumbnailUnsupportedException e) {
+            // 다시 해도 같으므로 재시도하지 않고, sweep 도 PENDING 만 찾으므로 다시 잡지 않는다.
+            log.info("이 스토리지에서는 썸네일을 만들지 않습니다 : {}", task.videoName);
+            complete(task, null, ThumbnailStatus.UNSUPPORTED);
+            finish(task);
+        } catch (RuntimeException e) {
+            failureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (task.attempts < maxAttempts) {
+                long delay = retryDelayMillis * (1L << (task.attempts - 1));
+                log.warn("썸네일 생성 실패, {}ms 후 재시도 : {}", delay, task.videoName, e);
+                taskScheduler.schedule(() -> enqueue(task), Instant.now().plusMillis(delay));
+                return;
+            }
+            log.error("썸네일 생성 최종 실패 : {} ({}회 시도)", task.videoName, task.attempts, e);
+            complete(task, null, ThumbnailStatus.FAILED);
+            finish(task);
+        }
+    }
+
+    private void finish(ThumbnailTask task) {
+        inFlight.remove(task.videoName);
+        task.discard();
+    }
+
+    /**
+     * 썸네일을 기다리던 Video 를 id 로 갱신한다. 실패하거나 만들 수 없으면 상태만 바꾸고 기본 썸네일은 그대로 둔다.
+     */
+    private void complete(ThumbnailTask task, String thumbnailURL, ThumbnailStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Long> ids = videoRepository.findIdsByVideoNameAndThumbnailStatus(task.videoName, ThumbnailStatus.PENDING);
+            if (status == ThumbnailStatus.READY) {
+                if (!ids.isEmpty()) videoRepository.updateThumbnail(ids, thumbnailURL, status);
+            } else if (!ids.isEmpty()) {
+                videoRepository.updateThumbnailStatus(ids, status);
+            }
+            int updated = status == ThumbnailStatus.READY
+                    ? videoContentRepository.updateThumbnail(task.videoName, thumbnailURL, status)
+                    : videoContentRepository.updateThumbnailStatus(task.videoName, status);
+            // 기다리는 동안 영상이 모두 지워졌으면 방금 올린 썸네일은 쓰이지 않는다.
+            if (status == ThumbnailStatus.READY && updated == 0) {
+                storageDeletionOutbox.enqueue(task.thumbnailName);
+            }
+        });
+    }
+
+    private Path spool(InputStream in) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path source = spoolDir.resolve(UUID.randomUUID().toString());
+        Files.copy(in, source, StandardCopyOption.REPLACE_EXISTING);
+        return source;
+    }
+
+    /**
+     * 썸네일 작업 하나
+     */
+    private static class ThumbnailTask {
+        private final Path source;
+        private final String originalFilename;
+        private final String contentType;
+        private final long size;
+        private final String videoName;
+        private final String thumbnailName;
+        private volatile long enqueuedAt;
+        private volatile int attempts;
+
+        private ThumbnailTask(Path source, String originalFilename, String contentType, long size, String videoName, String thumbnailName) {
+            this.source = source;
+            this.originalFilename = originalFilename;
+            this.contentType = contentType;
+            this.size = size;
+            this.videoName = videoName;
+            this.thumbnailName = thumbnailName;
+        }
+
+        private void discard() {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException e) {
+                log.warn("썸네일 임시 파일 삭제 실패 : {}", source, e);
+            }
+        }
+    }
+}
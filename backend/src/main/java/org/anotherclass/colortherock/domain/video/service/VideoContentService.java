@@ -0,0 +1,149 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.video.dto.PreparedVideoDto;
+import org.anotherclass.colortherock.domain.video.dto.StoredVideoDto;
+import org.anotherclass.colortherock.domain.video.entity.ThumbnailStatus;
+import org.anotherclass.colortherock.domain.video.entity.VideoContent;
+import org.anotherclass.colortherock.domain.video.repository.VideoContentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+
+/**
+ * 영상 내용 기준 중복 제거
+ * 같은 내용의 영상이 이미 올라가 있으면 스토리지 객체와 썸네일을 재사용하고 참조 수만 올린다.
+ * 스토리지 업로드는 트랜잭션 밖에서 하고, 트랜잭션에서는 참조 수만 등록한다.
+ * 새 영상의 썸네일은 호출한 쪽에서 {@link ThumbnailWorker} 에 넘긴다.
+ * 스토리지 객체는 마지막 참조가 사라질 때 같은 트랜잭션에서 삭제를 예약한다.
+ */
+@Slf4j
+@Service
+public class VideoContentService {
+
+    private final VideoContentRepository videoContentRepository;
+    private final S3Service s3Service;
+    private final StorageDeletionOutbox storageDeletionOutbox;
+    private final EntityManager entityManager;
+    private final String placeholderThumbnailURL;
+
+    public VideoContentService(VideoContentRepository videoContentRepository,
+                               S3Service s3Service,
+                               StorageDeletionOutbox storageDeletionOutbox,
+                               EntityManager entityManager,
+                               @Value("${video.thumbnail.placeholder-url:}") String placeholderThumbnailURL) {
+        this.videoContentRepository = videoContentRepository;
+        this.s3Service = s3Service;
+        this.storageDeletionOutbox = storageDeletionOutbox;
+        this.entityManager = entityManager;
+        this.placeholderThumbnailURL = placeholderThumbnailURL;
+    }
+
+    /**
+     * 영상 업로드
+     * 큰 전송 동안 행 잠금을 잡지 않도록 트랜잭션 밖에서 부른다.
+     * 같은 내용이 이미 등록돼 있으면 올리지 않고 null 을 돌려준다.
+     *
+     * @param prepared  전처리한 영상과 내용 해시
+     * @param videoName 새로 올릴 때 사용할 영상 이름
+     * @return 올린 영상 URL, 재사용할 거라 올리지 않았으면 null
+     */
+    public String upload(PreparedVideoDto prepared, String videoName) {
+        if (videoContentRepository.existsById(prepared.getHash())) return null;
+        return s3Service.upload(prepared.getFile(), videoName);
+    }
+
+    /**
+     * 영상 저장
+     * 내용 해시가 같은 영상이 있으면 참조 수만 올리고 기존 객체를 돌려준다.
+     * 해시는 {@link VideoMediaProcessor#prepare} 가 임시 파일을 쓰면서 계산한 값을 쓴다.
+     *
+     * @param prepared      전처리한 영상과 내용 해시
+     * @param videoName     새로 올릴 때 사용할 영상 이름
+     * @param s3URL         {@link #upload} 로 미리 올린 영상 URL, 올리지 않았으면 null
+     * @param thumbnailName 새로 올릴 때 사용할 썸네일 이름
+     * @return {@link StoredVideoDto} 실제로 사용할 영상, 썸네일 이름과 URL, 영상 이름이 videoName 이면 새로 올린 것이다.
+     */
+    @Transactional
+    public StoredVideoDto store(PreparedVideoDto prepared, String videoName, String s3URL, String thumbnailName) {
+        String hash = prepared.getHash();
+        // 미리 올린 객체는 등록이 롤백되면 지운다.
+        if (s3URL != null) deleteOnRollback(videoName);
+        Optional<VideoContent> existing = videoContentRepository.findById(hash);
+        // 찾은 뒤 지워졌으면 참조 수가 안 올라가므로 새로 등록한다.
+        if (existing.isPresent() && videoContentRepository.increaseRefCount(hash) == 1) {
+            // 같은 트랜잭션에서 release 가 옛 참조 수로 빼지 않도록 올린 값을 다시 읽는다.
+            entityManager.refresh(existing.get());
+            // 올리는 사이에 같은 내용이 먼저 등록됐으면 방금 올린 객체는 쓰지 않는다.
+            if (s3URL != null) storageDeletionOutbox.enqueue(videoName);
+            return new StoredVideoDto(existing.get());
+        }
+
+        if (s3URL == null) {
+            // 재사용하려던 내용이 그 사이 지워진 경우에만 트랜잭션 안에서 올린다.
+            s3URL = s3Service.upload(prepared.getFile(), videoName);
+            deleteOnRollback(videoName);
+        }
+        // 썸네일은 워커가 만들 때까지 기본 썸네일을 보여준다.
+        videoContentRepository.upsert(hash, videoName, s3URL, thumbnailName, placeholderThumbnailURL,
+                ThumbnailStatus.PENDING.name(), prepared.getFile().getSize());
+
+        // Member 등 이 트랜잭션에서 읽은 다른 객체는 그대로 두고, 앞에서 읽은 이 내용만 다시 읽는다.
+        VideoContent content;
+        if (existing.isPresent()) {
+            content = existing.get();
+            entityManager.refresh(content);
+        } else {
+            content = videoContentRepository.findById(hash)
+                    .orElseThrow(() -> new IllegalStateException("영상 내용 등록 실패 : " + hash));
+        }
+        if (!content.getVideoName().equals(videoName)) {
+            // 같은 내용이 동시에 올라와서 다른 요청이 먼저 등록한 경우, 방금 올린 객체는 쓰지 않는다.
+            storageDeletionOutbox.enqueue(videoName);
+        }
+        return new StoredVideoDto(content);
+    }
+
+    /**
+     * 영상 참조 해제
+     * 마지막 참조면 스토리지에서 영상과 썸네일 삭제를 예약한다.
+     * 색인이 생기기 전에 올라간 영상은 참조를 셀 수 없으므로 바로 삭제를 예약한다.
+     *
+     * @param videoName     영상 이름
+     * @param thumbnailName 썸네일 이름
+     */
+    @Transactional
+    public void release(String videoName, String thumbnailName) {
+        Optional<VideoContent> found = videoContentRepository.findByVideoNameForUpdate(videoName);
+        if (found.isEmpty()) {
+            storageDeletionOutbox.enqueue(videoName, thumbnailName);
+            return;
+        }
+        VideoContent content = found.get();
+        if (content.release()) {
+            videoContentRepository.delete(content);
+            storageDeletionOutbox.enqueue(content.getVideoName(), content.getThumbnailName());
+        }
+    }
+
+    private void deleteOnRollback(String... names) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) deleteAll(names);
+            }
+        });
+    }
+
+    private void deleteAll(String... names) {
+        for (String name : names) {
+            if (name != null) s3Service.deleteFile(name);
+        }
+    }
+}
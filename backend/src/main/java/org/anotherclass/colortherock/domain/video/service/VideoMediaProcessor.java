@@ -0,0 +1,126 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.video.dto.PreparedVideoDto;
+import org.anotherclass.colortherock.domain.video.dto.VideoMetadataDto;
+import org.anotherclass.colortherock.domain.video.exception.VideoUploadException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * 업로드 직전 영상 전처리
+ * MP4/MOV 는 바로 재생되도록 faststart 로 다시 쓰고, 재생 시간/해상도/코덱을 읽는다.
+ * 형식을 읽지 못하는 영상은 원본 그대로 올린다.
+ */
+@Slf4j
+@Component
+public class VideoMediaProcessor {
+
+    private final Mp4FastStart mp4FastStart;
+    private final Path spoolDir;
+
+    public VideoMediaProcessor(@Value("${video.faststart.spool-dir:${java.io.tmpdir}/colortherock-faststart}") String spoolDir,
+                               @Value("${video.faststart.max-moov-size:67108864}") long maxMoovSize) {
+        this.mp4FastStart = new Mp4FastStart(maxMoovSize);
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 영상 전처리
+     * 업로드된 영상을 임시 파일로 한 번 받아 두고, 업로드와 썸네일 생성은 모두 이 파일을 읽는다.
+     * 중복 제거에 쓰는 SHA-256 은 받아 두는 동안 같이 계산해서 파일을 다시 읽지 않는다.
+     * 만든 임시 파일은 호출한 쪽이 {@link ThumbnailWorker} 에 넘기거나 {@link #discard} 로 지운다.
+     *
+     * @param newVideo 업로드된 영상
+     * @return {@link PreparedVideoDto} 업로드할 파일, 메타데이터와 내용 해시
+     */
+    public PreparedVideoDto prepare(MultipartFile newVideo) {
+        Path source = spoolDir.resolve(UUID.randomUUID().toString());
+        MessageDigest digest = sha256();
+        try {
+            Files.createDirectories(spoolDir);
+            try (InputStream in = new DigestInputStream(newVideo.getInputStream(), digest)) {
+                Files.copy(in, source, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteQuietly(source);
+            throw new VideoUploadException(e);
+        }
+        // faststart 는 원본으로 정해지므로 원본 해시로 같은 내용을 찾는다.
+        String hash = toHex(digest.digest());
+        if (!isMp4(newVideo.getOriginalFilename())) return spooled(newVideo, source, null, hash);
+
+        Path target = spoolDir.resolve(source.getFileName() + ".faststart");
+        try {
+            Mp4FastStart.Result result = mp4FastStart.process(source, target);
+            if (!result.isRewritten()) return spooled(newVideo, source, result.getMetadata(), hash);
+            // 다시 쓴 파일만 남긴다.
+            deleteQuietly(source);
+            return spooled(newVideo, target, result.getMetadata(), hash);
+        } catch (IOException | RuntimeException e) {
+            log.warn("MP4 처리 실패, 원본을 그대로 올립니다 : {}", newVideo.getOriginalFilename(), e);
+            deleteQuietly(target);
+            return spooled(newVideo, source, null, hash);
+        }
+    }
+
+    /**
+     * {@link #prepare} 가 만든 임시 파일을 지운다. 썸네일 워커에 넘긴 파일은 워커가 지운다.
+     */
+    public void discard(PreparedVideoDto prepared) {
+        deleteQuietly(prepared.getSpoolFile());
+    }
+
+    private PreparedVideoDto spooled(MultipartFile newVideo, Path file, VideoMetadataDto metadata, String hash) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new VideoUploadException(e);
+        }
+        MultipartFile spooled = new SpooledMultipartFile(file, newVideo.getOriginalFilename(), newVideo.getContentType(), size);
+        return new PreparedVideoDto(spooled, metadata, file, hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    private boolean isMp4(String fileName) {
+        if (fileName == null) return false;
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".mp4") || lower.endsWith(".mov");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("업로드 임시 파일 삭제 실패 : {}", file, e);
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package org.anotherclass.colortherock.domain.video.service;
 
 import lombok.AllArgsConstructor;
+import org.anotherclass.colortherock.domain.gym.service.GymAutocompleteService;
+import org.anotherclass.colortherock.domain.gym.service.GymResolver;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.member.entity.MemberDetails;
 import org.anotherclass.colortherock.domain.member.exception.MemberNotFoundException;
 import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
 import org.anotherclass.colortherock.domain.memberrecord.exception.WrongMemberException;
 import org.anotherclass.colortherock.domain.memberrecord.response.VideoListResponse;
+import org.anotherclass.colortherock.domain.memberrecord.service.RecordService;
 import org.anotherclass.colortherock.domain.video.dto.DeletedVideoDto;
+import org.anotherclass.colortherock.domain.video.dto.PreparedVideoDto;
+import org.anotherclass.colortherock.domain.video.dto.StoredVideoDto;
+import org.anotherclass.colortherock.domain.video.dto.VideoMetadataDto;
 import org.anotherclass.colortherock.domain.video.entity.Video;
 import org.anotherclass.colortherock.domain.video.exception.NotVideoExtensionException;
 import org.anotherclass.colortherock.domain.video.exception.VideoFileNameHasNotExtensionException;
@@ -16,69 +22,101 @@ import org.anotherclass.colortherock.domain.video.repository.VideoReadRepository
 import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
 import org.anotherclass.colortherock.domain.video.request.MySuccessVideoRequest;
 import org.anotherclass.colortherock.domain.video.request.UploadVideoRequest;
+import org.anotherclass.colortherock.domain.videoboard.repository.BoardGymIndex;
 import org.anotherclass.colortherock.domain.videoboard.request.LocalSuccessVideoUploadRequest;
+import org.anotherclass.colortherock.domain.videoboard.service.SuccessFeedCache;
 import org.anotherclass.colortherock.global.error.GlobalErrorCode;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class VideoService {
-    private final S3Service s3Service;
+    private final VideoContentService videoContentService;
+    private final VideoMediaProcessor videoMediaProcessor;
+    private final ThumbnailWorker thumbnailWorker;
     private final MemberRepository memberRepository;
     private final VideoRepository videoRepository;
     private final VideoReadRepository videoReadRepository;
+    private final RecordService recordService;
+    private final SuccessFeedCache successFeedCache;
+    private final BoardGymIndex boardGymIndex;
+    private final GymResolver gymResolver;
+    private final GymAutocompleteService gymAutocompleteService;
+    private final TransactionTemplate transactionTemplate;
 
     private static final Integer PAGE_SIZE = 15;
 
     /**
      * 로컬에 있는 성공 영상 올리기
+     * 영상 전송은 트랜잭션 밖에서 하고, 참조 수 등록과 영상 저장, 누적 통계만 한 트랜잭션으로 묶는다.
      *
      * @param memberDetails 인증된 멤버 객체
      * @param newVideo      저장할 새로운 비디오
      * @param request       {@link LocalSuccessVideoUploadRequest}
      * @return 저장한 비디오 id
      */
-    @Transactional
     public Long uploadSuccessVideo(MemberDetails memberDetails,
                                    MultipartFile newVideo,
                                    LocalSuccessVideoUploadRequest request) {
         Member member = memberRepository.findById(memberDetails.getMember().getId())
                 .orElseThrow(() -> new MemberNotFoundException(GlobalErrorCode.USER_NOT_FOUND));
-        // S3 영상 저장 후 URL 얻어오기
         String videoName = extractValidVideoName(member, newVideo);
-        String s3URL = s3Service.upload(newVideo, videoName);
-        // 썸네일 이미지 생성하여 S3 저장 후 URL 얻어오기
         String thumbnailName = extractValidThumbName(member);
-        String thumbnailURL = s3Service.uploadThumbnail(newVideo, thumbnailName);
-        // request와 URL, name 을 DB에 저장
-        return saveSuccessVideo(member, videoName, s3URL, thumbnailName, thumbnailURL, request);
+        // 바로 재생되도록 moov 를 앞으로 옮기고 재생 시간, 해상도, 코덱과 내용 해시 읽기
+        PreparedVideoDto prepared = videoMediaProcessor.prepare(newVideo);
+        // 같은 영상이 이미 있으면 재사용하고, 없으면 영상을 S3 저장 후 URL 얻어오기(썸네일은 워커가 생성)
+        return store(prepared, videoName, thumbnailName, stored -> {
+            // request와 URL, name 을 DB에 저장
+            Long videoId = saveSuccessVideo(member, stored.getVideoName(), stored.getS3URL(), stored.getThumbnailName(), stored.getThumbnailURL(), request);
+            // 썸네일이 아직 만들어지는 중이면 상태 표시, 영상 저장과 같은 트랜잭션에서 누적 통계 증가
+            videoRepository.findById(videoId).ifPresent(video -> {
+                video.changeThumbnailStatus(stored.getThumbnailStatus());
+                applyMetadata(video, prepared.getMetadata());
+                video.changeGym(gymResolver.resolve(video.getGymName()));
+                gymAutocompleteService.record(video.getGymName());
+                recordService.addVideoStat(video);
+            });
+            return videoId;
+        });
     }
 
     /**
      * 로컬 영상 개인 기록용 업로드
+     * 영상 전송은 트랜잭션 밖에서 하고, 참조 수 등록과 영상 저장, 누적 통계만 한 트랜잭션으로 묶는다.
      * @param memberDetails 인증된 사용자 객체
      * @param newVideo 업로드할 내 영상
      * @param request {@link UploadVideoRequest}
      */
-    @Transactional
     public void uploadMyVideo(MemberDetails memberDetails, MultipartFile newVideo, UploadVideoRequest request) {
         Member member = memberRepository.findById(memberDetails.getMember().getId())
                 .orElseThrow(() -> new MemberNotFoundException(GlobalErrorCode.USER_NOT_FOUND));
-        // S3 영상 저장 후 URL 얻어오기
         String videoName = extractValidVideoName(member, newVideo);
-        String s3URL = s3Service.upload(newVideo, videoName);
-        // 썸네일 이미지 생성하여 S3 저장 후 URL 얻어오기
         String thumbnailName = extractValidThumbName(member);
-        String thumbnailURL = s3Service.uploadThumbnail(newVideo, thumbnailName);
-        videoRepository.save(request.toEntity(member, s3URL, thumbnailURL, videoName, thumbnailName, false));
+        // 바로 재생되도록 moov 를 앞으로 옮기고 재생 시간, 해상도, 코덱과 내용 해시 읽기
+        PreparedVideoDto prepared = videoMediaProcessor.prepare(newVideo);
+        // 같은 영상이 이미 있으면 재사용하고, 없으면 영상을 S3 저장 후 URL 얻어오기(썸네일은 워커가 생성)
+        store(prepared, videoName, thumbnailName, stored -> {
+            Video video = request.toEntity(member, stored.getS3URL(), stored.getThumbnailURL(), stored.getVideoName(), stored.getThumbnailName(), false);
+            video.changeThumbnailStatus(stored.getThumbnailStatus());
+            applyMetadata(video, prepared.getMetadata());
+            video.changeGym(gymResolver.resolve(video.getGymName()));
+            videoRepository.save(video);
+            gymAutocompleteService.record(video.getGymName());
+            // 영상 저장과 같은 트랜잭션에서 누적 통계 증가
+            recordService.addVideoStat(video);
+            return video.getId();
+        });
     }
 
 
@@ -141,10 +179,31 @@ public class VideoService {
         Boolean isVideoSuccess = video.getIsSuccess();
         if (member.getId().longValue() != video.getMember().getId().longValue())
             throw new WrongMemberException(GlobalErrorCode.NOT_VIDEO_OWNER);
-        videoRepository.deleteById(videoId);
+        removeVideo(video);
         return new DeletedVideoDto(videoName, isVideoSuccess);
     }
 
+    /**
+     * 영상 삭제
+     * 사용자 삭제와 신고 영상 삭제가 같이 쓴다. 누적 통계, 캘린더, 방문 날짜, 암장 랭킹도 한 트랜잭션에서 뺀다.
+     *
+     * @param video 지울 영상
+     */
+    @Transactional
+    public void removeVideo(Video video) {
+        // 다른 영상이 같은 객체를 쓰고 있지 않으면 S3 삭제 예약, 영상 삭제와 누적 통계 감소를 한 트랜잭션에서 처리
+        videoContentService.release(video.getVideoName(), video.getThumbnailName());
+        // 게시판에 올린 영상이면 게시글도 같이 지워진다.
+        Long videoBoardId = video.getVideoBoard() == null ? null : video.getVideoBoard().getId();
+        videoRepository.delete(video);
+        gymAutocompleteService.remove(video.getGymName());
+        recordService.subVideoStat(video);
+        if (videoBoardId != null) {
+            successFeedCache.evict(video.getGymName(), video.getColor());
+            boardGymIndex.remove(videoBoardId);
+        }
+    }
+
     /**
      * 영상 파일 확장자 validation
      * @param member 사용자
@@ -165,6 +224,35 @@ public class VideoService {
         return System.currentTimeMillis() + member.getNickname() + "." + extension;
     }
 
+    /**
+     * 전처리한 임시 파일로 영상을 저장한다.
+     * 스토리지 전송은 트랜잭션 밖에서 하고, 참조 수 등록과 save 만 한 트랜잭션에서 실행한다.
+     * 새로 올린 영상이면 커밋 뒤에 임시 파일을 썸네일 워커에 넘기고(워커가 지운다), 같은 내용을 재사용했거나 실패하면 여기서 지운다.
+     */
+    private <T> T store(PreparedVideoDto prepared, String videoName, String thumbnailName, Function<StoredVideoDto, T> save) {
+        boolean handedOver = false;
+        try {
+            String s3URL = videoContentService.upload(prepared, videoName);
+            AtomicReference<StoredVideoDto> stored = new AtomicReference<>();
+            T result = transactionTemplate.execute(status -> {
+                stored.set(videoContentService.store(prepared, videoName, s3URL, thumbnailName));
+                return save.apply(stored.get());
+            });
+            if (stored.get().getVideoName().equals(videoName)) {
+                thumbnailWorker.submit(prepared, videoName, thumbnailName);
+                handedOver = true;
+            }
+            return result;
+        } finally {
+            if (!handedOver) videoMediaProcessor.discard(prepared);
+        }
+    }
+
+    private void applyMetadata(Video video, VideoMetadataDto metadata) {
+        if (metadata == null) return;
+        video.updateMediaInfo(metadata.getDuration(), metadata.getWidth(), metadata.getHeight(), metadata.getCodec());
+    }
+
     /**
      * 섬네일용 파일 이름 만들기
      * @param member 사용
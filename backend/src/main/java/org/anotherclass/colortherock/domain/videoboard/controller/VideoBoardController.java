@@ -9,8 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.member.entity.MemberDetails;
 import org.anotherclass.colortherock.domain.memberrecord.response.VideoListResponse;
-import org.anotherclass.colortherock.domain.memberrecord.service.RecordService;
 import org.anotherclass.colortherock.domain.video.request.MySuccessVideoRequest;
+import org.anotherclass.colortherock.domain.video.service.ChunkedUploadService;
 import org.anotherclass.colortherock.domain.video.service.VideoService;
 import org.anotherclass.colortherock.domain.videoboard.request.LocalSuccessVideoUploadRequest;
 import org.anotherclass.colortherock.domain.videoboard.request.SuccessPostUpdateRequest;
@@ -38,7 +38,7 @@ import java.util.List;
 public class VideoBoardController {
     private final VideoBoardService videoBoardService;
     private final VideoService videoService;
-    private final RecordService recordService;
+    private final ChunkedUploadService chunkedUploadService;
 
     @Operation(description = "완등 영상 전체 리스트 조회 API", summary = "완등 영상 전체 리스트 조회 API")
     @ApiResponse(responseCode = "200", description = "완등 영상 목록 조회 성공", content = @Content(schema = @Schema(implementation = VideoBoardSummaryResponse.class)))
@@ -66,8 +66,24 @@ public class VideoBoardController {
                 .build();
         Member member = memberDetails.getMember();
         Long videoBoardId = videoBoardService.uploadMySuccessVideoPost(member.getId(), request);
-        // 운동기록 통계 카운트 증가
-        recordService.addVideoCount(member, true);
+        return new BaseResponse<>(videoBoardId);
+    }
+
+    @Operation(description = "완등 영상 게시글 올리기(나눠 올린 로컬 영상으로 완료), 세션을 만든 서버로 보내야 한다.", summary = "완등 영상 게시글 올리기(나눠 올린 로컬 영상으로 완료)")
+    @ApiResponse(responseCode = "200", description = "운동 영상 올리기 성공", content = @Content(schema = @Schema(implementation = Long.class)))
+    @ApiResponse(responseCode = "404", description = "이 서버에 업로드 세션이 없음(V400)")
+    @PreAuthorizeMember
+    @PostMapping("/board/local/upload/{uploadId}")
+    public BaseResponse<Long> commitChunkedSuccessPost(@AuthenticationPrincipal MemberDetails memberDetails, @PathVariable String uploadId, @Valid @RequestBody LocalSuccessVideoUploadRequest localSuccessVideoUploadRequest) {
+        Member member = memberDetails.getMember();
+        Long videoId = chunkedUploadService.commit(member.getId(), uploadId,
+                newVideo -> videoService.uploadSuccessVideo(memberDetails, newVideo, localSuccessVideoUploadRequest));
+        // 운동 게시글 업로드
+        SuccessVideoUploadRequest request = SuccessVideoUploadRequest.builder()
+                .title(localSuccessVideoUploadRequest.getTitle())
+                .videoId(videoId)
+                .build();
+        Long videoBoardId = videoBoardService.uploadMySuccessVideoPost(member.getId(), request);
         return new BaseResponse<>(videoBoardId);
     }
 
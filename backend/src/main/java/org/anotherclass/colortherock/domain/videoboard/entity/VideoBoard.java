@@ -17,7 +17,12 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "video_board")
+// 게시판 목록과 내 게시글 목록을 숨김 여부로 거르고 id 역순으로 읽는다.
+@Table(name = "video_board",
+        indexes = {
+                @Index(name = "IDX_video_board_hidden", columnList = "is_hidden, id"),
+                @Index(name = "IDX_video_board_member_hidden", columnList = "member_id, is_hidden, id")
+        })
 public class VideoBoard extends BaseTime {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
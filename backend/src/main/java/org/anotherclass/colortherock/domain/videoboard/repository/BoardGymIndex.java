@@ -0,0 +1,56 @@
+package org.anotherclass.colortherock.domain.videoboard.repository;
+
+import org.anotherclass.colortherock.global.common.GymNameDto;
+import org.anotherclass.colortherock.global.common.GymNameIndexer;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 완등 영상 게시판 암장 검색 색인
+ * 숨김 여부와 상관없이 모든 게시글을 넣고, 숨김과 색상은 DB 에서 확인한다.
+ * 다른 서버에서 영상의 암장 이름을 바꾸면 gym_name_updated_at 으로 읽어 온다.
+ */
+@Component
+public class BoardGymIndex extends GymNameIndexer {
+
+    private final VideoBoardRepository videoBoardRepository;
+    private final MaintenanceJobRunner maintenanceJobRunner;
+
+    public BoardGymIndex(VideoBoardRepository videoBoardRepository,
+                         MaintenanceJobRunner maintenanceJobRunner,
+                         @Value("${board.gym-index.enabled:true}") boolean enabled,
+                         @Value("${board.gym-index.scan-size:1000}") int scanSize,
+                         @Value("${board.gym-index.rescan-window:200}") int rescanWindow,
+                         @Value("${board.gym-index.max-lag:15000}") long maxLagMillis) {
+        super("게시판", enabled, scanSize, rescanWindow, maxLagMillis);
+        this.videoBoardRepository = videoBoardRepository;
+        this.maintenanceJobRunner = maintenanceJobRunner;
+    }
+
+    @Override
+    protected List<GymNameDto> load(Long lastId, Pageable pageable) {
+        return videoBoardRepository.findGymNames(lastId, pageable);
+    }
+
+    @Override
+    protected List<GymNameDto> loadChanged(LocalDateTime since, Pageable pageable) {
+        return videoBoardRepository.findChangedGymNames(since, pageable);
+    }
+
+    @Scheduled(fixedDelayString = "${board.gym-index.refresh-interval:5000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    @Scheduled(cron = "${board.gym-index.rebuild.cron:0 10 * * * *}")
+    public void scheduledRebuild() {
+        // 전체를 다시 읽으므로 스케줄러 스레드에서 돌리지 않는다.
+        maintenanceJobRunner.submit("board-gym-index-rebuild", this::rebuild);
+    }
+}
@@ -1,6 +1,7 @@
 package org.anotherclass.colortherock.domain.videoboard.repository;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
 import org.anotherclass.colortherock.domain.videoboard.request.VideoBoardSearchRequest;
@@ -23,9 +24,11 @@ public class VideoBoardReadRepository {
 
 
     private final JPAQueryFactory query;
+    private final BoardGymIndex boardGymIndex;
 
-    public VideoBoardReadRepository(EntityManager em) {
+    public VideoBoardReadRepository(EntityManager em, BoardGymIndex boardGymIndex) {
         this.query = new JPAQueryFactory(em);
+        this.boardGymIndex = boardGymIndex;
     }
 
 
@@ -35,30 +38,36 @@ public class VideoBoardReadRepository {
         String gymNameCond = condition.getGymName();
         String colorCond = condition.getColor();
 
-        List<VideoBoardSummaryResponse> fetch = query.select(new QVideoBoardSummaryResponse(
-                        videoBoard.id,
-                        videoBoard.title,
-                        video.thumbnailURL,
-                        video.color,
-                        video.gymName,
-                        videoBoard.createdDate
-                ))
-                .from(videoBoard)
-                .join(video)
-                .on(videoBoard.id.eq(video.id))
-                .where(
-                        // 숨김처리 되어 있지 않은 영상만 가져오기
-                        videoBoard.isHidden.eq(false),
-                        // no-offset 페이징 처리
-                        checkStoreId(lastStoreId),
-                        // 암장 검색
-                        checkGymName(gymNameCond),
-                        // 색상 검색
-                        checkColor(colorCond)
-                )
-                .orderBy(videoBoard.id.desc())
-                .limit(pageable.getPageSize() + 1L)
-                .fetch();
+        List<VideoBoardSummaryResponse> fetch;
+        if (boardGymIndex.isAvailable(gymNameCond)) {
+            // 암장 검색은 색인에서 고른 후보 id 만 DB 에서 확인한다.
+            fetch = boardGymIndex.search(gymNameCond, isFirstPage(lastStoreId) ? null : lastStoreId, pageable.getPageSize() + 1,
+                    ids -> summaryQuery()
+                            .where(
+                                    videoBoard.id.in(ids),
+                                    videoBoard.isHidden.eq(false),
+                                    // 다른 서버에서 암장을 바꿨을 수 있으므로 한 번 더 확인한다.
+                                    checkGymName(gymNameCond),
+                                    checkColor(colorCond)
+                            )
+                            .orderBy(videoBoard.id.desc())
+                            .fetch());
+        } else {
+            fetch = summaryQuery()
+                    .where(
+                            // 숨김처리 되어 있지 않은 영상만 가져오기
+                            videoBoard.isHidden.eq(false),
+                            // no-offset 페이징 처리
+                            checkStoreId(lastStoreId),
+                            // 암장 검색
+                            checkGymName(gymNameCond),
+                            // 색상 검색
+                            checkColor(colorCond)
+                    )
+                    .orderBy(videoBoard.id.desc())
+                    .limit(pageable.getPageSize() + 1L)
+                    .fetch();
+        }
 
         boolean hasNext = false;
 
@@ -72,6 +81,20 @@ public class VideoBoardReadRepository {
         // 무한 스크롤 처리
     }
 
+    private JPAQuery<VideoBoardSummaryResponse> summaryQuery() {
+        return query.select(new QVideoBoardSummaryResponse(
+                        videoBoard.id,
+                        videoBoard.title,
+                        video.thumbnailURL,
+                        video.color,
+                        video.gymName,
+                        videoBoard.createdDate
+                ))
+                .from(videoBoard)
+                .join(video)
+                .on(videoBoard.id.eq(video.id));
+    }
+
     public Slice<VideoBoard> getMySuccessPosts(Long memberId, Long storeId, Pageable pageable) {
 
         List<VideoBoard> results = query.selectFrom(videoBoard)
@@ -94,13 +117,17 @@ public class VideoBoardReadRepository {
 
     // no-offset 방식 처리하는 메서드 (storeId가 없을 경우, 있을 경우)
     private BooleanExpression checkStoreId(Long storeId) {
-        if (storeId == null || storeId == -1L) {
+        if (isFirstPage(storeId)) {
             return null;
         }
 
         return videoBoard.id.lt(storeId);
     }
 
+    private static boolean isFirstPage(Long storeId) {
+        return storeId == null || storeId == -1L;
+    }
+
     // 암장 검색을 처리하는 메서드
     private BooleanExpression checkGymName(String gymNameCond) {
         if (gymNameCond == null || gymNameCond.isBlank()) {
@@ -1,6 +1,8 @@
 package org.anotherclass.colortherock.domain.videoboard.repository;
 
 import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
+import org.anotherclass.colortherock.global.common.GymNameDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface VideoBoardRepository extends JpaRepository<VideoBoard, Long> {
@@ -19,5 +22,18 @@ public interface VideoBoardRepository extends JpaRepository<VideoBoard, Long> {
     @Query(value = " update video_board vb set vb.is_hidden = :state where vb.id = :id and (select count(*) from report r where r.video_board_id = :id) >=5", nativeQuery = true)
     int changeHiddenState(@Param("id") Long id, @Param("state") boolean state);
 
+    /**
+     * 게시글 영상의 암장 이름을 id 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.global.common.GymNameDto(vb.id, v.gymName) " +
+            "from VideoBoard vb join vb.video v where vb.id > :lastId order by vb.id")
+    List<GymNameDto> findGymNames(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * since 뒤에 영상의 암장 이름을 바꾼 게시글을 바꾼 시각 순으로 끊어서 읽는다.
+     */
+    @Query("select new org.anotherclass.colortherock.global.common.GymNameDto(vb.id, v.gymName) " +
+            "from VideoBoard vb join vb.video v where v.gymNameUpdatedAt >= :since order by v.gymNameUpdatedAt, vb.id")
+    List<GymNameDto> findChangedGymNames(@Param("since") LocalDateTime since, Pageable pageable);
 
 }
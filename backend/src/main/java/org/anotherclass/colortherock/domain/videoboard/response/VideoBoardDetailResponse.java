@@ -22,5 +22,11 @@ public class VideoBoardDetailResponse {
     private String s3URL;
     @Schema(description = "글 쓴 시간")
     private LocalDate createdDate;
+    @Schema(description = "재생 시간(초)")
+    private Double duration;
+    @Schema(description = "영상 가로 크기")
+    private Integer width;
+    @Schema(description = "영상 세로 크기")
+    private Integer height;
 
 }
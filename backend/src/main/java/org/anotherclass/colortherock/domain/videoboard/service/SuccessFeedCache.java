@@ -0,0 +1,259 @@
+package org.anotherclass.colortherock.domain.videoboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.videoboard.request.VideoBoardSearchRequest;
+import org.anotherclass.colortherock.domain.videoboard.response.VideoBoardSummaryResponse;
+import org.anotherclass.colortherock.global.common.GymNameIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 완등 영상 게시판 앞쪽 페이지 캐시
+ * 게시판은 검색 조건(암장, 색상)마다 첫 페이지 요청이 대부분이라, 조건마다 앞쪽 몇 페이지 분량을 한 번에 읽어서 서버 메모리(Caffeine)에 두고
+ * 설정하면 Redis 에도 둔다. 캐시에 없는 조건은 Caffeine 이 key 하나당 한 번만 읽게 해서, 여러 요청이 몰려도 DB 는 한 번만 조회한다.
+ * 게시글 작성, 수정, 삭제, 숨김이 커밋되면 바뀐 글이 보일 수 있는 조건만 지운다.
+ * 응답 객체는 바꿀 수 있으므로 캐시에는 복사본을 두고, 꺼낼 때도 복사해서 준다.
+ * 다른 서버의 메모리 캐시는 지우지 못하므로 메모리 캐시의 유지 시간을 짧게 둔다.
+ */
+@Slf4j
+@Component
+public class SuccessFeedCache {
+
+    private static final String KEY_PREFIX = "board:feed:";
+    private static final String KEYS_KEY = KEY_PREFIX + "keys";
+
+    private final Cache<String, FeedWindow> cache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int pages;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    // 지운 횟수, 조회 중에 지워졌으면 읽은 결과를 캐시에 남기지 않는다.
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+
+    public SuccessFeedCache(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${board.feed-cache.enabled:true}") boolean enabled,
+                            @Value("${board.feed-cache.pages:3}") int pages,
+                            @Value("${board.feed-cache.max-size:1000}") long maxSize,
+                            @Value("${board.feed-cache.ttl-seconds:30}") long ttlSeconds,
+                            @Value("${board.feed-cache.redis.enabled:false}") boolean redisEnabled,
+                            @Value("${board.feed-cache.redis.ttl-seconds:300}") long redisTtlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pages = Math.max(pages, 1);
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "board.feed");
+        this.redisHitCounter = Counter.builder("board.feed.cache.redis")
+                .description("게시판 캐시 Redis 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMissCounter = Counter.builder("board.feed.cache.redis")
+                .description("게시판 캐시 Redis 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시한 앞쪽 페이지 안의 요청이면 캐시에서 한 페이지를 읽는다.
+     *
+     * @param condition 검색 조건
+     * @param pageSize  페이지 크기
+     * @param loader    첫 페이지부터 주어진 개수만큼 읽는 조회
+     * @return 한 페이지의 게시글, 캐시를 쓰지 않으면 null
+     */
+    public List<VideoBoardSummaryResponse> getPage(VideoBoardSearchRequest condition, int pageSize,
+                                                   IntFunction<Slice<VideoBoardSummaryResponse>> loader) {
+        // 쓰기 트랜잭션 안에서 읽으면 커밋 전 게시글이 캐시에 들어갈 수 있으므로 DB 에서 읽는다.
+        if (!enabled || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) return null;
+        String key = key(condition.getGymName(), condition.getColor());
+        // 첫 페이지가 아닌데 캐시에 없으면 조건을 새로 읽지 않는다.
+        FeedWindow window = isFirstPage(condition.getStoreId())
+                ? load(key, pageSize, loader)
+                : cache.getIfPresent(key);
+        if (window == null) return null;
+        return window.page(condition.getStoreId(), pageSize);
+    }
+
+    private FeedWindow load(String key, int pageSize, IntFunction<Slice<VideoBoardSummaryResponse>> loader) {
+        long version = invalidations.get();
+        FeedWindow window = cache.get(key, k -> {
+            FeedWindow cached = readRedis(k);
+            if (cached != null) return cached;
+            Slice<VideoBoardSummaryResponse> rows = loader.apply(pageSize * pages);
+            FeedWindow loaded = new FeedWindow(copyAll(rows.getContent()), !rows.hasNext());
+            // 읽는 사이에 게시글이 바뀌었으면 다른 서버와 나눠 쓰는 Redis 에도 남기지 않는다.
+            if (invalidations.get() == version) writeRedis(k, loaded);
+            return loaded;
+        });
+        // 읽는 사이에 게시글이 바뀌었으면 이번 요청에만 쓰고 남기지 않는다.
+        if (invalidations.get() != version) cache.asMap().remove(key, window);
+        return window;
+    }
+
+    /**
+     * 게시글이 바뀌면 그 글이 보일 수 있는 검색 조건의 캐시를 지운다. 트랜잭션 안이면 커밋한 뒤에 지운다.
+     *
+     * @param gymName 게시글 영상의 암장
+     * @param color   게시글 영상의 색상
+     */
+    public void evict(String gymName, String color) {
+        if (!enabled) return;
+        invalidations.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictMatching(gymName, color);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidations.incrementAndGet();
+                evictMatching(gymName, color);
+            }
+        });
+    }
+
+    private void evictMatching(String gymName, String color) {
+        cache.asMap().keySet().removeIf(key -> matches(key, gymName, color));
+        if (!redisEnabled) return;
+        try {
+            Set<String> keys = redisTemplate.opsForSet().members(KEYS_KEY);
+            if (keys == null || keys.isEmpty()) return;
+            List<String> matched = new ArrayList<>();
+            for (String key : keys) {
+                if (matches(key, gymName, color)) matched.add(key);
+            }
+            if (matched.isEmpty()) return;
+            redisTemplate.delete(matched);
+            redisTemplate.opsForSet().remove(KEYS_KEY, matched.toArray());
+        } catch (RuntimeException e) {
+            log.warn("게시판 Redis 캐시 삭제 실패 : {}", e.toString());
+        }
+    }
+
+    private FeedWindow readRedis(String key) {
+        if (!redisEnabled) return null;
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                redisMissCounter.increment();
+                return null;
+            }
+            redisHitCounter.increment();
+            FeedWindow window = objectMapper.readValue(value, FeedWindow.class);
+            return new FeedWindow(copyAll(window.getRows()), window.isComplete());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("게시판 Redis 캐시 조회 실패 : {}", e.toString());
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, FeedWindow window) {
+        if (!redisEnabled) return;
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(window), redisTtl);
+            redisTemplate.opsForSet().add(KEYS_KEY, key);
+            redisTemplate.expire(KEYS_KEY, redisTtl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("게시판 Redis 캐시 저장 실패 : {}", e.toString());
+        }
+    }
+
+    private static boolean isFirstPage(Long storeId) {
+        return storeId == null || storeId == -1L;
+    }
+
+    // 검색 조건과 같은 방식으로, 암장은 대소문자와 악센트를 가리지 않고 포함, 색상은 일치로 비교한다.
+    static boolean matches(String key, String gymName, String color) {
+        String condition = key.substring(KEY_PREFIX.length());
+        int separator = condition.lastIndexOf('|');
+        String gymCondition = GymNameIndex.normalize(condition.substring(0, separator));
+        String colorCondition = condition.substring(separator + 1);
+        boolean gymMatched = gymCondition.isEmpty() || (gymName != null && GymNameIndex.normalize(gymName).contains(gymCondition));
+        boolean colorMatched = colorCondition.isEmpty() || colorCondition.equals(color);
+        return gymMatched && colorMatched;
+    }
+
+    // 색상에는 '|' 가 없으므로 마지막 '|' 로 나눈다.
+    static String key(String gymName, String color) {
+        String gym = gymName == null || gymName.isBlank() ? "" : gymName;
+        String colorName = color == null || color.isBlank() ? "" : color;
+        return KEY_PREFIX + gym + "|" + colorName;
+    }
+
+    private static List<VideoBoardSummaryResponse> copyAll(List<VideoBoardSummaryResponse> rows) {
+        return rows.stream().map(SuccessFeedCache::copy).collect(Collectors.toUnmodifiableList());
+    }
+
+    private static VideoBoardSummaryResponse copy(VideoBoardSummaryResponse row) {
+        return VideoBoardSummaryResponse.builder()
+                .videoBoardId(row.getVideoBoardId())
+                .title(row.getTitle())
+                .thumbnailURL(row.getThumbnailURL())
+                .color(row.getColor())
+                .colorCode(row.getColorCode())
+                .gymName(row.getGymName())
+                .createdDate(row.getCreatedDate())
+                .build();
+    }
+
+    /**
+     * 검색 조건 하나의 앞쪽 게시글
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class FeedWindow {
+        private List<VideoBoardSummaryResponse> rows;
+        // 조건에 맞는 게시글을 모두 담았는지
+        private boolean complete;
+
+        /**
+         * storeId 보다 작은 id 부터 한 페이지, 캐시한 범위를 넘으면 null
+         */
+        List<VideoBoardSummaryResponse> page(Long storeId, int pageSize) {
+            int start = 0;
+            if (!isFirstPage(storeId)) {
+                while (start < rows.size() && rows.get(start).getVideoBoardId() >= storeId) start++;
+            }
+            int end = start + pageSize;
+            if (end > rows.size()) {
+                if (!complete) return null;
+                end = rows.size();
+            }
+            return rows.subList(start, end).stream().map(SuccessFeedCache::copy).collect(Collectors.toList());
+        }
+    }
+}
@@ -2,8 +2,11 @@ package org.anotherclass.colortherock.domain.videoboard.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.gym.service.GymAutocompleteService;
+import org.anotherclass.colortherock.domain.gym.service.GymResolver;
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
+import org.anotherclass.colortherock.domain.memberrecord.service.RecordService;
 import org.anotherclass.colortherock.domain.video.entity.Video;
 import org.anotherclass.colortherock.domain.video.exception.VideoNotFoundException;
 import org.anotherclass.colortherock.domain.video.exception.VideoUserMismatchException;
@@ -11,6 +14,7 @@ import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
 import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
 import org.anotherclass.colortherock.domain.videoboard.exception.PostNotFoundException;
 import org.anotherclass.colortherock.domain.videoboard.exception.WriterMismatchException;
+import org.anotherclass.colortherock.domain.videoboard.repository.BoardGymIndex;
 import org.anotherclass.colortherock.domain.videoboard.repository.VideoBoardReadRepository;
 import org.anotherclass.colortherock.domain.videoboard.repository.VideoBoardRepository;
 import org.anotherclass.colortherock.domain.videoboard.request.SuccessPostUpdateRequest;
@@ -37,17 +41,28 @@ public class VideoBoardService {
     private final MemberRepository memberRepository;
     private final VideoBoardRepository videoBoardRepository;
     private final VideoBoardReadRepository videoBoardReadRepository;
+    private final RecordService recordService;
+    private final SuccessFeedCache successFeedCache;
+    private final BoardGymIndex boardGymIndex;
+    private final GymResolver gymResolver;
+    private final GymAutocompleteService gymAutocompleteService;
     private static final Integer PAGE_SIZE = 16;
 
 
     /**
      * 성공 영상 게시판에서 조건에 맞는 영상 가져오기
+     * 조건별 앞쪽 페이지는 캐시에서 읽는다.
      *
      * @param condition {@link VideoBoardSearchRequest}
      * @return
      */
     @Transactional(readOnly = true)
     public List<VideoBoardSummaryResponse> getSuccessVideos(VideoBoardSearchRequest condition) {
+        List<VideoBoardSummaryResponse> cached = successFeedCache.getPage(condition, PAGE_SIZE, size ->
+                videoBoardReadRepository.searchByCond(
+                        new VideoBoardSearchRequest(-1L, condition.getColor(), condition.getGymName()), Pageable.ofSize(size)));
+        if (cached != null) return cached;
+
         Pageable pageable = Pageable.ofSize(PAGE_SIZE);
 
         Slice<VideoBoardSummaryResponse> slices = videoBoardReadRepository.searchByCond(condition, pageable);
@@ -82,6 +97,8 @@ public class VideoBoardService {
                 .video(video)
                 .member(member)
                 .build());
+        successFeedCache.evict(video.getGymName(), video.getColor());
+        boardGymIndex.put(newVideoBoard.getId(), video.getGymName());
 
         return newVideoBoard.getId();
     }
@@ -103,6 +120,9 @@ public class VideoBoardService {
                 .title(vb.getTitle())
                 .s3URL(vb.getVideo().getS3URL())
                 .createdDate(vb.getCreatedDate().toLocalDate())
+                .duration(vb.getVideo().getDuration())
+                .width(vb.getVideo().getWidth())
+                .height(vb.getVideo().getHeight())
                 .build();
     }
 
@@ -119,7 +139,20 @@ public class VideoBoardService {
                 .orElseThrow(() -> new PostNotFoundException(GlobalErrorCode.POST_NOT_FOUND));
         checkAuth(memberId, vb);
         vb.update(request.getTitle());
-        vb.getVideo().update(request.getLevel(), request.getGymName(), request.getColor());
+        Video video = vb.getVideo();
+        Integer oldLevel = video.getLevel();
+        String oldGymName = video.getGymName();
+        String oldColor = video.getColor();
+        video.update(request.getLevel(), request.getGymName(), request.getColor());
+        if (!GymResolver.normalize(oldGymName).equals(GymResolver.normalize(video.getGymName()))) {
+            video.changeGym(gymResolver.resolve(video.getGymName()));
+        }
+        successFeedCache.evict(oldGymName, oldColor);
+        successFeedCache.evict(video.getGymName(), video.getColor());
+        boardGymIndex.put(vb.getId(), video.getGymName());
+        gymAutocompleteService.change(oldGymName, video.getGymName());
+        // 레벨, 암장이 바뀌면 같은 트랜잭션에서 레벨별 누적 통계와 암장별 방문 날짜 이동, 커밋 뒤 암장 랭킹 이동
+        recordService.changeVideo(video, oldLevel, oldGymName);
     }
 
     /**
@@ -136,6 +169,8 @@ public class VideoBoardService {
         // 영상의 isPosted 삭제
         vb.getVideo().postDeleted();
         videoBoardRepository.delete(vb);
+        successFeedCache.evict(vb.getVideo().getGymName(), vb.getVideo().getColor());
+        boardGymIndex.remove(vb.getId());
     }
 
     /**
@@ -13,7 +13,9 @@ import javax.persistence.*;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "video_comment")
+// 게시글의 댓글을 id 역순으로 읽는다.
+@Table(name = "video_comment",
+        indexes = @Index(name = "IDX_video_comment_board", columnList = "video_board_id, id"))
 public class VideoComment extends BaseTime {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,134 @@
+package org.anotherclass.colortherock.global.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 백그라운드 작업용 스레드 풀
+ * 요청 스레드를 오래 잡고 있으면 안 되는 작업을 작업별로 분리된 풀에서 실행한다.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 녹화 영상 저장 작업용 풀
+     * 큐를 두지 않고 남는 스레드만큼만 작업을 선점하므로 다른 서버가 나머지 작업을 가져갈 수 있다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor recordingJobExecutor(@Value("${live.recording-job.worker.pool-size:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("recording-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    /**
+     * 스토리지 업로드용 풀
+     * 영상과 썸네일 업로드를 동시에 실행할 때 사용한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor storageUploadExecutor(@Value("${storage.upload.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("storage-upload-");
+        return executor;
+    }
+
+    /**
+     * 멀티파트 업로드의 파트 전송용 풀
+     * 파트 작업이 업로드 작업과 같은 풀을 쓰면 서로를 기다리며 멈출 수 있어서 분리한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor storagePartExecutor(@Value("${storage.upload.part-pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("storage-part-");
+        return executor;
+    }
+
+    /**
+     * 썸네일 생성용 풀
+     * 대기열이 가득 차면 거절하고, 작업은 PENDING 으로 남겨 {@link org.anotherclass.colortherock.domain.video.service.ThumbnailWorker#sweep} 이 나중에 다시 만든다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor thumbnailExecutor(@Value("${video.thumbnail.pool-size:2}") int poolSize,
+                                                    @Value("${video.thumbnail.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("thumbnail-");
+        return executor;
+    }
+
+    /**
+     * 레벨별 누적 통계 재계산용 풀
+     * 사용자 id 구간마다 하나의 트랜잭션으로 나눠서 동시에 다시 계산한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor levelStatRebuildExecutor(@Value("${record.level-stat.rebuild.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("level-stat-rebuild-");
+        return executor;
+    }
+
+    /**
+     * 기록 대시보드 조회용 풀
+     * 항목별 조회를 동시에 실행하고, 대기열이 가득 차면 요청 스레드에서 바로 처리한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${record.dashboard.pool-size:8}") int poolSize,
+                                                    @Value("${record.dashboard.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("record-dashboard-");
+        return executor;
+    }
+
+    /**
+     * 기록 내보내기처럼 응답을 나눠 쓰는 비동기 요청(StreamingResponseBody)용 풀
+     * 스레드와 대기열 자리 수만큼만 RecordExportService 가 받아서, 가득 차면 비동기 처리를 시작하기 전에 503 으로 거절한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(@Value("${record.export.pool-size:4}") int poolSize,
+                                                   @Value("${record.export.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /**
+     * 정리, 재계산처럼 오래 걸리는 주기 작업용 풀
+     * 스케줄러 스레드에서 바로 돌리면 짧은 주기 작업이 그동안 멈추므로 여기로 넘긴다.
+     * 대기열을 두지 않고, 스레드가 모두 바쁘면 그 차례는 건너뛰고 다음 주기에 다시 실행한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor maintenanceExecutor(@Value("${scheduling.maintenance.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("maintenance-");
+        return executor;
+    }
+}
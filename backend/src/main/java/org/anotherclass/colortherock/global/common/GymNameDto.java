@@ -0,0 +1,15 @@
+package org.anotherclass.colortherock.global.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 암장 이름 색인에 넣는 DB 행 하나
+ */
+@Getter
+@AllArgsConstructor
+public class GymNameDto {
+
+    private Long id;
+    private String gymName;
+}
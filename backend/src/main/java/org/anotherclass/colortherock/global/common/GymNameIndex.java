@@ -0,0 +1,193 @@
+package org.anotherclass.colortherock.global.common;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 암장 이름 글자 색인
+ * 이름의 글자 하나와 연속한 두 글자마다 그 이름을 가진 id 를 오름차순 long 배열로 모아 둔다.
+ * 검색어의 두 글자 목록을 모두 가진 id 를 가장 짧은 목록부터 커서 아래로 거슬러 찾고, 원래 이름에 검색어가 있는지 다시 확인한다.
+ * 한 글자 검색은 글자 목록을 그대로 쓴다.
+ * DB 의 utf8mb4_0900_ai_ci 비교에 맞춰 대소문자, 악센트, 전각과 반각은 구분하지 않는다.
+ */
+public class GymNameIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 글자 하나는 글자 값, 두 글자는 앞 글자를 위로 16bit 밀어서 합친 값이 key 다. 이름에 '\0' 은 없으므로 겹치지 않는다.
+    private final Map<Integer, Postings> postings = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+
+    /**
+     * id 의 이름을 넣는다. 이미 있으면 이름을 바꾼다.
+     */
+    public void put(long id, String gymName) {
+        String name = normalize(gymName);
+        lock.writeLock().lock();
+        try {
+            String previous = names.put(id, name);
+            if (name.equals(previous)) return;
+            if (previous != null) removeGrams(id, previous);
+            for (int gram : grams(name)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = names.remove(id);
+            if (previous != null) removeGrams(id, previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeGrams(long id, String name) {
+        for (int gram : grams(name)) {
+            Postings list = postings.get(gram);
+            if (list == null) continue;
+            list.remove(id);
+            if (list.size == 0) postings.remove(gram);
+        }
+    }
+
+    /**
+     * 이름에 검색어가 들어 있는 id 를 beforeId 미만에서 큰 순서로 찾는다.
+     *
+     * @param term     검색어
+     * @param beforeId 이 id 보다 작은 것만, null 이면 처음부터
+     * @param limit    최대 개수
+     * @return id 내림차순
+     */
+    public long[] search(String term, Long beforeId, int limit) {
+        String keyword = normalize(term);
+        if (keyword.isEmpty()) return new long[0];
+        long before = beforeId == null ? Long.MAX_VALUE : beforeId;
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (int gram : keyword.length() == 1 ? grams(keyword) : pairs(keyword)) {
+                Postings list = postings.get(gram);
+                if (list == null) return new long[0];
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.get(0);
+            long[] found = new long[limit];
+            int count = 0;
+            for (int i = shortest.lowerIndex(before); i >= 0 && count < limit; i--) {
+                long id = shortest.ids[i];
+                if (containsAll(lists, id) && names.get(id).contains(keyword)) found[count++] = id;
+            }
+            return count == limit ? found : Arrays.copyOf(found, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsAll(List<Postings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 호환 분해(NFKD)로 전각 글자와 악센트를 떼어 낸 뒤 소문자로 바꾸고 결합 문자를 지운다.
+     * 한글 음절은 분해됐다가 NFC 로 다시 합쳐지므로 그대로 남는다.
+     * DB 의 LIKE 검색(utf8mb4_0900_ai_ci)처럼 대소문자와 악센트를 가리지 않고 비교할 때 쓴다.
+     */
+    public static String normalize(String gymName) {
+        if (gymName == null) return "";
+        String decomposed = Normalizer.normalize(gymName, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        return Normalizer.normalize(COMBINING_MARKS.matcher(decomposed).replaceAll(""), Normalizer.Form.NFC);
+    }
+
+    /**
+     * 이름에 넣는 글자와 두 글자
+     */
+    static int[] grams(String text) {
+        Set<Integer> grams = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add((int) text.charAt(i));
+            if (i > 0) grams.add(text.charAt(i - 1) << 16 | text.charAt(i));
+        }
+        return grams.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 두 글자 이상인 검색어는 두 글자만 찾는다.
+     */
+    static int[] pairs(String text) {
+        Set<Integer> pairs = new LinkedHashSet<>();
+        for (int i = 1; i < text.length(); i++) {
+            pairs.add(text.charAt(i - 1) << 16 | text.charAt(i));
+        }
+        return pairs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 오름차순 id 목록
+     * 새 글은 id 가 가장 크므로 대부분 뒤에 붙인다.
+     */
+    static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                grow();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) return;
+            int insertAt = -index - 1;
+            grow();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) return;
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            if (size > 4 && size < ids.length / 4) ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        /**
+         * before 보다 작은 가장 큰 id 의 위치, 없으면 -1
+         */
+        int lowerIndex(long before) {
+            int index = Arrays.binarySearch(ids, 0, size, before);
+            return (index >= 0 ? index : -index - 1) - 1;
+        }
+
+        private void grow() {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.anotherclass.colortherock.global.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 암장 검색용 {@link GymNameIndex} 관리
+ * 처음 한 번 DB 에서 id 순으로 끊어 읽어 색인을 만들고, 이후에는 주기적으로 다른 서버에서 저장하거나 이름을 바꾼 행을 더한다.
+ * 커밋 순서가 id 순서와 다를 수 있으므로 갱신할 때마다 마지막으로 읽은 id 앞의 rescanWindow 개를 다시 읽고,
+ * 이름을 바꾼 행은 {@link #loadChanged} 로 바꾼 시각 순으로 읽는다.
+ * 이 서버에서 저장, 수정, 삭제한 행은 커밋한 뒤 바로 반영한다.
+ * 마지막 갱신이 maxLag 보다 오래됐으면 색인을 믿지 않고 DB 에서 바로 검색한다.
+ * 색인은 후보만 고르고 조건은 DB 에서 다시 확인하므로 지워진 행이 남아 있어도 결과에는 나오지 않는다.
+ */
+@Slf4j
+public abstract class GymNameIndexer {
+
+    // 한 번에 DB 에서 확인할 최소, 최대 후보 수
+    private static final int MIN_BATCH = 16;
+    private static final int MAX_BATCH = 1024;
+    // 서버 사이 시각 차이와 늦게 끝난 트랜잭션을 덮기 위해 이름을 바꾼 행은 이만큼 앞에서부터 다시 읽는다.
+    private static final long CHANGED_MARGIN_SECONDS = 60;
+
+    private final String target;
+    private final int scanSize;
+    private final int rescanWindow;
+    private final long maxLagNanos;
+    // 읽는 중에 이 서버가 커밋한 id 는 읽어 온 값이 더 오래됐을 수 있으므로 덮어쓰지 않는다.
+    private final RebuildableIndex<GymNameIndex, Long> index;
+    // DB 에서 읽은 가장 큰 id
+    private volatile long lastId;
+    // 이름을 바꾼 행을 이 시각부터 읽는다.
+    private volatile LocalDateTime changedSince;
+    // 마지막으로 다 읽은 갱신을 시작한 시각(nanoTime)
+    private volatile long refreshedAt;
+
+    protected GymNameIndexer(String target, boolean enabled, int scanSize, int rescanWindow, long maxLagMillis) {
+        this.target = target;
+        this.index = new RebuildableIndex<>(enabled);
+        this.scanSize = scanSize;
+        this.rescanWindow = rescanWindow;
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+    }
+
+    /**
+     * lastId 보다 큰 행을 id 순으로 읽는다.
+     */
+    protected abstract List<GymNameDto> load(Long lastId, Pageable pageable);
+
+    /**
+     * since 뒤에 암장 이름을 바꾼 행을 바꾼 시각, id 순으로 읽는다. 이름을 바꿀 수 없으면 그대로 둔다.
+     */
+    protected List<GymNameDto> loadChanged(LocalDateTime since, Pageable pageable) {
+        return List.of();
+    }
+
+    /**
+     * 색인으로 검색할 수 있는지
+     * 쓰기 트랜잭션 안에서는 커밋 전 행이 색인에 없으므로 DB 에서 바로 검색한다.
+     */
+    public boolean isAvailable(String gymName) {
+        if (!index.isEnabled() || index.current() == null || gymName == null || gymName.isBlank()) return false;
+        if (System.nanoTime() - refreshedAt > maxLagNanos) return false;
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * 암장 이름에 검색어가 있는 행을 id 가 큰 순서로 count 개까지 읽는다.
+     * 색인에서 커서 아래 후보 id 를 끊어서 고르고, loader 로 나머지 조건을 확인하면서 채운다.
+     * 후보가 조건에서 많이 걸러지면 DB 를 덜 오가도록 다음 후보 수를 두 배씩 늘린다.
+     *
+     * @param gymName  검색어
+     * @param beforeId 이 id 보다 작은 것만, null 이면 처음부터
+     * @param count    최대 개수
+     * @param loader   후보 id 중 조건에 맞는 행을 id 내림차순으로 읽는 조회
+     * @return 조건에 맞는 행
+     */
+    public <T> List<T> search(String gymName, Long beforeId, int count, Function<List<Long>, List<T>> loader) {
+        GymNameIndex current = index.current();
+        List<T> rows = new ArrayList<>();
+        Long cursor = beforeId;
+        int batch = Math.min(Math.max(count, MIN_BATCH), MAX_BATCH);
+        while (rows.size() < count) {
+            long[] ids = current.search(gymName, cursor, batch);
+            if (ids.length == 0) break;
+            rows.addAll(loader.apply(Arrays.stream(ids).boxed().collect(Collectors.toList())));
+            if (ids.length < batch) break;
+            cursor = ids[ids.length - 1];
+            batch = Math.min(batch * 2, MAX_BATCH);
+        }
+        if (rows.size() > count) rows.subList(count, rows.size()).clear();
+        return rows;
+    }
+
+    public void put(Long id, String gymName) {
+        index.afterCommit(List.of(id), current -> current.put(id, gymName));
+    }
+
+    public void remove(Long id) {
+        index.afterCommit(List.of(id), current -> current.remove(id));
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        index.afterCommit(removed, current -> removed.forEach(current::remove));
+    }
+
+    /**
+     * 색인을 처음부터 다시 만들어서 바꿔 끼운다. 만드는 동안은 이전 색인으로 검색한다.
+     */
+    public void rebuild() {
+        GymNameIndex fresh = new GymNameIndex();
+        if (!index.start(fresh)) return;
+        long startedAt = System.nanoTime();
+        LocalDateTime since = LocalDateTime.now().minusSeconds(CHANGED_MARGIN_SECONDS);
+        try {
+            long last = scan(fresh, 0L);
+            index.swap(fresh);
+            lastId = last;
+            changedSince = since;
+            refreshedAt = startedAt;
+            log.info("{} 암장 색인 : {}개, {}ms", target, fresh.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("{} 암장 색인 실패 : {}", target, e.toString());
+        } finally {
+            index.finish();
+        }
+    }
+
+    /**
+     * 마지막으로 읽은 id 근처와 그 뒤의 행, 이름을 바꾼 행을 더한다. 아직 색인이 없으면 만든다.
+     */
+    public void refresh() {
+        if (!index.isEnabled()) return;
+        GymNameIndex current = index.current();
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        if (!index.start(null)) return;
+        long startedAt = System.nanoTime();
+        LocalDateTime since = LocalDateTime.now().minusSeconds(CHANGED_MARGIN_SECONDS);
+        try {
+            long last = scan(current, Math.max(lastId - rescanWindow, 0L));
+            scanChanged(current, changedSince);
+            lastId = Math.max(lastId, last);
+            changedSince = since;
+            refreshedAt = startedAt;
+        } catch (RuntimeException e) {
+            log.warn("{} 암장 색인 갱신 실패 : {}", target, e.toString());
+        } finally {
+            index.finish();
+        }
+    }
+
+    private long scan(GymNameIndex into, long from) {
+        long last = from;
+        List<GymNameDto> chunk;
+        do {
+            chunk = load(last, PageRequest.of(0, scanSize));
+            putAll(into, chunk);
+            if (!chunk.isEmpty()) last = chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == scanSize);
+        return last;
+    }
+
+    private void scanChanged(GymNameIndex into, LocalDateTime since) {
+        List<GymNameDto> chunk;
+        int page = 0;
+        do {
+            chunk = loadChanged(since, PageRequest.of(page++, scanSize));
+            putAll(into, chunk);
+        } while (chunk.size() == scanSize);
+    }
+
+    private void putAll(GymNameIndex into, List<GymNameDto> rows) {
+        index.load(into, rows, GymNameDto::getId, (current, row) -> current.put(row.getId(), row.getGymName()));
+    }
+}
@@ -0,0 +1,55 @@
+package org.anotherclass.colortherock.global.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오래 걸리는 주기 작업을 스케줄러 스레드 밖에서 실행한다.
+ * 같은 이름의 작업이 아직 끝나지 않았거나 풀이 가득 차면 그 차례는 건너뛴다.
+ * 여러 서버 중 한 곳에서만 실행할 작업은 작업 안에서 {@link org.anotherclass.colortherock.global.lock.JobLockService} 로 잠근다.
+ */
+@Slf4j
+@Component
+public class MaintenanceJobRunner {
+
+    private final ThreadPoolTaskExecutor executor;
+    // 넘긴 뒤 아직 끝나지 않은 작업 이름
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public MaintenanceJobRunner(@Qualifier("maintenanceExecutor") ThreadPoolTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 작업을 넘긴다.
+     *
+     * @param name 작업 이름, 같은 이름은 한 번에 하나만 실행한다.
+     * @param job  작업
+     */
+    public void submit(String name, Runnable job) {
+        if (!running.add(name)) {
+            log.info("이전 {} 작업이 아직 실행 중이라 건너뜁니다.", name);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } catch (RuntimeException e) {
+                    log.warn("{} 작업 실패", name, e);
+                } finally {
+                    running.remove(name);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.remove(name);
+            log.warn("주기 작업 풀이 가득 차서 {} 작업을 건너뜁니다.", name);
+        }
+    }
+}
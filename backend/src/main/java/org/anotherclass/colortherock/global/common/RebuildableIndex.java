@@ -0,0 +1,131 @@
+package org.anotherclass.colortherock.global.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 서버 메모리에 두고 DB 에서 다시 만드는 색인의 지금 판과 만드는 중인 판
+ * 이 서버의 변경은 트랜잭션이 커밋된 뒤에 두 판에 같이 반영한다.
+ * DB 를 읽는 동안 커밋된 변경의 key 를 적어 두어서, 읽어 온 값이 그 변경보다 오래됐을 수 있는 key 를 건너뛰거나 다시 읽게 한다.
+ * 읽기는 한 번에 하나만 한다.
+ *
+ * @param <T> 색인
+ * @param <K> 변경한 대상을 구분하는 key
+ */
+public class RebuildableIndex<T, K> {
+
+    private final boolean enabled;
+    private final AtomicBoolean running = new AtomicBoolean();
+    // 아직 만들지 않았으면 null
+    private volatile T current;
+    // 다시 만드는 중에 반영한 변경을 새 판에도 넣기 위해 둔다.
+    private T building;
+    // 읽는 중에 이 서버가 커밋한 key
+    private Set<K> touched;
+
+    public RebuildableIndex(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public T current() {
+        return current;
+    }
+
+    /**
+     * DB 읽기를 시작한다. 다른 스레드가 읽는 중이면 시작하지 않는다.
+     *
+     * @param building 변경을 같이 반영할 새 판, 지금 판을 고치거나 다시 읽어서 맞출 거면 null
+     * @return 시작했는지
+     */
+    public boolean start(T building) {
+        if (!enabled || !running.compareAndSet(false, true)) return false;
+        synchronized (this) {
+            this.building = building;
+            touched = new HashSet<>();
+        }
+        return true;
+    }
+
+    /**
+     * 읽기를 끝낸다. {@link #start} 가 true 였으면 finally 에서 부른다.
+     */
+    public void finish() {
+        synchronized (this) {
+            building = null;
+            touched = null;
+        }
+        running.set(false);
+    }
+
+    public synchronized void swap(T fresh) {
+        current = fresh;
+        building = null;
+    }
+
+    /**
+     * 마지막으로 {@link #drainTouched} 한 뒤로 커밋된 변경이 없을 때만 바꿔 끼운다.
+     */
+    public synchronized boolean swapIfUntouched(T fresh) {
+        if (touched != null && !touched.isEmpty()) return false;
+        swap(fresh);
+        return true;
+    }
+
+    /**
+     * 지금까지 적어 둔 key 를 넘기고 다시 적는다.
+     */
+    public synchronized Set<K> drainTouched() {
+        Set<K> drained = touched == null ? Set.of() : touched;
+        if (touched != null) touched = new HashSet<>();
+        return drained;
+    }
+
+    /**
+     * 읽어 온 행을 넣는다. 읽는 동안 이 서버가 바꾼 key 는 읽은 값이 더 오래됐을 수 있으므로 건너뛴다.
+     */
+    public synchronized <R> void load(T into, Collection<R> rows, Function<R, K> key, BiConsumer<T, R> put) {
+        for (R row : rows) {
+            if (touched == null || !touched.contains(key.apply(row))) put.accept(into, row);
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋한 뒤에, 아니면 바로 반영한다.
+     *
+     * @param keys   바꾼 대상
+     * @param change 판 하나에 반영하는 변경, 지금 판과 만드는 중인 판에 한 번씩 부른다.
+     */
+    public void afterCommit(Collection<K> keys, Consumer<T> change) {
+        if (!enabled) return;
+        List<K> changed = List.copyOf(keys);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(changed, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(changed, change);
+            }
+        });
+    }
+
+    private synchronized void apply(List<K> keys, Consumer<T> change) {
+        if (touched != null) touched.addAll(keys);
+        if (current != null) change.accept(current);
+        if (building != null) change.accept(building);
+    }
+}
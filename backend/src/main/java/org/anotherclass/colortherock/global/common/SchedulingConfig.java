@@ -0,0 +1,14 @@
+package org.anotherclass.colortherock.global.common;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기적으로 실행되는 작업(@Scheduled)을 활성화 한다.
+ * 스케줄러 스레드 수는 spring.task.scheduling.pool.size 로 정하고,
+ * 오래 걸리는 정리, 재계산 작업은 {@link MaintenanceJobRunner} 로 넘겨서 짧은 주기 작업이 밀리지 않게 한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
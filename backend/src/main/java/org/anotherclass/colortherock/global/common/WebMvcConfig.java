@@ -1,25 +1,51 @@
 package org.anotherclass.colortherock.global.common;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
     private final List<HandlerInterceptor> interceptors;
-    public WebMvcConfig(final List<HandlerInterceptor> interceptors) {
+    private final List<CallableProcessingInterceptor> callableInterceptors;
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+    private final long asyncTimeoutMinutes;
+    public WebMvcConfig(final List<HandlerInterceptor> interceptors,
+                        final List<CallableProcessingInterceptor> callableInterceptors,
+                        @Qualifier("mvcAsyncExecutor") final ThreadPoolTaskExecutor mvcAsyncExecutor,
+                        @Value("${record.export.timeout-minutes:30}") final long asyncTimeoutMinutes) {
         this.interceptors = interceptors;
+        this.callableInterceptors = callableInterceptors;
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+        this.asyncTimeoutMinutes = asyncTimeoutMinutes;
     }
     @Override
     public void addInterceptors(final InterceptorRegistry registry) {
         interceptors.forEach(registry::addInterceptor);
     }
 
+    /**
+     * 기록 내보내기는 기록이 많으면 컨테이너 기본 비동기 제한 시간(30초)보다 오래 걸릴 수 있다.
+     * 비동기 처리가 끝날 때 잡은 자리를 돌려주는 interceptor 를 같이 등록한다.
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+        configurer.setDefaultTimeout(Duration.ofMinutes(asyncTimeoutMinutes).toMillis());
+        configurer.registerCallableInterceptors(callableInterceptors.toArray(CallableProcessingInterceptor[]::new));
+    }
+
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
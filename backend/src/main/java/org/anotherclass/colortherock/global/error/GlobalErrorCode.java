@@ -26,6 +26,16 @@ public enum GlobalErrorCode {
     // 영상과 관련된 Exception
     VIDEO_NOT_FOUND(404, "V100", "해당 id에 해당하는 영상이 없습니다."),
     NOT_VIDEO_OWNER(400, "V200", "영상의 주인과 요청한 멤버가 다릅니다."),
+    VIDEO_UPLOAD_ERROR(500, "V300", "영상 업로드 중 오류가 발생했습니다."),
+    THUMBNAIL_UNSUPPORTED(500, "V301", "이 스토리지에서는 영상 썸네일을 만들 수 없습니다."),
+    UPLOAD_SESSION_NOT_FOUND(404, "V400", "이 서버에서 업로드 세션을 찾을 수 없습니다. 세션을 만든 서버로 보내야 합니다."),
+    INVALID_CHUNK(400, "V401", "잘못된 업로드 조각입니다."),
+    CHUNK_CHECKSUM_MISMATCH(400, "V402", "업로드 조각의 체크섬이 일치하지 않습니다."),
+    UPLOAD_INCOMPLETE(400, "V403", "아직 받지 못한 업로드 조각이 있습니다."),
+    UPLOAD_MEMBER_LIMIT_EXCEEDED(429, "V404", "진행 중인 업로드가 너무 많습니다. 올리던 영상을 마치거나 잠시 후 다시 시도해주세요."),
+    UPLOAD_SERVER_LIMIT_EXCEEDED(429, "V405", "서버가 받고 있는 업로드가 많습니다. 잠시 후 다시 시도해주세요."),
+    STORAGE_OBJECT_NOT_FOUND(404, "V500", "저장된 파일을 찾을 수 없습니다."),
+    STORAGE_GC_RUNNING(409, "V501", "참조 없는 파일 정리가 이미 실행 중입니다."),
     // 완등 영상과 관련된 Exception
     POST_NOT_FOUND(404, "VB100", "해당하는 완등 영상 글을 찾을 수 없습니다."),
     NOT_WRITER(403, "VB200", "사용자와 작성자가 일치하지 않습니다."),
@@ -35,11 +45,23 @@ public enum GlobalErrorCode {
     SESSION_NOT_FOUND(400, "L100", "세션을 찾을 수 없습니다."),
     RECORDING_START_BAD_REQUEST(400, "L101", "잘못된 녹화 요청입니다"),
     RECORDING_DELETE_ERROR(400, "L200", "녹화 삭제 중 오류가 발생하였습니다."),
+    RECORDING_JOB_NOT_FOUND(404, "L300", "녹화 저장 작업을 찾을 수 없습니다."),
+    WEBHOOK_UNAUTHORIZED(401, "L400", "오픈비두 서버의 요청이 아닙니다."),
     // 기록과 관련된 Exception
     MALFORMED_DATE(400, "R100", "잘못된 날짜 형식입니다."),
+    INVALID_DASHBOARD_SECTION(400, "R101", "잘못된 대시보드 항목입니다."),
+    INVALID_LEADERBOARD_PERIOD(400, "R102", "잘못된 랭킹 기간입니다."),
+    INVALID_EXPORT_FORMAT(400, "R103", "지원하지 않는 내보내기 형식입니다."),
+    EXPORT_BUSY(503, "R104", "기록 내보내기 요청이 많습니다. 잠시 후 다시 시도해 주세요."),
+    LEVEL_STAT_REBUILD_RUNNING(409, "R200", "레벨별 누적 통계 재계산이 이미 실행 중입니다."),
+    LEADERBOARD_REBUILD_RUNNING(409, "R201", "암장 랭킹 재계산이 이미 실행 중입니다."),
     // 영상과 관련된 Exception
     // 신고와 관련된 Exception
     REPORT_ONESELF(403, "RP100", "본인 스스로를 신고할 수 없습니다."),
+    // 암장과 관련된 Exception
+    GYM_NOT_FOUND(404, "GY100", "해당 id에 해당하는 암장이 없습니다."),
+    GYM_MERGE_SAME(400, "GY101", "같은 암장끼리는 합칠 수 없습니다."),
+    GYM_BACKFILL_RUNNING(409, "GY200", "암장 채우기가 이미 실행 중입니다."),
 
     VIDEO_HAS_NOT_EXTENSION(400, "V101", "비디오 파일에 확장자가 존재하지 않습니다"),
     NOT_VIDEO_EXTENSION(400, "V102", "비디오 파일 확장자가 아닙니다"), UNSUPPORTED_INFO(400, "O100", "지원하지 않는 로그인 방식입니다.");
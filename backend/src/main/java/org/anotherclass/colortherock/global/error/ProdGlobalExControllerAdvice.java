@@ -2,6 +2,8 @@ package org.anotherclass.colortherock.global.error;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.anotherclass.colortherock.domain.memberrecord.exception.ExportBusyException;
+import org.anotherclass.colortherock.domain.video.exception.UploadLimitExceededException;
 import org.anotherclass.colortherock.global.common.BaseResponse;
 import org.anotherclass.colortherock.global.mattermost.NotificationManager;
 import org.springframework.context.annotation.Profile;
@@ -72,6 +74,26 @@ public class ProdGlobalExControllerAdvice {
         return new BaseResponse<>(GlobalErrorCode.ACCESS_DENIED);
     }
 
+    /**
+     * 진행 중인 기록 내보내기가 가득 차서 거절된 경우
+     */
+    @ExceptionHandler(ExportBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    protected BaseResponse<Object> handleExportBusyException(ExportBusyException e) {
+        log.warn("{}", e.getMessage());
+        return new BaseResponse<>(e.getErrorCode());
+    }
+
+    /**
+     * 진행 중인 나눠 올리기 세션 수나 용량 제한에 걸린 경우
+     */
+    @ExceptionHandler(UploadLimitExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    protected BaseResponse<Object> handleUploadLimitExceededException(UploadLimitExceededException e) {
+        log.warn("{}", e.getMessage());
+        return new BaseResponse<>(e.getErrorCode());
+    }
+
     /**
      * 프로젝트내 설정한 예외가 발생할때 처리하는 부분
      * @param e 발생한 예외
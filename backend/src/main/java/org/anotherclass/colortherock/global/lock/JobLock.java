@@ -0,0 +1,36 @@
+package org.anotherclass.colortherock.global.lock;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 여러 서버 중 한 곳에서만 실행할 작업의 잠금
+ * 작업 이름마다 한 행을 두고, locked_until 이 지난 행만 다른 서버가 가져갈 수 있다.
+ * 잡은 서버가 죽어도 locked_until 이 지나면 풀린다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "job_lock")
+public class JobLock {
+
+    @Id
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+}
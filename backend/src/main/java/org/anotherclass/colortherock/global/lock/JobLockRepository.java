@@ -0,0 +1,42 @@
+package org.anotherclass.colortherock.global.lock;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * 풀린 잠금을 잡는다. 여러 서버가 동시에 잡아도 한 곳만 1을 받는다.
+     * 부른 쪽의 트랜잭션과 상관없이 바로 커밋해야 다른 서버에 보인다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("update JobLock l set l.lockedBy = :owner, l.lockedAt = :now, l.lockedUntil = :until " +
+            "where l.name = :name and l.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * 처음 잡는 작업의 행을 만든다. 다른 서버가 먼저 만들었으면 키 중복으로 실패한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "insert into job_lock (name, locked_by, locked_at, locked_until) values (:name, :owner, :now, :until)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner,
+               @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * 잡은 쪽만 푼다. 시간이 지나 다른 서버가 가져간 잠금은 그대로 둔다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("update JobLock l set l.lockedBy = null, l.lockedUntil = :now where l.name = :name and l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,61 @@
+package org.anotherclass.colortherock.global.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 서버 사이 작업 잠금
+ * 정리, 재계산처럼 DB 나 Redis 전체를 다루는 작업을 여러 서버 중 한 곳에서만 실행하게 한다.
+ * 잠금은 lease 가 지나면 저절로 풀리므로, lease 는 작업이 가장 오래 걸리는 시간보다 길게 잡는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+
+    private static final String HOST_NAME = hostName();
+
+    private final JobLockRepository jobLockRepository;
+
+    /**
+     * 잠금을 잡는다.
+     *
+     * @param name  작업 이름
+     * @param lease 잠금을 유지할 최대 시간
+     * @return 풀 때 넘길 token, 다른 곳이 잡고 있으면 null
+     */
+    public String tryAcquire(String name, Duration lease) {
+        // 같은 서버의 다른 스레드가 잡은 잠금과도 구분되도록 잡을 때마다 새로 만든다.
+        String token = HOST_NAME + "-" + UUID.randomUUID().toString().substring(0, 8);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lease);
+        if (jobLockRepository.acquire(name, token, now, until) > 0) return token;
+        try {
+            jobLockRepository.insert(name, token, now, until);
+            return token;
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@link #tryAcquire} 로 잡은 잠금을 푼다.
+     */
+    public void release(String name, String token) {
+        jobLockRepository.release(name, token, LocalDateTime.now());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.anotherclass.colortherock.global.openvidu;
+
+import io.openvidu.java.client.OpenVidu;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 오픈비두 클라이언트를 하나만 만들어서 서비스와 세션 레지스트리가 같이 사용한다.
+ */
+@Configuration
+public class OpenviduConfig {
+
+    private final String openviduUrl;
+    private final String openviduSecret;
+
+    public OpenviduConfig(@Value("${OPENVIDU_URL}") final String openviduUrl,
+                          @Value("${OPENVIDU_SECRET}") final String openviduSecret) {
+        this.openviduUrl = openviduUrl;
+        this.openviduSecret = openviduSecret;
+    }
+
+    @Bean
+    public OpenVidu openVidu() {
+        return new OpenVidu(openviduUrl, openviduSecret);
+    }
+}
@@ -0,0 +1,38 @@
+package org.anotherclass.colortherock.global.openvidu;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 오픈비두 서버가 보낸 요청(웹훅, 녹화 업로드 등록)인지 확인한다.
+ * 오픈비두 서버에 OPENVIDU_WEBHOOK_HEADERS=["Authorization: Bearer {secret}"] 로 넣은 헤더가 그대로 온 요청만 받는다.
+ * secret 을 설정하지 않으면 모든 요청을 거절한다.
+ */
+@Component
+public class OpenviduWebhookVerifier {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final byte[] expected;
+
+    public OpenviduWebhookVerifier(@Value("${live.webhook.secret:}") String secret) {
+        this.expected = secret.isBlank() ? null : (BEARER_PREFIX + secret).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param authorization 요청의 Authorization 헤더
+     * @throws GlobalBaseException 헤더가 없거나 다르면 WEBHOOK_UNAUTHORIZED
+     */
+    public void verify(String authorization) {
+        // 비교 시간으로 secret 을 추측하지 못하게 한다.
+        if (expected == null || authorization == null
+                || !MessageDigest.isEqual(expected, authorization.trim().getBytes(StandardCharsets.UTF_8))) {
+            throw new GlobalBaseException(GlobalErrorCode.WEBHOOK_UNAUTHORIZED);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+--
+-- 라이브 녹화 저장 작업 큐 (recording_job)
+--
+
+CREATE TABLE `recording_job` (
+  `id` varchar(36) NOT NULL,
+  `created_date` datetime(6) DEFAULT NULL,
+  `recording_id` varchar(100) NOT NULL,
+  `member_id` bigint NOT NULL,
+  `level` int DEFAULT NULL,
+  `gym_name` varchar(50) DEFAULT NULL,
+  `is_success` bit(1) DEFAULT NULL,
+  `color` varchar(20) DEFAULT NULL,
+  `status` varchar(20) NOT NULL,
+  `progress` int NOT NULL,
+  `attempts` int NOT NULL,
+  `next_attempt_at` datetime(6) NOT NULL,
+  `locked_by` varchar(100) DEFAULT NULL,
+  `locked_at` datetime(6) DEFAULT NULL,
+  `last_error` varchar(500) DEFAULT NULL,
+  `video_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_recording_job_recording_id` (`recording_id`),
+  KEY `IDX_recording_job_status_next_attempt` (`status`,`next_attempt_at`),
+  KEY `IDX_recording_job_status_locked_at` (`status`,`locked_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
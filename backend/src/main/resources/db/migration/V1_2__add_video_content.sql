@@ -0,0 +1,17 @@
+--
+-- 내용 해시로 중복 업로드를 묶는 영상 원본 (video_content)
+--
+
+CREATE TABLE `video_content` (
+  `hash` char(64) NOT NULL,
+  `created_date` datetime(6) DEFAULT NULL,
+  `video_name` varchar(200) NOT NULL,
+  `s_3_url` varchar(200) DEFAULT NULL,
+  `thumbnail_name` varchar(200) DEFAULT NULL,
+  `thumbnail_url` varchar(200) DEFAULT NULL,
+  `thumbnail_status` varchar(20) DEFAULT NULL,
+  `size` bigint DEFAULT NULL,
+  `ref_count` int NOT NULL,
+  PRIMARY KEY (`hash`),
+  UNIQUE KEY `UK_video_content_video_name` (`video_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
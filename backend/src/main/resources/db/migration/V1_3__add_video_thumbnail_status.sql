@@ -0,0 +1,7 @@
+--
+-- 영상 썸네일 생성 상태
+-- 기존 영상은 썸네일이 이미 있으므로 READY 로 채운다.
+--
+
+ALTER TABLE `video`
+  ADD COLUMN `thumbnail_status` varchar(20) DEFAULT 'READY';
@@ -0,0 +1,10 @@
+--
+-- 영상 미디어 정보
+-- 업로드 때 MP4 moov 에서 읽은 재생 시간(초), 해상도, 코덱. 기존 영상은 NULL.
+--
+
+ALTER TABLE `video`
+  ADD COLUMN `duration` double DEFAULT NULL,
+  ADD COLUMN `width` int DEFAULT NULL,
+  ADD COLUMN `height` int DEFAULT NULL,
+  ADD COLUMN `codec` varchar(20) DEFAULT NULL;
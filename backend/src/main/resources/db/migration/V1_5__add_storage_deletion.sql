@@ -0,0 +1,19 @@
+--
+-- 저장소 객체 삭제 outbox (storage_deletion)
+--
+
+CREATE TABLE `storage_deletion` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `created_date` datetime(6) DEFAULT NULL,
+  `object_name` varchar(200) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `attempts` int NOT NULL,
+  `next_attempt_at` datetime(6) NOT NULL,
+  `locked_by` varchar(100) DEFAULT NULL,
+  `locked_at` datetime(6) DEFAULT NULL,
+  `last_error` varchar(500) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `IDX_storage_deletion_status_next_attempt` (`status`,`next_attempt_at`),
+  KEY `IDX_storage_deletion_status_locked_at` (`status`,`locked_at`),
+  KEY `IDX_storage_deletion_locked_by` (`locked_by`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,15 @@
+--
+-- 사용자별, 달별, 레벨별 누적 통계 (member_level_stat)
+--
+
+CREATE TABLE `member_level_stat` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `member_id` bigint NOT NULL,
+  `stat_month` int NOT NULL,
+  `level` int NOT NULL,
+  `total` bigint NOT NULL,
+  `success` bigint NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_member_level_stat` (`member_id`,`stat_month`,`level`),
+  CONSTRAINT `FK_member_level_stat_member` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
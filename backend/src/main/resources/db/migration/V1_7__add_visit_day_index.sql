@@ -0,0 +1,14 @@
+--
+-- 사용자별, 암장별, 연도별 방문일 비트맵 (visit_day_index)
+--
+
+CREATE TABLE `visit_day_index` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `member_id` bigint NOT NULL,
+  `gym_name` varchar(30) NOT NULL,
+  `year` int NOT NULL,
+  `days` varbinary(46) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_visit_day_index` (`member_id`,`gym_name`,`year`),
+  CONSTRAINT `FK_visit_day_index_member` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,38 @@
+--
+-- 암장 (gym, gym_alias)
+-- 사용자가 입력한 암장 이름을 하나의 암장으로 묶는다. 합쳐진 암장은 merged_into_id 로 남길 암장을 가리킨다.
+--
+
+CREATE TABLE `gym` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `name` varchar(50) NOT NULL,
+  `merged_into_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FK_gym_merged_into` (`merged_into_id`),
+  CONSTRAINT `FK_gym_merged_into` FOREIGN KEY (`merged_into_id`) REFERENCES `gym` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `gym_alias` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `alias` varchar(50) NOT NULL,
+  `gym_id` bigint NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_gym_alias` (`alias`),
+  KEY `FK_gym_alias_gym` (`gym_id`),
+  CONSTRAINT `FK_gym_alias_gym` FOREIGN KEY (`gym_id`) REFERENCES `gym` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+--
+-- 영상, 라이브 방의 암장
+-- 기존 행은 NULL 로 두고 암장 채우기(POST /api/admin/gym/backfill)로 채운다.
+--
+
+ALTER TABLE `video`
+  ADD COLUMN `gym_id` bigint DEFAULT NULL,
+  ADD KEY `FK_video_gym` (`gym_id`),
+  ADD CONSTRAINT `FK_video_gym` FOREIGN KEY (`gym_id`) REFERENCES `gym` (`id`);
+
+ALTER TABLE `live`
+  ADD COLUMN `gym_id` bigint DEFAULT NULL,
+  ADD KEY `FK_live_gym` (`gym_id`),
+  ADD CONSTRAINT `FK_live_gym` FOREIGN KEY (`gym_id`) REFERENCES `gym` (`id`);
@@ -0,0 +1,102 @@
+--
+-- 처음 스키마 (exec/*.sql 의 테이블 정의)
+-- 이미 만든 운영 DB 는 이 버전을 baseline 으로 잡고 건너뛴다. 빈 DB 에서는 이 파일부터 적용한다.
+-- report, member_record 의 id 는 엔티티가 IDENTITY 로 만들므로 AUTO_INCREMENT 로 둔다. (exec 의 덤프에는 빠져 있다)
+--
+
+CREATE TABLE `hibernate_sequence` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `hibernate_sequence` VALUES (1);
+
+CREATE TABLE `member` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `email` varchar(50) DEFAULT NULL,
+  `nickname` varchar(50) DEFAULT NULL,
+  `registration_id` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `member_record` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `success_count` int DEFAULT NULL,
+  `video_count` int DEFAULT NULL,
+  `member_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKoqoavloadbpxumdsicluxfc0o` (`member_id`),
+  CONSTRAINT `FKoqoavloadbpxumdsicluxfc0o` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `video` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `created_date` datetime(6) DEFAULT NULL,
+  `color` varchar(20) DEFAULT NULL,
+  `gym_name` varchar(30) DEFAULT NULL,
+  `is_posted` bit(1) DEFAULT b'0',
+  `is_success` bit(1) DEFAULT NULL,
+  `level` int DEFAULT NULL,
+  `s_3_url` varchar(200) DEFAULT NULL,
+  `shooting_date` date DEFAULT NULL,
+  `thumbnail_name` varchar(200) DEFAULT NULL,
+  `thumbnail_url` varchar(200) DEFAULT NULL,
+  `video_name` varchar(200) DEFAULT NULL,
+  `member_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKt1qraed5ypqn1u5s3jiq0xu1i` (`member_id`),
+  CONSTRAINT `FKt1qraed5ypqn1u5s3jiq0xu1i` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `live` (
+  `id` bigint NOT NULL,
+  `gym_name` varchar(50) DEFAULT NULL,
+  `is_live` bit(1) DEFAULT NULL,
+  `is_public` bit(1) DEFAULT NULL,
+  `session_id` varchar(100) DEFAULT NULL,
+  `thumbnail_name` varchar(100) DEFAULT NULL,
+  `thumbnail_url` varchar(100) DEFAULT NULL,
+  `title` varchar(50) DEFAULT NULL,
+  `member_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKl6he3gaf8twhlabx224oqfnp5` (`member_id`),
+  CONSTRAINT `FKl6he3gaf8twhlabx224oqfnp5` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `video_board` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `created_date` datetime(6) DEFAULT NULL,
+  `is_hidden` bit(1) DEFAULT NULL,
+  `title` varchar(30) DEFAULT NULL,
+  `member_id` bigint DEFAULT NULL,
+  `video_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKer9rmiun2sfhppo1oaadd7bpk` (`member_id`),
+  KEY `FKf1be2smmis7qlujq8lm8cjfin` (`video_id`),
+  CONSTRAINT `FKer9rmiun2sfhppo1oaadd7bpk` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`),
+  CONSTRAINT `FKf1be2smmis7qlujq8lm8cjfin` FOREIGN KEY (`video_id`) REFERENCES `video` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `video_comment` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `created_date` datetime(6) DEFAULT NULL,
+  `content` varchar(500) DEFAULT NULL,
+  `member_id` bigint DEFAULT NULL,
+  `video_board_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKdua6k5g54jahee2y1hwmakd04` (`member_id`),
+  KEY `FKf9jsmcquuj3qn20xap419srmx` (`video_board_id`),
+  CONSTRAINT `FKdua6k5g54jahee2y1hwmakd04` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`),
+  CONSTRAINT `FKf9jsmcquuj3qn20xap419srmx` FOREIGN KEY (`video_board_id`) REFERENCES `video_board` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `report` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `category` varchar(255) DEFAULT NULL,
+  `member_id` bigint DEFAULT NULL,
+  `video_board_id` bigint DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKel7y5wyx42a6njav1dbe2torl` (`member_id`),
+  KEY `FKqc0vr42belwrylltdeip3is5a` (`video_board_id`),
+  CONSTRAINT `FKel7y5wyx42a6njav1dbe2torl` FOREIGN KEY (`member_id`) REFERENCES `member` (`id`),
+  CONSTRAINT `FKqc0vr42belwrylltdeip3is5a` FOREIGN KEY (`video_board_id`) REFERENCES `video_board` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
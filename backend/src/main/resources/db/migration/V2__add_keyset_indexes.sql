@@ -0,0 +1,27 @@
+--
+-- no-offset 목록 조회용 복합 색인
+-- V1 은 exec/*.sql 로 만든 처음 스키마, V1_1 ~ V1_8 은 그 뒤에 추가한 테이블과 열이다.
+-- 조건을 같음(=)으로 비교하는 열을 앞에 두고 마지막에 id 를 두어, 정렬(id desc) 없이 색인을 거꾸로 읽다가 limit 에서 멈춘다.
+-- 운영 중에 적용해도 쓰기를 막지 않도록 INPLACE, LOCK=NONE 으로 만든다.
+--
+
+-- VideoReadRepository.searchBySlice, searchBySuccessRequest (is_posted 는 읽은 행에서 거른다)
+ALTER TABLE `video`
+  ADD INDEX `IDX_video_member_date_success` (`member_id`, `shooting_date`, `is_success`, `id`),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- VideoBoardReadRepository.searchByCond, getMySuccessPosts
+ALTER TABLE `video_board`
+  ADD INDEX `IDX_video_board_hidden` (`is_hidden`, `id`),
+  ADD INDEX `IDX_video_board_member_hidden` (`member_id`, `is_hidden`, `id`),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- VideoCommentReadRepository.searchByCond
+ALTER TABLE `video_comment`
+  ADD INDEX `IDX_video_comment_board` (`video_board_id`, `id`),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+-- LiveReadRepository.searchBySlice
+ALTER TABLE `live`
+  ADD INDEX `IDX_live_live_public` (`is_live`, `is_public`, `id`),
+  ALGORITHM=INPLACE, LOCK=NONE;
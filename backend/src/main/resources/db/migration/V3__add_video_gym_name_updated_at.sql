@@ -0,0 +1,9 @@
+--
+-- 영상 암장 이름을 바꾼 시각
+-- 게시판 암장 검색 색인(BoardGymIndex)이 다른 서버에서 바꾼 이름을 이 열로 읽어 간다. 기존 영상은 NULL.
+--
+
+ALTER TABLE `video`
+  ADD COLUMN `gym_name_updated_at` datetime(6) DEFAULT NULL,
+  ADD INDEX `IDX_video_gym_name_updated` (`gym_name_updated_at`),
+  ALGORITHM=INPLACE, LOCK=NONE;
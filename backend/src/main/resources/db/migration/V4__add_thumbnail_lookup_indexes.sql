@@ -0,0 +1,13 @@
+--
+-- 썸네일 워커 조회용 색인
+-- 썸네일이 끝나면 같은 영상 이름을 쓰는 Video 의 id 를 찾아 id 로 갱신하고,
+-- sweep 은 오래 PENDING 으로 남은 video_content 를 찾는다.
+--
+
+ALTER TABLE `video`
+  ADD INDEX `IDX_video_video_name` (`video_name`),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE `video_content`
+  ADD INDEX `IDX_video_content_thumbnail_status` (`thumbnail_status`, `created_date`),
+  ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,12 @@
+--
+-- 참조 없는 객체 정리(OrphanObjectCollector)가 페이지마다 IN 조회로 참조를 확인하는 색인
+-- video.video_name 은 V4 에서 만들었다.
+--
+
+ALTER TABLE `video`
+  ADD INDEX `IDX_video_thumbnail_name` (`thumbnail_name`),
+  ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE `live`
+  ADD INDEX `IDX_live_thumbnail_name` (`thumbnail_name`),
+  ALGORITHM=INPLACE, LOCK=NONE;
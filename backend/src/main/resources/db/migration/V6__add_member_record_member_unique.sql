@@ -0,0 +1,14 @@
+--
+-- 누적 영상 수(member_record) upsert 용 유니크 키
+-- 예전에는 행이 없으면 새로 저장해서, 동시에 처음 올린 영상이 있으면 같은 사용자의 행이 여러 개 생길 수 있었다.
+-- 같은 사용자의 행은 모두 같이 더해졌으므로 가장 먼저 만든 행만 남긴다.
+--
+
+DELETE r FROM `member_record` r
+  JOIN (SELECT `member_id`, MIN(`id`) AS `keep_id` FROM `member_record`
+        WHERE `member_id` IS NOT NULL GROUP BY `member_id` HAVING COUNT(*) > 1) d
+    ON r.`member_id` = d.`member_id` AND r.`id` <> d.`keep_id`;
+
+ALTER TABLE `member_record`
+  ADD UNIQUE KEY `UK_member_record_member` (`member_id`),
+  ALGORITHM=INPLACE, LOCK=NONE;
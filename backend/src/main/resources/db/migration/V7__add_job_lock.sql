@@ -0,0 +1,12 @@
+--
+-- 서버 사이 작업 잠금 (job_lock)
+-- 정리, 재계산 작업을 여러 서버 중 한 곳에서만 실행하도록 작업 이름마다 한 행을 둔다.
+--
+
+CREATE TABLE `job_lock` (
+  `name` varchar(64) NOT NULL,
+  `locked_until` datetime(6) NOT NULL,
+  `locked_at` datetime(6) NOT NULL,
+  `locked_by` varchar(100) DEFAULT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
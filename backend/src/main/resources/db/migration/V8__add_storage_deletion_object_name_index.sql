@@ -0,0 +1,7 @@
+--
+-- 참조 없는 객체 정리(OrphanObjectCollector)가 이미 삭제를 기다리는 이름을 IN 조회로 거르는 색인
+--
+
+ALTER TABLE `storage_deletion`
+  ADD INDEX `IDX_storage_deletion_object_name_status` (`object_name`, `status`),
+  ALGORITHM=INPLACE, LOCK=NONE;
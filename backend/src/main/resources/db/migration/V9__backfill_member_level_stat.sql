@@ -0,0 +1,19 @@
+--
+-- 레벨별 누적 통계(member_level_stat) 다시 채우기
+-- V1_6 이전에 올린 영상은 통계 행이 없어서, 행이 일부만 있는 사용자는 기간 통계가 적게 나왔다.
+-- video 에서 전체 기간과 월별 통계를 다시 세어 넣고, 이후로는 통계 행만 읽는다.
+--
+
+DELETE FROM `member_level_stat`;
+
+INSERT INTO `member_level_stat` (`member_id`, `stat_month`, `level`, `total`, `success`)
+SELECT v.`member_id`, 0, v.`level`, count(*), sum(CASE WHEN v.`is_success` THEN 1 ELSE 0 END)
+FROM `video` v
+WHERE v.`level` IS NOT NULL
+GROUP BY v.`member_id`, v.`level`
+UNION ALL
+SELECT v.`member_id`, year(v.`shooting_date`) * 100 + month(v.`shooting_date`), v.`level`, count(*),
+       sum(CASE WHEN v.`is_success` THEN 1 ELSE 0 END)
+FROM `video` v
+WHERE v.`level` IS NOT NULL AND v.`shooting_date` IS NOT NULL
+GROUP BY v.`member_id`, year(v.`shooting_date`) * 100 + month(v.`shooting_date`), v.`level`;
@@ -0,0 +1,240 @@
+package org.anotherclass.colortherock;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import com.p6spy.engine.spy.P6SpyLoadableOptions;
+import com.p6spy.engine.spy.P6SpyOptions;
+import org.anotherclass.colortherock.domain.live.entity.Live;
+import org.anotherclass.colortherock.domain.live.repository.LiveReadRepository;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.live.request.LiveListRequest;
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
+import org.anotherclass.colortherock.domain.video.entity.Video;
+import org.anotherclass.colortherock.domain.video.repository.VideoReadRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.domain.video.request.MySuccessVideoRequest;
+import org.anotherclass.colortherock.domain.video.request.MyVideoRequest;
+import org.anotherclass.colortherock.domain.videoboard.entity.VideoBoard;
+import org.anotherclass.colortherock.domain.videoboard.repository.VideoBoardReadRepository;
+import org.anotherclass.colortherock.domain.videoboard.repository.VideoBoardRepository;
+import org.anotherclass.colortherock.domain.videoboard.request.VideoBoardSearchRequest;
+import org.anotherclass.colortherock.domain.videocomment.entity.VideoComment;
+import org.anotherclass.colortherock.domain.videocomment.repository.VideoCommentReadRepository;
+import org.anotherclass.colortherock.domain.videocomment.repository.VideoCommentRepository;
+import org.anotherclass.colortherock.domain.videocomment.request.CommentListRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * no-offset 목록 조회가 색인을 타는지 확인한다.
+ * 데이터를 넣고 각 조회가 실제로 보낸 SQL 을 p6spy 로 받아서 EXPLAIN 을 돌린다.
+ * 한 테이블이라도 전체 탐색(type = ALL)이나 filesort 가 나오면 실패한다.
+ * 실행 계획이 DB 마다 다르므로 mysql 프로필(application-mysql.yaml)로 Testcontainers 의 MySQL 을 띄우고,
+ * 스키마는 db/migration 을 빈 DB 에 처음부터 적용해서 만든다. 도커가 없으면 건너뛴다.
+ */
+@SuppressWarnings("NonAsciiCharacters")
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles({"local", "mysql"})
+@Import(KeysetQueryExplainTest.SqlCapture.class)
+class KeysetQueryExplainTest extends IntegrationTest {
+
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2023-02-01");
+    private static final Pageable PAGE = PageRequest.of(0, 16);
+
+    @Autowired
+    private SqlCapture sqlCapture;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VideoRepository videoRepository;
+    @Autowired
+    private VideoBoardRepository videoBoardRepository;
+    @Autowired
+    private VideoCommentRepository videoCommentRepository;
+    @Autowired
+    private LiveRepository liveRepository;
+    @Autowired
+    private VideoReadRepository videoReadRepository;
+    @Autowired
+    private VideoBoardReadRepository videoBoardReadRepository;
+    @Autowired
+    private VideoCommentReadRepository videoCommentReadRepository;
+    @Autowired
+    private LiveReadRepository liveReadRepository;
+
+    private Member member;
+    private VideoBoard board;
+    private Long boardCursor;
+
+    @BeforeEach
+    void seed() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            members.add(memberRepository.save(Member.builder()
+                    .email("explain" + i + "@rock.com")
+                    .registrationId(Member.RegistrationId.kakao)
+                    .nickname("explain" + i).build()));
+        }
+        member = members.get(0);
+
+        // 회원마다 5 일 동안 성공, 실패 영상을 8 개씩 찍었다.
+        List<Video> videos = new ArrayList<>();
+        for (Member owner : members) {
+            for (int day = 0; day < 5; day++) {
+                for (int i = 0; i < 16; i++) {
+                    videos.add(Video.builder()
+                            .shootingDate(FIRST_DATE.plusDays(day))
+                            .level(i % 7 + 1)
+                            .color(i % 2 == 0 ? "빨강" : "파랑")
+                            .gymName("더클라임 " + (i % 3 == 0 ? "강남점" : "홍대점"))
+                            .isSuccess(i % 2 == 0)
+                            .isPosted(i % 4 == 0)
+                            .member(owner).build());
+                }
+            }
+        }
+        videoRepository.saveAll(videos);
+
+        // 올린 성공 영상은 게시글이 되고, 열 개 중 하나는 숨김 처리됐다.
+        List<VideoBoard> boards = new ArrayList<>();
+        for (Video video : videos) {
+            if (!video.getIsPosted()) continue;
+            boards.add(VideoBoard.builder()
+                    .title("완등")
+                    .isHidden(boards.size() % 10 == 9)
+                    .video(video)
+                    .member(video.getMember()).build());
+        }
+        videoBoardRepository.saveAll(boards);
+        board = boards.get(0);
+        boardCursor = boards.get(boards.size() / 2).getId();
+
+        List<VideoComment> comments = new ArrayList<>();
+        for (int i = 0; i < boards.size() * 3; i++) {
+            comments.add(VideoComment.builder()
+                    .content("축하해요")
+                    .member(members.get(i % members.size()))
+                    .videoBoard(boards.get(i % boards.size())).build());
+        }
+        videoCommentRepository.saveAll(comments);
+
+        List<Live> lives = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            lives.add(Live.builder()
+                    .isPublic(i % 4 != 0)
+                    .isLive(i % 3 != 0)
+                    .gymName("더클라임 강남점")
+                    .title("방송")
+                    .sessionId("explain-session-" + i)
+                    .member(members.get(i % members.size())).build());
+        }
+        liveRepository.saveAll(lives);
+    }
+
+    @Test
+    @DisplayName("내 영상 목록")
+    void 내_영상_목록() {
+        Long cursor = videos(-1L).get(0).getId();
+
+        assertIndexed("searchBySlice 첫 페이지", () -> videos(-1L));
+        assertIndexed("searchBySlice 다음 페이지", () -> videos(cursor));
+        assertIndexed("searchBySuccessRequest", () -> {
+            MySuccessVideoRequest request = new MySuccessVideoRequest();
+            request.setStoreId(cursor);
+            request.setShootingDate(FIRST_DATE);
+            videoReadRepository.searchBySuccessRequest(PAGE, request, member);
+        });
+    }
+
+    @Test
+    @DisplayName("완등 영상 게시판과 내 게시글 목록")
+    void 게시판_목록() {
+        assertIndexed("searchByCond 조건 없음", () -> videoBoardReadRepository.searchByCond(new VideoBoardSearchRequest(-1L, null, null), PAGE));
+        assertIndexed("searchByCond 다음 페이지", () -> videoBoardReadRepository.searchByCond(new VideoBoardSearchRequest(boardCursor, null, null), PAGE));
+        assertIndexed("searchByCond 색상, 암장", () -> videoBoardReadRepository.searchByCond(new VideoBoardSearchRequest(-1L, "빨강", "강남"), PAGE));
+        assertIndexed("getMySuccessPosts", () -> videoBoardReadRepository.getMySuccessPosts(member.getId(), -1L, PAGE));
+    }
+
+    @Test
+    @DisplayName("댓글 목록")
+    void 댓글_목록() {
+        assertIndexed("searchByCond", () -> videoCommentReadRepository.searchByCond(new CommentListRequest(-1L, board.getId()), PAGE));
+        assertIndexed("getMyComments", () -> videoCommentReadRepository.getMyComments(member.getId(), -1L, PAGE));
+    }
+
+    @Test
+    @DisplayName("라이브 방 목록")
+    void 라이브_목록() {
+        assertIndexed("searchBySlice 첫 페이지", () -> liveReadRepository.searchBySlice(LiveListRequest.builder().liveId(-1L).build(), PAGE));
+        assertIndexed("searchBySlice 암장 검색", () -> liveReadRepository.searchBySlice(LiveListRequest.builder().liveId(-1L).gymName("강남").build(), PAGE));
+    }
+
+    private List<Video> videos(Long cursor) {
+        MyVideoRequest request = MyVideoRequest.builder()
+                .videoId(cursor)
+                .shootingDate(FIRST_DATE)
+                .isSuccess(true).build();
+        return videoReadRepository.searchBySlice(PAGE, request, member).getContent();
+    }
+
+    private void assertIndexed(String name, Runnable query) {
+        List<String> selects = sqlCapture.capture(query);
+        assertFalse(selects.isEmpty(), name + " : 조회한 SQL 을 받지 못했다.");
+        for (String sql : selects) {
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                String type = String.valueOf(row.get("type"));
+                String extra = String.valueOf(row.get("Extra"));
+                assertNotEquals("ALL", type, () -> name + " : 전체 탐색 " + row + "\n" + sql);
+                assertFalse(extra.contains("Using filesort"), () -> name + " : filesort " + row + "\n" + sql);
+            }
+        }
+    }
+
+    /**
+     * 조회 하나가 보낸 select 문을 값을 채운 채로 모은다.
+     */
+    static class SqlCapture extends JdbcEventListener {
+
+        private List<String> selects;
+
+        synchronized List<String> capture(Runnable query) {
+            // 기본 형식은 시간대까지 붙여서 date 열과 비교하면 색인을 못 쓸 수 있으므로 날짜만 남긴다.
+            P6SpyLoadableOptions options = P6SpyOptions.getActiveInstance();
+            String dateFormat = options.getDatabaseDialectDateFormat();
+            options.setDatabaseDialectDateFormat("yyyy-MM-dd");
+            selects = new ArrayList<>();
+            try {
+                query.run();
+                return selects;
+            } finally {
+                selects = null;
+                options.setDatabaseDialectDateFormat(dateFormat);
+            }
+        }
+
+        @Override
+        public void onAfterExecuteQuery(PreparedStatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            List<String> current = selects;
+            if (current != null && e == null) current.add(statementInformation.getSqlWithValues());
+        }
+    }
+}
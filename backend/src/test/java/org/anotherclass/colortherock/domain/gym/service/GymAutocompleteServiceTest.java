@@ -0,0 +1,74 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import org.anotherclass.colortherock.domain.gym.dto.GymUsageDto;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class GymAutocompleteServiceTest {
+
+    private final VideoRepository videoRepository = mock(VideoRepository.class);
+    private final LiveRepository liveRepository = mock(LiveRepository.class);
+    private final GymAutocompleteService service = new GymAutocompleteService(videoRepository, liveRepository,
+            mock(MaintenanceJobRunner.class), true, 10);
+
+    @BeforeEach
+    void setUp() {
+        when(videoRepository.findGymUsages()).thenReturn(List.of(new GymUsageDto("더클라임 강남", 3L), new GymUsageDto("락랜드", 1L)));
+        when(liveRepository.findGymUsages()).thenReturn(List.of(new GymUsageDto("더클라임강남", 1L)));
+    }
+
+    @Test
+    @DisplayName("같은 암장의 표기는 묶어서 세고, 지우거나 암장을 바꾸면 커밋 뒤에 반영한다.")
+    void recordRemoveChange() {
+        service.rebuild();
+
+        assertEquals(4, count("더클"));
+
+        service.record("더클라임 강남");
+        service.remove("락랜드");
+
+        assertEquals(5, count("더클"));
+        assertEquals(List.of(), service.suggest("락랜", 10));
+
+        service.change("더클라임 강남", "락랜드");
+        // 같은 암장의 다른 표기로 바꾼 것은 그대로 둔다.
+        service.change("더클라임 강남", "더클라임강남");
+
+        assertEquals(4, count("더클"));
+        assertEquals(1, count("락랜"));
+    }
+
+    @Test
+    @DisplayName("다시 만드는 동안 반영한 암장은 두 번 세지 않고 다시 센다.")
+    void rebuildRecountsTouchedGyms() {
+        service.rebuild();
+        when(videoRepository.findGymUsages()).thenAnswer(invocation -> {
+            // 읽기 전에 커밋되어 읽은 횟수에 들어간 영상
+            service.record("더클라임 강남");
+            return List.of(new GymUsageDto("더클라임 강남", 4L), new GymUsageDto("락랜드", 1L));
+        });
+        when(videoRepository.findGymUsages(anyCollection())).thenReturn(List.of(new GymUsageDto("더클라임 강남", 4L)));
+        when(liveRepository.findGymUsages(anyCollection())).thenReturn(List.of(new GymUsageDto("더클라임강남", 1L)));
+
+        service.rebuild();
+
+        assertEquals(5, count("더클"));
+        assertEquals(1, count("락랜"));
+        verify(videoRepository).findGymUsages(Set.of("더클라임 강남", "더클라임강남"));
+    }
+
+    private long count(String keyword) {
+        return service.suggest(keyword, 1).get(0).getCount();
+    }
+}
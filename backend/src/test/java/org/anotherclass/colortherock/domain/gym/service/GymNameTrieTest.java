@@ -0,0 +1,90 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GymNameTrieTest {
+
+    private final GymNameTrie trie = new GymNameTrie(3);
+
+    @Test
+    @DisplayName("입력 중인 음절과 초성, 단어 시작으로도 찾는다.")
+    void suggestPartialSyllable() {
+        trie.add("더클라임 강남점", 10);
+        trie.add("클라이밍파크 강남", 5);
+        trie.add("서울숲클라이밍", 1);
+
+        assertEquals(List.of("더클라임 강남점"), names("더클ㄹ"));
+        assertEquals(List.of("더클라임 강남점"), names("더클라ㅇ"));
+        assertEquals(List.of("더클라임 강남점"), names("ㄷㅋㄹ"));
+        assertEquals(List.of("더클라임 강남점", "클라이밍파크 강남"), names("강나"));
+        assertEquals(List.of("클라이밍파크 강남"), names("클라이밍 파"));
+        // "클라이밍" 을 치는 중에 받침이 다음 음절로 넘어가기 전인 "클라임" 도 앞부분으로 본다.
+        assertEquals(List.of("클라이밍파크 강남"), names("클라임"));
+        assertEquals(List.of(), names("숲클"));
+    }
+
+    @Test
+    @DisplayName("많이 쓰인 순서로 최대 capacity 개까지 주고, 횟수가 늘면 순서가 바뀐다.")
+    void suggestByPopularity() {
+        trie.add("락트리 강남", 3);
+        trie.add("락스타 클라이밍", 2);
+        trie.add("락앤런", 1);
+        trie.add("락랜드", 4);
+
+        assertEquals(List.of("락랜드", "락트리 강남", "락스타 클라이밍"), names("락"));
+        assertEquals(List.of("락랜드", "락트리 강남"), trie.suggest("ㄹ", 2).stream()
+                .map(GymNameTrie.Suggestion::getName).collect(Collectors.toList()));
+
+        trie.add("락앤런", 5);
+        // 같은 표기는 하나로 센다.
+        trie.add(" 락 앤 런", 1);
+
+        assertEquals(List.of("락앤런", "락랜드", "락트리 강남"), names("락"));
+        assertEquals(7, trie.suggest("락앤", 1).get(0).getCount());
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    @DisplayName("횟수가 줄면 순서가 내려가고, 목록에서 빠지면 밖에 있던 이름이 채운다.")
+    void subtract() {
+        trie.add("락트리 강남", 3);
+        trie.add("락스타 클라이밍", 2);
+        trie.add("락앤런", 1);
+        trie.add("락랜드", 4);
+
+        trie.subtract("락랜드", 4);
+
+        assertEquals(List.of("락트리 강남", "락스타 클라이밍", "락앤런"), names("락"));
+        assertEquals(List.of(), names("락래"));
+        assertEquals(3, trie.size());
+
+        trie.subtract("락 트리강남", 2);
+
+        assertEquals(List.of("락스타 클라이밍", "락앤런", "락트리 강남"), names("락"));
+        assertEquals(1, trie.suggest("락트", 1).get(0).getCount());
+    }
+
+    @Test
+    @DisplayName("겹받침과 겹모음은 나눠서 비교한다.")
+    void compoundJamo() {
+        trie.add("닭갈비 클라이밍", 1);
+        trie.add("화곡 클라이밍", 1);
+
+        assertEquals(List.of("닭갈비 클라이밍"), names("닭"));
+        assertEquals(List.of("닭갈비 클라이밍"), names("달ㄱ"));
+        assertEquals(List.of("화곡 클라이밍"), names("호"));
+        assertEquals(List.of("화곡 클라이밍"), names("ㅎㄱ"));
+    }
+
+    private List<String> names(String keyword) {
+        return trie.suggest(keyword, 10).stream()
+                .map(GymNameTrie.Suggestion::getName)
+                .collect(Collectors.toList());
+    }
+}
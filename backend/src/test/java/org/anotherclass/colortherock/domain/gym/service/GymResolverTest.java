@@ -0,0 +1,70 @@
+package org.anotherclass.colortherock.domain.gym.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.anotherclass.colortherock.domain.gym.entity.Gym;
+import org.anotherclass.colortherock.domain.gym.repository.GymAliasRepository;
+import org.anotherclass.colortherock.domain.gym.repository.GymRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GymResolverTest {
+
+    private final GymRepository gymRepository = mock(GymRepository.class);
+    private final GymAliasRepository gymAliasRepository = mock(GymAliasRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final GymResolver gymResolver = new GymResolver(gymRepository, gymAliasRepository, transactionManager,
+            new SimpleMeterRegistry(), 100, 10);
+    private final Gym created = mock(Gym.class);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(gymAliasRepository.findGymIdByAlias("더클라임강남")).thenReturn(Optional.empty());
+        when(created.getId()).thenReturn(3L);
+        when(gymRepository.save(any())).thenReturn(created);
+        when(gymAliasRepository.insertIgnore("더클라임강남", 3L)).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("공백과 대소문자, 자모 조합 방식이 달라도 같은 표기로 본다.")
+    void normalize() {
+        assertEquals("더클라임강남점", GymResolver.normalize(" 더클라임  강남점 "));
+        assertEquals("theclimb", GymResolver.normalize("The Climb"));
+        // 자모로 나뉘어 들어온 한글(NFD)도 완성형과 같게 본다.
+        assertEquals("더클라임", GymResolver.normalize("더클라임"));
+        assertEquals("", GymResolver.normalize("   "));
+        assertEquals("", GymResolver.normalize(null));
+    }
+
+    @Test
+    @DisplayName("처음 보는 표기는 같은 트랜잭션에서 암장과 표기를 만들고, 다음부터는 캐시에서 읽는다.")
+    void createInSameTransaction() {
+        assertEquals(3L, gymResolver.resolveId("더클라임 강남"));
+        assertEquals(3L, gymResolver.resolveId("더클라임강남"));
+
+        verify(gymAliasRepository).insertIgnore("더클라임강남", 3L);
+        verify(gymAliasRepository, times(1)).findGymIdByAlias("더클라임강남");
+        verify(gymRepository, never()).delete(any());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("다른 트랜잭션이 같은 표기를 먼저 넣었으면 만든 암장을 지우고 그 암장을 쓴다.")
+    void useConcurrentlyCreatedGym() {
+        when(gymAliasRepository.insertIgnore("더클라임강남", 3L)).thenReturn(0);
+        when(gymAliasRepository.findGymIdByAliasForShare("더클라임강남")).thenReturn(Optional.of(1L));
+
+        assertEquals(1L, gymResolver.resolveId("더클라임 강남"));
+
+        verify(gymRepository).delete(created);
+    }
+}
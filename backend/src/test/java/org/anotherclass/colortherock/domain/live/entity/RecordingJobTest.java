@@ -0,0 +1,44 @@
+package org.anotherclass.colortherock.domain.live.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingJobTest {
+
+    @Test
+    @DisplayName("같은 녹화는 같은 작업 id")
+    void jobIdIsDeterministic() {
+        RecordingJob first = RecordingJob.builder().recordingId("ses_1-1").memberId(1L).build();
+        RecordingJob second = RecordingJob.builder().recordingId("ses_1-1").memberId(1L).build();
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), RecordingJob.jobIdOf("ses_1-2"));
+    }
+
+    @Test
+    @DisplayName("실패하면 대기 시간을 늘려가며 재시도하고 최대 횟수에서 멈춘다")
+    void failWithBackoff() {
+        RecordingJob job = RecordingJob.builder().recordingId("ses_1-1").memberId(1L).build();
+
+        job.fail("first", 3, 1000);
+        assertEquals(RecordingJob.Status.PENDING, job.getStatus());
+        LocalDateTime firstRetry = job.getNextAttemptAt();
+        assertTrue(firstRetry.isAfter(LocalDateTime.now().plusNanos(500_000_000L)));
+
+        job.fail("second", 3, 1000);
+        assertEquals(RecordingJob.Status.PENDING, job.getStatus());
+        assertTrue(job.getNextAttemptAt().isAfter(firstRetry.plusNanos(500_000_000L)));
+
+        job.fail("third", 3, 1000);
+        assertEquals(RecordingJob.Status.FAILED, job.getStatus());
+        assertEquals(3, job.getAttempts());
+        assertEquals("third", job.getLastError());
+
+        job.retry();
+        assertEquals(RecordingJob.Status.PENDING, job.getStatus());
+        assertEquals(0, job.getAttempts());
+    }
+}
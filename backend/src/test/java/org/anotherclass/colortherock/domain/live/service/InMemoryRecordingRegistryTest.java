@@ -0,0 +1,74 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRecordingRegistryTest {
+
+    @Test
+    @DisplayName("세션별 녹화 목록과 URL 조회")
+    void findRecordings() {
+        // given
+        InMemoryRecordingRegistry registry = new InMemoryRecordingRegistry(24, 10);
+        registry.addRecording("ses_1", "ses_1-1");
+        registry.addRecording("ses_1", "ses_1-2");
+        registry.saveUrl("ses_1-2", "https://cdn/ses_1-2.mp4");
+        // when
+        Map<String, String> recordings = registry.findRecordings("ses_1");
+        // then
+        assertEquals(List.of("ses_1-1", "ses_1-2"), new ArrayList<>(recordings.keySet()));
+        assertNull(recordings.get("ses_1-1"));
+        assertEquals("https://cdn/ses_1-2.mp4", recordings.get("ses_1-2"));
+        assertTrue(registry.findRecordings("ses_2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("세션 종료 시 녹화 정보 삭제")
+    void removeSession() {
+        // given
+        InMemoryRecordingRegistry registry = new InMemoryRecordingRegistry(24, 10);
+        registry.addRecording("ses_1", "ses_1-1");
+        registry.saveUrl("ses_1-1", "https://cdn/ses_1-1.mp4");
+        // when
+        registry.removeSession("ses_1");
+        registry.addRecording("ses_1", "ses_1-1");
+        // then
+        assertNull(registry.findRecordings("ses_1").get("ses_1-1"));
+    }
+
+    @Test
+    @DisplayName("최대 세션 수를 넘으면 오래된 세션부터 삭제")
+    void evictOldest() throws InterruptedException {
+        // given
+        InMemoryRecordingRegistry registry = new InMemoryRecordingRegistry(24, 2);
+        registry.addRecording("ses_1", "ses_1-1");
+        Thread.sleep(5);
+        registry.addRecording("ses_2", "ses_2-1");
+        Thread.sleep(5);
+        // when
+        registry.addRecording("ses_3", "ses_3-1");
+        // then
+        assertEquals(2, registry.sessionCount());
+        assertTrue(registry.findRecordings("ses_1").isEmpty());
+        assertFalse(registry.findRecordings("ses_3").isEmpty());
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 세션 정리")
+    void purgeExpired() throws InterruptedException {
+        // given
+        InMemoryRecordingRegistry registry = new InMemoryRecordingRegistry(0, 10);
+        registry.addRecording("ses_1", "ses_1-1");
+        Thread.sleep(5);
+        // when
+        registry.purgeExpired();
+        // then
+        assertEquals(0, registry.sessionCount());
+    }
+}
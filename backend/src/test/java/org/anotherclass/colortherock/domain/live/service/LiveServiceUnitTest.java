@@ -0,0 +1,141 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openvidu.java.client.OpenVidu;
+import org.anotherclass.colortherock.domain.gym.service.GymAutocompleteService;
+import org.anotherclass.colortherock.domain.gym.service.GymResolver;
+import org.anotherclass.colortherock.domain.live.entity.Live;
+import org.anotherclass.colortherock.domain.live.repository.LiveGymIndex;
+import org.anotherclass.colortherock.domain.live.repository.LiveReadRepository;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.live.request.LiveListRequest;
+import org.anotherclass.colortherock.domain.live.request.RecordingUploadAtOpenviduServerRequest;
+import org.anotherclass.colortherock.domain.live.response.LiveListResponse;
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
+import org.anotherclass.colortherock.domain.memberrecord.service.RecordService;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.domain.video.service.S3Service;
+import org.anotherclass.colortherock.domain.video.service.StorageDeletionOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LiveServiceUnitTest {
+
+    private final LiveRepository liveRepository = mock(LiveRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final S3Service s3Service = mock(S3Service.class);
+    private final StorageDeletionOutbox storageDeletionOutbox = mock(StorageDeletionOutbox.class);
+    private final LiveReadRepository liveReadRepository = mock(LiveReadRepository.class);
+    private final LiveSessionRegistry liveSessionRegistry = mock(LiveSessionRegistry.class);
+    private final StaleLiveReaper staleLiveReaper = mock(StaleLiveReaper.class);
+    // 썸네일 업로드는 호출한 스레드에서 바로 실행한다.
+    private final LiveService liveService = new LiveService(liveRepository, memberRepository, s3Service,
+            storageDeletionOutbox, mock(RecordService.class), mock(VideoRepository.class), liveReadRepository,
+            mock(LiveGymIndex.class), mock(GymResolver.class), mock(GymAutocompleteService.class), mock(OpenVidu.class),
+            liveSessionRegistry, staleLiveReaper, mock(RecordingRegistry.class), Runnable::run, "/recordings");
+    private final RecordingUploadAtOpenviduServerRequest request = mock(RecordingUploadAtOpenviduServerRequest.class);
+
+    @BeforeEach
+    void setUp() {
+        when(request.getRecordingId()).thenReturn("rec");
+        when(request.getMemberId()).thenReturn(1L);
+        when(memberRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("영상 업로드가 실패하면 먼저 올라간 썸네일을 실패를 던지기 전에 삭제 예약한다.")
+    void transferFailureDiscardsThumbnail() {
+        IllegalStateException failure = new IllegalStateException("part");
+        when(s3Service.uploadThumbnailFromOV(anyString(), anyString())).thenReturn("https://cdn/t.jpeg");
+        when(s3Service.uploadFromOV(anyString(), anyString())).thenThrow(failure);
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> liveService.transferRecording(request, progress -> {
+        })));
+
+        verify(storageDeletionOutbox).enqueue(startsWith("Thumb"));
+    }
+
+    @Test
+    @DisplayName("썸네일도 올라가지 않았으면 삭제를 예약하지 않는다.")
+    void transferFailureWithoutThumbnail() {
+        when(s3Service.uploadThumbnailFromOV(anyString(), anyString())).thenThrow(new IllegalStateException("thumbnail"));
+        when(s3Service.uploadFromOV(anyString(), anyString())).thenThrow(new IllegalStateException("part"));
+
+        assertThrows(IllegalStateException.class, () -> liveService.transferRecording(request, progress -> {
+        }));
+
+        verifyNoInteractions(storageDeletionOutbox);
+    }
+
+    @Test
+    @DisplayName("스냅샷에 있는 방만 DB 순서대로 참가자 수와 함께 주고, 없는 방은 정리 작업에 넘긴다.")
+    void liveListSkipsEndedSessions() {
+        List<Live> lives = List.of(live(9L), live(8L), live(7L), live(6L));
+        when(liveSessionRegistry.participantCounts()).thenReturn(Map.of("s9", 2, "s7", 1, "s6", 5, "s100", 3));
+        when(liveReadRepository.searchBySlice(any(), any())).thenReturn(new SliceImpl<>(lives, Pageable.ofSize(15), false));
+
+        List<LiveListResponse> responses = liveService.getLiveList(new LiveListRequest(null, null));
+
+        assertEquals(List.of(9L, 7L, 6L), field(responses, "id"));
+        assertEquals(List.of(2L, 1L, 5L), field(responses, "participantNum"));
+        verify(staleLiveReaper).submit(lives.get(1));
+        verify(staleLiveReaper, times(1)).submit(any());
+        verify(liveSessionRegistry, times(1)).participantCounts();
+        verify(liveReadRepository, times(1)).searchBySlice(any(), any());
+    }
+
+    @Test
+    @DisplayName("빠진 방 만큼 마지막으로 읽은 id 다음 페이지를 같은 암장 조건으로 더 읽어 한 페이지를 채운다.")
+    void liveListFillsPageFromNextSlice() {
+        // 짝수 id 와 10 보다 작은 id 의 방만 살아 있다. 두 번째 페이지에서 다 채우면 더 읽지 않는다.
+        List<Live> first = LongStream.rangeClosed(16, 30).map(id -> 46 - id).mapToObj(this::live).collect(Collectors.toList());
+        List<Live> second = LongStream.rangeClosed(1, 15).map(id -> 16 - id).mapToObj(this::live).collect(Collectors.toList());
+        Map<String, Integer> active = LongStream.rangeClosed(1, 30).filter(id -> id % 2 == 0 || id < 10).boxed()
+                .collect(Collectors.toMap(id -> "s" + id, id -> 1));
+        when(liveSessionRegistry.participantCounts()).thenReturn(active);
+        when(liveReadRepository.searchBySlice(any(), any()))
+                .thenReturn(new SliceImpl<>(first, Pageable.ofSize(15), true))
+                .thenReturn(new SliceImpl<>(second, Pageable.ofSize(15), true));
+
+        List<LiveListResponse> responses = liveService.getLiveList(new LiveListRequest(null, "더클라임"));
+
+        assertEquals(List.of(30L, 28L, 26L, 24L, 22L, 20L, 18L, 16L, 14L, 12L, 10L, 9L, 8L, 7L, 6L), field(responses, "id"));
+        ArgumentCaptor<LiveListRequest> requests = ArgumentCaptor.forClass(LiveListRequest.class);
+        verify(liveReadRepository, times(2)).searchBySlice(requests.capture(), any());
+        assertEquals(16L, requests.getAllValues().get(1).getLiveId());
+        assertEquals("더클라임", requests.getAllValues().get(1).getGymName());
+        verify(liveSessionRegistry, times(1)).participantCounts();
+    }
+
+    private Live live(long id) {
+        Member member = mock(Member.class);
+        when(member.getId()).thenReturn(id * 10);
+        when(member.getNickname()).thenReturn("user" + id);
+        Live live = mock(Live.class);
+        when(live.getId()).thenReturn(id);
+        when(live.getSessionId()).thenReturn("s" + id);
+        when(live.getMember()).thenReturn(member);
+        return live;
+    }
+
+    private static List<Long> field(List<LiveListResponse> responses, String name) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return responses.stream()
+                .map(response -> ((Number) objectMapper.convertValue(response, Map.class).get(name)).longValue())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,173 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.openvidu.java.client.Connection;
+import io.openvidu.java.client.OpenVidu;
+import io.openvidu.java.client.OpenViduRole;
+import io.openvidu.java.client.Session;
+import org.anotherclass.colortherock.domain.live.request.OpenviduWebhookRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LiveSessionRegistryTest {
+
+    private static final String SESSION = "ses_climb";
+
+    private final OpenVidu openVidu = mock(OpenVidu.class);
+    private final LiveSessionRegistry registry = new LiveSessionRegistry(openVidu, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("같은 이벤트가 두 번 와도 참가자 수는 한 번만 센다")
+    void duplicateEvents() {
+        apply(event("sessionCreated", null, null, 100));
+        apply(event("participantJoined", "con_a", null, 110));
+        apply(event("participantJoined", "con_a", null, 110));
+        apply(event("participantJoined", "con_b", null, 120));
+        apply(event("participantLeft", "con_b", null, 130));
+        apply(event("participantLeft", "con_b", null, 130));
+
+        assertEquals(Map.of(SESSION, 1), registry.participantCounts());
+    }
+
+    @Test
+    @DisplayName("나간 뒤에 늦게 온 참가 이벤트는 무시한다")
+    void joinedAfterLeft() {
+        apply(event("sessionCreated", null, null, 100));
+        apply(event("participantLeft", "con_a", null, 130));
+        apply(event("participantJoined", "con_a", null, 110));
+
+        assertEquals(Map.of(SESSION, 0), registry.participantCounts());
+    }
+
+    @Test
+    @DisplayName("종료된 세션보다 먼저 일어난 이벤트는 세션을 되살리지 않는다")
+    void lateEventsAfterDestroyed() {
+        apply(event("sessionCreated", null, null, 100));
+        apply(event("participantJoined", "con_a", null, 110));
+        apply(event("sessionDestroyed", null, null, 200));
+        apply(event("participantJoined", "con_b", null, 150));
+        apply(event("recordingStatusChanged", null, "started", 160));
+        apply(event("sessionCreated", null, null, 100));
+
+        assertTrue(registry.participantCounts().isEmpty());
+        assertTrue(registry.isDestroyed(SESSION));
+        assertFalse(registry.isRecording(SESSION));
+    }
+
+    @Test
+    @DisplayName("같은 id 로 다시 만든 세션에 이전 세션의 종료 이벤트가 늦게 와도 지우지 않는다")
+    void recreatedSession() {
+        apply(event("sessionCreated", null, null, 100));
+        apply(event("sessionDestroyed", null, null, 200));
+        apply(event("sessionCreated", null, null, 300));
+        apply(event("participantJoined", "con_a", null, 310));
+        apply(event("sessionDestroyed", null, null, 200));
+
+        assertFalse(registry.isDestroyed(SESSION));
+        assertEquals(Map.of(SESSION, 1), registry.participantCounts());
+    }
+
+    @Test
+    @DisplayName("녹화 상태는 가장 나중에 일어난 이벤트를 따른다")
+    void recordingOrder() {
+        apply(event("sessionCreated", null, null, 100));
+        apply(event("recordingStatusChanged", null, "started", 110));
+        apply(event("recordingStatusChanged", null, "stopped", 150));
+        apply(event("recordingStatusChanged", null, "started", 110));
+
+        assertFalse(registry.isRecording(SESSION));
+
+        apply(event("recordingStatusChanged", null, "started", 160));
+        assertTrue(registry.isRecording(SESSION));
+    }
+
+    @Test
+    @DisplayName("동기화 조회 중에 받은 종료 이벤트는 조회 결과로 되돌리지 않는다")
+    void destroyedDuringRefresh() throws Exception {
+        long createdAt = System.currentTimeMillis() - 1000;
+        apply(event("sessionCreated", null, null, createdAt));
+        fetchWhile(session(createdAt, "con_a"),
+                () -> apply(event("sessionDestroyed", null, null, System.currentTimeMillis())));
+
+        assertTrue(registry.refresh());
+
+        assertTrue(registry.isDestroyed(SESSION));
+        assertTrue(registry.participantCounts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("동기화는 지금 상태에 합쳐서 조회 중에 나간 커넥션과 이 서버가 발급한 커넥션을 남긴다")
+    void refreshMergesState() throws Exception {
+        long createdAt = System.currentTimeMillis() - 1000;
+        apply(event("sessionCreated", null, null, createdAt));
+        apply(event("participantJoined", "con_a", null, createdAt + 10));
+        apply(event("participantJoined", "con_b", null, createdAt + 20));
+        Connection issued = mock(Connection.class);
+        when(issued.getConnectionId()).thenReturn("con_c");
+        when(issued.getRole()).thenReturn(OpenViduRole.SUBSCRIBER);
+        fetchWhile(session(createdAt, "con_a", "con_b"), () -> {
+            apply(event("participantLeft", "con_b", null, System.currentTimeMillis()));
+            registry.registerConnection(SESSION, issued);
+        });
+
+        assertTrue(registry.refresh());
+
+        assertEquals(Map.of(SESSION, 1), registry.participantCounts());
+        Session session = mock(Session.class);
+        when(session.getSessionId()).thenReturn(SESSION);
+        assertEquals(OpenViduRole.SUBSCRIBER, registry.getConnectionRole(session, "con_c"));
+        // 나간 뒤의 참가 이벤트는 동기화 뒤에도 무시한다.
+        apply(event("participantJoined", "con_b", null, createdAt + 30));
+        assertEquals(Map.of(SESSION, 1), registry.participantCounts());
+    }
+
+    /**
+     * 오픈비두 서버 조회 도중에 during 을 실행하고 session 을 돌려준다.
+     */
+    private void fetchWhile(Session session, Runnable during) throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(2);
+            during.run();
+            return true;
+        }).when(openVidu).fetch();
+        when(openVidu.getActiveSessions()).thenReturn(List.of(session));
+    }
+
+    private static Session session(long createdAt, String... connectionIds) {
+        Session session = mock(Session.class);
+        when(session.getSessionId()).thenReturn(SESSION);
+        when(session.createdAt()).thenReturn(createdAt);
+        List<Connection> connections = new ArrayList<>();
+        for (String connectionId : connectionIds) {
+            Connection connection = mock(Connection.class);
+            when(connection.getConnectionId()).thenReturn(connectionId);
+            when(connection.getRole()).thenReturn(OpenViduRole.PUBLISHER);
+            connections.add(connection);
+        }
+        when(session.getConnections()).thenReturn(connections);
+        when(session.getActiveConnections()).thenReturn(connections);
+        when(session.isBeingRecorded()).thenReturn(false);
+        return session;
+    }
+
+    private void apply(OpenviduWebhookRequest event) {
+        registry.handle(event);
+    }
+
+    private static OpenviduWebhookRequest event(String type, String connectionId, String status, long timestamp) {
+        return OpenviduWebhookRequest.builder()
+                .event(type)
+                .sessionId(SESSION)
+                .connectionId(connectionId)
+                .status(status)
+                .timestamp(timestamp)
+                .build();
+    }
+}
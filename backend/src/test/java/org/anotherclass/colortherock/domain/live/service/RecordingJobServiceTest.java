@@ -0,0 +1,77 @@
+package org.anotherclass.colortherock.domain.live.service;
+
+import org.anotherclass.colortherock.domain.live.entity.RecordingJob;
+import org.anotherclass.colortherock.domain.live.repository.RecordingJobRepository;
+import org.anotherclass.colortherock.domain.live.request.RecordingUploadAtOpenviduServerRequest;
+import org.anotherclass.colortherock.domain.video.service.StorageDeletionOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecordingJobServiceTest {
+
+    private static final String JOB_ID = "job";
+    private static final String OWNER = "worker-1";
+
+    private final RecordingJobRepository recordingJobRepository = mock(RecordingJobRepository.class);
+    private final LiveService liveService = mock(LiveService.class);
+    private final StorageDeletionOutbox storageDeletionOutbox = mock(StorageDeletionOutbox.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus transaction = mock(TransactionStatus.class);
+    private final RecordingJobService recordingJobService = new RecordingJobService(
+            recordingJobRepository, liveService, storageDeletionOutbox, transactionManager, 5, 1000);
+    private final LiveService.RecordedFiles files = new LiveService.RecordedFiles("https://cdn/v.mp4", "v.mp4", "https://cdn/t.jpeg", "t.jpeg");
+
+    @BeforeEach
+    void setUp() {
+        RecordingJob job = mock(RecordingJob.class);
+        when(job.getStatus()).thenReturn(RecordingJob.Status.RUNNING);
+        when(job.getLockedBy()).thenReturn(OWNER);
+        when(job.toUploadRequest()).thenReturn(mock(RecordingUploadAtOpenviduServerRequest.class));
+        when(recordingJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(liveService.transferRecording(any(), any())).thenReturn(files);
+        when(liveService.saveRecording(any(), eq(files))).thenReturn(7L);
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    }
+
+    @Test
+    @DisplayName("업로드한 뒤 영상 저장과 완료 처리를 한 트랜잭션으로 커밋한다.")
+    void processSavesAfterTransfer() {
+        when(recordingJobRepository.succeed(JOB_ID, OWNER, 7L, RecordingJob.Status.RUNNING, RecordingJob.Status.SUCCEEDED)).thenReturn(1);
+
+        recordingJobService.process(JOB_ID, OWNER);
+
+        verify(transactionManager).commit(transaction);
+        verify(transaction, never()).setRollbackOnly();
+        verifyNoInteractions(storageDeletionOutbox);
+    }
+
+    @Test
+    @DisplayName("업로드하는 동안 선점이 풀렸으면 영상 저장을 되돌리고 올린 파일을 지운다.")
+    void processRollsBackWhenLockLost() {
+        when(recordingJobRepository.succeed(anyString(), anyString(), anyLong(), any(), any())).thenReturn(0);
+
+        recordingJobService.process(JOB_ID, OWNER);
+
+        verify(transaction).setRollbackOnly();
+        verify(storageDeletionOutbox).enqueue("v.mp4", "t.jpeg");
+    }
+
+    @Test
+    @DisplayName("오래 RUNNING 으로 남은 작업은 최대 시도 횟수에 닿으면 끝내고 나머지만 다시 돌린다.")
+    void reclaimStaleCountsAttempts() {
+        when(recordingJobRepository.failStale(any(), eq(5), anyString(), eq(RecordingJob.Status.RUNNING), eq(RecordingJob.Status.FAILED))).thenReturn(1);
+        when(recordingJobRepository.reclaimStale(any(), eq(5), eq(RecordingJob.Status.PENDING), eq(RecordingJob.Status.RUNNING))).thenReturn(2);
+
+        assertEquals(3, recordingJobService.reclaimStale(LocalDateTime.now()));
+    }
+}
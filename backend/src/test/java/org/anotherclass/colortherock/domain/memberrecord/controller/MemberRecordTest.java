@@ -29,8 +29,10 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.anotherclass.colortherock.global.security.jwt.JwtTokenUtils.BEARER_PREFIX;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -89,6 +91,32 @@ class MemberRecordTest extends IntegrationTest {
         recordRepository.save(record);
     }
 
+    @Test
+    @DisplayName("[GET]기록 대시보드 조회")
+    void 대시보드_조회() throws Exception {
+        mockMvc.perform(
+                        get(url + "/record/dashboard")
+                                .param("sections", "total,color,calendar")
+                                .param("yearMonth", "2023-01")
+                                .header("Authorization", AUTHORIZATION_HEADER + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("calendar;dur=")))
+                .andExpect(jsonPath("$.result.total.videoCount").value(18))
+                .andExpect(jsonPath("$.result.color[0].total").value(2))
+                .andExpect(jsonPath("$.result.calendar[0].date", is("2023-01-17")))
+                .andExpect(jsonPath("$.result.visit").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("[GET]기록 대시보드 조회 - 잘못된 항목")
+    void 대시보드_조회_실패() throws Exception {
+        mockMvc.perform(
+                        get(url + "/record/dashboard")
+                                .param("sections", "total,unknown")
+                                .header("Authorization", AUTHORIZATION_HEADER + token))
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
     @Test
     @DisplayName("[GET]전체 영상 색상 별 통계 조회")
     void 레벨9개_통계조회() throws Exception {
@@ -0,0 +1,94 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.anotherclass.colortherock.domain.memberrecord.response.DailyColorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarColorCacheTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2023, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2023, 2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CalendarColorCache cache = new CalendarColorCache(null, new ObjectMapper(), meterRegistry,
+            100, 60, false, 24);
+
+    @Test
+    @DisplayName("영상이 바뀐 달만 지운다.")
+    void evictOnlyAffectedMonth() {
+        cache.put(1L, JANUARY, colors("2023-01-17"), cache.version(1L));
+        cache.put(1L, FEBRUARY, colors("2023-02-03"), cache.version(1L));
+        cache.put(2L, JANUARY, colors("2023-01-20"), cache.version(2L));
+
+        cache.evict(1L, JANUARY);
+
+        Map<YearMonth, List<DailyColorResponse>> member1 = cache.getAll(1L, List.of(JANUARY, FEBRUARY));
+        assertFalse(member1.containsKey(JANUARY));
+        assertEquals(LocalDate.parse("2023-02-03"), member1.get(FEBRUARY).get(0).getDate());
+        assertTrue(cache.getAll(2L, List.of(JANUARY)).containsKey(JANUARY));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 커밋한 뒤에 지운다.")
+    void evictAfterCommit() {
+        cache.put(1L, JANUARY, colors("2023-01-17"), cache.version(1L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(1L, JANUARY);
+            assertTrue(cache.getAll(1L, List.of(JANUARY)).containsKey(JANUARY));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(cache.getAll(1L, List.of(JANUARY)).containsKey(JANUARY));
+    }
+
+    @Test
+    @DisplayName("버전을 받은 뒤에 지워졌으면 읽은 색상을 넣지 않는다.")
+    void skipPutAfterEvict() {
+        CalendarColorCache.Version version = cache.version(1L);
+
+        cache.evict(1L, JANUARY);
+        cache.put(1L, JANUARY, colors("2023-01-17"), version);
+
+        assertFalse(cache.getAll(1L, List.of(JANUARY)).containsKey(JANUARY));
+        cache.put(1L, JANUARY, colors("2023-01-17"), cache.version(1L));
+        assertTrue(cache.getAll(1L, List.of(JANUARY)).containsKey(JANUARY));
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 캐시가 지워져도 읽은 색상을 넣는다.")
+    void putAfterOtherMemberEvict() {
+        CalendarColorCache.Version version = cache.version(1L);
+
+        cache.evict(2L, JANUARY);
+        cache.put(1L, JANUARY, colors("2023-01-17"), version);
+
+        assertTrue(cache.getAll(1L, List.of(JANUARY)).containsKey(JANUARY));
+    }
+
+    @Test
+    @DisplayName("적중률을 지표로 내보낸다.")
+    void hitRatioGauge() {
+        cache.put(1L, JANUARY, colors("2023-01-17"), cache.version(1L));
+
+        cache.getAll(1L, List.of(JANUARY, FEBRUARY));
+
+        assertEquals(0.5, meterRegistry.get("record.calendar.cache.hit.ratio").gauge().value());
+    }
+
+    private List<DailyColorResponse> colors(String date) {
+        return List.of(DailyColorResponse.builder().date(LocalDate.parse(date)).colors(List.of("노랑")).build());
+    }
+}
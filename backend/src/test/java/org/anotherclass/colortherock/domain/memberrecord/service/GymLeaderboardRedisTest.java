@@ -0,0 +1,151 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.video.dto.LeaderboardCountDto;
+import org.anotherclass.colortherock.domain.video.entity.Video;
+import org.anotherclass.colortherock.domain.video.repository.VideoReadRepository;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 랭킹 Lua 스크립트와 재계산 바꿔 끼우기를 실제 Redis 에서 확인한다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class GymLeaderboardRedisTest {
+
+    private static final String GYM = "더클라이밍";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:6.2-alpine"))
+            .withExposedPorts(6379);
+
+    private final VideoReadRepository videoReadRepository = mock(VideoReadRepository.class);
+    private final JobLockService jobLockService = mock(JobLockService.class);
+    private final LocalDate today = LocalDate.now();
+    private final String key = GymLeaderboardService.boardKey(GYM, "all");
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private GymLeaderboardService service;
+    private GymLeaderboardRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getRequiredConnectionFactory().getConnection().flushAll();
+        service = new GymLeaderboardService(redisTemplate, null, true, 100, 8, 12);
+        rebuilder = new GymLeaderboardRebuilder(videoReadRepository, service, redisTemplate, jobLockService,
+                mock(MaintenanceJobRunner.class), true, 3, 600, 60);
+        when(jobLockService.tryAcquire(anyString(), any())).thenReturn("token");
+        when(videoReadRepository.searchSuccessGymNames()).thenReturn(List.of(GYM));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("더하면 최고 레벨과 완등 수로 점수를 다시 매기고, 빼서 0 이 되면 레벨과 랭킹에서 지운다.")
+    void applyAddSubRemove() {
+        service.onVideoSaved(video(1L, 3));
+        service.onVideoSaved(video(1L, 3));
+        service.onVideoSaved(video(1L, 5));
+
+        assertEquals(GymLeaderboardService.score(5, 3), redisTemplate.opsForZSet().score(key, "1"));
+        assertEquals("2", redisTemplate.opsForHash().get(GymLeaderboardService.levelsKey(key), "1:3"));
+
+        service.onVideoDeleted(video(1L, 5));
+
+        assertEquals(GymLeaderboardService.score(3, 2), redisTemplate.opsForZSet().score(key, "1"));
+        assertFalse(redisTemplate.opsForHash().hasKey(GymLeaderboardService.levelsKey(key), "1:5"));
+
+        service.onVideoDeleted(video(1L, 3));
+        service.onVideoDeleted(video(1L, 3));
+
+        assertNull(redisTemplate.opsForZSet().score(key, "1"));
+        assertFalse(redisTemplate.hasKey(GymLeaderboardService.levelsKey(key)));
+        // 재계산 중이 아니면 반영한 사용자를 적어 두지 않는다.
+        assertFalse(redisTemplate.hasKey(GymLeaderboardService.dirtyKey(key)));
+    }
+
+    @Test
+    @DisplayName("재계산은 남아 있던 랭킹을 video 에서 센 랭킹으로 바꿔 끼우고 임시 key 를 남기지 않는다.")
+    void rebuildSwapsBoard() {
+        redisTemplate.opsForZSet().add(key, "9", GymLeaderboardService.score(3, 1));
+        redisTemplate.opsForHash().put(GymLeaderboardService.levelsKey(key), "9:3", "1");
+        when(videoReadRepository.searchLeaderboardCounts(GYM)).thenReturn(List.of(count(1L, 2, 3L)));
+
+        rebuilder.rebuild();
+
+        assertEquals(GymLeaderboardService.score(2, 3), redisTemplate.opsForZSet().score(key, "1"));
+        assertNull(redisTemplate.opsForZSet().score(key, "9"));
+        assertFalse(redisTemplate.opsForHash().hasKey(GymLeaderboardService.levelsKey(key), "9:3"));
+        assertFalse(redisTemplate.hasKey(key + ":rebuild"));
+        assertFalse(redisTemplate.hasKey(GymLeaderboardService.dirtyKey(key)));
+    }
+
+    @Test
+    @DisplayName("읽은 뒤 바꿔 끼우기 전에 반영된 사용자는 다시 세어서 바꿔 끼운 랭킹에 남는다.")
+    void rebuildKeepsWritesDuringRebuild() {
+        when(videoReadRepository.searchLeaderboardCounts(GYM)).thenAnswer(invocation -> {
+            // 읽은 뒤에 커밋된 영상
+            service.onVideoSaved(video(2L, 4));
+            return List.of(count(1L, 2, 3L));
+        });
+        when(videoReadRepository.searchLeaderboardCounts(eq(GYM), anyCollection())).thenReturn(List.of(count(2L, 4, 1L)));
+
+        rebuilder.rebuild();
+
+        assertEquals(GymLeaderboardService.score(2, 3), redisTemplate.opsForZSet().score(key, "1"));
+        assertEquals(GymLeaderboardService.score(4, 1), redisTemplate.opsForZSet().score(key, "2"));
+        verify(videoReadRepository).searchLeaderboardCounts(GYM, Set.of(2L));
+        assertFalse(redisTemplate.hasKey(GymLeaderboardService.dirtyKey(key)));
+    }
+
+    private Video video(Long memberId, int level) {
+        Member member = mock(Member.class);
+        when(member.getId()).thenReturn(memberId);
+        return Video.builder()
+                .shootingDate(today)
+                .level(level)
+                .gymName(GYM)
+                .isSuccess(true)
+                .member(member)
+                .build();
+    }
+
+    private LeaderboardCountDto count(Long memberId, int level, long count) {
+        return LeaderboardCountDto.builder()
+                .memberId(memberId)
+                .date(today)
+                .level(level)
+                .count(count)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import org.anotherclass.colortherock.domain.memberrecord.response.LeaderboardPeriod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GymLeaderboardServiceTest {
+
+    private final GymLeaderboardService service = new GymLeaderboardService(null, null, true, 100, 8, 12);
+
+    @Test
+    @DisplayName("레벨이 높으면 완등 수가 적어도 앞선다.")
+    void scoreOrdersByLevelThenCount() {
+        double hard = GymLeaderboardService.score(7, 1);
+        double many = GymLeaderboardService.score(6, 999);
+
+        assertTrue(hard > many);
+        assertTrue(GymLeaderboardService.score(7, 2) > hard);
+        assertEquals(7, GymLeaderboardService.maxLevel(hard));
+        assertEquals(999, GymLeaderboardService.successCount(many));
+    }
+
+    @Test
+    @DisplayName("주간은 ISO 주, 월간은 달력 기준으로 나눈다.")
+    void periodKeys() {
+        LocalDate date = LocalDate.parse("2023-01-01");
+
+        assertEquals("2022-W52", LeaderboardPeriod.WEEKLY.key(date));
+        assertEquals("2023-01", LeaderboardPeriod.MONTHLY.key(date));
+        assertEquals("all", LeaderboardPeriod.ALL_TIME.key(date));
+        assertEquals(LocalDate.parse("2023-01-01"), LeaderboardPeriod.WEEKLY.end(date));
+        assertEquals(LeaderboardPeriod.ALL_TIME, LeaderboardPeriod.parse("all-time"));
+        assertEquals(LeaderboardPeriod.WEEKLY, LeaderboardPeriod.parse(null));
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 주간, 월간 랭킹은 만들지 않는다.")
+    void retention() {
+        LocalDate today = LocalDate.parse("2023-03-15");
+
+        assertEquals(0, service.ttlSeconds(LeaderboardPeriod.ALL_TIME, LocalDate.parse("2000-01-01"), today));
+        assertTrue(service.ttlSeconds(LeaderboardPeriod.WEEKLY, LocalDate.parse("2023-01-10"), today) < 0);
+        assertTrue(service.ttlSeconds(LeaderboardPeriod.MONTHLY, LocalDate.parse("2023-01-20"), today) >= 0);
+        assertEquals(9, service.retainedPeriods(LeaderboardPeriod.WEEKLY, today).size());
+        assertEquals(List.of("all"), List.copyOf(service.retainedPeriods(LeaderboardPeriod.ALL_TIME, today).keySet()));
+    }
+
+    @Test
+    @DisplayName("TTL 은 반영한 시각과 상관없이 오늘 0시부터 센다.")
+    void ttlFromToday() {
+        LocalDate today = LocalDate.parse("2023-03-15");
+
+        // 2023-03-19 에 끝나는 주, 8주 보관 뒤 다음 날인 2023-05-15 에 사라진다.
+        assertEquals(61 * 86_400L, service.ttlSeconds(LeaderboardPeriod.WEEKLY, today, today));
+        // 2023-03 은 12개월 보관 뒤 2024-04-01 에 사라진다.
+        assertEquals(383 * 86_400L, service.ttlSeconds(LeaderboardPeriod.MONTHLY, today, today));
+    }
+}
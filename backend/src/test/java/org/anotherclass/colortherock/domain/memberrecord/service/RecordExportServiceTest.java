@@ -0,0 +1,111 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.anotherclass.colortherock.domain.memberrecord.exception.ExportBusyException;
+import org.anotherclass.colortherock.domain.memberrecord.response.ExportFormat;
+import org.anotherclass.colortherock.domain.video.dto.VideoExportDto;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecordExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final VideoRepository videoRepository = mock(VideoRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    // 한 페이지에 2개씩, 동시에 1개까지 받는다.
+    private final RecordExportService service = new RecordExportService(videoRepository, objectMapper, transactionManager,
+            new SimpleMeterRegistry(), 2, 1, 0);
+
+    private final VideoExportDto first = new VideoExportDto(1L, LocalDate.parse("2023-01-02"), "더클라임 강남", 3,
+            "주황색", true, LocalDateTime.parse("2023-01-02T19:30:00"));
+    private final VideoExportDto second = new VideoExportDto(2L, LocalDate.parse("2023-01-03"), "=HYPERLINK(\"x\"), 홍대", 5,
+            null, false, null);
+    private final VideoExportDto third = new VideoExportDto(5L, LocalDate.parse("2023-01-04"), "더클라임 강남", 4,
+            "파란색", true, null);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(videoRepository.findExportPage(1L, 0L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+        when(videoRepository.findExportPage(1L, 2L, PageRequest.of(0, 2))).thenReturn(List.of(third));
+    }
+
+    @Test
+    @DisplayName("NDJSON 은 영상 하나를 한 줄에 쓰고, 마지막으로 읽은 id 다음부터 페이지마다 트랜잭션을 따로 연다.")
+    void ndjson() throws IOException {
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("2023-01-02", objectMapper.readTree(lines[0]).get("shootingDate").asText());
+        assertEquals("더클라임 강남", objectMapper.readTree(lines[0]).get("gymName").asText());
+        assertEquals(false, objectMapper.readTree(lines[1]).get("isSuccess").asBoolean());
+        assertEquals(5, objectMapper.readTree(lines[2]).get("id").asLong());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("CSV 는 쉼표와 따옴표를 감싸고 수식으로 실행되지 않게 한다.")
+    void csv() throws IOException {
+        String[] lines = export(ExportFormat.CSV).split("\r\n");
+
+        assertEquals("\uFEFFid,shootingDate,gymName,level,color,isSuccess,createdDate", lines[0]);
+        assertEquals("1,2023-01-02,더클라임 강남,3,주황색,true,2023-01-02T19:30", lines[1]);
+        assertEquals("2,2023-01-03,\"'=HYPERLINK(\"\"x\"\"), 홍대\",5,,false,", lines[2]);
+        assertEquals(4, lines.length);
+    }
+
+    @Test
+    @DisplayName("자리가 없으면 거절하고, 같은 자리를 여러 번 돌려줘도 한 자리만 늘어난다.")
+    void reserve() {
+        RecordExportService.Slot slot = service.reserve();
+
+        assertThrows(ExportBusyException.class, service::reserve);
+
+        slot.release();
+        slot.release();
+        service.reserve();
+        assertThrows(ExportBusyException.class, service::reserve);
+    }
+
+    @Test
+    @DisplayName("내보내기가 실행되지 않고 비동기 처리가 끝나도 interceptor 가 자리를 돌려준다.")
+    void releaseOnAsyncCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RecordExportService.SLOT_ATTRIBUTE, service.reserve());
+
+        new RecordExportSlotInterceptor().afterCompletion(new ServletWebRequest(request), () -> null);
+
+        service.reserve();
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(1L, format, false, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
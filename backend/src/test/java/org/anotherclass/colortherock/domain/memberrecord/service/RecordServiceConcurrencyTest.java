@@ -0,0 +1,106 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
+import org.anotherclass.colortherock.domain.memberrecord.entity.MemberRecord;
+import org.anotherclass.colortherock.domain.memberrecord.repository.RecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class RecordServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 2000;
+
+    @Autowired
+    private RecordService recordService;
+    @Autowired
+    private RecordRepository recordRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private Member member;
+
+    @BeforeEach
+    void setData() {
+        member = memberRepository.save(new Member("concurrency@rock.com", "동시성", Member.RegistrationId.kakao));
+        recordRepository.save(new MemberRecord(member));
+    }
+
+    @AfterEach
+    void clearData() {
+        recordRepository.delete(recordRepository.findByMember(member));
+        memberRepository.delete(member);
+    }
+
+    @Test
+    @DisplayName("동시에 올린 영상 수가 사라지지 않는다.")
+    void concurrentAddVideoCount() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < REQUESTS; i++) {
+            boolean isSuccess = i % 2 == 0;
+            boolean warmUp = i < THREADS;
+            executor.execute(() -> {
+                try {
+                    if (warmUp) ready.countDown();
+                    start.await();
+                    recordService.addVideoCount(member, isSuccess);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await();
+        start.countDown();
+        done.await();
+        executor.shutdown();
+
+        MemberRecord record = recordRepository.findByMember(member);
+        assertEquals(0, failures.get());
+        assertEquals(REQUESTS, record.getVideoCount());
+        assertEquals(REQUESTS / 2, record.getSuccessCount());
+    }
+
+    @Test
+    @DisplayName("동시에 더하고 빼도 결과가 맞는다.")
+    void concurrentAddAndSubVideoCount() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            boolean add = i % 4 != 0;
+            executor.execute(() -> {
+                try {
+                    if (add) recordService.addVideoCount(member, true);
+                    else recordService.subVideoCount(member, true);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+
+        MemberRecord record = recordRepository.findByMember(member);
+        int expected = REQUESTS * 3 / 4 - REQUESTS / 4;
+        assertEquals(expected, record.getVideoCount());
+        assertEquals(expected, record.getSuccessCount());
+    }
+}
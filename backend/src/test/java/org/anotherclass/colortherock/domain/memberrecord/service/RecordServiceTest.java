@@ -87,6 +87,29 @@ class RecordServiceTest {
         assertEquals(1, dateRecords.get(8).getSuccess());
     }
 
+    @Test
+    @DisplayName("사용자 기간별 통계 반환")
+    void rangeRecordsTest() {
+        // given
+        UploadVideoRequest saveDto = UploadVideoRequest.builder()
+                .shootingDate(LocalDate.parse("2023-01-20"))
+                .level(1)
+                .gymName("더클라임 강남")
+                .color("노랑")
+                .isSuccess(true).build();
+        em.persist(saveDto.toEntity(member));
+        em.flush();
+        em.clear();
+        // when
+        List<LevelStatResponse> all = recordService.getRangeRecords(member, LocalDate.parse("2023-01-17"), LocalDate.parse("2023-01-20"));
+        List<LevelStatResponse> later = recordService.getRangeRecords(member, LocalDate.parse("2023-01-18"), LocalDate.parse("2023-01-31"));
+        // then
+        assertEquals(3, all.get(0).getTotal());
+        assertEquals(2, all.get(0).getSuccess());
+        assertEquals(1, later.get(0).getTotal());
+        assertEquals(0, later.get(1).getTotal());
+    }
+
     @Test
     @DisplayName("사용자 운동 통계 반환")
     void totalRecordsTest() {
@@ -181,6 +204,34 @@ class RecordServiceTest {
         assertEquals(8, insertedRecord.getSuccessCount());
     }
 
+    @Test
+    @DisplayName("영상 저장, 레벨 변경, 삭제에 따라 레벨별 누적 통계 갱신")
+    void levelStatTest() {
+        // given
+        em.persist(MemberRecord.builder().member(member).videoCount(0).successCount(0).build());
+        Video video = UploadVideoRequest.builder()
+                .shootingDate(LocalDate.parse("2023-02-03"))
+                .level(4)
+                .gymName("더클라임 강남")
+                .color("초록")
+                .isSuccess(true).build().toEntity(member);
+        videoRepository.save(video);
+        // when
+        recordService.addVideoStat(video);
+        List<LevelStatResponse> added = recordService.getColorRecords(member);
+        video.update(6, "더클라임 강남", "파랑");
+        recordService.changeVideoLevel(video, 4);
+        List<LevelStatResponse> changed = recordService.getRangeRecords(member, LocalDate.parse("2023-02-01"), LocalDate.parse("2023-02-28"));
+        recordService.subVideoStat(video);
+        List<LevelStatResponse> removed = recordService.getColorRecords(member);
+        // then
+        assertEquals(1, added.get(3).getTotal());
+        assertEquals(1, added.get(3).getSuccess());
+        assertEquals(0, changed.get(3).getTotal());
+        assertEquals(1, changed.get(5).getSuccess());
+        assertEquals(0, removed.get(5).getTotal());
+    }
+
     @Test
     @DisplayName("새로운 record 생성")
     void saveNewRecordTest() {
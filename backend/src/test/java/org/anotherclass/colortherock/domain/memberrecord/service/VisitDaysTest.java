@@ -0,0 +1,50 @@
+package org.anotherclass.colortherock.domain.memberrecord.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VisitDaysTest {
+
+    @Test
+    @DisplayName("연도를 넘어가는 연속 방문도 이어서 센다.")
+    void streakAcrossYears() {
+        VisitDays days = new VisitDays();
+        for (String date : List.of("2022-12-30", "2022-12-31", "2023-01-01", "2023-01-02", "2023-01-05", "2023-01-06")) {
+            days.add(LocalDate.parse(date));
+        }
+
+        assertEquals(6, days.count());
+        assertEquals(4, days.count(2023));
+        assertEquals(4, days.longestStreak());
+        assertEquals(2, days.currentStreak(LocalDate.parse("2023-01-06")));
+        assertEquals(2, days.currentStreak(LocalDate.parse("2023-01-07")));
+        assertEquals(0, days.currentStreak(LocalDate.parse("2023-01-08")));
+    }
+
+    @Test
+    @DisplayName("DB 에 저장하는 바이트와 비트 연산 결과가 같다.")
+    void bytesRoundTrip() {
+        LocalDate leapDay = LocalDate.parse("2024-12-31");
+        LocalDate firstDay = LocalDate.parse("2024-01-01");
+        VisitDays days = new VisitDays();
+        days.add(leapDay);
+        days.add(firstDay);
+
+        byte[] stored = days.toBytes(2024);
+        byte[] cleared = new byte[stored.length];
+        byte[] mask = VisitDays.inverseMask(leapDay);
+        for (int i = 0; i < stored.length; i++) {
+            cleared[i] = (byte) (stored[i] & mask[i]);
+        }
+        VisitDays reloaded = new VisitDays();
+        reloaded.add(2024, cleared);
+
+        assertEquals(46, stored.length);
+        assertEquals(List.of(firstDay), reloaded.dates(2024));
+    }
+}
@@ -2,6 +2,11 @@ package org.anotherclass.colortherock.domain.report.service;
 
 import org.anotherclass.colortherock.domain.member.entity.Member;
 import org.anotherclass.colortherock.domain.member.repository.MemberRepository;
+import org.anotherclass.colortherock.domain.memberrecord.entity.MemberLevelStat;
+import org.anotherclass.colortherock.domain.memberrecord.repository.MemberLevelStatRepository;
+import org.anotherclass.colortherock.domain.memberrecord.repository.RecordRepository;
+import org.anotherclass.colortherock.domain.memberrecord.service.GymLeaderboardService;
+import org.anotherclass.colortherock.domain.memberrecord.service.RecordService;
 import org.anotherclass.colortherock.domain.report.entity.Report;
 import org.anotherclass.colortherock.domain.report.request.PostReportRequest;
 import org.anotherclass.colortherock.domain.report.request.PostUnhiddenRequest;
@@ -19,6 +24,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -27,6 +33,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest
 @Transactional
@@ -42,6 +49,14 @@ class AdminReportServiceTest {
     private ReportService reportService;
     @Autowired
     private AdminReportService adminReportService;
+    @Autowired
+    private RecordService recordService;
+    @Autowired
+    private RecordRepository recordRepository;
+    @Autowired
+    private MemberLevelStatRepository memberLevelStatRepository;
+    @MockBean
+    private GymLeaderboardService gymLeaderboardService;
 
     private ArrayList<Long> memberIds;
     private ArrayList<Long> videoBoardIds;
@@ -135,4 +150,24 @@ class AdminReportServiceTest {
         assertThrows(PostNotFoundException.class, () -> adminReportService.deleteReportedVideo(videoBoardId));
     }
 
+    @Test
+    @DisplayName("[관리자] 신고 영상을 지우면 누적 통계에서도 빠진다")
+    void deleteReportedVideoStat() {
+        // given
+        Long videoBoardId = videoBoardIds.get(0);
+        Video video = videoBoardRepository.findById(videoBoardId).orElseThrow().getVideo();
+        Member member = video.getMember();
+        recordService.addVideoStat(video);
+        assertEquals(1, recordRepository.findByMember(member).getVideoCount());
+        // when
+        adminReportService.deleteReportedVideo(videoBoardId);
+        // then
+        assertEquals(0, recordRepository.findByMember(member).getVideoCount());
+        List<MemberLevelStat> stats = memberLevelStatRepository.findByMemberAndStatMonth(member, MemberLevelStat.ALL_TIME);
+        assertEquals(1, stats.size());
+        assertEquals(0L, stats.get(0).getTotal());
+        // 암장 랭킹에서도 뺀다.
+        verify(gymLeaderboardService).onVideoDeleted(video);
+    }
+
 }
\ No newline at end of file
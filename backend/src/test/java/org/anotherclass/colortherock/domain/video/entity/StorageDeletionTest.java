@@ -0,0 +1,38 @@
+package org.anotherclass.colortherock.domain.video.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageDeletionTest {
+
+    @Test
+    @DisplayName("실패하면 대기 시간을 늘려가며 재시도하고 최대 횟수에서 DEAD 로 남는다")
+    void failWithBackoff() {
+        StorageDeletion deletion = new StorageDeletion("video.mp4");
+        assertEquals(StorageDeletion.Status.PENDING, deletion.getStatus());
+
+        deletion.fail("first", 2, 1000);
+        assertEquals(StorageDeletion.Status.PENDING, deletion.getStatus());
+        assertTrue(deletion.getNextAttemptAt().isAfter(LocalDateTime.now().plusNanos(500_000_000L)));
+        assertNull(deletion.getLockedBy());
+
+        deletion.fail("second", 2, 1000);
+        assertEquals(StorageDeletion.Status.DEAD, deletion.getStatus());
+        assertEquals(2, deletion.getAttempts());
+        assertEquals("second", deletion.getLastError());
+    }
+
+    @Test
+    @DisplayName("긴 오류 메시지는 컬럼 길이에 맞게 자른다")
+    void truncateError() {
+        StorageDeletion deletion = new StorageDeletion("video.mp4");
+
+        deletion.fail("x".repeat(600), 3, 1000);
+
+        assertEquals(500, deletion.getLastError().length());
+    }
+}
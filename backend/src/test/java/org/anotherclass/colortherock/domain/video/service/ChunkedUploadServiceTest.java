@@ -0,0 +1,191 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.anotherclass.colortherock.domain.video.exception.ChunkChecksumMismatchException;
+import org.anotherclass.colortherock.domain.video.exception.InvalidChunkException;
+import org.anotherclass.colortherock.domain.video.exception.UploadIncompleteException;
+import org.anotherclass.colortherock.domain.video.exception.UploadLimitExceededException;
+import org.anotherclass.colortherock.domain.video.exception.UploadSessionNotFoundException;
+import org.anotherclass.colortherock.domain.video.request.CreateUploadSessionRequest;
+import org.anotherclass.colortherock.domain.video.response.UploadSessionResponse;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final Long MEMBER_ID = 1L;
+
+    @TempDir
+    Path tempDir;
+
+    private ChunkedUploadService service;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChunkedUploadService(tempDir.toString(), CHUNK_SIZE, 10_000, 60, 2, 6_000, 4, 9_000);
+        content = new byte[CHUNK_SIZE * 2 + 500];
+        new Random(7).nextBytes(content);
+    }
+
+    @Test
+    @DisplayName("순서와 상관없이 받은 조각으로 원본 파일을 만들고 완료 후 세션을 지운다")
+    void uploadOutOfOrderAndCommit() throws Exception {
+        // given
+        UploadSessionResponse created = service.createSession(MEMBER_ID, new CreateUploadSessionRequest("climb.mp4", (long) content.length, "video/mp4"));
+        String uploadId = created.getUploadId();
+        assertEquals(3, created.getTotalChunks());
+        // when
+        put(uploadId, 2);
+        UploadSessionResponse status = put(uploadId, 0);
+        // then
+        assertEquals(CHUNK_SIZE, status.getReceivedOffset());
+        assertEquals(List.of(1), status.getMissingChunks());
+        assertThrows(UploadIncompleteException.class, () -> service.commit(MEMBER_ID, uploadId, file -> null));
+
+        put(uploadId, 1);
+        byte[] committed = service.commit(MEMBER_ID, uploadId, file -> {
+            assertEquals("climb.mp4", file.getOriginalFilename());
+            assertEquals(content.length, file.getSize());
+            try {
+                return file.getBytes();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertArrayEquals(content, committed);
+        assertEquals(0, service.sessionCount());
+    }
+
+    @Test
+    @DisplayName("체크섬이 다르면 조각을 받지 않은 것으로 처리한다")
+    void rejectChecksumMismatch() {
+        // given
+        String uploadId = service.createSession(MEMBER_ID, new CreateUploadSessionRequest("climb.mp4", (long) content.length, null)).getUploadId();
+        // when, then
+        assertThrows(ChunkChecksumMismatchException.class,
+                () -> service.writeChunk(MEMBER_ID, uploadId, 0, "00", new ByteArrayInputStream(chunk(0))));
+        assertEquals(List.of(0, 1, 2), service.getStatus(MEMBER_ID, uploadId).getMissingChunks());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 업로드 세션은 찾을 수 없다")
+    void otherMember() {
+        String uploadId = service.createSession(MEMBER_ID, new CreateUploadSessionRequest("climb.mp4", (long) content.length, null)).getUploadId();
+        assertThrows(UploadSessionNotFoundException.class, () -> service.getStatus(2L, uploadId));
+    }
+
+    @Test
+    @DisplayName("완료 처리에 실패하면 세션을 남겨 다시 완료할 수 있다")
+    void retryCommitAfterFailure() throws Exception {
+        String uploadId = service.createSession(MEMBER_ID, new CreateUploadSessionRequest("climb.mp4", (long) content.length, null)).getUploadId();
+        for (int i = 0; i < 3; i++) put(uploadId, i);
+
+        assertThrows(IllegalStateException.class, () -> service.commit(MEMBER_ID, uploadId, file -> {
+            throw new IllegalStateException("storage down");
+        }));
+        assertEquals(1, service.sessionCount());
+        assertEquals("ok", service.commit(MEMBER_ID, uploadId, file -> "ok"));
+    }
+
+    @Test
+    @DisplayName("확인에 실패한 조각을 다시 보내도 먼저 받은 조각은 그대로다")
+    void keepReceivedChunkOnCorruptResend() throws Exception {
+        String uploadId = service.createSession(MEMBER_ID, new CreateUploadSessionRequest("climb.mp4", (long) content.length, null)).getUploadId();
+        for (int i = 0; i < 3; i++) put(uploadId, i);
+        byte[] corrupt = new byte[CHUNK_SIZE];
+
+        assertThrows(ChunkChecksumMismatchException.class,
+                () -> service.writeChunk(MEMBER_ID, uploadId, 1, sha256(chunk(1)), new ByteArrayInputStream(corrupt)));
+        assertThrows(InvalidChunkException.class,
+                () -> service.writeChunk(MEMBER_ID, uploadId, 1, sha256(corrupt), new ByteArrayInputStream(new byte[CHUNK_SIZE + 1])));
+
+        assertEquals(List.of(), service.getStatus(MEMBER_ID, uploadId).getMissingChunks());
+        assertArrayEquals(content, service.commit(MEMBER_ID, uploadId, file -> {
+            try {
+                return file.getBytes();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        // 검사용 조각 파일은 남지 않는다.
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("사용자별, 서버 전체의 진행 중인 세션 수와 용량을 넘으면 각각의 에러 코드로 거절한다")
+    void rejectOverLimits() throws Exception {
+        String first = service.createSession(MEMBER_ID, new CreateUploadSessionRequest("a.mp4", 2_000L, null)).getUploadId();
+        service.createSession(MEMBER_ID, new CreateUploadSessionRequest("b.mp4", 2_000L, null));
+
+        UploadLimitExceededException memberSessions = assertThrows(UploadLimitExceededException.class,
+                () -> service.createSession(MEMBER_ID, new CreateUploadSessionRequest("c.mp4", 1L, null)));
+        assertEquals(GlobalErrorCode.UPLOAD_MEMBER_LIMIT_EXCEEDED, memberSessions.getErrorCode());
+
+        service.createSession(2L, new CreateUploadSessionRequest("d.mp4", 4_000L, null));
+        // 사용자 2 는 한도 안이지만 서버 전체 용량(9,000)을 넘는다.
+        UploadLimitExceededException serverBytes = assertThrows(UploadLimitExceededException.class,
+                () -> service.createSession(2L, new CreateUploadSessionRequest("e.mp4", 1_500L, null)));
+        assertEquals(GlobalErrorCode.UPLOAD_SERVER_LIMIT_EXCEEDED, serverBytes.getErrorCode());
+        assertEquals(3, service.sessionCount());
+
+        // 끝난 세션은 제한에서 빠진다.
+        for (int i = 0; i < 2; i++) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            service.writeChunk(MEMBER_ID, first, i, sha256(chunk), new ByteArrayInputStream(chunk));
+        }
+        service.commit(MEMBER_ID, first, file -> null);
+        assertNotNull(service.createSession(MEMBER_ID, new CreateUploadSessionRequest("c.mp4", 1L, null)).getUploadId());
+    }
+
+    @Test
+    @DisplayName("세션이 없는 오래된 임시 파일은 정리할 때 지운다")
+    void purgeOrphanFiles() throws Exception {
+        String uploadId = service.createSession(MEMBER_ID, new CreateUploadSessionRequest("climb.mp4", (long) content.length, null)).getUploadId();
+        Path orphan = Files.createFile(tempDir.resolve("lost-upload"));
+        Path fresh = Files.createFile(tempDir.resolve("recent-upload"));
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(61));
+        Files.setLastModifiedTime(orphan, old);
+        Files.setLastModifiedTime(tempDir.resolve(uploadId), old);
+
+        service.purgeExpired();
+
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(fresh));
+        // 세션이 살아 있는 파일은 남긴다.
+        assertTrue(Files.exists(tempDir.resolve(uploadId)));
+    }
+
+    private UploadSessionResponse put(String uploadId, int index) throws Exception {
+        byte[] chunk = chunk(index);
+        return service.writeChunk(MEMBER_ID, uploadId, index, sha256(chunk), new ByteArrayInputStream(chunk));
+    }
+
+    private byte[] chunk(int index) {
+        return Arrays.copyOfRange(content, index * CHUNK_SIZE, Math.min(content.length, (index + 1) * CHUNK_SIZE));
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+}
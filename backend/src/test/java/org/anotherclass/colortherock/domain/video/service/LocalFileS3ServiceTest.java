@@ -0,0 +1,96 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.anotherclass.colortherock.domain.video.dto.StorageListPageDto;
+import org.anotherclass.colortherock.domain.video.dto.StoredObjectDto;
+import org.anotherclass.colortherock.domain.video.exception.ThumbnailUnsupportedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileS3ServiceTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("저장된 파일을 이름 순으로 페이지 단위로 읽는다.")
+    void listObjects() throws IOException {
+        for (String name : List.of("c.mp4", "a.mp4", "e.JPEG", "b.mp4", "d.mp4")) {
+            Files.writeString(root.resolve(name), name);
+        }
+        Files.createDirectory(root.resolve("dir"));
+        LocalFileS3Service service = new LocalFileS3Service(null, root.toString(), "/storage/");
+
+        List<String> names = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            StorageListPageDto page = service.listObjects(token, 2);
+            for (StoredObjectDto object : page.getObjects()) {
+                names.add(object.getName());
+                assertEquals(object.getName().length(), object.getSize());
+            }
+            token = page.getNextToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(List.of("a.mp4", "b.mp4", "c.mp4", "d.mp4", "e.JPEG"), names);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("여러 호출자가 번갈아 읽어도 서로의 다음 페이지를 바꾸지 않는다.")
+    void listObjectsInterleaved() throws IOException {
+        for (String name : List.of("a.mp4", "b.mp4", "c.mp4", "d.mp4")) {
+            Files.writeString(root.resolve(name), name);
+        }
+        LocalFileS3Service service = new LocalFileS3Service(null, root.toString(), "/storage/");
+
+        StorageListPageDto first = service.listObjects(null, 2);
+        // 다른 호출자가 처음부터 다시 읽고, 그 사이 파일이 하나 늘어난다.
+        service.listObjects(null, 1);
+        Files.writeString(root.resolve("bb.mp4"), "bb");
+        StorageListPageDto second = service.listObjects(first.getNextToken(), 2);
+
+        assertEquals("b.mp4", first.getNextToken());
+        assertEquals(List.of("bb.mp4", "c.mp4"), names(second));
+        assertEquals(List.of("d.mp4"), names(service.listObjects(second.getNextToken(), 2)));
+    }
+
+    @Test
+    @DisplayName("영상에서 프레임을 뽑을 수 없으므로 기본 이미지를 올리지 않는다.")
+    void uploadThumbnailUnsupported() throws IOException {
+        LocalFileS3Service service = new LocalFileS3Service(null, root.toString(), "/storage/");
+
+        assertThrows(ThumbnailUnsupportedException.class, () ->
+                service.uploadThumbnail(new MockMultipartFile("newVideo", "v.mp4", "video/mp4", "clip".getBytes()), "t.jpeg"));
+        assertFalse(Files.exists(root.resolve("t.jpeg")));
+    }
+
+    @Test
+    @DisplayName("여러 파일을 한 번에 지우고, 지우지 못한 이름만 돌려준다.")
+    void deleteFiles() throws IOException {
+        Files.writeString(root.resolve("a.mp4"), "a");
+        LocalFileS3Service service = new LocalFileS3Service(null, root.toString(), "/storage/");
+
+        Map<String, String> failed = service.deleteFiles(List.of("a.mp4", "missing.mp4", "../outside.mp4"));
+
+        assertFalse(Files.exists(root.resolve("a.mp4")));
+        assertEquals(List.of("../outside.mp4"), new ArrayList<>(failed.keySet()));
+    }
+
+    private static List<String> names(StorageListPageDto page) {
+        return page.getObjects().stream().map(StoredObjectDto::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,213 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.anotherclass.colortherock.domain.video.dto.VideoMetadataDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Mp4FastStartTest {
+
+    private static final byte[][] CHUNKS = {
+            "first-chunk".getBytes(StandardCharsets.US_ASCII),
+            "second-chunk".getBytes(StandardCharsets.US_ASCII),
+            "third-chunk".getBytes(StandardCharsets.US_ASCII)
+    };
+
+    @TempDir
+    Path tempDir;
+
+    private final Mp4FastStart fastStart = new Mp4FastStart(4 * 1024 * 1024);
+
+    @Test
+    @DisplayName("moov 가 뒤에 있으면 앞으로 옮기고 chunk 위치를 고친다.")
+    void moveMoovAheadOfMdat() throws IOException {
+        Path source = tempDir.resolve("source.mp4");
+        Path target = tempDir.resolve("target.mp4");
+        Files.write(source, buildMp4(false));
+
+        Mp4FastStart.Result result = fastStart.process(source, target);
+
+        assertTrue(result.isRewritten());
+        byte[] rewritten = Files.readAllBytes(target);
+        assertEquals(Files.size(source), rewritten.length);
+        assertEquals(List.of("ftyp", "moov", "mdat"), topLevelTypes(rewritten));
+        List<Long> offsets = chunkOffsets(rewritten);
+        assertEquals(CHUNKS.length, offsets.size());
+        for (int i = 0; i < CHUNKS.length; i++) {
+            byte[] actual = new byte[CHUNKS[i].length];
+            System.arraycopy(rewritten, offsets.get(i).intValue(), actual, 0, actual.length);
+            assertArrayEquals(CHUNKS[i], actual);
+        }
+        assertFalse(fastStart.process(target, tempDir.resolve("again.mp4")).isRewritten());
+    }
+
+    @Test
+    @DisplayName("재생 시간, 회전을 반영한 해상도, 코덱을 읽는다.")
+    void readMetadata() throws IOException {
+        Path source = tempDir.resolve("source.mp4");
+        Files.write(source, buildMp4(true));
+
+        Mp4FastStart.Result result = fastStart.process(source, tempDir.resolve("target.mp4"));
+
+        VideoMetadataDto metadata = result.getMetadata();
+        assertEquals(12.5, metadata.getDuration());
+        assertEquals(1080, metadata.getWidth());
+        assertEquals(1920, metadata.getHeight());
+        assertEquals("avc1", metadata.getCodec());
+    }
+
+    @Test
+    @DisplayName("이미 moov 가 앞에 있으면 다시 쓰지 않는다.")
+    void alreadyFastStart() throws IOException {
+        Path source = tempDir.resolve("source.mp4");
+        Path target = tempDir.resolve("target.mp4");
+        byte[] mp4 = buildMp4(false);
+        Files.write(source, mp4);
+        fastStart.process(source, target);
+        Files.move(target, source, StandardCopyOption.REPLACE_EXISTING);
+
+        Mp4FastStart.Result result = fastStart.process(source, target);
+
+        assertFalse(result.isRewritten());
+        assertFalse(Files.exists(target));
+        assertNotNull(result.getMetadata());
+    }
+
+    @Test
+    @DisplayName("실제 녹화 영상도 옮긴 뒤 다시 읽을 수 있다.")
+    void rewriteRecording() throws IOException {
+        Path source = tempDir.resolve("recording.mp4");
+        Path target = tempDir.resolve("target.mp4");
+        try (InputStream in = getClass().getResourceAsStream("/video/test_recording.mp4")) {
+            assertNotNull(in);
+            Files.copy(in, source);
+        }
+
+        Mp4FastStart.Result result = fastStart.process(source, target);
+
+        assertTrue(result.isRewritten());
+        byte[] rewritten = Files.readAllBytes(target);
+        assertEquals(Files.size(source), rewritten.length);
+        List<String> types = topLevelTypes(rewritten);
+        assertTrue(types.indexOf("moov") < types.indexOf("mdat"));
+        VideoMetadataDto again = fastStart.readMetadata(target);
+        assertEquals(result.getMetadata().getDuration(), again.getDuration());
+        assertEquals(result.getMetadata().getCodec(), again.getCodec());
+    }
+
+    @Test
+    @DisplayName("MP4 가 아니면 예외")
+    void notMp4() throws IOException {
+        Path source = tempDir.resolve("text.mp4");
+        Files.write(source, "this is not a video file".getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(IOException.class, () -> fastStart.process(source, tempDir.resolve("target.mp4")));
+    }
+
+    /**
+     * ftyp, mdat, moov 순서의 최소 MP4
+     */
+    private byte[] buildMp4(boolean rotated) {
+        byte[] ftyp = box("ftyp", concat("isom".getBytes(StandardCharsets.US_ASCII), ByteBuffer.allocate(4).putInt(512).array(),
+                "isomavc1".getBytes(StandardCharsets.US_ASCII)));
+        byte[] mdat = box("mdat", concat(CHUNKS));
+        long[] offsets = new long[CHUNKS.length];
+        long offset = ftyp.length + 8;
+        for (int i = 0; i < CHUNKS.length; i++) {
+            offsets[i] = offset;
+            offset += CHUNKS[i].length;
+        }
+        byte[] moov = box("moov", concat(mvhd(1000, 12500), trak(rotated, offsets)));
+        return concat(ftyp, mdat, moov);
+    }
+
+    private byte[] mvhd(int timescale, int duration) {
+        ByteBuffer body = ByteBuffer.allocate(100);
+        body.putInt(0).putInt(0).putInt(0).putInt(timescale).putInt(duration);
+        return box("mvhd", body.array());
+    }
+
+    private byte[] trak(boolean rotated, long[] offsets) {
+        ByteBuffer tkhd = ByteBuffer.allocate(84);
+        tkhd.putInt(0).putInt(0).putInt(0).putInt(1).putInt(0).putInt(0);
+        tkhd.position(40);
+        int[] matrix = rotated
+                ? new int[]{0, 0x10000, 0, -0x10000, 0, 0, 0, 0, 0x40000000}
+                : new int[]{0x10000, 0, 0, 0, 0x10000, 0, 0, 0, 0x40000000};
+        for (int value : matrix) tkhd.putInt(value);
+        tkhd.putInt(1920 << 16).putInt(1080 << 16);
+
+        ByteBuffer hdlr = ByteBuffer.allocate(25);
+        hdlr.putInt(0).putInt(0).put("vide".getBytes(StandardCharsets.US_ASCII));
+
+        ByteBuffer sampleEntry = ByteBuffer.allocate(78);
+        sampleEntry.position(24);
+        sampleEntry.putShort((short) 1920).putShort((short) 1080);
+        ByteBuffer stsd = ByteBuffer.allocate(8);
+        stsd.putInt(0).putInt(1);
+
+        ByteBuffer stco = ByteBuffer.allocate(8 + offsets.length * 4);
+        stco.putInt(0).putInt(offsets.length);
+        for (long offset : offsets) stco.putInt((int) offset);
+
+        byte[] stbl = box("stbl", concat(box("stsd", concat(stsd.array(), box("avc1", sampleEntry.array()))),
+                box("stco", stco.array())));
+        byte[] minf = box("minf", stbl);
+        byte[] mdia = box("mdia", concat(box("hdlr", hdlr.array()), minf));
+        return box("trak", concat(box("tkhd", tkhd.array()), mdia));
+    }
+
+    private List<String> topLevelTypes(byte[] mp4) {
+        List<String> types = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(mp4);
+        while (buffer.remaining() >= 8) {
+            int start = buffer.position();
+            int size = buffer.getInt();
+            byte[] type = new byte[4];
+            buffer.get(type);
+            types.add(new String(type, StandardCharsets.US_ASCII));
+            buffer.position(start + size);
+        }
+        return types;
+    }
+
+    /**
+     * 직접 만든 파일 구조에서 stco 를 찾아 읽는다.
+     */
+    private List<Long> chunkOffsets(byte[] mp4) {
+        byte[] marker = "stco".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i + 4 <= mp4.length; i++) {
+            if (mp4[i] == marker[0] && mp4[i + 1] == marker[1] && mp4[i + 2] == marker[2] && mp4[i + 3] == marker[3]) {
+                ByteBuffer buffer = ByteBuffer.wrap(mp4, i + 8, mp4.length - i - 8);
+                int count = buffer.getInt();
+                List<Long> offsets = new ArrayList<>();
+                for (int j = 0; j < count; j++) offsets.add(buffer.getInt() & 0xFFFFFFFFL);
+                return offsets;
+            }
+        }
+        throw new AssertionError("stco 없음");
+    }
+
+    private byte[] box(String type, byte[] body) {
+        return concat(ByteBuffer.allocate(8).putInt(8 + body.length).put(type.getBytes(StandardCharsets.US_ASCII)).array(), body);
+    }
+
+    private byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) out.writeBytes(part);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,35 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameBloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 이름은 항상 있다고 하고, 오탐률은 설정값 근처다.")
+    void noFalseNegative() {
+        int count = 100_000;
+        NameBloomFilter filter = new NameBloomFilter(count, 0.001);
+        for (int i = 0; i < count; i++) filter.put(i + "member.mp4");
+
+        for (int i = 0; i < count; i++) assertTrue(filter.mightContain(i + "member.mp4"));
+        int falsePositives = 0;
+        for (int i = 0; i < count; i++) {
+            if (filter.mightContain("Thumb" + i + "member.JPEG")) falsePositives++;
+        }
+        assertTrue(falsePositives < count * 0.003, "오탐 " + falsePositives);
+        // 이름당 약 15bit
+        assertTrue(filter.sizeInBytes() < count * 2L + 64);
+    }
+
+    @Test
+    @DisplayName("예상 개수가 0이어도 동작한다.")
+    void empty() {
+        NameBloomFilter filter = new NameBloomFilter(0, 0.001);
+        assertFalse(filter.mightContain("video.mp4"));
+        filter.put("video.mp4");
+        assertTrue(filter.mightContain("video.mp4"));
+    }
+}
@@ -0,0 +1,71 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.anotherclass.colortherock.domain.live.repository.LiveRepository;
+import org.anotherclass.colortherock.domain.video.dto.StorageListPageDto;
+import org.anotherclass.colortherock.domain.video.dto.StoredObjectDto;
+import org.anotherclass.colortherock.domain.video.repository.StorageDeletionRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.domain.video.response.OrphanCollectReportResponse;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrphanObjectCollectorTest {
+
+    private final S3Service s3Service = mock(S3Service.class);
+    private final VideoRepository videoRepository = mock(VideoRepository.class);
+    private final LiveRepository liveRepository = mock(LiveRepository.class);
+    private final StorageDeletionOutbox storageDeletionOutbox = mock(StorageDeletionOutbox.class);
+    private final StorageDeletionRepository storageDeletionRepository = mock(StorageDeletionRepository.class);
+    private final JobLockService jobLockService = mock(JobLockService.class);
+
+    private OrphanObjectCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new OrphanObjectCollector(s3Service, videoRepository, liveRepository, storageDeletionOutbox,
+                storageDeletionRepository, jobLockService, mock(MaintenanceJobRunner.class), new SimpleMeterRegistry(),
+                true, true, 24, 100, 100, 0.001, 600_000);
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        when(s3Service.listObjects(isNull(), anyInt())).thenReturn(new StorageListPageDto(List.of(
+                new StoredObjectDto("a.mp4", old, 10), new StoredObjectDto("b.mp4", old, 20)), null));
+        when(jobLockService.tryAcquire(eq("storage-gc"), any())).thenReturn("token");
+    }
+
+    @Test
+    @DisplayName("이미 삭제를 기다리는 객체는 참조 없음으로 세지만 다시 예약하지 않는다.")
+    void skipQueued() {
+        when(storageDeletionRepository.findObjectNamesIn(anyCollection(), anyCollection())).thenReturn(List.of("a.mp4"));
+
+        OrphanCollectReportResponse report = collector.collect(false);
+
+        assertEquals(2L, report.getOrphanCount());
+        assertEquals(1L, report.getEnqueuedCount());
+        verify(storageDeletionOutbox).enqueue("b.mp4");
+        verify(jobLockService).release("storage-gc", "token");
+    }
+
+    @Test
+    @DisplayName("다른 서버가 잠금을 잡고 있으면 실행하지 않는다.")
+    void lockedElsewhere() {
+        when(jobLockService.tryAcquire(eq("storage-gc"), any())).thenReturn(null);
+
+        GlobalBaseException e = assertThrows(GlobalBaseException.class, () -> collector.collect(false));
+
+        assertEquals(GlobalErrorCode.STORAGE_GC_RUNNING, e.getErrorCode());
+        verifyNoInteractions(s3Service, storageDeletionOutbox);
+    }
+}
@@ -0,0 +1,111 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.anotherclass.colortherock.domain.video.exception.VideoUploadException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelFileUploaderTest {
+
+    private static final int PART_SIZE = 1024;
+    private static final int MAX_PARTS = 3;
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("파트를 병렬로 올려도 원본과 같은 파일이 만들어지고 버퍼 사용량은 제한된다")
+    void uploadInParts() throws IOException {
+        for (boolean memoryMapped : new boolean[]{false, true}) {
+            // given
+            ParallelFileUploader uploader = new ParallelFileUploader(executor, meterRegistry, PART_SIZE, MAX_PARTS, memoryMapped);
+            byte[] content = new byte[PART_SIZE * 10 + 123];
+            new Random(memoryMapped ? 1 : 2).nextBytes(content);
+            Path source = Files.write(tempDir.resolve("source-" + memoryMapped), content);
+            byte[] uploaded = new byte[content.length];
+            AtomicBoolean completed = new AtomicBoolean();
+            // when
+            long size = uploader.upload(source, "video", new ParallelFileUploader.PartWriter() {
+                @Override
+                public void writePart(int partNumber, long offset, ByteBuffer data) {
+                    assertEquals((long) (partNumber - 1) * PART_SIZE, offset);
+                    data.get(uploaded, (int) offset, data.remaining());
+                }
+
+                @Override
+                public void complete(int partCount, long total) {
+                    assertEquals(11, partCount);
+                    completed.set(true);
+                }
+
+                @Override
+                public void abort() {
+                    fail("업로드가 실패하면 안 된다");
+                }
+            });
+            // then
+            assertEquals(content.length, size);
+            assertTrue(completed.get());
+            assertArrayEquals(content, uploaded);
+        }
+        assertTrue(meterRegistry.get("storage.upload.buffer.peak").gauge().value() <= PART_SIZE * MAX_PARTS);
+        assertEquals(0, meterRegistry.get("storage.upload.buffer.in-use").gauge().value());
+        assertEquals(2, meterRegistry.get("storage.upload.throughput").tag("kind", "video").summary().count());
+    }
+
+    @Test
+    @DisplayName("파트 하나라도 실패하면 업로드를 중단한다")
+    void abortOnPartFailure() throws IOException {
+        // given
+        ParallelFileUploader uploader = new ParallelFileUploader(executor, meterRegistry, PART_SIZE, MAX_PARTS, false);
+        Path source = Files.write(tempDir.resolve("source"), new byte[PART_SIZE * 5]);
+        AtomicBoolean aborted = new AtomicBoolean();
+        // when, then
+        assertThrows(VideoUploadException.class, () -> uploader.upload(source, "video", new ParallelFileUploader.PartWriter() {
+            @Override
+            public void writePart(int partNumber, long offset, ByteBuffer data) throws IOException {
+                if (partNumber == 2) throw new IOException("part failed");
+            }
+
+            @Override
+            public void complete(int partCount, long total) {
+                fail("실패한 업로드는 완료되면 안 된다");
+            }
+
+            @Override
+            public void abort() {
+                aborted.set(true);
+            }
+        }));
+        assertTrue(aborted.get());
+        assertEquals(0, meterRegistry.get("storage.upload.buffer.in-use").gauge().value());
+    }
+}
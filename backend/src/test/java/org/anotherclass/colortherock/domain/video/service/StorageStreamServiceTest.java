@@ -0,0 +1,133 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.anotherclass.colortherock.domain.video.exception.StorageObjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageStreamServiceTest {
+
+    private static final String NAME = "video.mp4";
+    private static final String CONTENT = "0123456789abcdef";
+
+    @TempDir
+    Path root;
+
+    private StorageStreamService storageStreamService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(root.resolve(NAME), CONTENT);
+        LocalFileS3Service localFileS3Service = new LocalFileS3Service(null, root.toString(), "/storage/");
+        storageStreamService = new StorageStreamService(localFileS3Service, 60);
+    }
+
+    @Test
+    @DisplayName("Range 가 없으면 전체를 보낸다.")
+    void full() throws IOException {
+        MockHttpServletResponse response = stream(new MockHttpServletRequest("GET", "/storage/" + NAME));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals("video/mp4", response.getContentType());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("요청한 구간만 206 으로 보낸다.")
+    void range() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/" + NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-7");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("4567", response.getContentAsString());
+        assertEquals("bytes 4-7/16", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+    }
+
+    @Test
+    @DisplayName("끝에서부터의 구간과 열린 구간")
+    void suffixAndOpenRange() throws IOException {
+        MockHttpServletRequest suffix = new MockHttpServletRequest("GET", "/storage/" + NAME);
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletRequest open = new MockHttpServletRequest("GET", "/storage/" + NAME);
+        open.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        assertEquals("def", stream(suffix).getContentAsString());
+        assertEquals("abcdef", stream(open).getContentAsString());
+    }
+
+    @Test
+    @DisplayName("파일 크기를 벗어난 구간은 416")
+    void unsatisfiable() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/" + NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=16-20");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */16", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("ETag 가 같으면 304, If-Range 가 다르면 전체를 보낸다.")
+    void conditional() throws IOException {
+        String eTag = stream(new MockHttpServletRequest("GET", "/storage/" + NAME)).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest notModified = new MockHttpServletRequest("GET", "/storage/" + NAME);
+        notModified.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + eTag);
+        MockHttpServletRequest staleRange = new MockHttpServletRequest("GET", "/storage/" + NAME);
+        staleRange.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        staleRange.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        MockHttpServletResponse response = stream(notModified);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(CONTENT, stream(staleRange).getContentAsString());
+    }
+
+    @Test
+    @DisplayName("sendfile 을 지원하면 전송을 컨테이너에 넘긴다.")
+    void sendfile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/storage/" + NAME);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(16L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    @DisplayName("루트 밖의 파일이나 없는 파일은 찾을 수 없다.")
+    void notFound() {
+        assertThrows(StorageObjectNotFoundException.class,
+                () -> stream(new MockHttpServletRequest("GET", "/storage/none.mp4"), "none.mp4"));
+        assertThrows(StorageObjectNotFoundException.class,
+                () -> stream(new MockHttpServletRequest("GET", "/storage/x"), "../outside.mp4"));
+    }
+
+    private MockHttpServletResponse stream(MockHttpServletRequest request) throws IOException {
+        return stream(request, NAME);
+    }
+
+    private MockHttpServletResponse stream(MockHttpServletRequest request, String name) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        storageStreamService.stream(name, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,174 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.anotherclass.colortherock.domain.video.dto.PreparedVideoDto;
+import org.anotherclass.colortherock.domain.video.entity.ThumbnailStatus;
+import org.anotherclass.colortherock.domain.video.entity.VideoContent;
+import org.anotherclass.colortherock.domain.video.exception.ThumbnailUnsupportedException;
+import org.anotherclass.colortherock.domain.video.repository.VideoContentRepository;
+import org.anotherclass.colortherock.domain.video.repository.VideoRepository;
+import org.anotherclass.colortherock.global.common.MaintenanceJobRunner;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.anotherclass.colortherock.global.lock.JobLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ThumbnailWorkerTest {
+
+    private static final List<Long> IDS = List.of(1L, 2L);
+
+    private final S3Service s3Service = mock(S3Service.class);
+    private final VideoRepository videoRepository = mock(VideoRepository.class);
+    private final VideoContentRepository videoContentRepository = mock(VideoContentRepository.class);
+    private final StorageDeletionOutbox storageDeletionOutbox = mock(StorageDeletionOutbox.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final JobLockService jobLockService = mock(JobLockService.class);
+
+    @TempDir
+    Path spoolDir;
+
+    private ThumbnailWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new ThumbnailWorker(s3Service, videoRepository, videoContentRepository, storageDeletionOutbox,
+                executor, taskScheduler, mock(PlatformTransactionManager.class), jobLockService,
+                mock(MaintenanceJobRunner.class), new SimpleMeterRegistry(), spoolDir.toString(), 3, 10, 60_000, 600_000);
+        when(jobLockService.tryAcquire(anyString(), any())).thenReturn("token");
+        // 풀과 재시도 예약은 바로 실행한다.
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        ThreadPoolExecutor pool = mock(ThreadPoolExecutor.class);
+        when(pool.getQueue()).thenReturn(new LinkedBlockingQueue<>(10));
+        when(executor.getThreadPoolExecutor()).thenReturn(pool);
+        when(videoRepository.findIdsByVideoNameAndThumbnailStatus("v.mp4", ThumbnailStatus.PENDING)).thenReturn(IDS);
+        when(videoContentRepository.updateThumbnail(anyString(), anyString(), any())).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("PENDING 에서 썸네일을 올리면 기다리던 영상을 id 로 READY 로 바꾼다.")
+    void pendingToReady() throws IOException {
+        when(s3Service.uploadThumbnail(any(), eq("t.jpeg"))).thenReturn("https://cdn/t.jpeg");
+
+        worker.submit(prepared(), "v.mp4", "t.jpeg");
+
+        verify(videoRepository).updateThumbnail(IDS, "https://cdn/t.jpeg", ThumbnailStatus.READY);
+        verify(videoContentRepository).updateThumbnail("v.mp4", "https://cdn/t.jpeg", ThumbnailStatus.READY);
+        verifyNoInteractions(storageDeletionOutbox);
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("최대 횟수까지 실패하면 FAILED 로 바꾸고 기본 썸네일 URL 은 그대로 둔다.")
+    void pendingToFailedKeepsPlaceholder() throws IOException {
+        when(s3Service.uploadThumbnail(any(), anyString())).thenThrow(new IllegalStateException("ffmpeg"));
+
+        worker.submit(prepared(), "v.mp4", "t.jpeg");
+
+        verify(s3Service, times(3)).uploadThumbnail(any(), eq("t.jpeg"));
+        verify(videoRepository).updateThumbnailStatus(IDS, ThumbnailStatus.FAILED);
+        verify(videoContentRepository).updateThumbnailStatus("v.mp4", ThumbnailStatus.FAILED);
+        verify(videoRepository, never()).updateThumbnail(anyList(), any(), any());
+        verify(videoContentRepository, never()).updateThumbnail(anyString(), any(), any());
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("스토리지가 썸네일을 만들 수 없으면 재시도하지 않고 UNSUPPORTED 로 바꾼다.")
+    void unsupportedIsNotReady() throws IOException {
+        when(s3Service.uploadThumbnail(any(), anyString()))
+                .thenThrow(new ThumbnailUnsupportedException(GlobalErrorCode.THUMBNAIL_UNSUPPORTED));
+
+        worker.submit(prepared(), "v.mp4", "t.jpeg");
+
+        verify(s3Service, times(1)).uploadThumbnail(any(), eq("t.jpeg"));
+        verify(videoRepository).updateThumbnailStatus(IDS, ThumbnailStatus.UNSUPPORTED);
+        verify(videoContentRepository).updateThumbnailStatus("v.mp4", ThumbnailStatus.UNSUPPORTED);
+        verify(videoRepository, never()).updateThumbnail(anyList(), any(), any());
+        verifyNoInteractions(taskScheduler);
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 요청 스레드에서 만들지 않고 PENDING 으로 두었다가 sweep 이 다시 만든다.")
+    void rejectedStaysPendingUntilSweep() throws IOException {
+        doThrow(new TaskRejectedException("full")).when(executor).execute(any(Runnable.class));
+
+        worker.submit(prepared(), "v.mp4", "t.jpeg");
+
+        verifyNoInteractions(s3Service);
+        verify(videoRepository, never()).findIdsByVideoNameAndThumbnailStatus(anyString(), any());
+        assertSpoolEmpty();
+
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        VideoContent content = mock(VideoContent.class);
+        when(content.getVideoName()).thenReturn("v.mp4");
+        when(content.getThumbnailName()).thenReturn("t.jpeg");
+        when(videoContentRepository.findByThumbnailStatusAndCreatedDateBefore(eq(ThumbnailStatus.PENDING), any(), any()))
+                .thenReturn(List.of(content));
+        when(s3Service.download("v.mp4")).thenReturn(new ByteArrayInputStream("clip".getBytes()));
+        when(s3Service.uploadThumbnail(any(), eq("t.jpeg"))).thenReturn("https://cdn/t.jpeg");
+
+        worker.sweep();
+
+        verify(videoRepository).updateThumbnail(IDS, "https://cdn/t.jpeg", ThumbnailStatus.READY);
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("영상이 모두 지워진 뒤에 만든 썸네일은 삭제를 예약한다.")
+    void readyWithoutVideo() throws IOException {
+        when(videoRepository.findIdsByVideoNameAndThumbnailStatus("v.mp4", ThumbnailStatus.PENDING)).thenReturn(List.of());
+        when(videoContentRepository.updateThumbnail(anyString(), anyString(), any())).thenReturn(0);
+        when(s3Service.uploadThumbnail(any(), eq("t.jpeg"))).thenReturn("https://cdn/t.jpeg");
+
+        worker.submit(prepared(), "v.mp4", "t.jpeg");
+
+        verify(videoRepository, never()).updateThumbnail(anyList(), any(), any());
+        verify(storageDeletionOutbox).enqueue("t.jpeg");
+    }
+
+    private PreparedVideoDto prepared() throws IOException {
+        // 전처리가 받아 둔 임시 파일을 흉내내서 워커의 spool 디렉터리에 둔다.
+        Path spoolFile = Files.write(spoolDir.resolve("upload"), "clip".getBytes());
+        MockMultipartFile video = new MockMultipartFile("newVideo", "v.mp4", "video/mp4", "clip".getBytes());
+        return new PreparedVideoDto(video, null, spoolFile, "hash");
+    }
+
+    private void assertSpoolEmpty() throws IOException {
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
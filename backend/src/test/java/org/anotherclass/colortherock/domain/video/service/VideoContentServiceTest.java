@@ -0,0 +1,97 @@
+package org.anotherclass.colortherock.domain.video.service;
+
+import org.anotherclass.colortherock.domain.member.entity.Member;
+import org.anotherclass.colortherock.domain.video.dto.PreparedVideoDto;
+import org.anotherclass.colortherock.domain.video.dto.StoredVideoDto;
+import org.anotherclass.colortherock.domain.video.repository.VideoContentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class VideoContentServiceTest {
+
+    @Autowired
+    private VideoContentService videoContentService;
+    @Autowired
+    private VideoContentRepository videoContentRepository;
+    @Autowired
+    private VideoMediaProcessor videoMediaProcessor;
+    @Autowired
+    private EntityManager em;
+
+    private final List<PreparedVideoDto> prepared = new ArrayList<>();
+
+    @Test
+    @DisplayName("같은 내용의 영상은 처음 올린 객체를 재사용하고 마지막 참조가 사라지면 색인을 지운다")
+    void storeSameContentTwice() {
+        // given
+        byte[] content = "same climbing clip".getBytes();
+        PreparedVideoDto first = prepare("first.mp4", content);
+        PreparedVideoDto second = prepare("second.mp4", content);
+        // when
+        StoredVideoDto firstStored = store(first, "first.mp4", "ThumbFirst.JPEG");
+        StoredVideoDto secondStored = store(second, "second.mp4", "ThumbSecond.JPEG");
+        // then
+        assertEquals("first.mp4", secondStored.getVideoName());
+        assertEquals("ThumbFirst.JPEG", secondStored.getThumbnailName());
+        String hash = first.getHash();
+        assertEquals(hash, second.getHash());
+        assertNull(videoContentService.upload(second, "third.mp4"));
+        assertEquals(2, videoContentRepository.findById(hash).orElseThrow().getRefCount());
+
+        videoContentService.release(firstStored.getVideoName(), firstStored.getThumbnailName());
+        assertEquals(1, videoContentRepository.findById(hash).orElseThrow().getRefCount());
+        videoContentService.release(secondStored.getVideoName(), secondStored.getThumbnailName());
+        assertTrue(videoContentRepository.findById(hash).isEmpty());
+    }
+
+    @Test
+    @DisplayName("영상을 저장해도 이 트랜잭션에서 읽은 다른 객체는 영속 상태로 남는다")
+    void storeKeepsLoadedEntities() {
+        Member member = new Member("content@rock.com", "내용", Member.RegistrationId.kakao);
+        em.persist(member);
+        PreparedVideoDto video = prepare("keep.mp4", "keep clip".getBytes());
+
+        store(video, "keep.mp4", "ThumbKeep.JPEG");
+
+        assertTrue(em.contains(member));
+    }
+
+    @Test
+    @DisplayName("내용이 다르면 해시가 다르다")
+    void hashDiffers() {
+        PreparedVideoDto a = prepare("a.mp4", "a".getBytes());
+        PreparedVideoDto b = prepare("b.mp4", "b".getBytes());
+        assertNotEquals(a.getHash(), b.getHash());
+        assertEquals(64, a.getHash().length());
+    }
+
+    @AfterEach
+    void discardSpool() {
+        prepared.forEach(videoMediaProcessor::discard);
+    }
+
+    // 업로드는 트랜잭션 밖에서 하는 것처럼 먼저 올리고 등록한다.
+    private StoredVideoDto store(PreparedVideoDto video, String videoName, String thumbnailName) {
+        String s3URL = videoContentService.upload(video, videoName);
+        return videoContentService.store(video, videoName, s3URL, thumbnailName);
+    }
+
+    private PreparedVideoDto prepare(String fileName, byte[] content) {
+        PreparedVideoDto dto = videoMediaProcessor.prepare(new MockMultipartFile("newVideo", fileName, "video/mp4", content));
+        prepared.add(dto);
+        return dto;
+    }
+}
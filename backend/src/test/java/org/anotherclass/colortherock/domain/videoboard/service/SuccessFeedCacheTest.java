@@ -0,0 +1,149 @@
+package org.anotherclass.colortherock.domain.videoboard.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.anotherclass.colortherock.domain.videoboard.request.VideoBoardSearchRequest;
+import org.anotherclass.colortherock.domain.videoboard.response.VideoBoardSummaryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuccessFeedCacheTest {
+
+    private static final int PAGE_SIZE = 4;
+
+    // 페이지 2개(8개)까지 캐시한다.
+    private final SuccessFeedCache cache = new SuccessFeedCache(null, null, new SimpleMeterRegistry(),
+            true, 2, 100, 60, false, 60);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("캐시한 범위 안의 다음 페이지는 DB 를 읽지 않는다.")
+    void pagesInsideWindow() {
+        IntFunction<Slice<VideoBoardSummaryResponse>> loader = loader(20);
+
+        List<VideoBoardSummaryResponse> first = cache.getPage(condition(-1L, "", ""), PAGE_SIZE, loader);
+        Long last = first.get(PAGE_SIZE - 1).getVideoBoardId();
+        List<VideoBoardSummaryResponse> second = cache.getPage(condition(last, "", ""), PAGE_SIZE, loader);
+        List<VideoBoardSummaryResponse> third = cache.getPage(condition(second.get(PAGE_SIZE - 1).getVideoBoardId(), "", ""), PAGE_SIZE, loader);
+
+        assertEquals(List.of(20L, 19L, 18L, 17L), ids(first));
+        assertEquals(List.of(16L, 15L, 14L, 13L), ids(second));
+        assertNull(third);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("글이 범위보다 적으면 마지막 페이지도 캐시에서 준다.")
+    void completeWindow() {
+        IntFunction<Slice<VideoBoardSummaryResponse>> loader = loader(6);
+
+        cache.getPage(condition(-1L, "", ""), PAGE_SIZE, loader);
+        List<VideoBoardSummaryResponse> last = cache.getPage(condition(3L, "", ""), PAGE_SIZE, loader);
+
+        assertEquals(List.of(2L, 1L), ids(last));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("같은 조건의 첫 요청이 몰려도 DB 는 한 번만 읽는다.")
+    void singleFlight() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        IntFunction<Slice<VideoBoardSummaryResponse>> slowLoader = size -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader(20).apply(size);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                cache.getPage(condition(-1L, "더클라임", ""), PAGE_SIZE, slowLoader);
+                done.countDown();
+            });
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("바뀐 글이 보일 수 있는 조건만 지운다.")
+    void evictMatchingConditions() {
+        cache.getPage(condition(-1L, "강남", ""), PAGE_SIZE, loader(20));
+        cache.getPage(condition(-1L, "홍대", ""), PAGE_SIZE, loader(20));
+        cache.getPage(condition(-1L, "", "파랑"), PAGE_SIZE, loader(20));
+        assertEquals(3, loads.get());
+
+        cache.evict("더클라임 강남점", "초록");
+
+        cache.getPage(condition(-1L, "강남", ""), PAGE_SIZE, loader(20));
+        cache.getPage(condition(-1L, "홍대", ""), PAGE_SIZE, loader(20));
+        cache.getPage(condition(-1L, "", "파랑"), PAGE_SIZE, loader(20));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("암장 이름은 대소문자와 악센트를 가리지 않고 비교해서 지운다.")
+    void evictIgnoresCaseAndAccent() {
+        cache.getPage(condition(-1L, "the climb", ""), PAGE_SIZE, loader(20));
+        cache.getPage(condition(-1L, "cafe", ""), PAGE_SIZE, loader(20));
+
+        cache.evict("THE CLIMB Café", "초록");
+
+        cache.getPage(condition(-1L, "the climb", ""), PAGE_SIZE, loader(20));
+        cache.getPage(condition(-1L, "cafe", ""), PAGE_SIZE, loader(20));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("꺼낸 게시글을 바꿔도 캐시한 게시글은 그대로다.")
+    void cachedRowsAreCopied() {
+        List<VideoBoardSummaryResponse> first = cache.getPage(condition(-1L, "", ""), PAGE_SIZE, loader(20));
+        first.get(0).setTitle("바꾼 제목");
+
+        List<VideoBoardSummaryResponse> again = cache.getPage(condition(-1L, "", ""), PAGE_SIZE, loader(20));
+
+        assertNull(again.get(0).getTitle());
+        assertEquals(1, loads.get());
+    }
+
+    private IntFunction<Slice<VideoBoardSummaryResponse>> loader(int total) {
+        return size -> {
+            loads.incrementAndGet();
+            List<VideoBoardSummaryResponse> rows = new ArrayList<>();
+            for (long id = total; id > 0 && rows.size() < size; id--) {
+                rows.add(VideoBoardSummaryResponse.builder().videoBoardId(id).build());
+            }
+            return new SliceImpl<>(rows, Pageable.ofSize(size), total > size);
+        };
+    }
+
+    private VideoBoardSearchRequest condition(Long storeId, String gymName, String color) {
+        return new VideoBoardSearchRequest(storeId, color, gymName);
+    }
+
+    private List<Long> ids(List<VideoBoardSummaryResponse> rows) {
+        List<Long> ids = new ArrayList<>();
+        rows.forEach(row -> ids.add(row.getVideoBoardId()));
+        return ids;
+    }
+}
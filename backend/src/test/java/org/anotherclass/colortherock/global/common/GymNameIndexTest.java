@@ -0,0 +1,197 @@
+package org.anotherclass.colortherock.global.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GymNameIndexTest {
+
+    @Test
+    @DisplayName("검색어가 이름에 이어서 들어 있는 id 만 큰 순서로 찾는다.")
+    void searchContains() {
+        GymNameIndex index = new GymNameIndex();
+        index.put(1L, "더클라임 강남점");
+        index.put(2L, "클라이밍파크 강남");
+        index.put(3L, "더클라임 신림점");
+        // 두 글자는 모두 있지만 이어져 있지 않다.
+        index.put(4L, "강서 남산");
+
+        assertArrayEquals(new long[]{2L, 1L}, index.search("강남", null, 10));
+        assertArrayEquals(new long[]{3L, 1L}, index.search("더클라임", null, 10));
+        assertArrayEquals(new long[]{4L}, index.search("서", null, 10));
+        assertArrayEquals(new long[0], index.search("없는암장", null, 10));
+    }
+
+    @Test
+    @DisplayName("커서보다 작은 id 부터 limit 개까지만 찾고, 대소문자는 구분하지 않는다.")
+    void searchBeforeCursor() {
+        GymNameIndex index = new GymNameIndex();
+        for (long id = 1; id <= 50; id++) {
+            index.put(id, id % 2 == 0 ? "The Climb" : "Seoul Forest");
+        }
+
+        assertArrayEquals(new long[]{50L, 48L, 46L}, index.search("climb", null, 3));
+        assertArrayEquals(new long[]{20L, 18L}, index.search("CLIMB", 21L, 2));
+        assertArrayEquals(new long[]{2L}, index.search("the", 4L, 10));
+    }
+
+    @Test
+    @DisplayName("이름을 바꾸거나 지우면 이전 이름으로는 찾지 않는다.")
+    void putAndRemove() {
+        GymNameIndex index = new GymNameIndex();
+        index.put(10L, "더클라임 강남점");
+        index.put(5L, "더클라임 신림점");
+
+        index.put(10L, "손상원클라이밍");
+        index.remove(5L);
+
+        assertArrayEquals(new long[0], index.search("더클라임", null, 10));
+        assertArrayEquals(new long[]{10L}, index.search("클라이밍", null, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("색인 후보 중 조건에 맞지 않는 행이 있으면 다음 후보를 더 읽어서 채운다.")
+    void indexerFillsPage() {
+        List<GymNameDto> rows = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            rows.add(new GymNameDto(id, id % 3 == 0 ? "더클라임 강남점" : "클라이밍파크"));
+        }
+        GymNameIndexer indexer = new GymNameIndexer("테스트", true, 30, 10, 60_000) {
+            @Override
+            protected List<GymNameDto> load(Long lastId, Pageable pageable) {
+                return rows.stream()
+                        .filter(row -> row.getId() > lastId)
+                        .limit(pageable.getPageSize())
+                        .collect(Collectors.toList());
+            }
+        };
+        assertFalse(indexer.isAvailable("강남"));
+        indexer.refresh();
+        assertTrue(indexer.isAvailable("강남"));
+
+        // DB 조건으로 짝수 id 만 남긴다.
+        List<Long> found = indexer.search("강남", null, 20,
+                ids -> ids.stream().filter(id -> id % 2 == 0).collect(Collectors.toList()));
+
+        assertEquals(16, found.size());
+        assertEquals(96L, found.get(0));
+        assertTrue(found.stream().allMatch(id -> id % 6 == 0));
+
+        // 다른 서버에서 더한 행은 다음 갱신에서 들어온다.
+        rows.add(new GymNameDto(101L, "더클라임 강남점"));
+        indexer.refresh();
+        assertEquals(101L, indexer.search("강남", null, 1, ids -> ids).get(0));
+    }
+
+    @Test
+    @DisplayName("DB 비교처럼 악센트와 전각, 반각을 구분하지 않는다.")
+    void searchIgnoresAccentAndWidth() {
+        GymNameIndex index = new GymNameIndex();
+        index.put(1L, "Café Climbing");
+        index.put(2L, "ＴＨＥ ＣＬＩＭＢ 강남");
+        index.put(3L, "클라이밍파크");
+
+        assertArrayEquals(new long[]{1L}, index.search("cafe", null, 10));
+        assertArrayEquals(new long[]{1L}, index.search("CAFÉ", null, 10));
+        assertArrayEquals(new long[]{2L}, index.search("the climb", null, 10));
+        assertArrayEquals(new long[]{2L}, index.search("ｃｌｉｍｂ 강남", null, 10));
+        assertArrayEquals(new long[]{3L}, index.search("파크", null, 10));
+    }
+
+    @Test
+    @DisplayName("늦게 커밋된 행과 다른 서버에서 이름을 바꾼 행을 갱신에서 읽는다.")
+    void refreshRescansWindowAndChanges() {
+        List<GymNameDto> rows = new ArrayList<>();
+        List<GymNameDto> changed = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            if (id != 15) rows.add(new GymNameDto(id, "클라이밍파크"));
+        }
+        GymNameIndexer indexer = indexer(rows, changed);
+        indexer.rebuild();
+
+        // 15 번이 20 번보다 늦게 커밋됐다.
+        rows.add(14, new GymNameDto(15L, "더클라임 강남점"));
+        changed.add(new GymNameDto(3L, "더클라임 강남점"));
+        indexer.refresh();
+
+        assertEquals(List.of(15L, 3L), indexer.search("강남", null, 10, ids -> ids));
+    }
+
+    @Test
+    @DisplayName("재색인 중에 이 서버가 커밋한 변경을 먼저 읽어 둔 이전 값으로 덮어쓰지 않는다.")
+    void rebuildKeepsCommittedChange() {
+        List<GymNameDto> rows = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            rows.add(new GymNameDto(id, "클라이밍파크"));
+        }
+        GymNameIndexer[] holder = new GymNameIndexer[1];
+        holder[0] = new GymNameIndexer("테스트", true, 100, 10, 60_000) {
+            @Override
+            protected List<GymNameDto> load(Long lastId, Pageable pageable) {
+                List<GymNameDto> read = rows.stream()
+                        .filter(row -> row.getId() > lastId)
+                        .limit(pageable.getPageSize())
+                        .collect(Collectors.toList());
+                // 읽은 뒤 색인에 넣기 전에 3 번의 이름을 바꾸고 커밋했다.
+                if (!read.isEmpty()) holder[0].put(3L, "더클라임 강남점");
+                return read;
+            }
+        };
+        holder[0].rebuild();
+
+        assertEquals(List.of(3L), holder[0].search("강남", null, 10, ids -> ids));
+    }
+
+    @Test
+    @DisplayName("갱신이 늦어진 색인은 쓰지 않고, 후보가 많이 걸러지면 다음 후보를 두 배로 읽는다.")
+    void staleIndexAndGrowingBatch() {
+        List<GymNameDto> rows = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            rows.add(new GymNameDto(id, "더클라임 강남점"));
+        }
+        GymNameIndexer stale = new GymNameIndexer("테스트", true, 100, 10, 0) {
+            @Override
+            protected List<GymNameDto> load(Long lastId, Pageable pageable) {
+                return List.of();
+            }
+        };
+        stale.refresh();
+        assertFalse(stale.isAvailable("강남"));
+
+        GymNameIndexer indexer = indexer(rows, List.of());
+        indexer.refresh();
+        List<Integer> batches = new ArrayList<>();
+        List<Long> found = indexer.search("강남", null, 2, ids -> {
+            batches.add(ids.size());
+            return ids.stream().filter(id -> id <= 10).collect(Collectors.toList());
+        });
+
+        assertEquals(List.of(10L, 9L), found);
+        assertEquals(List.of(16, 32, 64, 88), batches);
+    }
+
+    private GymNameIndexer indexer(List<GymNameDto> rows, List<GymNameDto> changed) {
+        return new GymNameIndexer("테스트", true, 100, 10, 60_000) {
+            @Override
+            protected List<GymNameDto> load(Long lastId, Pageable pageable) {
+                return rows.stream()
+                        .filter(row -> row.getId() > lastId)
+                        .limit(pageable.getPageSize())
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            protected List<GymNameDto> loadChanged(LocalDateTime since, Pageable pageable) {
+                return pageable.getPageNumber() == 0 ? changed : List.of();
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package org.anotherclass.colortherock.global.openvidu;
+
+import org.anotherclass.colortherock.global.error.GlobalBaseException;
+import org.anotherclass.colortherock.global.error.GlobalErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenviduWebhookVerifierTest {
+
+    @Test
+    @DisplayName("설정한 secret 과 같은 Authorization 헤더만 받는다")
+    void verify() {
+        OpenviduWebhookVerifier verifier = new OpenviduWebhookVerifier("hook-secret");
+
+        assertDoesNotThrow(() -> verifier.verify("Bearer hook-secret"));
+        GlobalBaseException e = assertThrows(GlobalBaseException.class, () -> verifier.verify("Bearer wrong"));
+        assertEquals(GlobalErrorCode.WEBHOOK_UNAUTHORIZED, e.getErrorCode());
+        assertThrows(GlobalBaseException.class, () -> verifier.verify(null));
+    }
+
+    @Test
+    @DisplayName("secret 을 설정하지 않으면 모두 거절한다")
+    void rejectWithoutSecret() {
+        OpenviduWebhookVerifier verifier = new OpenviduWebhookVerifier("");
+
+        assertThrows(GlobalBaseException.class, () -> verifier.verify("Bearer "));
+    }
+}